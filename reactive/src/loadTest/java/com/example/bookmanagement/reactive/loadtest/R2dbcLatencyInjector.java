@@ -0,0 +1,83 @@
+package com.example.bookmanagement.reactive.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 遅いDBを再現するため、SQLの実行ごとに結果を一定時間遅らせる（MVC版の DbLatencyInjector と同じ遅延）
+ * 待っている間もコネクションはプールから借りたままだが、スレッドは占有しない（タイマーで再開する）
+ * 初期データの投入が遅くならないよう、遅延は setLatency を呼ぶまで無効にしておく
+ */
+public class R2dbcLatencyInjector implements BeanPostProcessor {
+
+	private volatile Duration latency = Duration.ZERO;
+
+	public void setLatency(Duration latency) {
+		this.latency = latency;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof ConnectionFactory connectionFactory) {
+			return new ConnectionFactory() {
+				@Override
+				public Publisher<? extends Connection> create() {
+					return Mono.from(connectionFactory.create()).map(connection -> wrapConnection(connection));
+				}
+
+				@Override
+				public ConnectionFactoryMetadata getMetadata() {
+					return connectionFactory.getMetadata();
+				}
+			};
+		}
+		return bean;
+	}
+
+	/**
+	 * Connection が返す Statement を遅延付きのものに差し替える
+	 */
+	private Connection wrapConnection(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					if (result instanceof Statement statement) {
+						return wrapStatement(statement);
+					}
+					return result;
+				});
+	}
+
+	private Statement wrapStatement(Statement statement) {
+		return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Statement.class },
+				(proxy, method, args) -> {
+					Object result = invoke(statement, method, args);
+					if (method.getName().equals("execute")) {
+						Duration delay = latency;
+						return delay.isZero() ? result : Mono.delay(delay).thenMany(Flux.from((Publisher<?>) result));
+					}
+					// bind などは自分自身を返すため、差し替えた Statement を返し続ける
+					return (result == statement) ? proxy : result;
+				});
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
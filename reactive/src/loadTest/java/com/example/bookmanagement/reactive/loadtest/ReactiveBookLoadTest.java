@@ -0,0 +1,181 @@
+package com.example.bookmanagement.reactive.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.reactive.service.ReactiveBookService;
+
+/**
+ * WebFlux + R2DBC 版の読み取り系エンドポイントに一定数のクライアントから負荷をかけ、スループットとp99レイテンシを計測する
+ * クライアント・遅延・初期データ・呼び出すエンドポイントはMVC版の BookControllerLoadTest と同じにしてあり、
+ * 同じ条件で両方を実行すると結果を並べて比較できる
+ *
+ *   gradle loadTest :reactive:loadTest -DloadTest.concurrency=2000 -DloadTest.dbLatencyMs=20 -DloadTest.poolSize=400
+ *
+ * SQLの実行ごとに R2dbcLatencyInjector で遅延を入れ、遅いDBを再現する
+ * 条件は -DloadTest.concurrency=400 -DloadTest.dbLatencyMs=20 -DloadTest.poolSize=400
+ * -DloadTest.warmupSeconds=3 -DloadTest.durationSeconds=10 で変更できる
+ * 結果は標準出力と reactive/build/reports/loadTest/summary.md に出力する（MVC版は build/reports/loadTest/summary.md）
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+		// プールが先に頭打ちにならないよう、クライアント数に合わせる（MVC版の maximum-pool-size と同じ値）
+		"spring.r2dbc.pool.max-size=${loadTest.poolSize:400}",
+		"spring.r2dbc.pool.max-acquire-time=30s"
+})
+@Import(R2dbcLatencyInjector.class)
+class ReactiveBookLoadTest {
+
+	private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 400);
+	private static final Duration DB_LATENCY = Duration.ofMillis(Long.getLong("loadTest.dbLatencyMs", 20));
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadTest.warmupSeconds", 3));
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadTest.durationSeconds", 10));
+	private static final int BOOKS = 200;
+
+	@Autowired
+	private ReactiveBookService bookService;
+
+	@Autowired
+	private R2dbcLatencyInjector latencyInjector;
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	@DisplayName("WebFlux + R2DBC：遅いDBに対するスループットとp99レイテンシを計測する")
+	void measure() throws Exception {
+		List<Long> bookIds = seed();
+		latencyInjector.setLatency(DB_LATENCY);
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		String baseUrl = "http://localhost:" + port + "/api/books";
+		load(client, baseUrl, bookIds, WARMUP);
+		Measurement measurement = load(client, baseUrl, bookIds, DURATION);
+
+		long[] latencies = measurement.latencies();
+		Arrays.sort(latencies);
+		String summary = new StringBuilder()
+				.append("Java ").append(Runtime.version())
+				.append(", concurrency=").append(CONCURRENCY)
+				.append(", dbLatency=").append(DB_LATENCY.toMillis()).append("ms")
+				.append(", duration=").append(DURATION.toSeconds()).append("s\n\n")
+				.append("| mode | requests | errors | throughput (req/s) | p50 (ms) | p99 (ms) | max (ms) |\n")
+				.append("|------|---------:|-------:|-------------------:|---------:|---------:|---------:|\n")
+				.append(String.format("| reactive | %d | %d | %.1f | %.1f | %.1f | %.1f |%n",
+						latencies.length, measurement.errors(), latencies.length / (DURATION.toNanos() / 1e9),
+						percentile(latencies, 0.50), percentile(latencies, 0.99),
+						latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6))
+				.toString();
+		System.out.println(summary);
+		Path report = Path.of("build", "reports", "loadTest", "summary.md");
+		Files.createDirectories(report.getParent());
+		Files.writeString(report, summary);
+
+		assertThat(latencies).isNotEmpty();
+		assertThat(measurement.errors()).isZero();
+	}
+
+	private List<Long> seed() {
+		List<Long> bookIds = new ArrayList<>(BOOKS);
+		for (int i = 0; i < BOOKS; i++) {
+			BookResponse book = bookService.registerBook("負荷試験" + i, "著者" + (i % 10), String.format("97890%08d", i)).block();
+			for (int r = 0; r < 3; r++) {
+				bookService.addReview(book.id(), "レビュー" + r, r + 3).block();
+			}
+			bookIds.add(book.id());
+		}
+		return bookIds;
+	}
+
+	private record Measurement(long[] latencies, long errors) {}
+
+	/**
+	 * CONCURRENCY 本のクライアントが、応答を受け取るたびに次のリクエストを送る（クローズドループ）
+	 * 一覧・詳細（レビュー付き）・1件取得を順に呼ぶ（MVC版と同じ）
+	 */
+	private static Measurement load(HttpClient client, String baseUrl, List<Long> bookIds, Duration duration) throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicLong errors = new AtomicLong();
+		List<Future<long[]>> futures = new ArrayList<>(CONCURRENCY);
+		try {
+			for (int c = 0; c < CONCURRENCY; c++) {
+				int clientIndex = c;
+				futures.add(clients.submit(() -> {
+					long[] latencies = new long[1024];
+					int count = 0;
+					start.await();
+					long deadline = System.nanoTime() + duration.toNanos();
+					for (int i = clientIndex; System.nanoTime() < deadline; i++) {
+						long bookId = bookIds.get(i % bookIds.size());
+						URI uri = URI.create(switch (i % 3) {
+							case 0 -> baseUrl + "?size=20&cursor=" + bookId;
+							case 1 -> baseUrl + "/" + bookId + "/bookWithReviews?reviewSize=20";
+							default -> baseUrl + "/" + bookId;
+						});
+						long begin = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+									HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								errors.incrementAndGet();
+								continue;
+							}
+						} catch (IOException e) {
+							errors.incrementAndGet();
+							continue;
+						}
+						if (count == latencies.length) {
+							latencies = Arrays.copyOf(latencies, count * 2);
+						}
+						latencies[count++] = System.nanoTime() - begin;
+					}
+					return Arrays.copyOf(latencies, count);
+				}));
+			}
+			start.countDown();
+			List<long[]> perClient = new ArrayList<>(CONCURRENCY);
+			for (Future<long[]> future : futures) {
+				perClient.add(future.get(duration.toSeconds() + 60, TimeUnit.SECONDS));
+			}
+			long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).toArray();
+			return new Measurement(latencies, errors.get());
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+}
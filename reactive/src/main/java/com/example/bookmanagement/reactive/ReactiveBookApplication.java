@@ -0,0 +1,18 @@
+package com.example.bookmanagement.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 書籍API（/api/books）の WebFlux + R2DBC 版
+ * MVC版と同じDB（スキーマ）・同じリクエスト/レスポンスの形で、一覧・レビューをストリームで返し、
+ * 貸出ステータスの変更を Server-Sent Events で配信する
+ */
+@SpringBootApplication
+public class ReactiveBookApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveBookApplication.class, args);
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.example.bookmanagement.reactive.controller;
+
+import java.time.Duration;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bookmanagement.controller.request.BookCreateRequest;
+import com.example.bookmanagement.controller.request.ReviewCreateRequest;
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.ReviewResponse;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.reactive.service.BookStatusEvent;
+import com.example.bookmanagement.reactive.service.ReactiveBookService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * MVC版の BookController と同じ /api/books の契約（パス・パラメータ・レスポンスの形・ステータスコード）
+ * Accept: application/x-ndjson を指定すると、一覧・レビューをページに分けずにストリームで返す
+ * （クライアントが読んだ分だけDBから読み進めるため、件数が多くてもメモリを使い切らない）
+ */
+@RestController
+@RequestMapping("/api/books")
+public class ReactiveBookController {
+	private final ReactiveBookService bookService;
+	private final Duration heartbeatInterval;
+
+	public ReactiveBookController(ReactiveBookService bookService,
+			@Value("${book.status-events.heartbeat-interval:15s}") Duration heartbeatInterval) {
+		this.bookService = bookService;
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
+	//1. 書籍の一覧を取得（cursor でページング、status / author / titlePrefix で絞り込み）
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<BookPageResponse> getAllBooks(
+			@RequestParam(required = false) Long cursor,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) Status status,
+			@RequestParam(required = false) String author,
+			@RequestParam(required = false) String titlePrefix) {
+		return bookService.findPage(cursor, size, status, author, titlePrefix);
+	}
+
+	// 1-1. 書籍の一覧をストリームで取得（条件に一致する全書籍を1行1件のNDJSONで返す）
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<BookResponse> streamBooks(
+			@RequestParam(required = false) Status status,
+			@RequestParam(required = false) String author,
+			@RequestParam(required = false) String titlePrefix) {
+		return bookService.streamBooks(status, author, titlePrefix);
+	}
+
+	// 1-2. 貸出ステータスの変更を Server-Sent Events で配信する（変更がない間は一定間隔でコメント行を送る）
+	// 購読を始めた時点でコメント行を1つ送り、応答ヘッダーをすぐに返す（以降の変更が届く状態になったことを示す）
+	// 続きからの再開には対応しないため、イベントに id は付けない（再接続時は購読し直した後の変更から届く）
+	@GetMapping(path = "/status-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<BookStatusEvent>> statusEvents() {
+		Flux<ServerSentEvent<BookStatusEvent>> events = bookService.statusEvents()
+				.map(event -> ServerSentEvent.builder(event).event("status").build());
+		Flux<ServerSentEvent<BookStatusEvent>> heartbeats = Flux.interval(heartbeatInterval)
+				.map(tick -> ServerSentEvent.<BookStatusEvent>builder().comment("heartbeat").build());
+		return Flux.merge(events, heartbeats)
+				.startWith(ServerSentEvent.<BookStatusEvent>builder().comment("connected").build());
+	}
+
+	// 1-3. 書籍を1件取得
+	@GetMapping("/{id}")
+	public Mono<BookResponse> getBook(@PathVariable Long id) {
+		return bookService.findById(id);
+	}
+
+	// 2. 新しい書籍を登録
+	@PostMapping
+	@ResponseStatus(HttpStatus.CREATED)
+	public Mono<BookResponse> createBook(@Valid @RequestBody BookCreateRequest request) {
+		return bookService.registerBook(request.title(), request.author(), request.isbn(),
+				(request.copies() != null) ? request.copies() : 1);
+	}
+
+	// 3. 貸し出し
+	@PatchMapping("/{id}/borrow")
+	public Mono<BookResponse> borrowBook(@PathVariable Long id) {
+		return bookService.borrowBook(id);
+	}
+
+	// 4. 返却処理
+	@PatchMapping("/{id}/return")
+	public Mono<BookResponse> returnBook(@PathVariable Long id) {
+		return bookService.returnBook(id);
+	}
+
+	// 5. レビューを投稿
+	@PostMapping("/{id}/reviews")
+	@ResponseStatus(HttpStatus.CREATED)
+	public Mono<Void> addReview(@PathVariable Long id, @Valid @RequestBody ReviewCreateRequest request) {
+		return bookService.addReview(id, request.content(), request.rating());
+	}
+
+	// 5-1. 書籍のレビューを新しい順にストリームで取得
+	@GetMapping(path = "/{id}/reviews", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<ReviewResponse> streamReviews(@PathVariable Long id) {
+		return bookService.streamReviews(id);
+	}
+
+	// 6. レビューも含めて一括で取得（レビューは reviewCursor でページング）
+	@GetMapping("/{id}/bookWithReviews")
+	public Mono<BookWithReviewsResponse> getBookWithReviews(@PathVariable Long id,
+			@RequestParam(required = false) Long reviewCursor,
+			@RequestParam(defaultValue = "20") int reviewSize) {
+		return bookService.getBookWithReviews(id, reviewCursor, reviewSize);
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.bookmanagement.reactive.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.example.bookmanagement.controller.response.ErrorResponse;
+
+/**
+ * MVC版の GlobalExceptionHandler と同じステータスコード・同じ形（ErrorResponse）でエラーを返す
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+	/**
+	 * @Valid による入力バリデーションエラーを処理する
+	 * 400 Bad Request を返却
+	 */
+	@ExceptionHandler(WebExchangeBindException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handleValidationExceptions(WebExchangeBindException ex) {
+		Map<String, String> fieldErrors = new HashMap<>();
+		ex.getBindingResult().getFieldErrors().forEach(error ->
+			fieldErrors.put(error.getField(), error.getDefaultMessage())
+		);
+		return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "入力内容に不備があります。", fieldErrors);
+	}
+
+	/**
+	 * クエリパラメータ・パス変数の型変換エラー（存在しないステータス名など）を処理する
+	 * 400 Bad Request を返却
+	 */
+	@ExceptionHandler(ServerWebInputException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handleInputException(ServerWebInputException ex) {
+		return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "パラメータの形式が正しくありません。", null);
+	}
+
+	/**
+	 * 存在しない書籍・ISBN重複など
+	 * 400 Bad Request を返却
+	 */
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handleIllegalArgumentException(IllegalArgumentException ex) {
+		return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), null);
+	}
+
+	/**
+	 * 二重貸出・二重返却など
+	 * 409 Conflict を返却
+	 */
+	@ExceptionHandler(IllegalStateException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public ErrorResponse handleIllegalStateException(IllegalStateException ex) {
+		return new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage(), null);
+	}
+}
@@ -0,0 +1,38 @@
+package com.example.bookmanagement.reactive.repository;
+
+import java.util.List;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.RatingResponse;
+
+/**
+ * 書籍1件と評価の集計値（集計行がなければ各件数はnull）
+ */
+public record BookRow(
+		Long id,
+		String title,
+		String author,
+		String isbn,
+		String status,
+		Integer copies,
+		Integer availableCopies,
+		Long reviewCount,
+		Long ratingSum,
+		Long star1,
+		Long star2,
+		Long star3,
+		Long star4,
+		Long star5
+	) {
+
+	public BookResponse toResponse() {
+		long count = zeroIfNull(reviewCount);
+		Double averageRating = (count == 0) ? null : (double) zeroIfNull(ratingSum) / count;
+		List<Long> histogram = List.of(zeroIfNull(star1), zeroIfNull(star2), zeroIfNull(star3), zeroIfNull(star4), zeroIfNull(star5));
+		return new BookResponse(id, title, author, isbn, status, copies, availableCopies, new RatingResponse(count, averageRating, histogram));
+	}
+
+	private static long zeroIfNull(Long value) {
+		return (value == null) ? 0 : value;
+	}
+}
@@ -0,0 +1,8 @@
+package com.example.bookmanagement.reactive.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 貸出中の履歴（loans の1行。返却時に閉じる対象）
+ */
+public record LoanRow(Long id, LocalDateTime borrowedAt) {}
@@ -0,0 +1,310 @@
+package com.example.bookmanagement.reactive.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookmanagement.controller.response.ReviewResponse;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 書籍・レビュー・評価の集計値の読み書き（R2DBC）
+ * MVC版の BookRepository と同じテーブル・同じ条件のSQLを、結果を1行ずつ流す Flux / Mono で返す
+ * 行は購読側の要求した分だけ読み進める（全件をメモリに載せない）
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private static final String SELECT_BOOK = """
+			select b.id, b.title, b.author, b.isbn, b.status, b.copies, b.available_copies,
+				s.review_count, s.rating_sum, s.star1, s.star2, s.star3, s.star4, s.star5
+			from books b
+				left join book_rating_stats s on s.book_id = b.id
+			""";
+
+	private final DatabaseClient databaseClient;
+
+	/**
+	 * 条件に一致する書籍を id 順に流す（limit が null なら最後まで）
+	 * 指定された条件だけを組み立てる（「:param is null or ...」はインデックスが効かなくなるため使わない）
+	 */
+	public Flux<BookRow> findBooks(Long cursor, Integer limit, String status, String author, String titlePrefix) {
+		StringBuilder sql = new StringBuilder(SELECT_BOOK).append("where 1 = 1");
+		if (cursor != null) {
+			sql.append(" and b.id > :cursor");
+		}
+		if (status != null) {
+			sql.append(" and b.status = :status");
+		}
+		if (author != null) {
+			sql.append(" and b.author = :author");
+		}
+		if (titlePrefix != null) {
+			sql.append(" and b.title like :titlePrefix escape '\\'");
+		}
+		sql.append(" order by b.id");
+		if (limit != null) {
+			sql.append(" limit :limit");
+		}
+
+		GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+		if (cursor != null) {
+			spec = spec.bind("cursor", cursor);
+		}
+		if (status != null) {
+			spec = spec.bind("status", status);
+		}
+		if (author != null) {
+			spec = spec.bind("author", author);
+		}
+		if (titlePrefix != null) {
+			spec = spec.bind("titlePrefix", escapeLike(titlePrefix) + "%");
+		}
+		if (limit != null) {
+			spec = spec.bind("limit", limit);
+		}
+		return spec.map(ReactiveBookRepository::toBookRow).all();
+	}
+
+	public Mono<BookRow> findById(Long id) {
+		return databaseClient.sql(SELECT_BOOK + "where b.id = :id")
+				.bind("id", id)
+				.map(ReactiveBookRepository::toBookRow)
+				.one();
+	}
+
+	public Mono<Boolean> existsById(Long id) {
+		return databaseClient.sql("select 1 from books where id = :id")
+				.bind("id", id)
+				.map(row -> Boolean.TRUE)
+				.first()
+				.defaultIfEmpty(Boolean.FALSE);
+	}
+
+	public Mono<Boolean> existsByIsbn(String isbn) {
+		return databaseClient.sql("select 1 from books where isbn = :isbn")
+				.bind("isbn", isbn)
+				.map(row -> Boolean.TRUE)
+				.first()
+				.defaultIfEmpty(Boolean.FALSE);
+	}
+
+	/**
+	 * 書籍の新しいレビューから順に流す（cursor を指定した場合はそのレビューより古いものから）
+	 * limit が null なら最後まで
+	 */
+	public Flux<ReviewResponse> findReviews(Long bookId, Long cursor, Integer limit) {
+		StringBuilder sql = new StringBuilder("select r.id, r.content, r.rating, r.created_at from reviews r where r.book_id = :bookId");
+		if (cursor != null) {
+			sql.append("""
+					 and (r.created_at < (select c.created_at from reviews c where c.id = :cursor and c.book_id = :bookId)
+						or (r.created_at = (select c.created_at from reviews c where c.id = :cursor and c.book_id = :bookId) and r.id < :cursor))""");
+		}
+		sql.append(" order by r.created_at desc, r.id desc");
+		if (limit != null) {
+			sql.append(" limit :limit");
+		}
+
+		GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("bookId", bookId);
+		if (cursor != null) {
+			spec = spec.bind("cursor", cursor);
+		}
+		if (limit != null) {
+			spec = spec.bind("limit", limit);
+		}
+		return spec.map(row -> new ReviewResponse(
+						row.get("id", Long.class),
+						row.get("content", String.class),
+						row.get("rating", Integer.class),
+						row.get("created_at", LocalDateTime.class)))
+				.all();
+	}
+
+	/**
+	 * 書籍を登録し、採番したIDを返す（IDはMVC版と同じシーケンスから払い出す。コピーはすべて貸出可能）
+	 */
+	public Mono<Long> insertBook(String title, String author, String isbn, int copies) {
+		return nextId("books_seq")
+				.flatMap(id -> databaseClient.sql("""
+						insert into books (id, title, author, isbn, status, version, copies, available_copies, held_copies)
+						values (:id, :title, :author, :isbn, 'AVAILABLE', 0, :copies, :copies, 0)
+						""")
+						.bind("id", id)
+						.bind("title", title)
+						.bind("author", author)
+						.bind("isbn", isbn)
+						.bind("copies", copies)
+						.fetch()
+						.rowsUpdated()
+						.thenReturn(id));
+	}
+
+	/**
+	 * 貸出可能なコピーがあれば1冊貸し出す（UPDATE 1文で判定と更新を行う。ステータスの規則はMVC版の BookRepository.borrowCopy と同じ）
+	 *
+	 * @return 更新件数（貸出可能なコピーがない、または書籍がなければ0）
+	 */
+	public Mono<Long> borrowCopy(Long id) {
+		return databaseClient.sql("""
+				update books set available_copies = available_copies - 1,
+					status = case when available_copies > 1 then 'AVAILABLE' when held_copies > 0 then 'RESERVED' else 'BORROWED' end,
+					version = version + 1
+				where id = :id and available_copies > 0
+				""")
+				.bind("id", id)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * 貸出中のコピーがあれば1冊返却する（予約があれば、続けて ReactiveReservationService.handOff で取り置く）
+	 *
+	 * @return 更新件数（貸出中のコピーがない、または書籍がなければ0）
+	 */
+	public Mono<Long> returnCopy(Long id) {
+		return databaseClient.sql("""
+				update books set available_copies = available_copies + 1, status = 'AVAILABLE', version = version + 1
+				where id = :id and copies - available_copies - held_copies > 0
+				""")
+				.bind("id", id)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * 貸出可能なコピーを1冊、取り置きに回す（MVC版の BookRepository.holdCopy と同じ）
+	 *
+	 * @return 更新件数（貸出可能なコピーがなければ0）
+	 */
+	public Mono<Long> holdCopy(Long id) {
+		return databaseClient.sql("""
+				update books set available_copies = available_copies - 1, held_copies = held_copies + 1,
+					status = case when available_copies > 1 then 'AVAILABLE' else 'RESERVED' end,
+					version = version + 1
+				where id = :id and available_copies > 0
+				""")
+				.bind("id", id)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * 取り置き中のコピーを1冊、貸出可能に戻す（MVC版の BookRepository.releaseHeldCopy と同じ）
+	 *
+	 * @return 更新件数（取り置き中のコピーがなければ0）
+	 */
+	public Mono<Long> releaseHeldCopy(Long id) {
+		return databaseClient.sql("""
+				update books set held_copies = held_copies - 1, available_copies = available_copies + 1,
+					status = 'AVAILABLE', version = version + 1
+				where id = :id and held_copies > 0
+				""")
+				.bind("id", id)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	public Mono<Long> insertReview(Long bookId, String content, int rating, LocalDateTime createdAt) {
+		return nextId("reviews_seq")
+				.flatMap(id -> databaseClient.sql("""
+						insert into reviews (id, book_id, content, rating, created_at)
+						values (:id, :bookId, :content, :rating, :createdAt)
+						""")
+						.bind("id", id)
+						.bind("bookId", bookId)
+						.bind("content", content)
+						.bind("rating", rating)
+						.bind("createdAt", createdAt)
+						.fetch()
+						.rowsUpdated()
+						.thenReturn(id));
+	}
+
+	/**
+	 * 評価の集計行（0件）を作る
+	 */
+	public Mono<Long> insertEmptyRatingStats(Long bookId) {
+		return databaseClient.sql("""
+				insert into book_rating_stats (book_id, review_count, rating_sum, star1, star2, star3, star4, star5)
+				values (:bookId, 0, 0, 0, 0, 0, 0, 0)
+				""")
+				.bind("bookId", bookId)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * レビュー1件分を集計値に加算する（読み込まずにUPDATE 1文で加算する）
+	 *
+	 * @return 更新件数（集計行がなければ0）
+	 */
+	public Mono<Long> incrementRatingStats(Long bookId, int rating) {
+		return databaseClient.sql("""
+				update book_rating_stats set
+					review_count = review_count + 1,
+					rating_sum = rating_sum + :rating,
+					star1 = star1 + case when :rating = 1 then 1 else 0 end,
+					star2 = star2 + case when :rating = 2 then 1 else 0 end,
+					star3 = star3 + case when :rating = 3 then 1 else 0 end,
+					star4 = star4 + case when :rating = 4 then 1 else 0 end,
+					star5 = star5 + case when :rating = 5 then 1 else 0 end,
+					version = version + 1
+				where book_id = :bookId
+				""")
+				.bind("bookId", bookId)
+				.bind("rating", rating)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * シーケンスから値を1つ取り出し、そのままIDとして使う
+	 * （MVC版は1回の取り出しで50件分を払い出すが、取り出した値自体は他と重ならないため、そのまま使ってよい）
+	 */
+	private Mono<Long> nextId(String sequence) {
+		return databaseClient.sql("select next value for " + sequence)
+				.map(row -> row.get(0, Long.class))
+				.one();
+	}
+
+	private static BookRow toBookRow(Readable row) {
+		return new BookRow(
+				row.get("id", Long.class),
+				row.get("title", String.class),
+				row.get("author", String.class),
+				row.get("isbn", String.class),
+				row.get("status", String.class),
+				row.get("copies", Integer.class),
+				row.get("available_copies", Integer.class),
+				row.get("review_count", Long.class),
+				row.get("rating_sum", Long.class),
+				row.get("star1", Long.class),
+				row.get("star2", Long.class),
+				row.get("star3", Long.class),
+				row.get("star4", Long.class),
+				row.get("star5", Long.class));
+	}
+
+	/**
+	 * LIKE のワイルドカード文字をエスケープする（前方一致の入力値をそのまま検索させるため）
+	 */
+	private static String escapeLike(String value) {
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (char c : value.toCharArray()) {
+			if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+				escaped.append(LIKE_ESCAPE);
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+}
@@ -0,0 +1,109 @@
+package com.example.bookmanagement.reactive.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * 貸出の履歴（loans）と日次の集計値（book_loan_daily）の書き込み（R2DBC。MVC版の LoanRepository・BookLoanDailyRepository と同じ条件のSQL）
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveLoanRepository {
+
+	private final DatabaseClient databaseClient;
+
+	/**
+	 * 貸出の履歴を1行追記する（IDはMVC版と同じシーケンスから払い出す）
+	 */
+	public Mono<Long> insertLoan(Long bookId, LocalDateTime borrowedAt) {
+		return databaseClient.sql("select next value for loans_seq")
+				.map(row -> row.get(0, Long.class))
+				.one()
+				.flatMap(id -> databaseClient.sql("""
+						insert into loans (id, book_id, borrowed_at)
+						values (:id, :bookId, :borrowedAt)
+						""")
+						.bind("id", id)
+						.bind("bookId", bookId)
+						.bind("borrowedAt", borrowedAt)
+						.fetch()
+						.rowsUpdated()
+						.thenReturn(id));
+	}
+
+	/**
+	 * 書籍の貸出中の履歴のうち最も古いもの（どのコピーが返却されたかは区別しない）
+	 */
+	public Mono<LoanRow> findOldestOpen(Long bookId) {
+		return databaseClient.sql("""
+				select id, borrowed_at from loans
+				where book_id = :bookId and returned_at is null
+				order by id
+				limit 1
+				""")
+				.bind("bookId", bookId)
+				.map(row -> new LoanRow(row.get("id", Long.class), row.get("borrowed_at", LocalDateTime.class)))
+				.first();
+	}
+
+	/**
+	 * 貸出中の履歴に返却日時を設定する
+	 *
+	 * @return 更新件数（既に返却済みなら0）
+	 */
+	public Mono<Long> close(Long id, LocalDateTime returnedAt) {
+		return databaseClient.sql("update loans set returned_at = :returnedAt where id = :id and returned_at is null")
+				.bind("id", id)
+				.bind("returnedAt", returnedAt)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * 1日分の集計値に加算する（読み込まずにUPDATE 1文で加算する）
+	 *
+	 * @return 更新件数（その日の集計行がなければ0）
+	 */
+	public Mono<Long> addDaily(Long bookId, LocalDate loanDate, long borrowCount, long returnCount,
+			long returnedLoanSeconds, long onLoanSeconds) {
+		return bindDaily(databaseClient.sql("""
+				update book_loan_daily set
+					borrow_count = borrow_count + :borrowCount,
+					return_count = return_count + :returnCount,
+					returned_loan_seconds = returned_loan_seconds + :returnedLoanSeconds,
+					on_loan_seconds = on_loan_seconds + :onLoanSeconds
+				where book_id = :bookId and loan_date = :loanDate
+				"""), bookId, loanDate, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	/**
+	 * その日の集計行を、加算する値で作る
+	 */
+	public Mono<Long> insertDaily(Long bookId, LocalDate loanDate, long borrowCount, long returnCount,
+			long returnedLoanSeconds, long onLoanSeconds) {
+		return bindDaily(databaseClient.sql("""
+				insert into book_loan_daily (book_id, loan_date, borrow_count, return_count, returned_loan_seconds, on_loan_seconds)
+				values (:bookId, :loanDate, :borrowCount, :returnCount, :returnedLoanSeconds, :onLoanSeconds)
+				"""), bookId, loanDate, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds)
+				.fetch()
+				.rowsUpdated();
+	}
+
+	private static DatabaseClient.GenericExecuteSpec bindDaily(DatabaseClient.GenericExecuteSpec spec, Long bookId,
+			LocalDate loanDate, long borrowCount, long returnCount, long returnedLoanSeconds, long onLoanSeconds) {
+		return spec.bind("bookId", bookId)
+				.bind("loanDate", loanDate)
+				.bind("borrowCount", borrowCount)
+				.bind("returnCount", returnCount)
+				.bind("returnedLoanSeconds", returnedLoanSeconds)
+				.bind("onLoanSeconds", onLoanSeconds);
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.bookmanagement.reactive.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * 予約の読み書き（R2DBC。MVC版の ReservationRepository と同じ条件のSQL）
+ * 予約の受付・取り消しはMVC版だけが行い、ここでは返却時の取り置きに必要なものだけを扱う
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveReservationRepository {
+
+	private final DatabaseClient databaseClient;
+
+	/**
+	 * 書籍に順番待ちの予約があるか
+	 */
+	public Mono<Boolean> existsWaiting(Long bookId) {
+		return databaseClient.sql("select 1 from reservations where book_id = :bookId and status = 'WAITING' limit 1")
+				.bind("bookId", bookId)
+				.map(row -> Boolean.TRUE)
+				.first()
+				.defaultIfEmpty(Boolean.FALSE);
+	}
+
+	/**
+	 * 順番待ちの先頭の予約を取り置き中にする
+	 *
+	 * @return 更新件数（順番待ちがない、または先頭が同時に変わったら0）
+	 */
+	public Mono<Long> holdHead(Long bookId, LocalDateTime expiresAt) {
+		return databaseClient.sql("""
+				update reservations set status = 'HELD', hold_expires_at = :expiresAt
+				where id = (select min(w.id) from reservations w where w.book_id = :bookId and w.status = 'WAITING')
+					and status = 'WAITING'
+				""")
+				.bind("bookId", bookId)
+				.bind("expiresAt", expiresAt)
+				.fetch()
+				.rowsUpdated();
+	}
+}
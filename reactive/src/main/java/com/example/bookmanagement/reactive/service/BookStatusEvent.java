@@ -0,0 +1,15 @@
+package com.example.bookmanagement.reactive.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 貸出ステータスの変更（Server-Sent Events で配信する内容）
+ * @param bookId 書籍ID
+ * @param status 変更後のステータス（AVAILABLE / BORROWED）
+ * @param changedAt 変更がコミットされた日時
+ */
+public record BookStatusEvent(
+		Long bookId,
+		String status,
+		LocalDateTime changedAt
+	) {}
@@ -0,0 +1,219 @@
+package com.example.bookmanagement.reactive.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.ReviewResponse;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.reactive.repository.BookRow;
+import com.example.bookmanagement.reactive.repository.ReactiveBookRepository;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 書籍・レビューの操作（MVC版の BookDomainService と同じ入力チェック・同じエラーメッセージ）
+ * 書き込みは TransactionalOperator で1トランザクションにまとめ、貸出・返却はコミット後に購読者へ通知する
+ */
+@Service
+public class ReactiveBookService {
+
+	static final int MAX_PAGE_SIZE = 100;
+
+	/** 1タイトルあたりの最大コピー数（MVC版と同じ） */
+	static final int MAX_COPIES = 1000;
+
+	private static final String ALREADY_BORROWED_MESSAGE = "この本は既に貸出中です。";
+	private static final String ALREADY_RETURNED_MESSAGE = "この書籍は既に返却されています。";
+
+	private final ReactiveBookRepository bookRepository;
+	private final ReactiveReservationService reservationService;
+	private final ReactiveLoanHistoryService loanHistoryService;
+	private final TransactionalOperator transactionalOperator;
+	private final int statusEventBufferSize;
+	/**
+	 * 貸出ステータスの変更。購読者がいなければ捨てる（購読前の変更は配信しない）
+	 * 同時に通知されても直列に渡すよう、通知は sink をロックして行う（ロックを取る sink のため、同時通知の検出は行わない）
+	 */
+	private final Sinks.Many<BookStatusEvent> statusEvents = Sinks.unsafe().many().multicast().directBestEffort();
+
+	public ReactiveBookService(ReactiveBookRepository bookRepository,
+			ReactiveReservationService reservationService,
+			ReactiveLoanHistoryService loanHistoryService,
+			TransactionalOperator transactionalOperator,
+			@Value("${book.status-events.buffer-size:256}") int statusEventBufferSize) {
+		this.bookRepository = bookRepository;
+		this.reservationService = reservationService;
+		this.loanHistoryService = loanHistoryService;
+		this.transactionalOperator = transactionalOperator;
+		this.statusEventBufferSize = statusEventBufferSize;
+	}
+
+	/**
+	 * 一覧の1ページ（MVC版と同じキーセットページング）
+	 */
+	public Mono<BookPageResponse> findPage(Long cursor, int size, Status status, String author, String titlePrefix) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			return Mono.error(new IllegalArgumentException("取得件数は1〜" + MAX_PAGE_SIZE + "の範囲で指定してください: " + size));
+		}
+		// 次ページの有無を判定するため、1件多く取得する
+		return bookRepository.findBooks(cursor, size + 1, nameOf(status), blankToNull(author), blankToNull(titlePrefix))
+				.map(BookRow::toResponse)
+				.collectList()
+				.map(books -> books.size() > size
+						? new BookPageResponse(books.subList(0, size), books.get(size - 1).id())
+						: new BookPageResponse(books, null));
+	}
+
+	/**
+	 * 条件に一致する全書籍を id 順に流す（ページに分けず、クライアントが読んだ分だけDBから読み進める）
+	 */
+	public Flux<BookResponse> streamBooks(Status status, String author, String titlePrefix) {
+		return bookRepository.findBooks(null, null, nameOf(status), blankToNull(author), blankToNull(titlePrefix))
+				.map(BookRow::toResponse);
+	}
+
+	public Mono<BookResponse> findById(Long id) {
+		return bookRepository.findById(id)
+				.map(BookRow::toResponse)
+				.switchIfEmpty(notFound(id));
+	}
+
+	/**
+	 * 書籍とレビュー1ページ分（MVC版の getBookWithReviews と同じ形）
+	 */
+	public Mono<BookWithReviewsResponse> getBookWithReviews(Long id, Long reviewCursor, int reviewSize) {
+		if (reviewSize < 1 || reviewSize > MAX_PAGE_SIZE) {
+			return Mono.error(new IllegalArgumentException("取得件数は1〜" + MAX_PAGE_SIZE + "の範囲で指定してください: " + reviewSize));
+		}
+		Mono<BookResponse> book = findById(id);
+		Mono<List<ReviewResponse>> reviews = bookRepository.findReviews(id, reviewCursor, reviewSize + 1).collectList();
+		return Mono.zip(book, reviews)
+				.map(tuple -> {
+					BookResponse b = tuple.getT1();
+					List<ReviewResponse> page = tuple.getT2();
+					Long nextReviewCursor = page.size() > reviewSize ? page.get(reviewSize - 1).id() : null;
+					return new BookWithReviewsResponse(b.id(), b.title(), b.author(), b.isbn(), b.status(), b.rating(),
+							page.size() > reviewSize ? page.subList(0, reviewSize) : page, nextReviewCursor);
+				});
+	}
+
+	/**
+	 * 書籍のレビューを新しい順に全件流す（存在しない書籍ならエラー）
+	 */
+	public Flux<ReviewResponse> streamReviews(Long id) {
+		return bookRepository.existsById(id)
+				.flatMapMany(exists -> exists ? bookRepository.findReviews(id, null, null) : notFound(id));
+	}
+
+	public Mono<BookResponse> registerBook(String title, String author, String isbn) {
+		return registerBook(title, author, isbn, 1);
+	}
+
+	/**
+	 * 本の新規登録（同じタイトルを複数所蔵する場合も書籍は1件だけ登録し、コピー数で持つ）
+	 */
+	public Mono<BookResponse> registerBook(String title, String author, String isbn, int copies) {
+		if (copies < 1 || copies > MAX_COPIES) {
+			return Mono.error(new IllegalArgumentException("コピー数は1〜" + MAX_COPIES + "の範囲で指定してください: " + copies));
+		}
+		Mono<BookResponse> register = bookRepository.existsByIsbn(isbn)
+				.flatMap(exists -> exists
+						? Mono.error(new IllegalArgumentException("既に登録済みのISBNです: " + isbn))
+						: bookRepository.insertBook(title, author, isbn, copies))
+				// 評価の集計行（0件）を同じトランザクションで作り、登録した行を読み直して返す
+				.flatMap(id -> bookRepository.insertEmptyRatingStats(id).then(findById(id)));
+		return transactionalOperator.transactional(register);
+	}
+
+	/**
+	 * 1冊貸し出し、同じトランザクションで貸出の履歴と日次の集計値を記録する
+	 */
+	public Mono<BookResponse> borrowBook(Long id) {
+		Mono<Long> update = bookRepository.borrowCopy(id)
+				.flatMap(updated -> updated > 0
+						? loanHistoryService.recordBorrow(id, LocalDateTime.now()).thenReturn(updated)
+						: Mono.just(updated));
+		return changeStatus(id, update, ALREADY_BORROWED_MESSAGE);
+	}
+
+	/**
+	 * 1冊返却し、同じトランザクションで貸出の履歴を閉じる
+	 * 予約の順番待ちがあれば、返却したコピーを先頭の予約に取り置く
+	 */
+	public Mono<BookResponse> returnBook(Long id) {
+		Mono<Long> update = bookRepository.returnCopy(id)
+				.flatMap(updated -> updated > 0
+						? loanHistoryService.recordReturn(id, LocalDateTime.now())
+								.then(reservationService.handOff(id))
+								.thenReturn(updated)
+						: Mono.just(updated));
+		return changeStatus(id, update, ALREADY_RETURNED_MESSAGE);
+	}
+
+	public Mono<Void> addReview(Long id, String content, int rating) {
+		Mono<Void> add = bookRepository.existsById(id)
+				.flatMap(exists -> exists ? bookRepository.insertReview(id, content, rating, LocalDateTime.now()) : notFound(id))
+				// 評価の集計値を同じトランザクションで加算する（集計行がまだない書籍は、行を作ってから加算する）
+				.then(bookRepository.incrementRatingStats(id, rating))
+				.flatMap(updated -> updated > 0
+						? Mono.empty()
+						: bookRepository.insertEmptyRatingStats(id).then(bookRepository.incrementRatingStats(id, rating)))
+				.then();
+		return transactionalOperator.transactional(add);
+	}
+
+	/**
+	 * 貸出ステータスの変更を購読する
+	 * 購読者ごとに bufferSize 件まで溜め、読むのが遅い購読者の分は古いものから捨てる（他の購読者や書き込みを待たせない）
+	 */
+	public Flux<BookStatusEvent> statusEvents() {
+		return statusEvents.asFlux()
+				.onBackpressureBuffer(statusEventBufferSize, dropped -> {}, BufferOverflowStrategy.DROP_OLDEST);
+	}
+
+	/**
+	 * コピー数を条件付きで増減し、コミット後にステータスを通知する
+	 */
+	private Mono<BookResponse> changeStatus(Long id, Mono<Long> update, String conflictMessage) {
+		Mono<BookResponse> change = update
+				.flatMap(updated -> updated > 0
+						? findById(id)
+						: bookRepository.existsById(id).flatMap(exists -> exists
+								? Mono.<BookResponse>error(new IllegalStateException(conflictMessage))
+								: notFound(id)));
+		return transactionalOperator.transactional(change)
+				.doOnNext(book -> publish(new BookStatusEvent(book.id(), book.status(), LocalDateTime.now())));
+	}
+
+	/**
+	 * 購読者へ通知する（複数のリクエストから同時に呼ばれても、再試行で待たずに1件ずつ渡す）
+	 * 購読者への受け渡しは各購読者のバッファに積むだけのため、ロックを持つ時間は短い
+	 */
+	private void publish(BookStatusEvent event) {
+		synchronized (statusEvents) {
+			statusEvents.tryEmitNext(event);
+		}
+	}
+
+	private static <T> Mono<T> notFound(Long id) {
+		return Mono.error(new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+	}
+
+	private static String nameOf(Status status) {
+		return (status == null) ? null : status.name();
+	}
+
+	private static String blankToNull(String value) {
+		return (value == null || value.isBlank()) ? null : value;
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.bookmanagement.reactive.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.example.bookmanagement.reactive.repository.LoanRow;
+import com.example.bookmanagement.reactive.repository.ReactiveLoanRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 貸出の履歴と日次の集計値の記録（MVC版の LoanHistoryService.recordBorrow / recordReturn と同じ規則）
+ * 貸出・返却と同じトランザクションの中で、書籍の行を更新した後に呼ぶ（書籍の行ロックで同じ書籍の記録が直列になる）
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveLoanHistoryService {
+
+	private final ReactiveLoanRepository loanRepository;
+
+	/**
+	 * 貸出を記録する
+	 */
+	public Mono<Void> recordBorrow(Long bookId, LocalDateTime borrowedAt) {
+		return loanRepository.insertLoan(bookId, borrowedAt)
+				.then(addDaily(bookId, borrowedAt.toLocalDate(), 1, 0, 0, 0));
+	}
+
+	/**
+	 * 返却を記録する（貸出中の履歴のうち最も古いものを閉じ、貸出期間を日ごとに分けて集計値に加算する）
+	 * 履歴の記録を始める前から貸出中だった書籍は、貸出期間が分からないため記録しない
+	 */
+	public Mono<Void> recordReturn(Long bookId, LocalDateTime returnedAt) {
+		return loanRepository.findOldestOpen(bookId)
+				.flatMap(loan -> loanRepository.close(loan.id(), returnedAt)
+						.flatMap(closed -> closed > 0 ? addReturnDaily(bookId, loan, returnedAt) : Mono.empty()));
+	}
+
+	private Mono<Void> addReturnDaily(Long bookId, LoanRow loan, LocalDateTime returnedAt) {
+		LocalDateTime borrowedAt = loan.borrowedAt();
+		LocalDate returnDate = returnedAt.toLocalDate();
+		return Flux.fromStream(borrowedAt.toLocalDate().datesUntil(returnDate.plusDays(1)))
+				.concatMap(day -> {
+					long onLoan = overlapSeconds(borrowedAt, returnedAt, day);
+					boolean returnDay = day.equals(returnDate);
+					return (onLoan > 0 || returnDay)
+							? addDaily(bookId, day, 0, returnDay ? 1 : 0,
+									returnDay ? ChronoUnit.SECONDS.between(borrowedAt, returnedAt) : 0, onLoan)
+							: Mono.<Void>empty();
+				})
+				.then();
+	}
+
+	private Mono<Void> addDaily(Long bookId, LocalDate day, long borrowCount, long returnCount,
+			long returnedLoanSeconds, long onLoanSeconds) {
+		return loanRepository.addDaily(bookId, day, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds)
+				.flatMap(updated -> updated > 0
+						? Mono.<Long>empty()
+						: loanRepository.insertDaily(bookId, day, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds))
+				.then();
+	}
+
+	/**
+	 * [start, end) のうち、指定日に含まれる秒数
+	 */
+	private static long overlapSeconds(LocalDateTime start, LocalDateTime end, LocalDate day) {
+		LocalDateTime from = start.isAfter(day.atStartOfDay()) ? start : day.atStartOfDay();
+		LocalDateTime to = end.isBefore(day.plusDays(1).atStartOfDay()) ? end : day.plusDays(1).atStartOfDay();
+		return from.isBefore(to) ? ChronoUnit.SECONDS.between(from, to) : 0;
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.bookmanagement.reactive.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.bookmanagement.reactive.repository.ReactiveBookRepository;
+import com.example.bookmanagement.reactive.repository.ReactiveReservationRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 返却されたコピーの取り置き（MVC版の ReservationService.handOff と同じ手順）
+ * 呼び出し側のトランザクションの中で実行する
+ */
+@Service
+public class ReactiveReservationService {
+
+	private final ReactiveBookRepository bookRepository;
+	private final ReactiveReservationRepository reservationRepository;
+	private final Duration holdDuration;
+
+	public ReactiveReservationService(ReactiveBookRepository bookRepository,
+			ReactiveReservationRepository reservationRepository,
+			@Value("${book.reservation.hold-duration:24h}") Duration holdDuration) {
+		this.bookRepository = bookRepository;
+		this.reservationRepository = reservationRepository;
+		this.holdDuration = holdDuration;
+	}
+
+	/**
+	 * 貸出可能なコピーを1冊、順番待ちの先頭のために取り置く
+	 *
+	 * @return 取り置いたか（順番待ちがない、または貸出可能なコピーがなければ false）
+	 */
+	public Mono<Boolean> handOff(Long bookId) {
+		return reservationRepository.existsWaiting(bookId)
+				.flatMap(waiting -> waiting
+						// 書籍の行を先に更新し、同じ書籍への受け渡しを直列にする
+						? bookRepository.holdCopy(bookId).flatMap(held -> held > 0
+								? holdHead(bookId, LocalDateTime.now().plus(holdDuration))
+								: Mono.just(false))
+						: Mono.just(false));
+	}
+
+	private Mono<Boolean> holdHead(Long bookId, LocalDateTime expiresAt) {
+		return reservationRepository.holdHead(bookId, expiresAt)
+				.flatMap(updated -> updated > 0
+						? Mono.just(true)
+						: reservationRepository.existsWaiting(bookId).flatMap(waiting -> waiting
+								? holdHead(bookId, expiresAt)
+								// 確認した後に順番待ちがすべて取り消された
+								: bookRepository.releaseHeldCopy(bookId).thenReturn(false)));
+	}
+}
@@ -0,0 +1,308 @@
+package com.example.bookmanagement.reactive.controller;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.ReviewResponse;
+import com.example.bookmanagement.reactive.service.BookStatusEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveBookControllerTest {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Test
+	@DisplayName("登録・取得：MVC版と同じ形のレスポンスが返り、一覧はカーソルでページングできること")
+	void registerAndPage() {
+		// GIVEN
+		BookResponse first = register("リアクティブ入門", "著者W", "9784900000001");
+		BookResponse second = register("リアクティブ実践", "著者W", "9784900000002");
+
+		// WHEN & THEN
+		webTestClient.get().uri("/api/books/{id}", first.id())
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.title").isEqualTo("リアクティブ入門")
+			.jsonPath("$.status").isEqualTo("AVAILABLE")
+			.jsonPath("$.rating.reviewCount").isEqualTo(0)
+			.jsonPath("$.rating.histogram.length()").isEqualTo(5);
+
+		BookPageResponse page = webTestClient.get().uri("/api/books?author=著者W&size=1")
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(BookPageResponse.class).returnResult().getResponseBody();
+		assertThat(page.books()).extracting(BookResponse::id).containsExactly(first.id());
+		assertThat(page.nextCursor()).isEqualTo(first.id());
+
+		BookPageResponse next = webTestClient.get().uri("/api/books?author=著者W&size=1&cursor={cursor}", page.nextCursor())
+			.exchange()
+			.expectBody(BookPageResponse.class).returnResult().getResponseBody();
+		assertThat(next.books()).extracting(BookResponse::id).containsExactly(second.id());
+		assertThat(next.nextCursor()).isNull();
+	}
+
+	@Test
+	@DisplayName("ストリーム：NDJSONを指定すると一覧が1件ずつ流れ、必要な分だけ読めること")
+	void streamBooks_ndjson() {
+		// GIVEN
+		for (int i = 0; i < 5; i++) {
+			register("ストリーム" + i, "著者X", "978491000000" + i);
+		}
+
+		// WHEN
+		Flux<BookResponse> books = webTestClient.get().uri("/api/books?author=著者X")
+			.accept(MediaType.APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk()
+			.returnResult(BookResponse.class).getResponseBody();
+
+		// THEN: 要求した件数ずつ受け取れる
+		StepVerifier.create(books, 2)
+			.expectNextMatches(book -> book.title().equals("ストリーム0"))
+			.expectNextMatches(book -> book.title().equals("ストリーム1"))
+			.thenRequest(3)
+			.expectNextCount(3)
+			.verifyComplete();
+	}
+
+	@Test
+	@DisplayName("レビュー：投稿後に集計値とレビューが反映され、レビューは新しい順にストリームで読めること")
+	void addReview_andStream() {
+		// GIVEN
+		BookResponse book = register("レビューの流れ", "著者Y", "9784920000001");
+
+		// WHEN
+		for (int rating = 3; rating <= 5; rating++) {
+			webTestClient.post().uri("/api/books/{id}/reviews", book.id())
+				.bodyValue(Map.of("content", "星" + rating, "rating", rating))
+				.exchange()
+				.expectStatus().isCreated();
+		}
+
+		// THEN
+		BookWithReviewsResponse withReviews = webTestClient.get().uri("/api/books/{id}/bookWithReviews?reviewSize=2", book.id())
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(BookWithReviewsResponse.class).returnResult().getResponseBody();
+		assertThat(withReviews.rating().reviewCount()).isEqualTo(3);
+		assertThat(withReviews.rating().averageRating()).isEqualTo(4.0);
+		assertThat(withReviews.reviews()).extracting(ReviewResponse::content).containsExactly("星5", "星4");
+		assertThat(withReviews.nextReviewCursor()).isEqualTo(withReviews.reviews().get(1).id());
+
+		List<ReviewResponse> streamed = webTestClient.get().uri("/api/books/{id}/reviews", book.id())
+			.accept(MediaType.APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus().isOk()
+			.returnResult(ReviewResponse.class).getResponseBody()
+			.collectList().block(Duration.ofSeconds(5));
+		assertThat(streamed).extracting(ReviewResponse::content).containsExactly("星5", "星4", "星3");
+	}
+
+	@Test
+	@DisplayName("ステータス配信：貸出・返却のたびに購読中のクライアントへイベントが届くこと")
+	void statusEvents_pushedOnBorrowAndReturn() {
+		// GIVEN
+		BookResponse book = register("配信される本", "著者Z", "9784930000001");
+		Flux<ServerSentEvent<BookStatusEvent>> events = webTestClient.get().uri("/api/books/status-events")
+			.accept(MediaType.TEXT_EVENT_STREAM)
+			.exchange()
+			.expectStatus().isOk()
+			.returnResult(new ParameterizedTypeReference<ServerSentEvent<BookStatusEvent>>() {})
+			.getResponseBody()
+			.filter(event -> event.data() != null && book.id().equals(event.data().bookId()));
+
+		// WHEN & THEN
+		StepVerifier.create(events.map(event -> event.data().status()))
+			.then(() -> patch(book.id(), "borrow"))
+			.expectNext("BORROWED")
+			.then(() -> patch(book.id(), "return"))
+			.expectNext("AVAILABLE")
+			.thenCancel()
+			.verify(Duration.ofSeconds(10));
+	}
+
+	@Test
+	@DisplayName("ステータス配信：同時に貸し出されても全ての変更が届き、イベントに id が付かないこと")
+	void statusEvents_concurrentChangesAllDelivered() {
+		// GIVEN
+		List<Long> bookIds = IntStream.range(0, 20)
+			.mapToObj(i -> register("同時に配信される本" + i, "著者Z2", String.format("97849700000%02d", i)).id())
+			.toList();
+		Flux<ServerSentEvent<BookStatusEvent>> events = webTestClient.get().uri("/api/books/status-events")
+			.accept(MediaType.TEXT_EVENT_STREAM)
+			.exchange()
+			.expectStatus().isOk()
+			.returnResult(new ParameterizedTypeReference<ServerSentEvent<BookStatusEvent>>() {})
+			.getResponseBody()
+			.filter(event -> event.data() != null && bookIds.contains(event.data().bookId()));
+
+		// WHEN & THEN
+		StepVerifier.create(events)
+			.then(() -> Flux.fromIterable(bookIds)
+					.parallel(4).runOn(Schedulers.boundedElastic())
+					.doOnNext(id -> patch(id, "borrow"))
+					.sequential().blockLast(Duration.ofSeconds(10)))
+			.recordWith(ArrayList::new)
+			.expectNextCount(bookIds.size())
+			.consumeRecordedWith(received -> {
+				assertThat(received).extracting(event -> event.data().bookId()).containsExactlyInAnyOrderElementsOf(bookIds);
+				assertThat(received).extracting(ServerSentEvent::id).containsOnlyNulls();
+			})
+			.thenCancel()
+			.verify(Duration.ofSeconds(15));
+	}
+
+	@Test
+	@DisplayName("返却：予約の順番待ちがあれば、返却したコピーが先頭の予約に取り置かれること")
+	void returnBook_handsOffToWaitingReservation() {
+		// GIVEN: 1冊しかない本が貸出中で、予約（MVC版で受け付けたもの）が1件ある
+		BookResponse book = register("予約のある本", "著者R", "9784950000001");
+		patch(book.id(), "borrow");
+		databaseClient.sql("""
+				insert into reservations (id, book_id, status, created_at)
+				values (next value for reservations_seq, :bookId, 'WAITING', current_timestamp)
+				""")
+			.bind("bookId", book.id())
+			.fetch().rowsUpdated().block(Duration.ofSeconds(5));
+
+		// WHEN & THEN
+		webTestClient.patch().uri("/api/books/{id}/return", book.id())
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.jsonPath("$.status").isEqualTo("RESERVED")
+			.jsonPath("$.availableCopies").isEqualTo(0);
+		String status = databaseClient.sql("select status from reservations where book_id = :bookId")
+			.bind("bookId", book.id())
+			.map(row -> row.get("status", String.class))
+			.one().block(Duration.ofSeconds(5));
+		assertThat(status).isEqualTo("HELD");
+		webTestClient.patch().uri("/api/books/{id}/borrow", book.id())
+			.exchange()
+			.expectStatus().isEqualTo(409);
+	}
+
+	@Test
+	@DisplayName("貸出履歴：貸出・返却のたびに MVC版と同じ履歴と日次の集計値が記録されること")
+	void borrowAndReturn_recordLoans() {
+		// GIVEN
+		BookResponse book = register("履歴の残る本", "著者L", "9784960000001");
+
+		// WHEN
+		patch(book.id(), "borrow");
+		patch(book.id(), "return");
+		patch(book.id(), "borrow");
+
+		// THEN: 1件目は閉じられ、2件目は貸出中
+		List<Boolean> returned = databaseClient.sql("select returned_at from loans where book_id = :bookId order by id")
+			.bind("bookId", book.id())
+			.map(row -> row.get("returned_at") != null)
+			.all().collectList().block(Duration.ofSeconds(5));
+		assertThat(returned).containsExactly(true, false);
+		Map<String, Object> daily = databaseClient.sql("select borrow_count, return_count from book_loan_daily where book_id = :bookId")
+			.bind("bookId", book.id())
+			.fetch().one().block(Duration.ofSeconds(5));
+		assertThat(daily).containsEntry("BORROW_COUNT", 2L).containsEntry("RETURN_COUNT", 1L);
+	}
+
+	@Test
+	@DisplayName("登録：コピー数を指定するとそのコピー数で登録され、応答にも保存した値が返ること")
+	void createBook_withCopies() {
+		// WHEN
+		BookResponse book = webTestClient.post().uri("/api/books")
+			.bodyValue(Map.of("title", "複本のある本", "author", "著者K", "isbn", "9784980000001", "copies", 3))
+			.exchange()
+			.expectStatus().isCreated()
+			.expectBody(BookResponse.class).returnResult().getResponseBody();
+
+		// THEN
+		assertThat(book.copies()).isEqualTo(3);
+		assertThat(book.availableCopies()).isEqualTo(3);
+		Map<String, Object> stored = databaseClient.sql("select copies, available_copies from books where id = :id")
+			.bind("id", book.id())
+			.fetch().one().block(Duration.ofSeconds(5));
+		assertThat(stored).containsEntry("COPIES", 3).containsEntry("AVAILABLE_COPIES", 3);
+
+		// 1冊貸し出しても、残りのコピーで貸出可能のまま
+		patch(book.id(), "borrow");
+		webTestClient.get().uri("/api/books/{id}", book.id())
+			.exchange()
+			.expectBody()
+			.jsonPath("$.status").isEqualTo("AVAILABLE")
+			.jsonPath("$.availableCopies").isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("エラー：二重貸出は409、存在しない書籍・範囲外の件数・入力不備は400がMVC版と同じ形で返ること")
+	void errors_sameAsMvc() {
+		// GIVEN
+		BookResponse book = register("エラーの本", "著者E", "9784940000001");
+		patch(book.id(), "borrow");
+
+		// WHEN & THEN
+		webTestClient.patch().uri("/api/books/{id}/borrow", book.id())
+			.exchange()
+			.expectStatus().isEqualTo(409)
+			.expectBody()
+			.jsonPath("$.status").isEqualTo(409)
+			.jsonPath("$.message").isEqualTo("この本は既に貸出中です。");
+		webTestClient.get().uri("/api/books/{id}", 999_999_999L)
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody()
+			.jsonPath("$.message").isEqualTo("指定されたIDの本が見つかりません: 999999999");
+		webTestClient.get().uri("/api/books?size=101")
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody()
+			.jsonPath("$.message").isEqualTo("取得件数は1〜100の範囲で指定してください: 101");
+		webTestClient.post().uri("/api/books")
+			.bodyValue(Map.of("title", "", "author", "著者E", "isbn", "123"))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectBody()
+			.jsonPath("$.errors.title").isEqualTo("タイトルは必須です")
+			.jsonPath("$.errors.isbn").isEqualTo("ISBNはハイフンなしの13文字で入力してください");
+	}
+
+	private BookResponse register(String title, String author, String isbn) {
+		return webTestClient.post().uri("/api/books")
+			.bodyValue(Map.of("title", title, "author", author, "isbn", isbn))
+			.exchange()
+			.expectStatus().isCreated()
+			.expectBody(BookResponse.class).returnResult().getResponseBody();
+	}
+
+	private void patch(Long id, String action) {
+		webTestClient.patch().uri("/api/books/{id}/" + action, id)
+			.exchange()
+			.expectStatus().isOk();
+	}
+}
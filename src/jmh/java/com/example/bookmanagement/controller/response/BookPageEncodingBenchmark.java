@@ -0,0 +1,113 @@
+package com.example.bookmanagement.controller.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.bookmanagement.controller.advice.FieldsResponseBodyAdvice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 1万件の書籍一覧（BookPageResponse）の書き出しを、形式（JSON / CBOR / Smile）・fields・gzip ごとに計測する
+ * 時間は JMH の結果に、バイト数はセットアップ時に標準出力へ出す（形式ごとの大きさは入力が同じなら毎回同じため）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookPageEncodingBenchmark {
+
+	private static final int BOOKS = 10_000;
+	private static final String FIELDS = "id,title,status";
+
+	private ObjectWriter json;
+	private ObjectWriter cbor;
+	private ObjectWriter smile;
+	private FieldsResponseBodyAdvice fieldsAdvice;
+	private BookPageResponse page;
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper jsonMapper = mapper().build();
+		json = jsonMapper.writer();
+		cbor = mapper().factory(new CBORFactory()).build().writer();
+		smile = mapper().factory(new SmileFactory()).build().writer();
+		fieldsAdvice = new FieldsResponseBodyAdvice(jsonMapper);
+
+		List<BookResponse> books = new ArrayList<>(BOOKS);
+		for (int i = 1; i <= BOOKS; i++) {
+			books.add(new BookResponse((long) i, "ベンチマーク用の書籍タイトル" + i, "著者" + (i % 100), String.valueOf(9784000000000L + i),
+					(i % 3 == 0) ? "BORROWED" : "AVAILABLE", 1, (i % 3 == 0) ? 0 : 1,
+					new RatingResponse(i % 50, (i % 50 == 0) ? null : 3.5, List.of(1L, 2L, 3L, 4L, (long) (i % 7)))));
+		}
+		page = new BookPageResponse(books, (long) BOOKS);
+
+		System.out.printf("%nbytes: json=%d json+gzip=%d cbor=%d cbor+gzip=%d smile=%d smile+gzip=%d fields(json)=%d fields(json)+gzip=%d%n",
+				json().length, gzip(json()).length, cbor().length, gzip(cbor()).length, smile().length, gzip(smile()).length,
+				jsonFields().length, gzip(jsonFields()).length);
+	}
+
+	@Benchmark
+	public byte[] json() throws IOException {
+		return json.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public byte[] cbor() throws IOException {
+		return cbor.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public byte[] smile() throws IOException {
+		return smile.writeValueAsBytes(page);
+	}
+
+	/**
+	 * fields 指定時と同じく、JsonNode に変換して項目を取り除いてから書き出す
+	 */
+	@Benchmark
+	public byte[] jsonFields() throws IOException {
+		return json.writeValueAsBytes(fieldsAdvice.project(page, FIELDS));
+	}
+
+	/**
+	 * 書き出しに加えて gzip で圧縮する（server.compression と同じ Deflater の既定レベル）
+	 */
+	@Benchmark
+	public byte[] jsonGzip() throws IOException {
+		return gzip(json());
+	}
+
+	private static Jackson2ObjectMapperBuilder mapper() {
+		return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	}
+
+	private static byte[] gzip(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.bookmanagement.controller.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * BookWithReviewsResponse のJSONシリアライズをレビュー件数ごとに計測する
+ * ObjectMapper は Spring Boot（MVC のメッセージコンバータ）と同じ設定で組み立てる
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookWithReviewsResponseSerializationBenchmark {
+
+	@Param({ "20", "1000", "10000" })
+	private int reviewCount;
+
+	private ObjectWriter writer;
+	private BookWithReviewsResponse response;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		writer = objectMapper.writerFor(BookWithReviewsResponse.class);
+
+		LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+		List<ReviewResponse> reviews = new ArrayList<>(reviewCount);
+		for (int i = reviewCount; i > 0; i--) {
+			reviews.add(new ReviewResponse((long) i, "とても参考になりました。レビュー" + i, i % 5 + 1, base.plusMinutes(i)));
+		}
+		response = new BookWithReviewsResponse(1L, "ベンチマーク", "著者", "9784000000000", "AVAILABLE",
+				new RatingResponse(reviewCount, 3.0, List.of(1L, 2L, 3L, 4L, 5L)), reviews, null);
+	}
+
+	/**
+	 * レスポンス全体をバイト配列に組み立てる
+	 */
+	@Benchmark
+	public byte[] writeValueAsBytes() throws IOException {
+		return writer.writeValueAsBytes(response);
+	}
+
+	/**
+	 * 出力ストリームへ直接書き出す（バイト配列を組み立てない分のコピーとメモリ確保がない）
+	 */
+	@Benchmark
+	public void writeToStream() throws IOException {
+		writer.writeValue(OutputStream.nullOutputStream(), response);
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.bookmanagement.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.bookmanagement.BookManagementApplication;
+
+/**
+ * ベンチマーク用に組み込みのH2でアプリケーションを起動し、書籍・レビューを投入する
+ * DBへの問い合わせを計測するため、キャッシュは無効にする
+ */
+class BenchmarkCatalog implements AutoCloseable {
+
+	private final ConfigurableApplicationContext context;
+	private final JdbcTemplate jdbcTemplate;
+	private final List<Long> bookIds;
+
+	/**
+	 * @param catalogSize 書籍数（一括登録の経路でチャンク単位にバッチINSERTする）
+	 */
+	BenchmarkCatalog(int catalogSize) throws IOException {
+		context = new SpringApplicationBuilder(BookManagementApplication.class)
+				.web(WebApplicationType.NONE)
+				// application.yaml より優先させるため、既定値（properties）ではなく起動引数で渡す
+				.run("--spring.datasource.url=jdbc:h2:mem:jmh-" + UUID.randomUUID() + ";DB_CLOSE_ON_EXIT=FALSE",
+						"--spring.jpa.show-sql=false",
+						"--spring.main.banner-mode=off",
+						"--logging.level.root=WARN",
+						"--book.cache.enabled=false");
+		jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < catalogSize; i++) {
+			ndjson.append(String.format("{\"title\":\"ベンチマーク%d\",\"author\":\"著者%d\",\"isbn\":\"97891%08d\"}%n", i, i % 100, i));
+		}
+		context.getBean(BookBulkImportService.class).importBooks(
+				new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+				BookBulkImportService.Format.NDJSON, result -> {});
+		bookIds = jdbcTemplate.queryForList("select id from books order by id", Long.class);
+	}
+
+	BookDomainService bookDomainService() {
+		return context.getBean(BookDomainService.class);
+	}
+
+	/**
+	 * ID順で中央の書籍
+	 */
+	Long middleBookId() {
+		return bookIds.get(bookIds.size() / 2);
+	}
+
+	/**
+	 * 書籍にレビューを投入し、評価の集計値を数え直す
+	 *
+	 * @return 新しい順に並べたときのレビューID
+	 */
+	List<Long> addReviews(Long bookId, int reviewCount) {
+		LocalDateTime base = LocalDateTime.now().minusDays(1);
+		List<Object[]> rows = new ArrayList<>(reviewCount);
+		for (int i = 0; i < reviewCount; i++) {
+			rows.add(new Object[] { bookId, "レビュー" + i, i % 5 + 1, Timestamp.valueOf(base.plusSeconds(i)) });
+		}
+		jdbcTemplate.batchUpdate("insert into reviews (id, book_id, content, rating, created_at) values (next value for reviews_seq, ?, ?, ?, ?)", rows);
+		context.getBean(BookRatingStatsRebuildJob.class).rebuildAll();
+		return jdbcTemplate.queryForList(
+				"select id from reviews where book_id = ? order by created_at desc, id desc", Long.class, bookId);
+	}
+
+	@Override
+	public void close() {
+		context.close();
+	}
+}
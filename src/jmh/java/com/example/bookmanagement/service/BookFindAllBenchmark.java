@@ -0,0 +1,74 @@
+package com.example.bookmanagement.service;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+
+/**
+ * 一覧取得（BookDomainService.findAll）を書籍数ごとに計測する
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookFindAllBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({ "1000", "10000", "100000" })
+	private int catalogSize;
+
+	private BenchmarkCatalog catalog;
+	private BookDomainService bookDomainService;
+	private Long middleCursor;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		catalog = new BenchmarkCatalog(catalogSize);
+		bookDomainService = catalog.bookDomainService();
+		middleCursor = catalog.middleBookId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		catalog.close();
+	}
+
+	@Benchmark
+	public BookPageResponse firstPage() {
+		return bookDomainService.findAll(new BookSearchCommand(null, PAGE_SIZE, null, null, null));
+	}
+
+	@Benchmark
+	public BookPageResponse middlePage() {
+		return bookDomainService.findAll(new BookSearchCommand(middleCursor, PAGE_SIZE, null, null, null));
+	}
+
+	@Benchmark
+	public BookPageResponse byAuthor() {
+		return bookDomainService.findAll(new BookSearchCommand(null, PAGE_SIZE, null, "著者7", null));
+	}
+
+	@Benchmark
+	public BookPageResponse byTitlePrefix() {
+		return bookDomainService.findAll(new BookSearchCommand(null, PAGE_SIZE, null, null, "ベンチマーク1"));
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.bookmanagement.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.BookRatingStats;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookSummaryView;
+
+/**
+ * Entity・射影 → BookResponse の変換（toBookResponse）を一覧1ページ分（20件）単位で計測する
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookResponseMappingBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	private final BookSummaryView[] views = new BookSummaryView[PAGE_SIZE];
+	private final Book[] books = new Book[PAGE_SIZE];
+	private final BookRatingStats[] stats = new BookRatingStats[PAGE_SIZE];
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			long id = i + 1;
+			Status status = (i % 2 == 0) ? Status.AVAILABLE : Status.BORROWED;
+			int available = (status == Status.AVAILABLE) ? 1 : 0;
+			views[i] = new BookSummaryView(id, "ベンチマーク" + i, "著者" + i, "97892" + i, status, 1, available, 15L, 52L, 1L, 2L, 3L, 4L, 5L);
+			books[i] = Book.builder().id(id).title("ベンチマーク" + i).author("著者" + i).isbn("97892" + i).status(status)
+					.availableCopies(available).build();
+			stats[i] = BookRatingStats.of(id, 15L, 52L, 1L, 2L, 3L, 4L, 5L);
+		}
+	}
+
+	@Benchmark
+	public void fromSummaryView(Blackhole blackhole) {
+		for (BookSummaryView view : views) {
+			blackhole.consume(BookDomainService.toBookResponse(view));
+		}
+	}
+
+	@Benchmark
+	public void fromEntity(Blackhole blackhole) {
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			blackhole.consume(BookDomainService.toBookResponse(books[i], stats[i]));
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.bookmanagement.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+
+/**
+ * 詳細取得（BookDomainService.getBookWithReviews）を、対象の書籍のレビュー数ごとに計測する
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookWithReviewsBenchmark {
+
+	private static final int CATALOG_SIZE = 1000;
+	private static final int PAGE_SIZE = 20;
+
+	@Param({ "0", "100", "10000" })
+	private int reviewCount;
+
+	private BenchmarkCatalog catalog;
+	private BookDomainService bookDomainService;
+	private Long bookId;
+	private Long middleCursor;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		catalog = new BenchmarkCatalog(CATALOG_SIZE);
+		bookDomainService = catalog.bookDomainService();
+		bookId = catalog.middleBookId();
+		List<Long> reviewIds = catalog.addReviews(bookId, reviewCount);
+		middleCursor = reviewIds.isEmpty() ? null : reviewIds.get(reviewIds.size() / 2);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		catalog.close();
+	}
+
+	@Benchmark
+	public BookWithReviewsResponse firstPage() {
+		return bookDomainService.getBookWithReviews(bookId, null, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public BookWithReviewsResponse middlePage() {
+		return bookDomainService.getBookWithReviews(bookId, middleCursor, PAGE_SIZE);
+	}
+}
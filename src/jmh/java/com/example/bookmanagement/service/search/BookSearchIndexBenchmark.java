@@ -0,0 +1,81 @@
+package com.example.bookmanagement.service.search;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 全文検索（BookSearchIndex.search）を、書籍1万件・レビュー100万件の索引に対して計測する
+ * タイトル・著者・レビューは日本語の語彙から乱数（固定のシード）で組み立てる
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookSearchIndexBenchmark {
+
+	private static final int BOOKS = 10_000;
+	private static final int REVIEWS = 1_000_000;
+
+	private static final List<String> WORDS = List.of(
+			"物語", "冒険", "推理", "歴史", "料理", "科学", "宇宙", "経済", "哲学", "旅行",
+			"猫", "犬", "魔法", "探偵", "戦国", "未来", "青春", "恋愛", "家族", "学校",
+			"プログラミング", "データベース", "デザイン", "マネジメント", "ビジネス", "アルゴリズム",
+			"とても", "面白い", "読みやすい", "難しい", "感動", "おすすめ", "丁寧", "分かりやすい",
+			"展開", "結末", "登場人物", "描写", "文章", "説明", "入門", "実践", "基本", "応用",
+			"の", "が", "を", "に", "で", "と", "も", "は", "でした", "です", "ました", "本", "作品");
+
+	private static final List<String> AUTHORS = List.of(
+			"山田太郎", "佐藤花子", "鈴木一郎", "高橋美咲", "田中健", "伊藤さくら", "渡辺翔", "中村陽子");
+
+	/** タイトルの語・レビューの頻出語・レビューの組み合わせ（ANDで絞り込まれる） */
+	@Param({ "宇宙", "面白い", "探偵 結末", "プログラミング 入門" })
+	private String query;
+
+	private BookSearchIndex index;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		index = new BookSearchIndex();
+		for (int id = 1; id <= BOOKS; id++) {
+			index.addBook(id, sentence(random, 2 + random.nextInt(3)), AUTHORS.get(random.nextInt(AUTHORS.size())), "97893" + id);
+		}
+		for (int i = 0; i < REVIEWS; i++) {
+			index.addReview(1 + random.nextInt(BOOKS), sentence(random, 6 + random.nextInt(10)));
+		}
+	}
+
+	@Benchmark
+	public List<BookSearchIndex.Hit> titleAndAuthor() {
+		return index.search(query, false, 20);
+	}
+
+	@Benchmark
+	public List<BookSearchIndex.Hit> withReviews() {
+		return index.search(query, true, 20);
+	}
+
+	private static String sentence(Random random, int words) {
+		StringBuilder sentence = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			sentence.append(WORDS.get(random.nextInt(WORDS.size())));
+		}
+		return sentence.toString();
+	}
+}
@@ -0,0 +1,237 @@
+package com.example.bookmanagement.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+/**
+ * BookController の読み取り系エンドポイントに一定数のクライアントから負荷をかけ、
+ * プラットフォームスレッド（Tomcatのスレッドプール）と仮想スレッドでスループットとp99レイテンシを比較する
+ *
+ * SQLの実行ごとに DbLatencyInjector で遅延を入れ、遅いDBを再現する
+ * 条件は -DloadTest.concurrency=400 -DloadTest.dbLatencyMs=20 -DloadTest.poolSize=400
+ * -DloadTest.warmupSeconds=3 -DloadTest.durationSeconds=10 で変更できる
+ * 結果は標準出力と build/reports/loadTest/summary.md に出力する
+ *
+ * 仮想スレッドのモードは Java 21 以上で実行した場合だけ計測する（それ未満ではスキップする）
+ */
+@TestPropertySource(properties = {
+		// 遅延を入れたDBの性能を測るため、キャッシュは無効にする
+		"book.cache.enabled=false",
+		"spring.jpa.show-sql=false",
+		// プールが先に頭打ちにならないよう、クライアント数に合わせる
+		"spring.datasource.hikari.maximum-pool-size=${loadTest.poolSize:400}",
+		"spring.datasource.hikari.connection-timeout=30000"
+})
+class BookControllerLoadTest {
+
+	private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 400);
+	private static final Duration DB_LATENCY = Duration.ofMillis(Long.getLong("loadTest.dbLatencyMs", 20));
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadTest.warmupSeconds", 3));
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadTest.durationSeconds", 10));
+	private static final int BOOKS = 200;
+
+	private static final Queue<Result> RESULTS = new ConcurrentLinkedQueue<>();
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+	@Import(DbLatencyInjector.class)
+	class PlatformThreads {
+		@Autowired
+		private BookDomainService bookDomainService;
+		@Autowired
+		private DbLatencyInjector dbLatencyInjector;
+		@LocalServerPort
+		private int port;
+
+		@Test
+		@DisplayName("プラットフォームスレッド：遅いDBに対するスループットとp99レイテンシを計測する")
+		void measure() throws Exception {
+			RESULTS.add(run("platform", port, bookDomainService, dbLatencyInjector));
+		}
+	}
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+	@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+	@Import(DbLatencyInjector.class)
+	class VirtualThreads {
+		@Autowired
+		private BookDomainService bookDomainService;
+		@Autowired
+		private DbLatencyInjector dbLatencyInjector;
+		@Autowired
+		private Environment environment;
+		@LocalServerPort
+		private int port;
+
+		@Test
+		@DisplayName("仮想スレッド：遅いDBに対するスループットとp99レイテンシを計測する")
+		void measure() throws Exception {
+			assumeTrue(Threading.VIRTUAL.isActive(environment),
+					"仮想スレッドは Java 21 以上で有効になる（実行中のJava: " + Runtime.version() + "）");
+			RESULTS.add(run("virtual", port, bookDomainService, dbLatencyInjector));
+		}
+	}
+
+	@AfterAll
+	static void report() throws IOException {
+		StringBuilder summary = new StringBuilder()
+				.append("Java ").append(Runtime.version())
+				.append(", concurrency=").append(CONCURRENCY)
+				.append(", dbLatency=").append(DB_LATENCY.toMillis()).append("ms")
+				.append(", duration=").append(DURATION.toSeconds()).append("s\n\n")
+				.append("| mode | requests | errors | throughput (req/s) | p50 (ms) | p99 (ms) | max (ms) |\n")
+				.append("|------|---------:|-------:|-------------------:|---------:|---------:|---------:|\n");
+		for (Result result : RESULTS) {
+			summary.append(String.format("| %s | %d | %d | %.1f | %.1f | %.1f | %.1f |%n",
+					result.mode(), result.requests(), result.errors(), result.throughput(),
+					result.p50Millis(), result.p99Millis(), result.maxMillis()));
+		}
+		System.out.println(summary);
+		Path report = Path.of("build", "reports", "loadTest", "summary.md");
+		Files.createDirectories(report.getParent());
+		Files.writeString(report, summary);
+	}
+
+	private record Result(String mode, long requests, long errors, double throughput,
+			double p50Millis, double p99Millis, double maxMillis) {}
+
+	/**
+	 * 初期データを投入してから遅延を有効にし、ウォームアップ後に一定時間負荷をかける
+	 */
+	private static Result run(String mode, int port, BookDomainService bookDomainService, DbLatencyInjector dbLatencyInjector) throws Exception {
+		List<Long> bookIds = seed(bookDomainService);
+		dbLatencyInjector.setLatency(DB_LATENCY);
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		String baseUrl = "http://localhost:" + port + "/api/books";
+		load(client, baseUrl, bookIds, WARMUP);
+		Measurement measurement = load(client, baseUrl, bookIds, DURATION);
+
+		long[] latencies = measurement.latencies();
+		Arrays.sort(latencies);
+		Result result = new Result(mode, latencies.length, measurement.errors(),
+				latencies.length / (DURATION.toNanos() / 1e9),
+				percentile(latencies, 0.50), percentile(latencies, 0.99),
+				latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+		System.out.println(result);
+
+		assertThat(result.requests()).isPositive();
+		assertThat(result.errors()).isZero();
+		return result;
+	}
+
+	private static List<Long> seed(BookDomainService bookDomainService) {
+		List<Long> bookIds = new ArrayList<>(BOOKS);
+		for (int i = 0; i < BOOKS; i++) {
+			BookResponse book = bookDomainService.registerBook("負荷試験" + i, "著者" + (i % 10), String.format("97890%08d", i));
+			for (int r = 0; r < 3; r++) {
+				bookDomainService.addReview(book.id(), "レビュー" + r, r + 3);
+			}
+			bookIds.add(book.id());
+		}
+		return bookIds;
+	}
+
+	private record Measurement(long[] latencies, long errors) {}
+
+	/**
+	 * CONCURRENCY 本のクライアントが、応答を受け取るたびに次のリクエストを送る（クローズドループ）
+	 * 一覧・詳細（レビュー付き）・1件取得を順に呼ぶ
+	 */
+	private static Measurement load(HttpClient client, String baseUrl, List<Long> bookIds, Duration duration) throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicLong errors = new AtomicLong();
+		List<Future<long[]>> futures = new ArrayList<>(CONCURRENCY);
+		try {
+			for (int c = 0; c < CONCURRENCY; c++) {
+				int clientIndex = c;
+				futures.add(clients.submit(() -> {
+					long[] latencies = new long[1024];
+					int count = 0;
+					start.await();
+					long deadline = System.nanoTime() + duration.toNanos();
+					for (int i = clientIndex; System.nanoTime() < deadline; i++) {
+						long bookId = bookIds.get(i % bookIds.size());
+						URI uri = URI.create(switch (i % 3) {
+							case 0 -> baseUrl + "?size=20&cursor=" + bookId;
+							case 1 -> baseUrl + "/" + bookId + "/bookWithReviews?reviewSize=20";
+							default -> baseUrl + "/" + bookId;
+						});
+						long begin = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+									HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								errors.incrementAndGet();
+								continue;
+							}
+						} catch (IOException e) {
+							errors.incrementAndGet();
+							continue;
+						}
+						if (count == latencies.length) {
+							latencies = Arrays.copyOf(latencies, count * 2);
+						}
+						latencies[count++] = System.nanoTime() - begin;
+					}
+					return Arrays.copyOf(latencies, count);
+				}));
+			}
+			start.countDown();
+			List<long[]> perClient = new ArrayList<>(CONCURRENCY);
+			for (Future<long[]> future : futures) {
+				perClient.add(future.get(duration.toSeconds() + 60, TimeUnit.SECONDS));
+			}
+			long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).toArray();
+			return new Measurement(latencies, errors.get());
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.bookmanagement.loadtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 遅いDBを再現するため、SQLの実行ごとに一定時間スレッドを待たせる
+ * 待っている間もコネクションはプールから借りたままなので、実際の遅いDBと同じくプールも占有される
+ * 初期データの投入が遅くならないよう、遅延は setLatency を呼ぶまで無効にしておく
+ */
+public class DbLatencyInjector implements BeanPostProcessor {
+
+	private static final Set<String> EXECUTE_METHODS = Set.of(
+			"execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+	private volatile long latencyMillis;
+
+	public void setLatency(Duration latency) {
+		this.latencyMillis = latency.toMillis();
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource) {
+			return new DelegatingDataSource(dataSource) {
+				@Override
+				public Connection getConnection() throws SQLException {
+					return wrapConnection(super.getConnection());
+				}
+
+				@Override
+				public Connection getConnection(String username, String password) throws SQLException {
+					return wrapConnection(super.getConnection(username, password));
+				}
+			};
+		}
+		return bean;
+	}
+
+	/**
+	 * Connection が返す Statement（PreparedStatement などを含む）を遅延付きのものに差し替える
+	 */
+	private Connection wrapConnection(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					if (result instanceof Statement statement) {
+						return wrapStatement(statement, method.getReturnType());
+					}
+					return result;
+				});
+	}
+
+	private Object wrapStatement(Statement statement, Class<?> statementType) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (EXECUTE_METHODS.contains(method.getName())) {
+				sleep();
+			}
+			return invoke(statement, method, args);
+		};
+		return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { statementType }, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void sleep() throws SQLException {
+		long millis = latencyMillis;
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("遅延の注入中に割り込まれました。", e);
+		}
+	}
+}
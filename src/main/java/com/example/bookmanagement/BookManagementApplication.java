@@ -2,8 +2,12 @@ package com.example.bookmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 集計の再計算などの定期バッチを有効にする
+@EnableRetry // 楽観ロックの競合時の再試行（トランザクションの外側で再試行される）
 public class BookManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,48 @@
+package com.example.bookmanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.bookmanagement.service.BookCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * インプロセスキャッシュの設定
+ * Caffeine は件数上限に達すると W-TinyLFU（アクセス頻度の推定）で残すエントリを選ぶため、
+ * 一度しか読まれないエントリで人気のエントリが追い出されにくい
+ * recordStats を有効にしているので、ヒット・ミス・追い出しの件数は /actuator/metrics の cache.* で確認できる
+ */
+@Configuration
+public class CacheConfig {
+
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${book.cache.enabled:true}") boolean enabled,
+			@Value("${book.cache.books.maximum-size:10000}") long booksMaximumSize,
+			@Value("${book.cache.books.expire-after-write:10m}") Duration booksExpireAfterWrite,
+			@Value("${book.cache.pages.maximum-size:1000}") long pagesMaximumSize,
+			@Value("${book.cache.pages.expire-after-write:30s}") Duration pagesExpireAfterWrite) {
+		if (!enabled) {
+			// 常にミスするキャッシュ（負荷試験・ベンチマークでDBへの問い合わせを計測する場合など）
+			return new NoOpCacheManager();
+		}
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(BookCache.BOOKS, Caffeine.newBuilder()
+				.maximumSize(booksMaximumSize)
+				.expireAfterWrite(booksExpireAfterWrite)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(BookCache.BOOK_PAGES, Caffeine.newBuilder()
+				.maximumSize(pagesMaximumSize)
+				.expireAfterWrite(pagesExpireAfterWrite)
+				.recordStats()
+				.build());
+		return cacheManager;
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.bookmanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * JSON に加えて、バイナリ形式（CBOR / Smile）でもレスポンスを返せるようにする
+ * Accept: application/cbor または application/x-jackson-smile を送ったクライアントにだけ使われる（既定はJSONのまま）
+ * 項目名・数値・日時の扱いを JSON と揃えるため、Spring Boot が設定した Jackson2ObjectMapperBuilder から組み立てる
+ */
+@Configuration
+public class MessageConverterConfig {
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
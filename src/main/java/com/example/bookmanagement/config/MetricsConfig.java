@@ -0,0 +1,38 @@
+package com.example.bookmanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 処理時間などのメトリクスの設定（/actuator/prometheus で収集する）
+ * エンドポイントごとの処理時間は http.server.requests、リポジトリのメソッドごとは spring.data.repository.invocations、
+ * コネクションプールは hikaricp.connections.*、Hibernate の統計は hibernate.* として Spring Boot が記録する
+ * ここではサービスのメソッドごとの処理時間（@Timed）と、リクエストごとのSQLの回数・時間を追加する
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+	private final MeterRegistry meterRegistry;
+
+	public MetricsConfig(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * @Timed を付けたクラス・メソッドの処理時間を記録する
+	 */
+	@Bean
+	public TimedAspect timedAspect() {
+		return new TimedAspect(meterRegistry);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new SqlMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+	}
+}
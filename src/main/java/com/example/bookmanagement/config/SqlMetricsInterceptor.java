@@ -0,0 +1,60 @@
+package com.example.bookmanagement.config;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * リクエストごとに実行したSQLの回数（book.sql.statements）と合計時間（book.sql.time）を記録する
+ * タグはエンドポイント（URIのパターン）とHTTPメソッド。SQLを実行しなかったリクエスト（キャッシュのヒットや304）は0回として記録する
+ */
+public class SqlMetricsInterceptor implements AsyncHandlerInterceptor {
+
+	private final MeterRegistry meterRegistry;
+
+	public SqlMetricsInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		SqlStatementListener.begin();
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		SqlStatementListener.Counts counts = SqlStatementListener.finish();
+		if (counts == null) {
+			return;
+		}
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = (pattern != null) ? pattern.toString() : "UNKNOWN";
+		DistributionSummary.builder("book.sql.statements")
+				.description("1リクエストで実行したSQLの回数")
+				.tags("uri", uri, "method", request.getMethod())
+				.register(meterRegistry)
+				.record(counts.statements());
+		Timer.builder("book.sql.time")
+				.description("1リクエストでSQLの実行にかかった合計時間")
+				.tags("uri", uri, "method", request.getMethod())
+				.register(meterRegistry)
+				.record(counts.nanos(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 非同期レスポンス（エクスポートなど）は別スレッドでSQLを実行するため数えない
+	 */
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		SqlStatementListener.finish();
+	}
+}
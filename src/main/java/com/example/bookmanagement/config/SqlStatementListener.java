@@ -0,0 +1,78 @@
+package com.example.bookmanagement.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * リクエストごとのSQLの実行回数と実行時間を数える Hibernate のセッションイベントリスナー
+ * hibernate.session.events.auto でセッションごとに Hibernate が生成する（Spring の Bean ではない）
+ * SQLはリクエストを処理するスレッドで実行されるため、数えた値はスレッドごとに溜め、
+ * SqlMetricsInterceptor がリクエストの始めに用意し、終わりに取り出して記録する
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+	private transient long startedAt;
+
+	/**
+	 * 現在のスレッドで数え始める
+	 */
+	static void begin() {
+		CURRENT.set(new Counts());
+	}
+
+	/**
+	 * 現在のスレッドで数えた値を取り出し、数えるのをやめる（begin していなければnull）
+	 */
+	static Counts finish() {
+		Counts counts = CURRENT.get();
+		CURRENT.remove();
+		return counts;
+	}
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		startedAt = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		record();
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		startedAt = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		record();
+	}
+
+	private void record() {
+		Counts counts = CURRENT.get();
+		if (counts != null) {
+			counts.statements++;
+			counts.nanos += System.nanoTime() - startedAt;
+		}
+	}
+
+	/**
+	 * 1リクエストで実行したSQLの回数（バッチは1回と数える）と合計の実行時間
+	 */
+	static final class Counts {
+		private long statements;
+		private long nanos;
+
+		long statements() {
+			return statements;
+		}
+
+		long nanos() {
+			return nanos;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.bookmanagement.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 読み取り専用トランザクションの接続先（レプリカ / プライマリ）をスレッドごとに指定する
+ * 通常、読み取り専用トランザクションはレプリカへ送られるが、直前に書き込んだデータを読む場合は
+ * レプリカへの反映が遅れている可能性があるため、onPrimaryIf でプライマリから読ませる
+ * （直前に書き込んだクライアントのリクエストは ReadYourWritesFilter がまとめてプライマリへ送る）
+ * 接続先は最初のSQLを実行した時点で決まるため、トランザクション内の最初の読み込みを囲むこと
+ */
+public final class ReadRouting {
+
+	private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+	private ReadRouting() {
+	}
+
+	/**
+	 * primary が true なら、reader の中で始まる読み込みをプライマリから行う
+	 */
+	public static <T> T onPrimaryIf(boolean primary, Supplier<T> reader) {
+		if (!primary) {
+			return reader.get();
+		}
+		Boolean previous = forcePrimary();
+		try {
+			return reader.get();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	/**
+	 * 以降の読み込みをプライマリから行う
+	 *
+	 * @return それまでの指定（restore に渡して戻す）
+	 */
+	static Boolean forcePrimary() {
+		Boolean previous = PRIMARY.get();
+		PRIMARY.set(Boolean.TRUE);
+		return previous;
+	}
+
+	static void restore(Boolean previous) {
+		if (previous == null) {
+			PRIMARY.remove();
+		} else {
+			PRIMARY.set(previous);
+		}
+	}
+
+	static boolean isPrimaryForced() {
+		return PRIMARY.get() != null;
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.bookmanagement.config.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * クライアントごとの read-your-writes（レプリカへの振り分けが有効なときだけ使う）
+ * 書き込みのリクエスト（GET・HEAD・OPTIONS 以外）には書き込んだ時刻のクッキーを付けて返し、
+ * そのクッキーが book.datasource.read-your-writes-window 以内のリクエストだけ、読み込みをプライマリから行う
+ * 印はクライアントが持つため、別のインスタンスへ振り分けられても効き、他のクライアントの読み込みはレプリカのまま
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	static final String COOKIE_NAME = "book-last-write";
+
+	private final Duration window;
+
+	public ReadYourWritesFilter(Duration window) {
+		this.window = window;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (window.isZero()) {
+			chain.doFilter(request, response);
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (isWrite(request.getMethod())) {
+			// 本文を書き出した後はヘッダを足せないため、処理の前に付ける（書き込みが失敗しても、しばらくプライマリから読むだけ）
+			response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, Long.toString(now))
+					.path("/")
+					.maxAge(Duration.ofSeconds((window.toMillis() + 999) / 1000)) // 1秒未満は切り上げる（0 だとクッキーの削除になる）
+					.httpOnly(true)
+					.sameSite("Lax")
+					.build()
+					.toString());
+		}
+		if (!wroteRecently(request, now)) {
+			chain.doFilter(request, response);
+			return;
+		}
+		Boolean previous = ReadRouting.forcePrimary();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReadRouting.restore(previous);
+		}
+	}
+
+	private boolean wroteRecently(HttpServletRequest request, long now) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return false;
+		}
+		for (Cookie cookie : cookies) {
+			if (COOKIE_NAME.equals(cookie.getName())) {
+				try {
+					// インスタンス間の時計のずれを考え、少し先の時刻も受け付ける
+					return Math.abs(now - Long.parseLong(cookie.getValue())) < window.toMillis();
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isWrite(String method) {
+		return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+	}
+}
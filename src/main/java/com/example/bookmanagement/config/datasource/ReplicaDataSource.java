@@ -0,0 +1,110 @@
+package com.example.bookmanagement.config.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 読み取り専用の接続をレプリカから払い出す DataSource
+ * 正常なレプリカを順番に（ラウンドロビンで）使い、接続に失敗したレプリカは次の死活確認で回復するまで外す
+ * 使えるレプリカがないとき、または ReadRouting でプライマリが指定されているときはプライマリから払い出す
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+	/** 死活確認で接続の応答を待つ秒数 */
+	private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+	private final DataSource primary;
+	private final List<Replica> replicas;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicas) {
+		this.primary = primary;
+		this.replicas = replicas.stream().map(Replica::new).toList();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (!ReadRouting.isPrimaryForced()) {
+			int size = replicas.size();
+			int start = Math.floorMod(next.getAndIncrement(), size);
+			for (int i = 0; i < size; i++) {
+				Replica replica = replicas.get((start + i) % size);
+				if (!replica.healthy) {
+					continue;
+				}
+				try {
+					return replica.dataSource.getConnection();
+				} catch (SQLException | RuntimeException e) {
+					markDown(replica, e);
+				}
+			}
+		}
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		// レプリカの認証情報は接続プールごとに決まっているため、ユーザーを指定された接続はプライマリから払い出す
+		return primary.getConnection(username, password);
+	}
+
+	/**
+	 * 外したレプリカに接続できるか確認し、応答があれば戻す（正常なレプリカも応答がなければ外す）
+	 */
+	@Scheduled(fixedDelayString = "${book.datasource.replica.health-check-interval:5000}")
+	public void checkHealth() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.dataSource.getConnection()) {
+				if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+					throw new SQLException("接続の確認に応答がありません。");
+				}
+				if (!replica.healthy) {
+					replica.healthy = true;
+					log.info("レプリカを読み込み先に戻しました: {}", replica.dataSource.getPoolName());
+				}
+			} catch (SQLException | RuntimeException e) {
+				markDown(replica, e);
+			}
+		}
+	}
+
+	/**
+	 * 読み込み先として使えるレプリカの数
+	 */
+	public long healthyCount() {
+		return replicas.stream().filter(replica -> replica.healthy).count();
+	}
+
+	@Override
+	public void close() {
+		replicas.forEach(replica -> replica.dataSource.close());
+	}
+
+	private void markDown(Replica replica, Exception cause) {
+		if (replica.healthy) {
+			replica.healthy = false;
+			log.warn("レプリカに接続できないため、読み込み先から外します: {}", replica.dataSource.getPoolName(), cause);
+		}
+	}
+
+	private static final class Replica {
+		private final HikariDataSource dataSource;
+		private volatile boolean healthy = true;
+
+		Replica(HikariDataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+	}
+}
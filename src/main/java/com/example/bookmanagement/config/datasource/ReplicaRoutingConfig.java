@@ -0,0 +1,81 @@
+package com.example.bookmanagement.config.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 読み書きの振り分け（book.datasource.replica.urls を指定したときだけ有効）
+ * 読み取り専用トランザクション（@Transactional(readOnly = true)）はレプリカへ、それ以外はプライマリへ送る
+ *
+ * トランザクションの開始時点では読み取り専用かどうかが接続に設定される前のため、
+ * LazyConnectionDataSourceProxy で実際の接続の取得を最初のSQLまで遅らせ、
+ * その時点で読み取り専用なら ReplicaDataSource から、そうでなければプライマリから取得する
+ * 接続プールの設定（spring.datasource.hikari.*）はプライマリとレプリカで共通にする
+ * 直前に書き込んだクライアントの読み込みは、ReadYourWritesFilter でプライマリへ送る
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "book.datasource.replica", name = "urls")
+public class ReplicaRoutingConfig {
+
+	@Bean
+	public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+			DataSourceProperties properties,
+			Environment environment,
+			@Value("${book.datasource.replica.urls}") List<String> urls,
+			@Value("${book.datasource.replica.username:}") String username,
+			@Value("${book.datasource.replica.password:}") String password) {
+		List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+		for (int i = 0; i < urls.size(); i++) {
+			HikariDataSource replica = DataSourceBuilder.create()
+					.type(HikariDataSource.class)
+					.url(urls.get(i))
+					.username(username.isEmpty() ? properties.determineUsername() : username)
+					.password(username.isEmpty() ? properties.determinePassword() : password)
+					.build();
+			Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+			replica.setPoolName("replica-" + (i + 1));
+			replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		return new ReplicaDataSource(primaryDataSource, replicas);
+	}
+
+	@Bean
+	public ReadYourWritesFilter readYourWritesFilter(
+			@Value("${book.datasource.read-your-writes-window:5s}") Duration window) {
+		return new ReadYourWritesFilter(window);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+		dataSource.setReadOnlyDataSource(replicaDataSource);
+		return dataSource;
+	}
+}
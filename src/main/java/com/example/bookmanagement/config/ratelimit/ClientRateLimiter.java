@@ -0,0 +1,49 @@
+package com.example.bookmanagement.config.ratelimit;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * クライアント（APIキーまたはIPアドレス）ごとのトークンバケット
+ * バケットは最初のリクエストで作り、しばらくリクエストのないクライアントのものは破棄する（使われなくなったキーでヒープが埋まらないように）
+ */
+public class ClientRateLimiter {
+
+	private final double capacity;
+	private final double refillPerSecond;
+	private final Cache<String, TokenBucket> buckets;
+
+	public ClientRateLimiter(double capacity, double refillPerSecond, Duration idleTimeout, long maximumClients) {
+		if (capacity < 1 || refillPerSecond <= 0) {
+			throw new IllegalArgumentException("バケットの容量は1以上、補充の速さは0より大きい値を指定してください: "
+					+ capacity + ", " + refillPerSecond);
+		}
+		this.capacity = capacity;
+		this.refillPerSecond = refillPerSecond;
+		// しばらく使われなかったバケットは満杯まで補充されているため、破棄して作り直しても制限の結果は変わらない
+		// （idleTimeout が 容量 ÷ 補充の速さ より長い場合）
+		this.buckets = Caffeine.newBuilder()
+				.expireAfterAccess(idleTimeout)
+				.maximumSize(maximumClients)
+				.build();
+	}
+
+	/**
+	 * クライアントのトークンを1つ取り出す
+	 *
+	 * @return 取り出せたら0、足りなければ1つ貯まるまでの待ち時間（ナノ秒）
+	 */
+	public long tryAcquire(String client) {
+		long now = System.nanoTime();
+		return buckets.get(client, key -> new TokenBucket(capacity, refillPerSecond, now)).tryAcquire(now);
+	}
+
+	/**
+	 * バケットを持っているクライアントの数（概数）
+	 */
+	public long clientCount() {
+		return buckets.estimatedSize();
+	}
+}
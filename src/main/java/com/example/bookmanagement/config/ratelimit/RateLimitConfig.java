@@ -0,0 +1,68 @@
+package com.example.bookmanagement.config.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 書籍API（/api/books/**）のクライアントごとのレート制限
+ * book.rate-limit.enabled=false で無効にできる（負荷試験など）
+ */
+@Configuration
+@ConditionalOnProperty(name = "book.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+	private final ClientRateLimiter limiter;
+	private final String apiKeyHeader;
+	private final Set<String> apiKeys;
+	private final MeterRegistry meterRegistry;
+	private final ObjectMapper objectMapper;
+
+	public RateLimitConfig(
+			@Value("${book.rate-limit.capacity:200}") double capacity,
+			@Value("${book.rate-limit.refill-per-second:100}") double refillPerSecond,
+			@Value("${book.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+			@Value("${book.rate-limit.maximum-clients:100000}") long maximumClients,
+			@Value("${book.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+			@Value("${book.rate-limit.api-keys:}") List<String> apiKeys,
+			MeterRegistry meterRegistry,
+			ObjectMapper objectMapper) {
+		this.limiter = new ClientRateLimiter(capacity, refillPerSecond, idleTimeout, maximumClients);
+		this.apiKeyHeader = apiKeyHeader;
+		this.apiKeys = apiKeys.stream()
+				.map(String::strip)
+				.filter(key -> !key.isEmpty())
+				.collect(Collectors.toUnmodifiableSet());
+		this.meterRegistry = meterRegistry;
+		this.objectMapper = objectMapper;
+		Gauge.builder("book.ratelimit.clients", limiter, ClientRateLimiter::clientCount)
+				.description("レート制限のバケットを持っているクライアントの数")
+				.register(meterRegistry);
+	}
+
+	@Bean
+	public ClientRateLimiter clientRateLimiter() {
+		return limiter;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// SQLの計測より先に判定し、制限したリクエストはSQLの回数（0回）としても記録しない
+		registry.addInterceptor(new RateLimitInterceptor(limiter, apiKeyHeader, apiKeys, meterRegistry, objectMapper))
+				.addPathPatterns("/api/books/**")
+				.order(-1);
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.bookmanagement.config.ratelimit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.bookmanagement.controller.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * クライアントごとのリクエスト数を制限し、超えたリクエストにはコントローラを呼ばずに 429 と Retry-After を返す
+ * クライアントは登録済みのAPIキー（book.rate-limit.api-keys）のヘッダがあればその値、なければ接続元のIPアドレスで区別する
+ * 登録されていないキーはIPアドレスとして扱う（キーを毎回変えれば新しいバケットを得られてしまい、制限を回避できるため）
+ * （プロキシ経由の場合は server.forward-headers-strategy を設定し、getRemoteAddr() が元のIPアドレスを返すようにする）
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final ClientRateLimiter limiter;
+	private final String apiKeyHeader;
+	private final Set<String> apiKeys;
+	private final MeterRegistry meterRegistry;
+	private final ObjectMapper objectMapper;
+
+	public RateLimitInterceptor(ClientRateLimiter limiter, String apiKeyHeader, Set<String> apiKeys,
+			MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+		this.limiter = limiter;
+		this.apiKeyHeader = apiKeyHeader;
+		this.apiKeys = Set.copyOf(apiKeys);
+		this.meterRegistry = meterRegistry;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+		// 非同期処理（ストリームで返すエクスポートなど）の再ディスパッチは同じリクエストの続き。数え直さない
+		// （応答は既に書き始めているため、ここで 429 を書くと出力が壊れる）
+		if (request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+		String apiKey = request.getHeader(apiKeyHeader);
+		boolean hasApiKey = apiKey != null && apiKeys.contains(apiKey);
+		long waitNanos = limiter.tryAcquire(hasApiKey ? "key:" + apiKey : "ip:" + request.getRemoteAddr());
+		if (waitNanos == 0) {
+			return true;
+		}
+		// クライアントごとのタグは付けない（キーの数だけ系列が増えるため）
+		meterRegistry.counter("book.ratelimit.throttled", "client", hasApiKey ? "api_key" : "ip").increment();
+
+		long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+				HttpStatus.TOO_MANY_REQUESTS.value(),
+				"リクエストが多すぎます。時間をおいて再度お試しください。",
+				null));
+		return false;
+	}
+}
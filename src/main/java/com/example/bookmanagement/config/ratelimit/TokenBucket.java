@@ -0,0 +1,41 @@
+package com.example.bookmanagement.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * トークンバケット（容量 capacity まで貯まり、1秒あたり refillPerSecond 個ずつ補充される）
+ * 残量と最終補充時刻を1つの不変オブジェクトにまとめ、compareAndSet で差し替える（ロックを取らない）
+ */
+class TokenBucket {
+
+	private record State(double tokens, long refilledAt) {}
+
+	private final double capacity;
+	private final double refillPerNano;
+	private final AtomicReference<State> state;
+
+	TokenBucket(double capacity, double refillPerSecond, long now) {
+		this.capacity = capacity;
+		this.refillPerNano = refillPerSecond / 1_000_000_000d;
+		this.state = new AtomicReference<>(new State(capacity, now));
+	}
+
+	/**
+	 * トークンを1つ取り出す
+	 *
+	 * @param now 現在時刻（System.nanoTime()）
+	 * @return 取り出せたら0、足りなければ1つ貯まるまでの待ち時間（ナノ秒）
+	 */
+	long tryAcquire(long now) {
+		while (true) {
+			State current = state.get();
+			double tokens = Math.min(capacity, current.tokens() + Math.max(0, now - current.refilledAt()) * refillPerNano);
+			if (tokens < 1) {
+				return (long) Math.ceil((1 - tokens) / refillPerNano);
+			}
+			if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.refilledAt())))) {
+				return 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.bookmanagement.config.startup;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.domain.repository.BookFields;
+import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+import com.example.bookmanagement.service.ranking.BookLeaderboard;
+import com.example.bookmanagement.service.ranking.BookLeaderboardService;
+import com.example.bookmanagement.service.search.BookSearchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 起動直後のリクエストが遅い（JITコンパイル前のコード、初回のクラス読み込みやクエリの解析）のを避けるため、
+ * トラフィックを受け付ける前に BookController の読み取り系の処理（一覧・1件・レビュー付き・検索・ランキング）を繰り返し実行する
+ *
+ * ApplicationRunner は ApplicationReadyEvent より前に呼ばれるため、終わるまで readiness は REFUSING_TRAFFIC のまま
+ * （/actuator/health/readiness が 503 を返す）になる。貸出・登録などデータを書き換える処理は実行しない
+ * HTTPを経由せずにサービスを呼ぶので、WARとして外部のTomcatへデプロイした場合も動き、レート制限のバケットも使わない
+ * 有効かどうかは実行時に判定する（@ConditionalOnProperty だと、AOT処理した jar ではビルド時の設定で決まってしまう）
+ */
+@Slf4j
+@Component
+public class HotPathWarmUp implements ApplicationRunner {
+	private static final int PAGE_SIZE = 20;
+
+	private final BookDomainService bookDomainService;
+	private final BookSearchService bookSearchService;
+	private final BookLeaderboardService bookLeaderboardService;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private final int iterations;
+	private final Duration maxDuration;
+
+	public HotPathWarmUp(BookDomainService bookDomainService,
+			BookSearchService bookSearchService,
+			BookLeaderboardService bookLeaderboardService,
+			ObjectMapper objectMapper,
+			@Value("${book.warm-up.enabled:false}") boolean enabled,
+			@Value("${book.warm-up.iterations:300}") int iterations,
+			@Value("${book.warm-up.max-duration:30s}") Duration maxDuration) {
+		this.bookDomainService = bookDomainService;
+		this.bookSearchService = bookSearchService;
+		this.bookLeaderboardService = bookLeaderboardService;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.iterations = iterations;
+		this.maxDuration = maxDuration;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (enabled) {
+			warmUp();
+		}
+	}
+
+	/**
+	 * 一覧を1ページずつ（最後まで読んだら先頭から）読み、そのページの書籍の取得・検索・ランキングを実行する
+	 * 失敗しても起動は止めない（ウォームアップを打ち切り、ログに残す）
+	 *
+	 * @return 実行した回数（ページ数）
+	 */
+	int warmUp() {
+		long startedAt = System.nanoTime();
+		long deadline = startedAt + maxDuration.toNanos();
+		int completed = 0;
+		Long cursor = null;
+		try {
+			while (completed < iterations && System.nanoTime() - deadline < 0) {
+				BookPageResponse page = bookDomainService.findAll(
+						new BookSearchCommand(cursor, PAGE_SIZE, null, null, null, BookFields.ALL));
+				serialize(page);
+				for (BookResponse book : page.books()) {
+					bookDomainService.bookVersion(book.id());
+					serialize(bookDomainService.findById(book.id()));
+				}
+				if (!page.books().isEmpty()) {
+					BookResponse first = page.books().get(0);
+					serialize(bookDomainService.getBookWithReviews(first.id(), null, PAGE_SIZE, BookFields.ALL));
+					serialize(bookSearchService.search(first.title(), false, PAGE_SIZE));
+				}
+				serialize(bookLeaderboardService.top(BookLeaderboard.Metric.TOP_RATED, BookLeaderboard.Window.ALL, 10));
+				serialize(bookLeaderboardService.top(BookLeaderboard.Metric.MOST_REVIEWED, BookLeaderboard.Window.ALL, 10));
+				cursor = page.nextCursor();
+				completed++;
+			}
+		} catch (RuntimeException | JsonProcessingException e) {
+			log.warn("ウォームアップを中断しました（{} 回目）", completed + 1, e);
+		}
+		log.info("ウォームアップを終えました: {} 回, {} ms", completed, (System.nanoTime() - startedAt) / 1_000_000);
+		return completed;
+	}
+
+	private void serialize(Object response) throws JsonProcessingException {
+		objectMapper.writeValueAsBytes(response);
+	}
+}
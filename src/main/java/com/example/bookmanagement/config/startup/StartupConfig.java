@@ -0,0 +1,33 @@
+package com.example.bookmanagement.config.startup;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 起動時間の短縮（spring.main.lazy-initialization=true）の設定
+ * Beanは最初に使われたときに作られるが、@Scheduled のメソッドを持つBeanは作られるまでスケジュールされないため、
+ * 遅延させずに起動時に作る（SmartLifecycle のBeanは遅延初期化の設定にかかわらず起動時に作られる）
+ * 遅延させたBeanのうちリクエストで使うものは、readiness を切り替える前に HotPathWarmUp が作っておく
+ */
+@Configuration
+public class StartupConfig {
+
+	@Bean
+	public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+		return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethod(beanType);
+	}
+
+	static boolean hasScheduledMethod(Class<?> beanType) {
+		AtomicBoolean found = new AtomicBoolean();
+		ReflectionUtils.doWithMethods(beanType,
+				method -> found.set(true),
+				method -> !found.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+		return found.get();
+	}
+}
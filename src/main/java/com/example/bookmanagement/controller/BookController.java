@@ -1,24 +1,65 @@
 package com.example.bookmanagement.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.bookmanagement.controller.request.BookCopiesRequest;
 import com.example.bookmanagement.controller.request.BookCreateRequest;
+import com.example.bookmanagement.controller.request.BookLoanBatchRequest;
 import com.example.bookmanagement.controller.request.ReviewCreateRequest;
+import com.example.bookmanagement.controller.response.BookLoanBatchResponse;
+import com.example.bookmanagement.controller.response.BookPageResponse;
 import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookSearchResponse;
 import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.LoanStatsResponse;
+import com.example.bookmanagement.controller.response.RankingResponse;
+import com.example.bookmanagement.controller.response.ReservationResponse;
+import com.example.bookmanagement.controller.response.ReviewAcceptedResponse;
+import com.example.bookmanagement.controller.response.ReviewTicketResponse;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookFields;
+import com.example.bookmanagement.service.BookBulkImportService;
 import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.BookExportService;
+import com.example.bookmanagement.service.ResourceVersion;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+import com.example.bookmanagement.service.feed.AvailabilityFeedService;
+import com.example.bookmanagement.service.ingest.ReviewIngestionService;
+import com.example.bookmanagement.service.loan.LoanHistoryService;
+import com.example.bookmanagement.service.ranking.BookLeaderboard;
+import com.example.bookmanagement.service.ranking.BookLeaderboardService;
+import com.example.bookmanagement.service.reservation.ReservationService;
+import com.example.bookmanagement.service.search.BookSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,18 +68,135 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BookController {
 	private final BookDomainService bookDomainService;
+	private final BookBulkImportService bookBulkImportService;
+	private final BookExportService bookExportService;
+	private final BookSearchService bookSearchService;
+	private final BookLeaderboardService bookLeaderboardService;
+	private final ReviewIngestionService reviewIngestionService;
+	private final AvailabilityFeedService availabilityFeedService;
+	private final ReservationService reservationService;
+	private final LoanHistoryService loanHistoryService;
+	private final ObjectMapper objectMapper;
 	
-	//1. 全書籍の一覧を取得
+	//1. 書籍の一覧を取得（cursor でページング、status / author / titlePrefix で絞り込み）
+	// ページの内容が変わっていなければ（If-None-Match）、本文なしの 304 を返す
+	// fields=id,title のように指定すると、その項目だけを読み込んで返す（FieldsResponseBodyAdvice が書き出す項目を絞る）
     @GetMapping
-    public List<BookResponse> getAllBooks() {
-        return bookDomainService.findAll();
+    public BookPageResponse getAllBooks(
+    		@RequestParam(required = false) Long cursor,
+    		@RequestParam(defaultValue = "20") int size,
+    		@RequestParam(required = false) Status status,
+    		@RequestParam(required = false) String author,
+    		@RequestParam(required = false) String titlePrefix,
+    		@RequestParam(required = false) String fields,
+    		WebRequest webRequest) {
+    	BookFields bookFields = BookFields.parse(fields, false);
+    	BookPageResponse page = bookDomainService.findAll(new BookSearchCommand(cursor, size, status, author, titlePrefix, bookFields));
+    	if (webRequest.checkNotModified(pageVersion(page).etag())) {
+    		return null;
+    	}
+        return page;
+    }
+    
+    // 1-1. 書籍の全文検索（タイトル・著者、reviews=true ならレビュー本文も対象にする）
+    @GetMapping("/search")
+    public BookSearchResponse searchBooks(
+    		@RequestParam String q,
+    		@RequestParam(defaultValue = "false") boolean reviews,
+    		@RequestParam(defaultValue = "20") int size) {
+    	return bookSearchService.search(q, reviews, size);
+    }
+    
+    // 1-2. 全書籍のエクスポート（NDJSON / CSV をストリームで返す）
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+    		@RequestParam(defaultValue = "NDJSON") BookExportService.Format format,
+    		@RequestParam(defaultValue = "false") boolean ratings,
+    		@RequestParam(defaultValue = "false") boolean reviews) {
+    	MediaType contentType = (format == BookExportService.Format.CSV)
+    			? new MediaType("text", "csv", StandardCharsets.UTF_8)
+    			: MediaType.APPLICATION_NDJSON;
+    	String filename = (format == BookExportService.Format.CSV) ? "books.csv" : "books.ndjson";
+    	
+    	StreamingResponseBody body = out -> bookExportService.export(out, format, ratings, reviews);
+    	return ResponseEntity.ok()
+    			.contentType(contentType)
+    			.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+    			.body(body);
+    }
+    
+    // 1-3. 書籍を1件取得（版が変わっていなければ、キャッシュも読まずに 304 を返す。版は書籍の行と評価の集計行だけを読んで確かめる）
+    @GetMapping("/{id}")
+    public BookResponse getBook(@PathVariable Long id, WebRequest webRequest) {
+    	if (isNotModified(id, webRequest)) {
+    		return null;
+    	}
+    	return bookDomainService.findById(id);
+    }
+    
+    // 1-4. 評価の高い順のランキング（ベイズ平均。window で直近7日・30日に絞れる）
+    @GetMapping("/rankings/top-rated")
+    public RankingResponse topRated(
+    		@RequestParam(defaultValue = "ALL") BookLeaderboard.Window window,
+    		@RequestParam(defaultValue = "10") int size) {
+    	return bookLeaderboardService.top(BookLeaderboard.Metric.TOP_RATED, window, size);
+    }
+    
+    // 1-5. レビュー数の多い順のランキング
+    @GetMapping("/rankings/most-reviewed")
+    public RankingResponse mostReviewed(
+    		@RequestParam(defaultValue = "ALL") BookLeaderboard.Window window,
+    		@RequestParam(defaultValue = "10") int size) {
+    	return bookLeaderboardService.top(BookLeaderboard.Metric.MOST_REVIEWED, window, size);
+    }
+    
+    // 1-6. 貸出状況の変更を Server-Sent Events で受け取る（一覧を繰り返し取得して差分を探す代わりに使う）
+    // bookId / author で絞り込める。再接続時は Last-Event-ID（または since）に受け取った最後の id を送ると続きから届く
+    @GetMapping(path = "/availability-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter availabilityEvents(
+    		@RequestParam(required = false) List<Long> bookId,
+    		@RequestParam(required = false) List<String> author,
+    		@RequestParam(required = false) String since,
+    		@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+    	return availabilityFeedService.subscribe(bookId, author, (lastEventId != null) ? lastEventId : since);
     }
     
     // 2. 新しい書籍を登録
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public BookResponse createBook(@Valid @RequestBody BookCreateRequest request) {
-        return bookDomainService.registerBook(request.title(), request.author(), request.isbn());
+        return bookDomainService.registerBook(request.title(), request.author(), request.isbn(),
+        		(request.copies() != null) ? request.copies() : 1);
+    }
+    
+    // 2-2. 書籍の一括登録（JSON配列またはNDJSONを受け取り、1行ごとの結果をNDJSONで返す）
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void importBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    	BookBulkImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+    			? BookBulkImportService.Format.NDJSON
+    			: BookBulkImportService.Format.JSON_ARRAY;
+    	
+    	response.setStatus(HttpStatus.OK.value());
+    	response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    	response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    	OutputStream out = response.getOutputStream();
+    	
+    	// 結果は溜めずに、チャンクをコミットするたびに書き出す
+    	bookBulkImportService.importBooks(request.getInputStream(), format, result -> {
+    		try {
+    			out.write(objectMapper.writeValueAsBytes(result));
+    			out.write('\n');
+    		} catch (IOException e) {
+    			throw new UncheckedIOException(e);
+    		}
+    	});
+    	out.flush();
+    }
+    
+    // 2-3. コピーの追加（同じタイトルを書籍として登録し直さず、所蔵数を増やす）
+    @PostMapping("/{id}/copies")
+    public BookResponse addCopies(@PathVariable Long id, @Valid @RequestBody BookCopiesRequest request) {
+    	return bookDomainService.addCopies(id, request.count());
     }
     
     // 3. 貸し出しステータス更新ロジックの実装
@@ -47,26 +205,114 @@ public class BookController {
     	return bookDomainService.borrowBook(id);
     }
     
+    // 3-2. まとめて貸し出す（partial でなければ、1件でも貸し出せない本があると何も変更せず 409）
+    @PostMapping("/checkout")
+    public BookLoanBatchResponse checkout(@Valid @RequestBody BookLoanBatchRequest request) {
+    	return bookDomainService.checkout(request.ids(), request.partial());
+    }
+    
     // 4. 返却処理
     @PatchMapping("/{id}/return")
     public BookResponse returnBook(@PathVariable Long id) {
     	return bookDomainService.returnBook(id);
     }
     
+    // 4-1. まとめて返却する（予約のある本は取り置き中になる）
+    @PostMapping("/checkin")
+    public BookLoanBatchResponse checkin(@Valid @RequestBody BookLoanBatchRequest request) {
+    	return bookDomainService.checkin(request.ids(), request.partial());
+    }
+    
+    // 4-2. 予約（貸出中の本の順番待ちに並ぶ。返却されると先頭の予約のために取り置き中になる）
+    @PostMapping("/{id}/reservations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationResponse reserve(@PathVariable Long id) {
+    	return reservationService.reserve(id);
+    }
+    
+    // 4-3. 予約の状態（順番待ちなら何番目か、取り置き中なら期限）
+    @GetMapping("/{id}/reservations/{reservationId}")
+    public ReservationResponse getReservation(@PathVariable Long id, @PathVariable Long reservationId) {
+    	return reservationService.getReservation(id, reservationId);
+    }
+    
+    // 4-4. 取り置き中の本を、その予約で借りる
+    @PatchMapping("/{id}/reservations/{reservationId}/borrow")
+    public ReservationResponse borrowReserved(@PathVariable Long id, @PathVariable Long reservationId) {
+    	return reservationService.borrow(id, reservationId);
+    }
+    
+    // 4-5. 予約の取り消し（取り置き中だった場合は次の予約へ回す）
+    @DeleteMapping("/{id}/reservations/{reservationId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelReservation(@PathVariable Long id, @PathVariable Long reservationId) {
+    	reservationService.cancel(id, reservationId);
+    }
+    
+    // 4-6. 期間中の貸出回数・稼働率（日ごとの集計値から求める。省略時は今日までの30日間）
+    @GetMapping("/{id}/loans/stats")
+    public LoanStatsResponse loanStats(@PathVariable Long id,
+    		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+    		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    	LocalDate end = (to != null) ? to : LocalDate.now();
+    	return loanHistoryService.getStats(id, (from != null) ? from : end.minusDays(29), end);
+    }
+    
     // 5.レビューを投稿(登録)
     // 本の子要素のため、ここに記載
+    // 非同期投稿が有効なら、キューに積んだ時点で 202 と受付番号を返す（満杯なら 429）
     @PostMapping("/{id}/reviews")
-    @ResponseStatus(HttpStatus.CREATED)
-    public void addReview(@PathVariable Long id,
+    public ResponseEntity<ReviewAcceptedResponse> addReview(@PathVariable Long id,
     		@Valid @RequestBody ReviewCreateRequest request) {
+    	if (reviewIngestionService.isEnabled()) {
+    		return ResponseEntity.accepted().body(reviewIngestionService.accept(id, request.content(), request.rating()));
+    	}
     	bookDomainService.addReview(id,request.content(),request.rating());
+    	return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+    
+    // 5-1. 非同期投稿の受付番号の保存状況（PENDING / SAVED / FAILED）
+    @GetMapping("/{id}/reviews/tickets/{ticketId}")
+    public ReviewTicketResponse getReviewTicket(@PathVariable Long id, @PathVariable String ticketId) {
+    	return reviewIngestionService.getTicket(id, ticketId);
     }
     
     
-    // 6.レビューも含めて一括で取得
+    // 6.レビューも含めて一括で取得（レビューは reviewCursor でページング）
+    // 書籍の版が変わっていなければ、書籍・レビューを読まずに 304 を返す
+    // fields=title,reviews.rating のように指定すると、その項目だけを返す（レビュー本文を含めなければ本文はDBから読まない）
     @GetMapping("/{id}/bookWithReviews")
-    public BookWithReviewsResponse getBookWithReviews(@PathVariable Long id){
-    	return bookDomainService.getBookWithReviews(id);
+    public BookWithReviewsResponse getBookWithReviews(@PathVariable Long id,
+    		@RequestParam(required = false) Long reviewCursor,
+    		@RequestParam(defaultValue = "20") int reviewSize,
+    		@RequestParam(required = false) String fields,
+    		WebRequest webRequest){
+    	BookFields bookFields = BookFields.parse(fields, true);
+    	if (isNotModified(id, webRequest)) {
+    		return null;
+    	}
+    	return bookDomainService.getBookWithReviews(id, reviewCursor, reviewSize, bookFields);
     	
     }
+    
+    /**
+     * 書籍の版が If-None-Match と一致するか（一致すれば 304 を設定する。書籍がなければ一致させず、取得で404を返させる）
+     */
+    private boolean isNotModified(Long id, WebRequest webRequest) {
+    	return bookDomainService.bookVersion(id)
+    			.map(version -> webRequest.checkNotModified(version.etag()))
+    			.orElse(false);
+    }
+    
+    /**
+     * 一覧の1ページの版（返す内容から作る）
+     * 全書籍の版を集計するクエリは件数に比例して重く、コミットの順序と版の大小も一致しないため使わない
+     */
+    private ResourceVersion pageVersion(BookPageResponse page) {
+    	try {
+    		return ResourceVersion.ofContent(objectMapper.writeValueAsBytes(page));
+    	} catch (IOException e) {
+    		throw new UncheckedIOException(e);
+    	}
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.bookmanagement.controller.advice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.domain.repository.BookFields;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * fields パラメータが指定された書籍一覧・書籍詳細のレスポンスから、指定されなかった項目を取り除く
+ * 取り除いた後の JsonNode を、選ばれたメッセージコンバータ（JSON / CBOR / Smile）でそのまま書き出す
+ * 同じURLでも Accept によって形式が変わるため、Vary: Accept を付ける
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class FieldsResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+	private static final String FIELDS = "fields";
+
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		Class<?> type = returnType.getParameterType();
+		return type == BookPageResponse.class || type == BookWithReviewsResponse.class;
+	}
+
+	@Override
+	public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+			Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			ServerHttpRequest request, ServerHttpResponse response) {
+		response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		String fields = (request instanceof ServletServerHttpRequest servletRequest)
+				? servletRequest.getServletRequest().getParameter(FIELDS)
+				: null;
+		if (body == null || fields == null || fields.isBlank()) {
+			return body;
+		}
+		return project(body, fields);
+	}
+
+	/**
+	 * 書籍一覧・書籍詳細を、指定された項目だけの JsonNode にする（fields はコントローラで検証済みの値）
+	 */
+	public JsonNode project(Object body, String fields) {
+		if (body instanceof BookPageResponse page) {
+			return projectPage(page, BookFields.parse(fields, false));
+		}
+		BookFields bookFields = BookFields.parse(fields, true);
+		ObjectNode book = objectMapper.valueToTree(body);
+		List<String> names = new ArrayList<>(BookFields.BOOK_FIELDS);
+		names.add("reviews");
+		retain(book, bookFields, names);
+		JsonNode reviews = book.get("reviews");
+		if (reviews != null) {
+			reviews.forEach(review -> ((ObjectNode) review).retain(
+					BookFields.REVIEW_FIELDS.stream().filter(bookFields::includesReview).toList()));
+		}
+		return book;
+	}
+
+	/**
+	 * 一覧は件数が多いため、全体を JsonNode に変換してから取り除くのではなく、指定された項目だけで組み立てる
+	 */
+	private JsonNode projectPage(BookPageResponse page, BookFields fields) {
+		List<String> names = BookFields.BOOK_FIELDS.stream().filter(fields::includes).toList();
+		ObjectNode result = objectMapper.createObjectNode();
+		ArrayNode books = result.putArray("books");
+		for (BookResponse book : page.books()) {
+			ObjectNode node = books.addObject();
+			for (String name : names) {
+				switch (name) {
+					case "id" -> node.put(name, book.id());
+					case "title" -> node.put(name, book.title());
+					case "author" -> node.put(name, book.author());
+					case "isbn" -> node.put(name, book.isbn());
+					case "status" -> node.put(name, book.status());
+					case "copies" -> node.put(name, book.copies());
+					case "availableCopies" -> node.put(name, book.availableCopies());
+					case "rating" -> node.set(name, objectMapper.valueToTree(book.rating()));
+					default -> throw new IllegalStateException("未対応の項目です: " + name);
+				}
+			}
+		}
+		result.put("nextCursor", page.nextCursor());
+		return result;
+	}
+
+	/**
+	 * 指定されなかった項目を取り除く（カーソルなど、項目名の一覧にない項目は残す）
+	 */
+	private static void retain(JsonNode node, BookFields fields, List<String> names) {
+		((ObjectNode) node).remove(names.stream().filter(name -> !fields.includes(name)).toList());
+	}
+}
@@ -1,15 +1,23 @@
 package com.example.bookmanagement.controller.advice;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.example.bookmanagement.controller.response.ErrorResponse;
+import com.example.bookmanagement.service.BookLoanConflictException;
+import com.example.bookmanagement.service.ingest.ReviewQueueFullException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -34,6 +42,20 @@ public class GlobalExceptionHandler {
         );
     }
     
+    /**
+     * クエリパラメータ・パス変数の型変換エラー（存在しないステータス名など）を処理する
+     * 400 Bad Request を返却
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        return new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "パラメータの形式が正しくありません。",
+            Map.of(ex.getName(), String.valueOf(ex.getValue()))
+        );
+    }
+    
     /**
      * Service層での IllegalArgumentException (ISBN重複など) を処理する
      * 400 Bad Request を返却
@@ -61,4 +83,65 @@ public class GlobalExceptionHandler {
             null
         );
     }
+    
+    /**
+     * まとめての貸出・返却で、処理できない書籍があった場合を処理する
+     * 409 Conflict と、書籍IDごとの理由を返却
+     */
+    @ExceptionHandler(BookLoanConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookLoanConflictException(BookLoanConflictException ex) {
+        Map<String, String> conflicts = new LinkedHashMap<>();
+        ex.getConflicts().forEach(conflict ->
+            conflicts.put(String.valueOf(conflict.id()), conflict.message())
+        );
+        return new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            conflicts
+        );
+    }
+    
+    /**
+     * 楽観ロックの競合が再試行しても解消しなかった場合を処理する
+     * 409 Conflict を返却
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "他の操作と競合しました。時間をおいて再度お試しください。",
+            null
+        );
+    }
+    
+    /**
+     * コネクションプールが枯渇し、待ち時間内にコネクションを取得できなかった場合を処理する
+     * 503 Service Unavailable を返却
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        return new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "混み合っています。時間をおいて再度お試しください。",
+            null
+        );
+    }
+    
+    /**
+     * 非同期投稿の受付キューが満杯の場合を処理する
+     * 429 Too Many Requests と、再送までの秒数（Retry-After）を返却
+     */
+    @ExceptionHandler(ReviewQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleReviewQueueFullException(ReviewQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                null
+            ));
+    }
 }
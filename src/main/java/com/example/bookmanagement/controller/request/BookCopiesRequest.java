@@ -0,0 +1,15 @@
+package com.example.bookmanagement.controller.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 所蔵しているタイトルにコピーを追加するリクエスト
+ * @param count 追加するコピー数
+ */
+public record BookCopiesRequest(
+
+	@Min(value = 1, message = "コピー数は1以上で入力してください")
+	@Max(value = 1000, message = "コピー数は1000以下で入力してください")
+	int count
+){}
@@ -1,5 +1,7 @@
 package com.example.bookmanagement.controller.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -12,5 +14,10 @@ public record BookCreateRequest(
 		
 		@NotBlank(message = "ISBNは必須です")
 		@Size(min = 13, max = 13, message = "ISBNはハイフンなしの13文字で入力してください")
-		String isbn
+		String isbn,
+		
+		// 所蔵するコピー数（省略時は1冊）
+		@Min(value = 1, message = "コピー数は1以上で入力してください")
+		@Max(value = 1000, message = "コピー数は1000以下で入力してください")
+		Integer copies
 ) {}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.bookmanagement.controller.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 複数の書籍をまとめて貸出・返却するリクエスト
+ * @param ids 書籍ID（重複は1件として扱う）
+ * @param partial true なら処理できるものだけを処理する（省略時は1件でも処理できなければ何も変更しない）
+ */
+public record BookLoanBatchRequest(
+
+	@NotEmpty(message = "書籍IDは1件以上指定してください")
+	@Size(max = 100, message = "書籍IDは100件以下で指定してください")
+	List<@NotNull(message = "書籍IDは必須です") Long> ids,
+
+	boolean partial
+){}
@@ -0,0 +1,19 @@
+package com.example.bookmanagement.controller.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 貸出状況の変更（SSE の availability イベントの本文）
+ * @param sequence 通し番号（起動ごとに1から振り直す。再接続時は SSE の id を Last-Event-ID として送ると続きから受け取れる）
+ * @param bookId 書籍ID
+ * @param author 著者
+ * @param status 変更後のステータス（AVAILABLE / BORROWED）
+ * @param changedAt 変更がコミットされた日時
+ */
+public record AvailabilityEventResponse(
+		long sequence,
+		Long bookId,
+		String author,
+		String status,
+		LocalDateTime changedAt
+	) {}
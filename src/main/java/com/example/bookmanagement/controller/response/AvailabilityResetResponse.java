@@ -0,0 +1,10 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * 変更を取りこぼした（保持期間を過ぎた位置から再開しようとした）ことの通知（SSE の reset イベントの本文）
+ * 受け取ったクライアントは一覧を取り直してから、続きのイベントを使う
+ * @param nextSequence 次に届くイベントの通し番号
+ */
+public record AvailabilityResetResponse(
+		long nextSequence
+	) {}
@@ -0,0 +1,15 @@
+package com.example.bookmanagement.controller.response;
+
+import java.util.List;
+
+/**
+ * まとめての貸出・返却の結果
+ * @param processed 処理した件数
+ * @param rejected 処理しなかった件数（partial でなければ常に0）
+ * @param results 書籍ごとの結果（id順）
+ */
+public record BookLoanBatchResponse(
+		int processed,
+		int rejected,
+		List<BookLoanResultResponse> results
+	) {}
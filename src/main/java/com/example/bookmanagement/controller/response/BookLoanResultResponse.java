@@ -0,0 +1,30 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * まとめての貸出・返却の1件ごとの結果
+ * @param id 書籍ID
+ * @param result OK（処理済み）、CONFLICT（ステータスが合わず処理しなかった）、NOT_FOUND（書籍が存在しない）
+ * @param status 処理後のステータス（処理しなかった場合は現在のステータス、書籍が存在しなければnull）
+ * @param availableCopies 処理後の貸出可能なコピー数（処理しなかった場合は現在の数、書籍が存在しなければnull）
+ * @param message 処理しなかった理由（OKならnull）
+ */
+public record BookLoanResultResponse(
+		Long id,
+		String result,
+		String status,
+		Integer availableCopies,
+		String message
+	) {
+
+	public static BookLoanResultResponse ok(Long id, String status, int availableCopies) {
+		return new BookLoanResultResponse(id, "OK", status, availableCopies, null);
+	}
+
+	public static BookLoanResultResponse conflict(Long id, String status, int availableCopies, String message) {
+		return new BookLoanResultResponse(id, "CONFLICT", status, availableCopies, message);
+	}
+
+	public static BookLoanResultResponse notFound(Long id, String message) {
+		return new BookLoanResultResponse(id, "NOT_FOUND", null, null, message);
+	}
+}
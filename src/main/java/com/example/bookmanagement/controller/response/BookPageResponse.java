@@ -0,0 +1,13 @@
+package com.example.bookmanagement.controller.response;
+
+import java.util.List;
+
+/**
+ * 書籍一覧のページ
+ * @param books このページの書籍
+ * @param nextCursor 次ページ取得時に cursor として渡す値（最終ページならnull）
+ */
+public record BookPageResponse(
+		List<BookResponse> books,
+		Long nextCursor
+		) {}
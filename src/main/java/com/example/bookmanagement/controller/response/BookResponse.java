@@ -1,3 +1,16 @@
 package com.example.bookmanagement.controller.response;
 
-public record BookResponse(Long id, String title, String author,String isbn, String status) {}
+/**
+ * @param copies 所蔵しているコピー数
+ * @param availableCopies 貸出可能なコピー数
+ */
+public record BookResponse(Long id, String title, String author,String isbn, String status,
+		Integer copies, Integer availableCopies, RatingResponse rating) {
+
+	/**
+	 * ステータスとコピー数だけを差し替えたコピーを返す
+	 */
+	public BookResponse withAvailability(String status, Integer copies, Integer availableCopies) {
+		return new BookResponse(id, title, author, isbn, status, copies, availableCopies, rating);
+	}
+}
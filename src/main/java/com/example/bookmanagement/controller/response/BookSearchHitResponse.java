@@ -0,0 +1,13 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * 検索結果の書籍1件
+ * @param score 一致の度合い（大きいほど上位。同じ検索の中での順位付けにだけ使う）
+ */
+public record BookSearchHitResponse(
+		Long id,
+		String title,
+		String author,
+		String isbn,
+		double score
+		) {}
@@ -0,0 +1,11 @@
+package com.example.bookmanagement.controller.response;
+
+import java.util.List;
+
+/**
+ * 書籍の検索結果
+ * @param books 一致した書籍（一致の度合いの高い順）
+ */
+public record BookSearchResponse(
+		List<BookSearchHitResponse> books
+		) {}
@@ -8,6 +8,8 @@ public record BookWithReviewsResponse(
 		String author,
 		String isbn,
 		String status,
+		RatingResponse rating, // 評価の集計（件数・平均・星ごとの分布）
 		// レビュー情報
-		List<ReviewResponse> reviews // レビュー一覧を含む
+		List<ReviewResponse> reviews, // レビュー一覧を含む（投稿日時の新しい順）
+		Long nextReviewCursor // 次のレビューを取得する際に reviewCursor として渡す値（最終ページならnull）
 		) {}
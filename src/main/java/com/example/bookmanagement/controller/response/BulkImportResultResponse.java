@@ -0,0 +1,26 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * 一括登録の1行ごとの結果（NDJSONで1行ずつ返却する）
+ * @param index 入力の何件目か（0始まり）
+ * @param isbn 入力されたISBN
+ * @param result ACCEPTED（登録済み）または REJECTED（登録しなかった）
+ * @param id 登録された書籍のID（REJECTEDならnull）
+ * @param message 登録しなかった理由（ACCEPTEDならnull）
+ */
+public record BulkImportResultResponse(
+		int index,
+		String isbn,
+		String result,
+		Long id,
+		String message
+	) {
+
+	public static BulkImportResultResponse accepted(int index, String isbn, Long id) {
+		return new BulkImportResultResponse(index, isbn, "ACCEPTED", id, null);
+	}
+
+	public static BulkImportResultResponse rejected(int index, String isbn, String message) {
+		return new BulkImportResultResponse(index, isbn, "REJECTED", null, message);
+	}
+}
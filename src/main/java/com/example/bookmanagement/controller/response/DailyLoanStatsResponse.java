@@ -0,0 +1,17 @@
+package com.example.bookmanagement.controller.response;
+
+import java.time.LocalDate;
+
+/**
+ * 1日分の貸出状況
+ * @param date 日付
+ * @param borrowCount この日に貸し出された回数
+ * @param returnCount この日に返却された回数
+ * @param utilization この日のうち貸出中だった時間の割合（コピー数で割った値。まだ来ていない日はnull）
+ */
+public record DailyLoanStatsResponse(
+		LocalDate date,
+		long borrowCount,
+		long returnCount,
+		Double utilization
+	) {}
@@ -0,0 +1,26 @@
+package com.example.bookmanagement.controller.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 書籍の期間中の貸出状況
+ * @param bookId 書籍ID
+ * @param from 期間の開始日
+ * @param to 期間の終了日（この日を含む）
+ * @param borrowCount 期間中に貸し出された回数
+ * @param returnCount 期間中に返却された回数
+ * @param averageLoanSeconds 期間中に返却された貸出の平均貸出期間（秒。返却がなければnull）
+ * @param utilization 稼働率（期間のうち貸出中だった時間の割合。複数のコピーがあれば経過時間 × コピー数に対する割合。まだ来ていない時間は含めない）
+ * @param days 日ごとの貸出状況（日付順）
+ */
+public record LoanStatsResponse(
+		Long bookId,
+		LocalDate from,
+		LocalDate to,
+		long borrowCount,
+		long returnCount,
+		Double averageLoanSeconds,
+		Double utilization,
+		List<DailyLoanStatsResponse> days
+	) {}
@@ -0,0 +1,17 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * ランキングの書籍1件
+ * @param reviewCount 集計期間内のレビュー件数
+ * @param averageRating 集計期間内の平均評価
+ * @param score 並び順の基準（評価順ならベイズ平均、レビュー数順ならレビュー件数）
+ */
+public record RankingEntryResponse(
+		int rank,
+		Long id,
+		String title,
+		String author,
+		long reviewCount,
+		Double averageRating,
+		double score
+		) {}
@@ -0,0 +1,15 @@
+package com.example.bookmanagement.controller.response;
+
+import java.util.List;
+
+/**
+ * 書籍のランキング
+ * @param metric ランキングの種類（TOP_RATED / MOST_REVIEWED）
+ * @param window 集計期間（ALL / LAST_7_DAYS / LAST_30_DAYS）
+ * @param books 上位の書籍（順位順）
+ */
+public record RankingResponse(
+		String metric,
+		String window,
+		List<RankingEntryResponse> books
+		) {}
@@ -0,0 +1,15 @@
+package com.example.bookmanagement.controller.response;
+
+import java.util.List;
+
+/**
+ * 書籍の評価の集計
+ * @param reviewCount レビュー件数
+ * @param averageRating 平均評価（レビューがなければnull）
+ * @param histogram 星1〜5それぞれのレビュー件数（星1から順）
+ */
+public record RatingResponse(
+		long reviewCount,
+		Double averageRating,
+		List<Long> histogram
+	) {}
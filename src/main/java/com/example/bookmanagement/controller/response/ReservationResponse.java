@@ -0,0 +1,19 @@
+package com.example.bookmanagement.controller.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 予約の状態
+ * @param id 予約ID（取り置き中になったら、この予約IDで借りる）
+ * @param bookId 書籍ID
+ * @param status WAITING / HELD / FULFILLED / CANCELLED / EXPIRED
+ * @param position 順番待ちの何番目か（順番待ちでなければnull）
+ * @param holdExpiresAt 取り置きの期限（取り置き中でなければnull）
+ */
+public record ReservationResponse(
+		Long id,
+		Long bookId,
+		String status,
+		Long position,
+		LocalDateTime holdExpiresAt
+	) {}
@@ -0,0 +1,10 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * 非同期投稿で受け付けたレビュー（保存はこの後まとめて行われる）
+ * @param ticketId 受付番号（GET /api/books/{id}/reviews/tickets/{ticketId} で保存できたかを確認できる）
+ */
+public record ReviewAcceptedResponse(
+		String ticketId,
+		Long bookId
+		) {}
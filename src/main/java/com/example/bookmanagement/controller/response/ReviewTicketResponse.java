@@ -0,0 +1,13 @@
+package com.example.bookmanagement.controller.response;
+
+/**
+ * 非同期投稿の受付番号ごとの保存状況
+ * @param status PENDING（保存待ち）、SAVED（保存済み）、FAILED（再試行しても保存できなかった。投稿し直してもらう）
+ * @param reviewId 保存したレビューのID（SAVED のときだけ）
+ */
+public record ReviewTicketResponse(
+		String ticketId,
+		Long bookId,
+		String status,
+		Long reviewId
+		) {}
@@ -0,0 +1,6 @@
+package com.example.bookmanagement.domain.event;
+
+/**
+ * 書籍が登録された（コミット後に購読側へ通知される）
+ */
+public record BookRegisteredEvent(Long bookId, String title, String author, String isbn) {}
@@ -0,0 +1,8 @@
+package com.example.bookmanagement.domain.event;
+
+import com.example.bookmanagement.domain.model.Status;
+
+/**
+ * 書籍の貸出ステータスが変わった（貸出・返却。コミット後に購読側へ通知される）
+ */
+public record BookStatusChangedEvent(Long bookId, String author, Status status) {}
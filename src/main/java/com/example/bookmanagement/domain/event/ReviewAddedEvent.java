@@ -0,0 +1,8 @@
+package com.example.bookmanagement.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * レビューが投稿された（コミット後に購読側へ通知される）
+ */
+public record ReviewAddedEvent(Long bookId, Long reviewId, String content, int rating, LocalDateTime createdAt) {}
@@ -11,8 +11,13 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Check;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -21,15 +26,23 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "books")
+@Check(name = "ck_books_copies", constraints = "available_copies >= 0 and held_copies >= 0 and available_copies + held_copies <= copies")
+@Table(name = "books", indexes = {
+		// 一覧のキーセットページング（絞り込み条件 + id順）用
+		@Index(name = "idx_books_status_id", columnList = "status, id"),
+		@Index(name = "idx_books_author_id", columnList = "author, id"),
+		@Index(name = "idx_books_title", columnList = "title")
+})
 @Getter // Setterをあえて作らず、メソッド経由で更新させるのがDDD流
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA用の空コンストラクタ
 @AllArgsConstructor
 @Builder
 public class Book {
 
+	// IDENTITY だとINSERTごとにIDを取得する必要がありバッチINSERTできないため、シーケンスから50件ずつ払い出す
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -41,34 +54,93 @@ public class Book {
     @Column(unique = true, length = 13)
     private String isbn;
 
-    @Enumerated(EnumType.STRING) // 文字列でDBに保存（AVAILABLE / BORROWED）
+    // 貸出可能なコピーがあれば AVAILABLE、なければ取り置き中のコピーの有無で RESERVED / BORROWED（コピー数から決まる要約）
+    @Enumerated(EnumType.STRING) // 文字列でDBに保存（AVAILABLE / BORROWED / RESERVED）
     @Column(nullable = false, length = 20)
     private Status status;
     
+    // 所蔵しているコピー数（同じタイトルを何冊持っていても、書籍は1行）
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer copies = 1;
+    
+    // 棚にあり、誰でも借りられるコピー数
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer availableCopies = 1;
+    
+    // 予約のために取り置いているコピー数（貸出中のコピー数 = copies - availableCopies - heldCopies）
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer heldCopies = 0;
+    
+    // 楽観ロック用のバージョン（同時に読み込んだ2つの更新のうち、後からコミットした方を失敗させる）
+    @Version
+    private Long version;
+    
     // 1対多のリレーションシップ（本1：レビュー多）
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Review> review = new ArrayList<>();
     
  // --- 業務ロジック（Domain Method） ---
+    
+    public static final String ALREADY_BORROWED_MESSAGE = "この本は既に貸出中です。";
+    public static final String ALREADY_RETURNED_MESSAGE = "この書籍は既に返却されています。";
 
     /**
-     * 本を貸出状態にする
+     * コピーを1冊貸し出す（取り置き中のコピーは、予約からだけ借りられる）
      */
     public void borrow() {
-        if (this.status == Status.BORROWED) {
-            throw new IllegalStateException("この本は既に貸出中です。");
+        String conflict = borrowConflict(this.availableCopies);
+        if (conflict != null) {
+            throw new IllegalStateException(conflict);
         }
-        this.status = Status.BORROWED;
+        this.availableCopies--;
+        this.status = statusOf(this.availableCopies, this.heldCopies);
     }
 
     /**
-     * 書籍を返却可能に変更 (PATCH /api/books/{id}/return 用)
+     * 貸出中のコピーを1冊返却する (PATCH /api/books/{id}/return 用)
      */
     public void returnBook() {
-        if (this.status == Status.AVAILABLE) {
-            throw new IllegalStateException("この書籍は既に返却されています。");
+        String conflict = returnConflict(getOnLoanCopies());
+        if (conflict != null) {
+            throw new IllegalStateException(conflict);
+        }
+        this.availableCopies++;
+        this.status = statusOf(this.availableCopies, this.heldCopies);
+    }
+
+    /**
+     * 貸出中のコピー数
+     */
+    public int getOnLoanCopies() {
+        return this.copies - this.availableCopies - this.heldCopies;
+    }
+
+    /**
+     * 貸出可能なコピー数から、貸し出せない理由を返す（貸し出せるならnull）
+     * Entityを読み込まずにまとめて貸し出す場合も、borrow() と同じ規則で判定するために使う
+     */
+    public static String borrowConflict(int availableCopies) {
+        return (availableCopies > 0) ? null : ALREADY_BORROWED_MESSAGE;
+    }
+
+    /**
+     * 貸出中のコピー数から、返却できない理由を返す（返却できるならnull）
+     */
+    public static String returnConflict(int onLoanCopies) {
+        return (onLoanCopies > 0) ? null : ALREADY_RETURNED_MESSAGE;
+    }
+
+    /**
+     * コピー数から決まるステータス（BookRepository の条件付きUPDATEも同じ規則でステータスを設定する）
+     */
+    public static Status statusOf(int availableCopies, int heldCopies) {
+        if (availableCopies > 0) {
+            return Status.AVAILABLE;
         }
-        this.status = Status.AVAILABLE;
+        return (heldCopies > 0) ? Status.RESERVED : Status.BORROWED;
     }
 }
@@ -0,0 +1,60 @@
+package com.example.bookmanagement.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 書籍ごと・日ごとの貸出の集計値（貸出・返却のたびにSQLで加算していく日次ロールアップ）
+ * 期間の貸出回数や稼働率を、貸出履歴（loans）を走査せずに日数分の行だけで返すために使う
+ */
+@Entity
+@Table(name = "book_loan_daily")
+@IdClass(BookLoanDaily.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA用の空コンストラクタ
+@AllArgsConstructor
+public class BookLoanDaily {
+
+	@Id
+	@Column(name = "book_id")
+	private Long bookId;
+
+	@Id
+	@Column(name = "loan_date")
+	private LocalDate loanDate;
+
+	// この日に貸し出された回数
+	@Column(nullable = false)
+	private long borrowCount;
+
+	// この日に返却された回数と、それらの貸出期間の合計（秒。平均貸出期間の算出用）
+	@Column(nullable = false)
+	private long returnCount;
+	@Column(nullable = false)
+	private long returnedLoanSeconds;
+
+	// この日のうち貸出中だった時間（秒。返却時に、貸出期間を日ごとに分けて加算する）
+	@Column(nullable = false)
+	private long onLoanSeconds;
+
+	@Getter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@EqualsAndHashCode
+	public static class Key implements Serializable {
+		private Long bookId;
+		private LocalDate loanDate;
+	}
+}
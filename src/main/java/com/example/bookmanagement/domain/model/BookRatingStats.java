@@ -0,0 +1,123 @@
+package com.example.bookmanagement.domain.model;
+
+import java.util.List;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 書籍ごとの評価の集計値（レビュー投稿時にSQLで加算していく非正規化テーブル）
+ * レビューを全件読み込まずに件数・平均・星ごとの分布を返すために使う
+ */
+@Entity
+@Table(name = "book_rating_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA用の空コンストラクタ
+@AllArgsConstructor
+@Builder
+public class BookRatingStats implements Persistable<Long> {
+
+	@Id
+	private Long bookId;
+
+	@Column(nullable = false)
+	private long reviewCount;
+
+	@Column(nullable = false)
+	private long ratingSum;
+
+	// 星1〜5それぞれのレビュー件数
+	@Column(nullable = false)
+	private long star1;
+	@Column(nullable = false)
+	private long star2;
+	@Column(nullable = false)
+	private long star3;
+	@Column(nullable = false)
+	private long star4;
+	@Column(nullable = false)
+	private long star5;
+
+	// 集計値が変わるたびに増える版（書籍の version とあわせて、条件付きGETの ETag に使う）
+	// 加算・修復はUPDATE文で行うため @Version ではなく、各UPDATE文で増やす
+	@Column(nullable = false)
+	@ColumnDefault("0")
+	private long version;
+
+	// IDを自前で割り当てるため、save() で事前SELECT（merge）が走らないよう新規かどうかを自分で管理する
+	@Transient
+	@Builder.Default
+	private boolean persisted = false;
+
+	/**
+	 * レビュー0件の集計行を作る（書籍の登録時用）
+	 */
+	public static BookRatingStats empty(Long bookId) {
+		return BookRatingStats.builder().bookId(bookId).build();
+	}
+
+	/**
+	 * 射影で読み込んだ集計値から組み立てる（外部結合で集計行がなかった場合はnullを0件として扱う）
+	 */
+	public static BookRatingStats of(Long bookId, Long reviewCount, Long ratingSum,
+			Long star1, Long star2, Long star3, Long star4, Long star5) {
+		return BookRatingStats.builder()
+				.bookId(bookId)
+				.reviewCount(zeroIfNull(reviewCount))
+				.ratingSum(zeroIfNull(ratingSum))
+				.star1(zeroIfNull(star1))
+				.star2(zeroIfNull(star2))
+				.star3(zeroIfNull(star3))
+				.star4(zeroIfNull(star4))
+				.star5(zeroIfNull(star5))
+				.build();
+	}
+
+	/**
+	 * 平均評価（レビューがなければnull）
+	 */
+	public Double getAverageRating() {
+		return reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+	}
+
+	/**
+	 * 星1〜5の件数を順に並べたもの
+	 */
+	public List<Long> getHistogram() {
+		return List.of(star1, star2, star3, star4, star5);
+	}
+
+	@Override
+	public Long getId() {
+		return bookId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	private static long zeroIfNull(Long value) {
+		return value == null ? 0L : value;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		this.persisted = true;
+	}
+}
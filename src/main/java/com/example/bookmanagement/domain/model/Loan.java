@@ -0,0 +1,49 @@
+package com.example.bookmanagement.domain.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 貸出の履歴（貸出ごとに1行を追記し、返却時に returnedAt だけを1度埋める。削除はしない）
+ * 書籍の行には現在のステータスだけを持たせ、履歴はこちらに積む（集計は book_loan_daily から読む）
+ */
+@Entity
+@Table(name = "loans", indexes = {
+		// 返却時に書籍の貸出中の履歴（returnedAt が null）を探すため
+		@Index(name = "idx_loans_book_returned", columnList = "book_id, returned_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA用の空コンストラクタ
+@AllArgsConstructor
+@Builder
+public class Loan {
+
+	// 追記が多いテーブルのため、Book と同じくシーケンスから50件ずつ払い出してバッチINSERTできるようにする
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loans_seq")
+	@SequenceGenerator(name = "loans_seq", sequenceName = "loans_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "book_id", nullable = false, updatable = false)
+	private Long bookId;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime borrowedAt;
+
+	// 返却日時（貸出中はnull）
+	private LocalDateTime returnedAt;
+}
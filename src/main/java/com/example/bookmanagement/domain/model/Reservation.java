@@ -0,0 +1,64 @@
+package com.example.bookmanagement.domain.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 貸出中の書籍の予約（書籍ごとの順番待ち。id の小さい順に取り置きされる）
+ * 状態の変更はすべて「現在の状態が想定通りなら変更する」条件付きUPDATEで行い、このEntityは読み込みと登録にだけ使う
+ */
+@Entity
+@Table(name = "reservations", indexes = {
+		// 書籍ごとの順番待ちの先頭・順番を求めるため
+		@Index(name = "idx_reservations_book_status_id", columnList = "book_id, status, id"),
+		// 期限切れの取り置きを探すため
+		@Index(name = "idx_reservations_status_expires", columnList = "status, hold_expires_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA用の空コンストラクタ
+@AllArgsConstructor
+@Builder
+public class Reservation {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+	@SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "book_id", nullable = false)
+	private Long bookId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private ReservationStatus status;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	// 取り置きの期限（取り置き中になったときに設定する）
+	private LocalDateTime holdExpiresAt;
+
+	@PrePersist
+	protected void onCreate() {
+		if (this.createdAt == null) {
+			this.createdAt = LocalDateTime.now();
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.example.bookmanagement.domain.model;
+
+public enum ReservationStatus {
+	WAITING,   // 順番待ち
+	HELD,      // 返却された本を取り置き中（期限までに借りなければ EXPIRED）
+	FULFILLED, // 取り置きから借りた
+	CANCELLED, // 予約者が取り消した
+	EXPIRED    // 取り置きの期限が切れた
+}
@@ -8,9 +8,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import lombok.AccessLevel;
@@ -20,14 +22,21 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "Reviews")
+@Table(name = "Reviews", indexes = {
+		// 書籍ごとのレビューを投稿日時順にページングするため
+		@Index(name = "idx_reviews_book_id_created_at", columnList = "book_id, created_at"),
+		// 期間別ランキングの構築時に、直近のレビューだけを読み込むため
+		@Index(name = "idx_reviews_created_at", columnList = "created_at")
+})
 @Getter // Setterをあえて作らず、メソッド経由で更新させるのがDDD流
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA用の空コンストラクタ
 @AllArgsConstructor
 @Builder
 public class Review {
+	// 非同期投稿でまとめてバッチINSERTするため、Book と同じくシーケンスから50件ずつ払い出す
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 	
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -43,9 +52,11 @@ public class Review {
 	@Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 	
-	// 保存前に投稿日時を自動設定
+	// 保存前に投稿日時を自動設定（非同期投稿では受付時の日時を設定済み）
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
     }
 }
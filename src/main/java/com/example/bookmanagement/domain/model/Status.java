@@ -2,5 +2,6 @@ package com.example.bookmanagement.domain.model;
 
 public enum Status {
 	AVAILABLE, // 貸出可能
-    BORROWED   // 貸出中
+    BORROWED,  // 貸出中
+    RESERVED   // 予約の先頭の人のために取り置き中（その予約からだけ借りられる）
 }
@@ -0,0 +1,74 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * レスポンスに含める項目（fields=id,title,reviews.rating のように指定する）
+ * 指定がなければすべての項目を含める。指定された項目だけをSQLで読み込み、レスポンスにも指定された項目だけを書き出す
+ * ページング用のカーソル（nextCursor / nextReviewCursor）は常に含める
+ *
+ * @param names 指定された項目名（nullならすべて）
+ */
+public record BookFields(Set<String> names) {
+
+	/** すべての項目 */
+	public static final BookFields ALL = new BookFields(null);
+
+	/** 書籍の項目 */
+	public static final List<String> BOOK_FIELDS = List.of("id", "title", "author", "isbn", "status", "copies", "availableCopies", "rating");
+	/** レビューの項目（reviews.content のように指定する。reviews だけならレビューのすべての項目） */
+	public static final List<String> REVIEW_FIELDS = List.of("id", "content", "rating", "createdAt");
+
+	private static final String REVIEWS = "reviews";
+
+	/**
+	 * fields パラメータを解釈する
+	 *
+	 * @param fields カンマ区切りの項目名（null・空ならすべて）
+	 * @param allowReviews レビューの項目を指定できるか（書籍詳細のみ）
+	 * @throws IllegalArgumentException 知らない項目名が含まれている場合
+	 */
+	public static BookFields parse(String fields, boolean allowReviews) {
+		if (fields == null || fields.isBlank()) {
+			return ALL;
+		}
+		Set<String> names = new LinkedHashSet<>();
+		for (String name : Arrays.stream(fields.split(",")).map(String::strip).filter(s -> !s.isEmpty()).toList()) {
+			boolean known = BOOK_FIELDS.contains(name)
+					|| (allowReviews && (name.equals(REVIEWS)
+							|| (name.startsWith(REVIEWS + ".") && REVIEW_FIELDS.contains(name.substring(REVIEWS.length() + 1)))));
+			if (!known) {
+				throw new IllegalArgumentException("指定できない項目です: " + name);
+			}
+			names.add(name);
+		}
+		return names.isEmpty() ? ALL : new BookFields(Set.copyOf(names));
+	}
+
+	public boolean isAll() {
+		return names == null;
+	}
+
+	/**
+	 * 書籍の項目（またはレビュー一覧 reviews）を含めるか
+	 */
+	public boolean includes(String name) {
+		if (isAll()) {
+			return true;
+		}
+		if (name.equals(REVIEWS)) {
+			return names.stream().anyMatch(n -> n.equals(REVIEWS) || n.startsWith(REVIEWS + "."));
+		}
+		return names.contains(name);
+	}
+
+	/**
+	 * レビューの項目を含めるか
+	 */
+	public boolean includesReview(String name) {
+		return isAll() || names.contains(REVIEWS) || names.contains(REVIEWS + "." + name);
+	}
+}
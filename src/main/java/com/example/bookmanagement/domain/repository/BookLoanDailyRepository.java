@@ -0,0 +1,79 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bookmanagement.domain.model.BookLoanDaily;
+
+/**
+ * 日次の貸出集計値の読み書き
+ * 加算は「UPDATE で加算し、行がなければ INSERT する」の2段で行う
+ * 同じ書籍の貸出・返却は書籍の行の更新で直列になっているため、同じ行を2つのトランザクションが同時に INSERT することはない
+ */
+public interface BookLoanDailyRepository extends JpaRepository<BookLoanDaily, BookLoanDaily.Key> {
+
+	/**
+	 * 期間（from〜to、両端を含む）の集計行を日付順に取得する（行のない日は含まれない）
+	 */
+	List<BookLoanDaily> findByBookIdAndLoanDateBetweenOrderByLoanDate(Long bookId, LocalDate from, LocalDate to);
+
+	/**
+	 * 1日分の集計値に加算する（読み込まずにUPDATE 1文で加算する）
+	 *
+	 * @return 更新件数（その日の集計行がなければ0）
+	 */
+	@Modifying
+	@Query("""
+			update BookLoanDaily d set
+				d.borrowCount = d.borrowCount + :borrowCount,
+				d.returnCount = d.returnCount + :returnCount,
+				d.returnedLoanSeconds = d.returnedLoanSeconds + :returnedLoanSeconds,
+				d.onLoanSeconds = d.onLoanSeconds + :onLoanSeconds
+			where d.bookId = :bookId and d.loanDate = :loanDate
+			""")
+	int add(@Param("bookId") Long bookId, @Param("loanDate") LocalDate loanDate,
+			@Param("borrowCount") long borrowCount, @Param("returnCount") long returnCount,
+			@Param("returnedLoanSeconds") long returnedLoanSeconds, @Param("onLoanSeconds") long onLoanSeconds);
+
+	/**
+	 * その日の集計行を、加算する値で作る
+	 */
+	@Modifying
+	@Query("""
+			insert into BookLoanDaily (bookId, loanDate, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds)
+			values (:bookId, :loanDate, :borrowCount, :returnCount, :returnedLoanSeconds, :onLoanSeconds)
+			""")
+	int insert(@Param("bookId") Long bookId, @Param("loanDate") LocalDate loanDate,
+			@Param("borrowCount") long borrowCount, @Param("returnCount") long returnCount,
+			@Param("returnedLoanSeconds") long returnedLoanSeconds, @Param("onLoanSeconds") long onLoanSeconds);
+
+	/**
+	 * 複数の書籍の同じ日の貸出回数に1ずつ加算する（まとめて貸し出すとき用）
+	 *
+	 * @return 更新件数（その日の集計行がない書籍の分は含まれない）
+	 */
+	@Modifying
+	@Query("""
+			update BookLoanDaily d set d.borrowCount = d.borrowCount + 1
+			where d.bookId in :bookIds and d.loanDate = :loanDate
+			""")
+	int addBorrows(@Param("bookIds") Collection<Long> bookIds, @Param("loanDate") LocalDate loanDate);
+
+	/**
+	 * 指定した書籍のうち、その日の集計行がないものに貸出回数1の行を作る（addBorrows と組み合わせて使う）
+	 */
+	@Modifying
+	@Query("""
+			insert into BookLoanDaily (bookId, loanDate, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds)
+			select b.id, :loanDate, 1, 0, 0, 0 from Book b
+			where b.id in :bookIds
+				and not exists (select 1 from BookLoanDaily d where d.bookId = b.id and d.loanDate = :loanDate)
+			""")
+	int insertBorrows(@Param("bookIds") Collection<Long> bookIds, @Param("loanDate") LocalDate loanDate);
+}
@@ -0,0 +1,28 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.util.List;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bookmanagement.domain.model.Status;
+
+/**
+ * 条件が可変の検索クエリ（Spring Dataの派生クエリで表現しにくいもの）をまとめたフラグメント
+ */
+public interface BookQueryRepository {
+
+	/**
+	 * id をキーにしたキーセットページングで書籍一覧を取得する
+	 * 指定されなかった条件は WHERE 句に含めないため、インデックスがそのまま使われる
+	 * 
+	 * @param cursor この id より大きい書籍から取得する（nullなら先頭から）
+	 * @param limit 最大取得件数
+	 * @param status 貸出ステータスでの絞り込み（nullなら絞り込まない）
+	 * @param author 著者名の完全一致（nullなら絞り込まない）
+	 * @param titlePrefix タイトルの前方一致（nullなら絞り込まない）
+	 * @param fields 読み込む項目（読み込まなかった項目はnull。評価が不要なら集計値の結合もしない。id はカーソルに使うため常に読み込む）
+	 * @return id 昇順の書籍一覧
+	 */
+	@Transactional(readOnly = true)
+	List<BookSummaryView> findPage(Long cursor, int limit, Status status, String author, String titlePrefix, BookFields fields);
+}
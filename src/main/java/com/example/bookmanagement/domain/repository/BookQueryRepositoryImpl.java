@@ -0,0 +1,100 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+
+import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.BookRatingStats;
+import com.example.bookmanagement.domain.model.Status;
+
+class BookQueryRepositoryImpl implements BookQueryRepository {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	/** BookSummaryView の評価の集計値の項目（コンストラクタ引数の順） */
+	private static final List<String> RATING_STATS = List.of("reviewCount", "ratingSum", "star1", "star2", "star3", "star4", "star5");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<BookSummaryView> findPage(Long cursor, int limit, Status status, String author, String titlePrefix,
+			BookFields fields) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<BookSummaryView> query = cb.createQuery(BookSummaryView.class);
+		JpaRoot<Book> book = (JpaRoot<Book>) query.from(Book.class);
+
+		// 指定された条件だけを組み立てる（「:param is null or ...」はインデックスが効かなくなるため使わない）
+		List<Predicate> predicates = new ArrayList<>();
+		if (cursor != null) {
+			predicates.add(cb.greaterThan(book.get("id"), cursor));
+		}
+		if (status != null) {
+			predicates.add(cb.equal(book.get("status"), status));
+		}
+		if (author != null) {
+			predicates.add(cb.equal(book.get("author"), author));
+		}
+		if (titlePrefix != null) {
+			predicates.add(cb.like(book.get("title"), escapeLike(titlePrefix) + "%", LIKE_ESCAPE));
+		}
+
+		// 指定されなかった項目はカラムを読まずに null を選択する
+		List<Expression<?>> columns = new ArrayList<>(List.of(book.get("id"),
+				column(cb, fields, "title", book.get("title"), String.class),
+				column(cb, fields, "author", book.get("author"), String.class),
+				column(cb, fields, "isbn", book.get("isbn"), String.class),
+				column(cb, fields, "status", book.get("status"), Status.class),
+				column(cb, fields, "copies", book.get("copies"), Integer.class),
+				column(cb, fields, "availableCopies", book.get("availableCopies"), Integer.class)));
+		if (fields.includes("rating")) {
+			// 評価の集計値は関連を持たない別テーブルのため、エンティティ結合で外部結合する
+			JpaEntityJoin<BookRatingStats> stats = book.join(BookRatingStats.class, SqmJoinType.LEFT);
+			stats.on(cb.equal(stats.get("bookId"), book.get("id")));
+			for (String stat : RATING_STATS) {
+				columns.add(stats.get(stat));
+			}
+		} else {
+			for (int i = 0; i < RATING_STATS.size(); i++) {
+				columns.add(cb.nullLiteral(Long.class));
+			}
+		}
+
+		query.select(cb.construct(BookSummaryView.class, columns.toArray(Expression[]::new)))
+				.where(predicates.toArray(Predicate[]::new))
+				.orderBy(cb.asc(book.get("id")));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+	private static <T> Expression<T> column(CriteriaBuilder cb, BookFields fields, String name, Expression<T> column, Class<T> type) {
+		return fields.includes(name) ? column : cb.nullLiteral(type);
+	}
+
+	/**
+	 * LIKE のワイルドカード文字をエスケープする（前方一致の入力値をそのまま検索させるため）
+	 */
+	private static String escapeLike(String value) {
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (char c : value.toCharArray()) {
+			if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+				escaped.append(LIKE_ESCAPE);
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+}
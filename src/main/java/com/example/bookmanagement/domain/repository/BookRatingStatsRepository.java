@@ -0,0 +1,122 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bookmanagement.domain.model.BookRatingStats;
+
+public interface BookRatingStatsRepository extends JpaRepository<BookRatingStats, Long> {
+
+	/**
+	 * 全書籍のレビュー件数と評価の合計を少しずつ読み込む（トランザクション内で呼び、Streamは必ず閉じること）
+	 */
+	@Query("select new com.example.bookmanagement.domain.repository.BookRatingTotalsView(s.bookId, s.reviewCount, s.ratingSum) from BookRatingStats s")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<BookRatingTotalsView> streamTotals();
+
+	/**
+	 * レビュー1件分を集計値に加算する（読み込まずにUPDATE 1文で加算するため、同時投稿でも取りこぼさない）
+	 * 
+	 * @param bookId 書籍ID
+	 * @param rating 投稿されたレビューの評価（1〜5）
+	 * @return 更新件数（集計行がなければ0）
+	 */
+	@Modifying
+	@Query("""
+			update BookRatingStats s set
+				s.reviewCount = s.reviewCount + 1,
+				s.ratingSum = s.ratingSum + :rating,
+				s.star1 = s.star1 + case when :rating = 1 then 1 else 0 end,
+				s.star2 = s.star2 + case when :rating = 2 then 1 else 0 end,
+				s.star3 = s.star3 + case when :rating = 3 then 1 else 0 end,
+				s.star4 = s.star4 + case when :rating = 4 then 1 else 0 end,
+				s.star5 = s.star5 + case when :rating = 5 then 1 else 0 end,
+				s.version = s.version + 1
+			where s.bookId = :bookId
+			""")
+	int increment(@Param("bookId") Long bookId, @Param("rating") int rating);
+
+	/**
+	 * 複数件のレビューをまとめて集計値に加算する（非同期投稿で、1バッチ内の同じ書籍のレビューを1文で加算する）
+	 *
+	 * @return 更新件数（集計行がなければ0）
+	 */
+	@Modifying
+	@Query("""
+			update BookRatingStats s set
+				s.reviewCount = s.reviewCount + :reviewCount,
+				s.ratingSum = s.ratingSum + :ratingSum,
+				s.star1 = s.star1 + :star1,
+				s.star2 = s.star2 + :star2,
+				s.star3 = s.star3 + :star3,
+				s.star4 = s.star4 + :star4,
+				s.star5 = s.star5 + :star5,
+				s.version = s.version + 1
+			where s.bookId = :bookId
+			""")
+	int add(@Param("bookId") Long bookId, @Param("reviewCount") long reviewCount, @Param("ratingSum") long ratingSum,
+			@Param("star1") long star1, @Param("star2") long star2, @Param("star3") long star3,
+			@Param("star4") long star4, @Param("star5") long star5);
+
+	/**
+	 * 書籍の集計行がなければ0件の集計行を作る（集計導入前に登録された書籍への最初のレビュー用）
+	 * 同時に最初のレビューが投稿されても、後から来た方は何もしない（一意制約違反でトランザクションを失敗させない）
+	 *
+	 * @return 作った行数（既にあれば0）
+	 */
+	@Modifying
+	@Query("""
+			insert into BookRatingStats (bookId, reviewCount, ratingSum, star1, star2, star3, star4, star5, version)
+			values (:bookId, 0, 0, 0, 0, 0, 0, 0, 0)
+			on conflict do nothing
+			""")
+	int insertIfMissing(@Param("bookId") Long bookId);
+
+	/**
+	 * 指定範囲（fromId < id <= toId）の書籍のうち、集計行がないものの書籍IDを取得する（集計導入前に登録された書籍）
+	 */
+	@Query("""
+			select b.id from Book b
+			where b.id > :fromId and b.id <= :toId
+				and not exists (select 1 from BookRatingStats s where s.bookId = b.id)
+			order by b.id
+			""")
+	List<Long> findBookIdsWithoutStats(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+	/**
+	 * 指定範囲（fromId < bookId <= toId）の集計行に行ロックを取る（数え直しの間、レビュー投稿の加算を待たせる）
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select s.bookId from BookRatingStats s where s.bookId > :fromId and s.bookId <= :toId order by s.bookId")
+	List<Long> lockRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+	/**
+	 * 指定範囲（fromId < bookId <= toId）の集計値を Reviews から数え直す（ずれの修復用）
+	 * 先に lockRange で行ロックを取ってから呼ぶこと（READ COMMITTED では、数えている間にコミットされたレビューの加算を上書きしてしまうため）
+	 */
+	@Modifying
+	@Query("""
+			update BookRatingStats s set
+				s.reviewCount = (select count(r) from Review r where r.book.id = s.bookId),
+				s.ratingSum = (select coalesce(sum(r.rating), 0) from Review r where r.book.id = s.bookId),
+				s.star1 = (select count(r) from Review r where r.book.id = s.bookId and r.rating = 1),
+				s.star2 = (select count(r) from Review r where r.book.id = s.bookId and r.rating = 2),
+				s.star3 = (select count(r) from Review r where r.book.id = s.bookId and r.rating = 3),
+				s.star4 = (select count(r) from Review r where r.book.id = s.bookId and r.rating = 4),
+				s.star5 = (select count(r) from Review r where r.book.id = s.bookId and r.rating = 5),
+				s.version = s.version + 1
+			where s.bookId > :fromId and s.bookId <= :toId
+			""")
+	int recompute(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
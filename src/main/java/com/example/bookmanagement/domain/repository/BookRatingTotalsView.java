@@ -0,0 +1,10 @@
+package com.example.bookmanagement.domain.repository;
+
+/**
+ * ランキングの構築用の射影（書籍ごとのレビュー件数と評価の合計だけを読み込む）
+ */
+public record BookRatingTotalsView(
+		Long bookId,
+		Long reviewCount,
+		Long ratingSum
+	) {}
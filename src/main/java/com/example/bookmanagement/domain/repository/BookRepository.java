@@ -1,12 +1,30 @@
 package com.example.bookmanagement.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.Status;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookQueryRepository {
     // JpaRepositoryを継承するだけで、save(), findById(), findAll() などが使えるようになります。
 	
 	/**
@@ -15,4 +33,250 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @return 存在すればtrue, 存在しなければfalse
      */
     boolean existsByIsbn(String isbn);
+    
+    /**
+     * 指定したISBNのうち、既にDBに存在するものを取得する（一括登録時の重複チェックを1回のクエリで行うため）
+     * 
+     * @param isbns チェックしたいISBNコード
+     * @return 存在したISBNコード
+     */
+    @Query("select b.isbn from Book b where b.isbn in :isbns")
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+    
+    /**
+     * 全書籍の文字列項目を少しずつ読み込む（トランザクション内で呼び、Streamは必ず閉じること）
+     */
+    @Query("select new com.example.bookmanagement.domain.repository.BookTextView(b.id, b.title, b.author, b.isbn) from Book b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookTextView> streamAllText();
+    
+    /**
+     * 書籍1件を評価の集計値付きで取得する（Entityを管理対象にしない射影）
+     */
+    @Query("""
+    		select new com.example.bookmanagement.domain.repository.BookSummaryView(
+    			b.id, b.title, b.author, b.isbn, b.status, b.copies, b.availableCopies,
+    			s.reviewCount, s.ratingSum, s.star1, s.star2, s.star3, s.star4, s.star5)
+    		from Book b
+    			left join BookRatingStats s on s.bookId = b.id
+    		where b.id = :id
+    		""")
+    @Transactional(readOnly = true)
+    Optional<BookSummaryView> findSummaryById(@Param("id") Long id);
+    
+    /**
+     * 書籍の貸出ステータス・コピー数と著者だけを取得する
+     */
+    @Query("select new com.example.bookmanagement.domain.repository.BookStatusView(b.id, b.status, b.author, b.copies, b.availableCopies, b.heldCopies) from Book b where b.id = :id")
+    Optional<BookStatusView> findStatusById(@Param("id") Long id);
+    
+    /**
+     * 書籍の行と評価の集計行の版（条件付きGET用。主キーで1行だけ読む）
+     */
+    @Query("""
+    		select new com.example.bookmanagement.domain.repository.BookVersionView(b.version, s.version)
+    		from Book b left join BookRatingStats s on s.bookId = b.id
+    		where b.id = :id
+    		""")
+    @Transactional(readOnly = true)
+    Optional<BookVersionView> findVersionById(@Param("id") Long id);
+    
+    /**
+     * 複数の書籍の貸出ステータス・コピー数と著者を、行ロックを取りながら id 順に取得する（まとめて貸出・返却するときの判定用）
+     * id 順にロックするため、同じ書籍を含む2つのまとめての処理が互いを待ち合うことはない
+     * 
+     * @param ids 書籍ID（存在しないIDは結果に含まれない）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+    		select new com.example.bookmanagement.domain.repository.BookStatusView(
+    			b.id, b.status, b.author, b.copies, b.availableCopies, b.heldCopies)
+    		from Book b where b.id in :ids order by b.id
+    		""")
+    List<BookStatusView> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 貸出可能なコピー数だけを取得する（行ロックを取らない読み込み。貸出の受付判定 InventoryGate の補正用）
+     */
+    @Query("select b.availableCopies from Book b where b.id = :id")
+    Optional<Integer> findAvailableCopies(@Param("id") Long id);
+    
+    /*
+     * コピー数の増減は、読み込まずに条件付きUPDATE 1文で判定と更新を行う（同時に実行されても貸出可能数は負にならない）
+     * ステータスは Book.statusOf と同じ規則で、更新前の値（SET句の右辺はすべて更新前の値で評価される）から求める
+     */
+    
+    /**
+     * 貸出可能なコピーがあれば1冊貸し出す
+     * 
+     * @return 更新件数（書籍が存在しない、または貸出可能なコピーがなければ0）
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.availableCopies = b.availableCopies - 1,
+    			b.status = case when b.availableCopies > 1 then com.example.bookmanagement.domain.model.Status.AVAILABLE
+    				when b.heldCopies > 0 then com.example.bookmanagement.domain.model.Status.RESERVED
+    				else com.example.bookmanagement.domain.model.Status.BORROWED end,
+    			b.version = b.version + 1
+    		where b.id = :id and b.availableCopies > 0
+    		""")
+    int borrowCopy(@Param("id") Long id);
+    
+    /**
+     * 指定した書籍のうち、貸出可能なコピーがあるものから1冊ずつ貸し出す（まとめて貸し出すとき用）
+     * 
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.availableCopies = b.availableCopies - 1,
+    			b.status = case when b.availableCopies > 1 then com.example.bookmanagement.domain.model.Status.AVAILABLE
+    				when b.heldCopies > 0 then com.example.bookmanagement.domain.model.Status.RESERVED
+    				else com.example.bookmanagement.domain.model.Status.BORROWED end,
+    			b.version = b.version + 1
+    		where b.id in :ids and b.availableCopies > 0
+    		""")
+    int borrowCopiesIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 貸出中のコピーがあれば1冊返却し、貸出可能にする
+     * 
+     * @return 更新件数（書籍が存在しない、または貸出中のコピーがなければ0）
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.availableCopies = b.availableCopies + 1,
+    			b.status = com.example.bookmanagement.domain.model.Status.AVAILABLE,
+    			b.version = b.version + 1
+    		where b.id = :id and b.copies - b.availableCopies - b.heldCopies > 0
+    		""")
+    int returnCopy(@Param("id") Long id);
+    
+    /**
+     * 指定した書籍のうち、貸出中のコピーがあるものから1冊ずつ返却する（まとめて返却するとき用）
+     * 
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.availableCopies = b.availableCopies + 1,
+    			b.status = com.example.bookmanagement.domain.model.Status.AVAILABLE,
+    			b.version = b.version + 1
+    		where b.id in :ids and b.copies - b.availableCopies - b.heldCopies > 0
+    		""")
+    int returnCopiesIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 貸出可能なコピーを1冊、予約のために取り置く
+     * 
+     * @return 更新件数（貸出可能なコピーがなければ0）
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.availableCopies = b.availableCopies - 1, b.heldCopies = b.heldCopies + 1,
+    			b.status = case when b.availableCopies > 1 then com.example.bookmanagement.domain.model.Status.AVAILABLE
+    				else com.example.bookmanagement.domain.model.Status.RESERVED end,
+    			b.version = b.version + 1
+    		where b.id = :id and b.availableCopies > 0
+    		""")
+    int holdCopy(@Param("id") Long id);
+    
+    /**
+     * 取り置き中のコピーを1冊、予約で貸し出す
+     * 
+     * @return 更新件数（取り置き中のコピーがなければ0）
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.heldCopies = b.heldCopies - 1,
+    			b.status = case when b.availableCopies > 0 then com.example.bookmanagement.domain.model.Status.AVAILABLE
+    				when b.heldCopies > 1 then com.example.bookmanagement.domain.model.Status.RESERVED
+    				else com.example.bookmanagement.domain.model.Status.BORROWED end,
+    			b.version = b.version + 1
+    		where b.id = :id and b.heldCopies > 0
+    		""")
+    int lendHeldCopy(@Param("id") Long id);
+    
+    /**
+     * 取り置き中のコピーを1冊、貸出可能に戻す（取り置きを次に回す予約がない場合）
+     * 
+     * @return 更新件数（取り置き中のコピーがなければ0）
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.heldCopies = b.heldCopies - 1, b.availableCopies = b.availableCopies + 1,
+    			b.status = com.example.bookmanagement.domain.model.Status.AVAILABLE,
+    			b.version = b.version + 1
+    		where b.id = :id and b.heldCopies > 0
+    		""")
+    int releaseHeldCopy(@Param("id") Long id);
+    
+    /**
+     * コピーを追加し、追加した分を貸出可能にする
+     * 
+     * @return 更新件数（書籍が存在しなければ0）
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    		update Book b set b.copies = b.copies + :count, b.availableCopies = b.availableCopies + :count,
+    			b.status = com.example.bookmanagement.domain.model.Status.AVAILABLE,
+    			b.version = b.version + 1
+    		where b.id = :id
+    		""")
+    int addCopies(@Param("id") Long id, @Param("count") int count);
+    
+    /**
+     * 書籍と最新のレビュー（投稿日時の降順）を1回のクエリで取得する
+     * 呼び出し側がトランザクションを開始しない場合（詳細取得の同時読み込みの集約）も、参照用のトランザクションで実行する
+     * 
+     * @param id 書籍ID
+     * @param withContent レビュー本文を読み込むか（false なら本文はnull。長い本文をDBから転送しない）
+     * @param limit 取得するレビューの最大件数
+     * @return 書籍が存在しなければ空、レビューがなければレビュー項目がnullの1行
+     */
+    @Query("""
+    		select new com.example.bookmanagement.domain.repository.BookReviewRow(
+    			b.id, b.title, b.author, b.isbn, b.status,
+    			s.reviewCount, s.ratingSum, s.star1, s.star2, s.star3, s.star4, s.star5,
+    			r.id, case when :withContent = true then r.content end, r.rating, r.createdAt)
+    		from Book b
+    			left join BookRatingStats s on s.bookId = b.id
+    			left join b.review r
+    		where b.id = :id
+    		order by r.createdAt desc, r.id desc
+    		""")
+    @Transactional(readOnly = true)
+    List<BookReviewRow> findWithLatestReviews(@Param("id") Long id, @Param("withContent") boolean withContent, Limit limit);
+    
+    /**
+     * 書籍と、カーソルのレビューより古いレビューを1回のクエリで取得する（findWithLatestReviews と同じく参照用のトランザクションで実行する）
+     * 
+     * @param id 書籍ID
+     * @param cursor 前ページ最後のレビューID
+     * @param withContent レビュー本文を読み込むか（false なら本文はnull）
+     * @param limit 取得するレビューの最大件数
+     * @return 書籍が存在しなければ空、該当レビューがなければレビュー項目がnullの1行
+     */
+    @Query("""
+    		select new com.example.bookmanagement.domain.repository.BookReviewRow(
+    			b.id, b.title, b.author, b.isbn, b.status,
+    			s.reviewCount, s.ratingSum, s.star1, s.star2, s.star3, s.star4, s.star5,
+    			r.id, case when :withContent = true then r.content end, r.rating, r.createdAt)
+    		from Book b
+    			left join BookRatingStats s on s.bookId = b.id
+    			left join b.review r
+    			on r.createdAt < (select c.createdAt from Review c where c.id = :cursor and c.book.id = :id)
+    			or (r.createdAt = (select c.createdAt from Review c where c.id = :cursor and c.book.id = :id) and r.id < :cursor)
+    		where b.id = :id
+    		order by r.createdAt desc, r.id desc
+    		""")
+    @Transactional(readOnly = true)
+    List<BookReviewRow> findWithReviewsBefore(@Param("id") Long id, @Param("cursor") Long cursor,
+    		@Param("withContent") boolean withContent, Limit limit);
+    
+    /**
+     * id 昇順で、指定IDより後ろの書籍IDだけを取得する（バッチ処理の範囲分割用）
+     */
+    @Query("select b.id from Book b where b.id > :cursor order by b.id")
+    List<Long> findIdsAfter(@Param("cursor") Long cursor, Limit limit);
 }
@@ -0,0 +1,37 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.time.LocalDateTime;
+
+import com.example.bookmanagement.domain.model.BookRatingStats;
+import com.example.bookmanagement.domain.model.Status;
+
+/**
+ * 書籍とレビュー1件を横に並べた射影（書籍とレビューのページを1回のクエリで取得するため）
+ * レビューが1件もない場合、レビュー側の項目はすべてnullになる
+ */
+public record BookReviewRow(
+		Long bookId,
+		String title,
+		String author,
+		String isbn,
+		Status status,
+		Long reviewCount,
+		Long ratingSum,
+		Long star1,
+		Long star2,
+		Long star3,
+		Long star4,
+		Long star5,
+		Long reviewId,
+		String content,
+		Integer rating,
+		LocalDateTime createdAt
+	) {
+
+	/**
+	 * 評価の集計値（集計行がなければ0件として扱う）
+	 */
+	public BookRatingStats ratingStats() {
+		return BookRatingStats.of(bookId, reviewCount, ratingSum, star1, star2, star3, star4, star5);
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.bookmanagement.domain.repository;
+
+import com.example.bookmanagement.domain.model.Status;
+
+/**
+ * 書籍の貸出ステータス・コピー数と著者（状態の確認と、変更の通知に使う）
+ */
+public record BookStatusView(Long id, Status status, String author, int copies, int availableCopies, int heldCopies) {
+
+	/**
+	 * 貸出中のコピー数
+	 */
+	public int onLoanCopies() {
+		return copies - availableCopies - heldCopies;
+	}
+
+	/*
+	 * 条件付きUPDATE（BookRepository の borrowCopiesIn / returnCopiesIn / holdCopy）を適用した後の状態
+	 * 行ロックを取って読んだ値から求め、更新後に読み直さないために使う
+	 */
+
+	/**
+	 * 1冊貸し出した後の状態
+	 */
+	public BookStatusView borrowed() {
+		Status next = (availableCopies > 1) ? Status.AVAILABLE : (heldCopies > 0) ? Status.RESERVED : Status.BORROWED;
+		return new BookStatusView(id, next, author, copies, availableCopies - 1, heldCopies);
+	}
+
+	/**
+	 * 1冊返却された後の状態
+	 */
+	public BookStatusView returned() {
+		return new BookStatusView(id, Status.AVAILABLE, author, copies, availableCopies + 1, heldCopies);
+	}
+
+	/**
+	 * 貸出可能なコピーを1冊、予約のために取り置いた後の状態
+	 */
+	public BookStatusView held() {
+		Status next = (availableCopies > 1) ? Status.AVAILABLE : Status.RESERVED;
+		return new BookStatusView(id, next, author, copies, availableCopies - 1, heldCopies + 1);
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.bookmanagement.domain.repository;
+
+import com.example.bookmanagement.domain.model.BookRatingStats;
+import com.example.bookmanagement.domain.model.Status;
+
+/**
+ * 一覧取得用の射影（Entityを管理対象にせず、必要なカラムだけを読み込む）
+ * 評価の集計値は book_rating_stats を外部結合して読み込む（集計行がなければnull）
+ */
+public record BookSummaryView(
+		Long id,
+		String title,
+		String author,
+		String isbn,
+		Status status,
+		Integer copies,
+		Integer availableCopies,
+		Long reviewCount,
+		Long ratingSum,
+		Long star1,
+		Long star2,
+		Long star3,
+		Long star4,
+		Long star5
+	) {
+
+	/**
+	 * 評価の集計値（集計行がなければ0件として扱う）
+	 */
+	public BookRatingStats ratingStats() {
+		return BookRatingStats.of(id, reviewCount, ratingSum, star1, star2, star3, star4, star5);
+	}
+}
@@ -0,0 +1,11 @@
+package com.example.bookmanagement.domain.repository;
+
+/**
+ * 検索インデックスの構築用の射影（書籍の文字列項目だけを読み込む）
+ */
+public record BookTextView(
+		Long id,
+		String title,
+		String author,
+		String isbn
+	) {}
@@ -0,0 +1,8 @@
+package com.example.bookmanagement.domain.repository;
+
+/**
+ * 書籍の行と評価の集計行の版（条件付きGETの ETag に使う）
+ * @param version 書籍の版（書籍の項目・コピー数が変わるたびに増える）
+ * @param ratingVersion 評価の集計値の版（レビューの投稿・集計値の修復で増える。集計行がなければnull）
+ */
+public record BookVersionView(Long version, Long ratingVersion) {}
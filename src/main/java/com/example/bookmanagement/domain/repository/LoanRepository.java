@@ -0,0 +1,59 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookmanagement.domain.model.Loan;
+
+@Repository
+public interface LoanRepository extends JpaRepository<Loan, Long> {
+
+	/**
+	 * 書籍の貸出中の履歴のうち、最も古いもの（1冊返却されたときに閉じる履歴）
+	 * 複数のコピーが貸出中なら、書籍1冊につき貸出中の履歴も複数ある
+	 */
+	Optional<Loan> findFirstByBookIdAndReturnedAtIsNullOrderByIdAsc(Long bookId);
+
+	/**
+	 * 書籍の貸出中の履歴（貸出中のコピーの数だけある）
+	 */
+	List<Loan> findByBookIdAndReturnedAtIsNull(Long bookId);
+
+	/**
+	 * 複数の書籍それぞれの、貸出中の履歴のうち最も古いもの（まとめて返却するときに1回のクエリで読む）
+	 */
+	@Query("""
+			select l from Loan l
+			where l.id in (
+				select min(o.id) from Loan o
+				where o.bookId in :bookIds and o.returnedAt is null
+				group by o.bookId)
+			""")
+	List<Loan> findOldestOpenByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+	/**
+	 * 貸出中の履歴だけに返却日時を設定する
+	 *
+	 * @return 更新件数（既に返却済みなら0）
+	 */
+	@Modifying
+	@Query("update Loan l set l.returnedAt = :returnedAt where l.id = :id and l.returnedAt is null")
+	int close(@Param("id") Long id, @Param("returnedAt") LocalDateTime returnedAt);
+
+	/**
+	 * 指定した履歴のうち、貸出中のものに返却日時をまとめて設定する
+	 *
+	 * @return 更新件数
+	 */
+	@Modifying
+	@Query("update Loan l set l.returnedAt = :returnedAt where l.id in :ids and l.returnedAt is null")
+	int closeAll(@Param("ids") Collection<Long> ids, @Param("returnedAt") LocalDateTime returnedAt);
+}
@@ -0,0 +1,95 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.bookmanagement.domain.model.Reservation;
+import com.example.bookmanagement.domain.model.ReservationStatus;
+
+/**
+ * 予約の読み書き
+ * 状態の変更は行単位の条件付きUPDATEだけで行う（テーブルや順番待ち全体をロックしない）
+ */
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+	boolean existsByBookIdAndStatus(Long bookId, ReservationStatus status);
+
+	/**
+	 * 指定した書籍のうち、指定した状態の予約があるもの（まとめて返却するときに、予約の確認を1回のクエリで行う）
+	 */
+	@Query("select distinct r.bookId from Reservation r where r.bookId in :bookIds and r.status = :status")
+	List<Long> findBookIdsWithStatus(@Param("bookIds") Collection<Long> bookIds, @Param("status") ReservationStatus status);
+
+	/**
+	 * 自分より前に並んでいる件数（順番 = この件数 + 1）
+	 */
+	long countByBookIdAndStatusAndIdLessThan(Long bookId, ReservationStatus status, Long id);
+
+	/**
+	 * 取り置きの期限が切れたものを期限の古い順に取得する
+	 */
+	List<Reservation> findByStatusAndHoldExpiresAtLessThanEqualOrderByHoldExpiresAt(ReservationStatus status,
+			LocalDateTime now, Limit limit);
+
+	/**
+	 * 順番待ちの先頭を取り置き中にする（先頭の選択と更新を1文で行う）
+	 * 直前に登録した予約も対象にするため先にフラッシュし、更新後は永続化コンテキストを破棄する
+	 *
+	 * @return 更新件数（順番待ちがなければ0）
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("""
+			update Reservation r set r.status = com.example.bookmanagement.domain.model.ReservationStatus.HELD,
+				r.holdExpiresAt = :expiresAt
+			where r.id = (select min(w.id) from Reservation w
+					where w.bookId = :bookId and w.status = com.example.bookmanagement.domain.model.ReservationStatus.WAITING)
+				and r.status = com.example.bookmanagement.domain.model.ReservationStatus.WAITING
+			""")
+	int holdHead(@Param("bookId") Long bookId, @Param("expiresAt") LocalDateTime expiresAt);
+
+	/**
+	 * 現在の状態が from の場合だけ to に変更する
+	 *
+	 * @return 更新件数（状態が from でなければ0）
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Reservation r set r.status = :to where r.id = :id and r.status = :from")
+	int updateStatus(@Param("id") Long id, @Param("from") ReservationStatus from, @Param("to") ReservationStatus to);
+
+	/**
+	 * 期限内の取り置きだけを借りた状態にする
+	 *
+	 * @return 更新件数（取り置き中でない、または期限切れなら0）
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("""
+			update Reservation r set r.status = com.example.bookmanagement.domain.model.ReservationStatus.FULFILLED
+			where r.id = :id
+				and r.status = com.example.bookmanagement.domain.model.ReservationStatus.HELD
+				and r.holdExpiresAt > :now
+			""")
+	int fulfill(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+	/**
+	 * 期限の切れた取り置きだけを期限切れにする（借りる操作と同時に実行されても、どちらか一方だけが成功する）
+	 *
+	 * @return 更新件数（取り置き中でない、または期限内なら0）
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("""
+			update Reservation r set r.status = com.example.bookmanagement.domain.model.ReservationStatus.EXPIRED
+			where r.id = :id
+				and r.status = com.example.bookmanagement.domain.model.ReservationStatus.HELD
+				and r.holdExpiresAt <= :now
+			""")
+	int expire(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
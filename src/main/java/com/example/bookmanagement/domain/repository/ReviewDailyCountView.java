@@ -0,0 +1,13 @@
+package com.example.bookmanagement.domain.repository;
+
+import java.time.LocalDate;
+
+/**
+ * 書籍・投稿日ごとのレビュー件数と評価の合計（期間別ランキングの構築用）
+ */
+public record ReviewDailyCountView(
+		Long bookId,
+		LocalDate day,
+		Long reviewCount,
+		Long ratingSum
+	) {}
@@ -1,9 +1,42 @@
 package com.example.bookmanagement.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.example.bookmanagement.domain.model.Review;
 
 public interface ReviewRespository extends JpaRepository<Review, Long>{
 
+	/**
+	 * 指定したレビューがその書籍のものか（レビューのカーソルの確認用）
+	 */
+	boolean existsByIdAndBookId(Long id, Long bookId);
+
+	/**
+	 * 全レビューの本文を少しずつ読み込む（トランザクション内で呼び、Streamは必ず閉じること）
+	 */
+	@Query("select new com.example.bookmanagement.domain.repository.ReviewTextView(r.book.id, r.content) from Review r")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<ReviewTextView> streamAllText();
+
+	/**
+	 * 指定日時以降のレビューを書籍・投稿日ごとに集計する（期間別ランキングの構築用）
+	 */
+	@Query("""
+			select new com.example.bookmanagement.domain.repository.ReviewDailyCountView(
+				r.book.id, cast(r.createdAt as LocalDate), count(r), sum(r.rating))
+			from Review r
+			where r.createdAt >= :since
+			group by r.book.id, cast(r.createdAt as LocalDate)
+			""")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	Stream<ReviewDailyCountView> streamDailyCountsSince(@Param("since") LocalDateTime since);
 }
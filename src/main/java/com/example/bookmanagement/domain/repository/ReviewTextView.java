@@ -0,0 +1,9 @@
+package com.example.bookmanagement.domain.repository;
+
+/**
+ * 検索インデックスの構築用の射影（レビュー本文と対象の書籍IDだけを読み込む）
+ */
+public record ReviewTextView(
+		Long bookId,
+		String content
+	) {}
@@ -0,0 +1,276 @@
+package com.example.bookmanagement.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.request.BookCreateRequest;
+import com.example.bookmanagement.controller.response.BulkImportResultResponse;
+import com.example.bookmanagement.domain.event.BookRegisteredEvent;
+import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.BookRatingStats;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.service.command.BookCreateCommand;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * 書籍の一括登録
+ * 入力を1件ずつ読みながら一定件数ごとのチャンクにまとめ、チャンク単位で
+ * 「ISBN重複チェック（IN句1回）→ バッチINSERT → コミット」を行う
+ * 入力全体も結果も保持しないため、入力の大きさに関係なくメモリ使用量は一定になる
+ * 重複チェックの後に同じISBNが別のリクエストから登録されて一意制約に違反した場合は、チャンクをロールバックして
+ * 重複チェックからやり直す（やり直しでは登録済みのISBNとして REJECTED になる）
+ */
+@Service
+public class BookBulkImportService {
+
+	/** 入力形式 */
+	public enum Format {
+		/** JSON配列（[{...}, {...}]） */
+		JSON_ARRAY,
+		/** 1行1件のJSON（NDJSON） */
+		NDJSON
+	}
+
+	/** 一意制約の違反でチャンクをやり直す最大回数（同じチャンクで同時登録が続く場合の上限） */
+	private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+	private final BookRepository bookRepository;
+	private final BookRatingStatsRepository bookRatingStatsRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectReader requestReader;
+	private final Validator validator;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int chunkSize;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public BookBulkImportService(BookRepository bookRepository,
+			BookRatingStatsRepository bookRatingStatsRepository,
+			TransactionTemplate transactionTemplate,
+			ObjectMapper objectMapper,
+			Validator validator,
+			ApplicationEventPublisher eventPublisher,
+			@Value("${book.bulk-import.chunk-size:500}") int chunkSize) {
+		this.bookRepository = bookRepository;
+		this.bookRatingStatsRepository = bookRatingStatsRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.requestReader = objectMapper.readerFor(BookCreateRequest.class);
+		this.validator = validator;
+		this.eventPublisher = eventPublisher;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * 入力ストリームの書籍を一括登録する
+	 *
+	 * @param input 登録する書籍（JSON配列またはNDJSON）
+	 * @param format 入力形式
+	 * @param results 1行ごとの結果の通知先（入力順に、チャンクのコミット後に呼ばれる）
+	 */
+	public void importBooks(InputStream input, Format format, Consumer<BulkImportResultResponse> results) throws IOException {
+		ChunkBuffer chunk = new ChunkBuffer(results);
+		if (format == Format.NDJSON) {
+			readNdjson(input, chunk);
+		} else {
+			readJsonArray(input, chunk);
+		}
+		chunk.flush();
+	}
+
+	/**
+	 * NDJSON は1行ずつ読むため、壊れた行があってもその行だけを REJECTED にして続行できる
+	 */
+	private void readNdjson(InputStream input, ChunkBuffer chunk) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		String line;
+		int index = 0;
+		while ((line = reader.readLine()) != null) {
+			if (line.isBlank()) {
+				continue;
+			}
+			try {
+				chunk.add(index, requestReader.readValue(line));
+			} catch (JsonProcessingException e) {
+				chunk.reject(index, null, "JSONの形式が正しくありません。");
+			}
+			index++;
+		}
+	}
+
+	/**
+	 * JSON配列は要素を1件ずつストリームで読む（配列全体をメモリに載せない）
+	 * 構文が壊れている場合はそれ以降を読めないため、その位置で REJECTED を返して終了する
+	 */
+	private void readJsonArray(InputStream input, ChunkBuffer chunk) throws IOException {
+		try (JsonParser parser = requestReader.createParser(input)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				chunk.reject(0, null, "JSON配列で入力してください。");
+				return;
+			}
+			int index = 0;
+			try {
+				JsonToken token;
+				while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					if (token == null) {
+						chunk.reject(index, null, "JSON配列が閉じられていません。");
+						break;
+					}
+					chunk.add(index, requestReader.readValue(parser));
+					index++;
+				}
+			} catch (JsonProcessingException e) {
+				chunk.reject(index, null, "JSONの形式が正しくありません。以降の入力は処理されていません。");
+			}
+		}
+	}
+
+	/**
+	 * 1チャンク分を登録する（一意制約に違反したら、ロールバック後に重複チェックからやり直す）
+	 *
+	 * @return 入力順の結果
+	 */
+	private List<BulkImportResultResponse> importChunk(List<PendingRow> rows) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return tryImportChunk(rows);
+			} catch (DataIntegrityViolationException e) {
+				if (attempt >= MAX_CHUNK_ATTEMPTS) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 1チャンク分を登録する（1トランザクション）
+	 *
+	 * @return 入力順の結果
+	 */
+	private List<BulkImportResultResponse> tryImportChunk(List<PendingRow> rows) {
+		Set<String> isbns = rows.stream()
+				.filter(row -> row.rejectReason() == null && row.command().isbn() != null)
+				.map(row -> row.command().isbn())
+				.collect(Collectors.toSet());
+
+		return transactionTemplate.execute(status -> {
+			// 1. ドメインルール：ISBNの重複チェック（DB上の重複はIN句1回で、チャンク内の重複はSetで判定する）
+			Set<String> existing = isbns.isEmpty() ? Set.of() : bookRepository.findExistingIsbns(isbns);
+			Set<String> seen = new HashSet<>();
+
+			// 2. Entityの組み立て（初期状態 AVAILABLE をここで強制する）
+			List<Book> books = new ArrayList<>();
+			List<BulkImportResultResponse> results = new ArrayList<>(rows.size());
+			List<Integer> bookPositions = new ArrayList<>();
+			for (PendingRow row : rows) {
+				BookCreateCommand command = row.command();
+				String isbn = command.isbn();
+				if (row.rejectReason() != null) {
+					results.add(BulkImportResultResponse.rejected(row.index(), isbn, row.rejectReason()));
+				} else if (isbn != null && (existing.contains(isbn) || !seen.add(isbn))) {
+					results.add(BulkImportResultResponse.rejected(row.index(), isbn, "既に登録済みのISBNです: " + isbn));
+				} else {
+					books.add(Book.builder()
+							.title(command.title())
+							.author(command.author())
+							.isbn(isbn)
+							.status(Status.AVAILABLE)
+							.copies(command.copies())
+							.availableCopies(command.copies())
+							.build());
+					bookPositions.add(results.size());
+					results.add(null); // ID採番後に差し替える
+				}
+			}
+
+			// 3. バッチINSERT（IDはシーケンスからまとめて払い出されるため、INSERTはJDBCバッチで送られる）
+			bookRepository.saveAll(books);
+			bookRatingStatsRepository.saveAll(books.stream().map(book -> BookRatingStats.empty(book.getId())).toList());
+			// 一意制約の違反を DataIntegrityViolationException として受け取るため、リポジトリ経由で送る
+			bookRepository.flush();
+			// 永続化コンテキストにEntityを溜めないよう、チャンクごとに切り離す
+			entityManager.clear();
+
+			for (int i = 0; i < books.size(); i++) {
+				Book book = books.get(i);
+				eventPublisher.publishEvent(new BookRegisteredEvent(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn()));
+				int position = bookPositions.get(i);
+				results.set(position, BulkImportResultResponse.accepted(rows.get(position).index(), book.getIsbn(), book.getId()));
+			}
+			return results;
+		});
+	}
+
+	private record PendingRow(int index, BookCreateCommand command, String rejectReason) {}
+
+	/**
+	 * 読み込んだ行をチャンクサイズまで溜め、満杯になったら登録して結果を通知する
+	 */
+	private class ChunkBuffer {
+		private final Consumer<BulkImportResultResponse> results;
+		private final List<PendingRow> rows = new ArrayList<>(chunkSize);
+
+		ChunkBuffer(Consumer<BulkImportResultResponse> results) {
+			this.results = results;
+		}
+
+		void add(int index, BookCreateRequest request) {
+			if (request == null) {
+				reject(index, null, "書籍の情報がありません。");
+				return;
+			}
+			BookCreateCommand command = new BookCreateCommand(request.title(), request.author(), request.isbn(), request.copies());
+			Set<ConstraintViolation<BookCreateRequest>> violations = validator.validate(request);
+			String rejectReason = violations.isEmpty() ? null : violations.stream()
+					.map(ConstraintViolation::getMessage)
+					.sorted()
+					.collect(Collectors.joining(" "));
+			append(new PendingRow(index, command, rejectReason));
+		}
+
+		void reject(int index, String isbn, String message) {
+			append(new PendingRow(index, new BookCreateCommand(null, null, isbn, null), message));
+		}
+
+		private void append(PendingRow row) {
+			rows.add(row);
+			if (rows.size() >= chunkSize) {
+				flush();
+			}
+		}
+
+		void flush() {
+			if (rows.isEmpty()) {
+				return;
+			}
+			importChunk(rows).forEach(results);
+			rows.clear();
+		}
+	}
+}
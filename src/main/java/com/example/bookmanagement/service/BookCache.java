@@ -0,0 +1,89 @@
+package com.example.bookmanagement.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.domain.event.BookRegisteredEvent;
+import com.example.bookmanagement.domain.event.BookStatusChangedEvent;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+
+/**
+ * 書籍の読み込み結果（BookResponse のスナップショット）をヒープ上に保持するキャッシュ
+ * 書き込みのコミット後に届くイベントで該当エントリを破棄する（ロールバックされた変更では破棄しない）
+ * 書き込みトランザクションの中ではキャッシュに載せないこと（未コミットの値が他のリクエストに見えてしまうため）
+ * 条件付きGETの版（ResourceVersion）はここでは持たず、DBに保存された版・内容から作る
+ */
+@Component
+public class BookCache {
+	/** 書籍ID → BookResponse */
+	public static final String BOOKS = "books";
+	/** 一覧の検索条件 → BookPageResponse */
+	public static final String BOOK_PAGES = "bookPages";
+
+	private final Cache books;
+	private final Cache pages;
+
+	public BookCache(CacheManager cacheManager) {
+		this.books = cacheManager.getCache(BOOKS);
+		this.pages = cacheManager.getCache(BOOK_PAGES);
+	}
+
+	/**
+	 * キャッシュにあればそれを、なければ loader で読み込んでキャッシュに載せて返す
+	 */
+	public BookResponse getBook(Long id, Supplier<BookResponse> loader) {
+		return get(books, id, loader);
+	}
+
+	/**
+	 * キャッシュにある場合だけ返す（なければnull。読み込みもキャッシュへの登録もしない）
+	 */
+	public BookResponse peekBook(Long id) {
+		return books.get(id, BookResponse.class);
+	}
+
+	/**
+	 * 一覧の1ページをキャッシュから返す（なければ loader で読み込んでキャッシュに載せる）
+	 */
+	public BookPageResponse getPage(BookSearchCommand command, Supplier<BookPageResponse> loader) {
+		return get(pages, command, loader);
+	}
+
+	@TransactionalEventListener
+	public void onBookRegistered(BookRegisteredEvent event) {
+		pages.clear();
+	}
+
+	@TransactionalEventListener
+	public void onBookStatusChanged(BookStatusChangedEvent event) {
+		books.evict(event.bookId());
+		pages.clear();
+	}
+
+	@TransactionalEventListener
+	public void onReviewAdded(ReviewAddedEvent event) {
+		// 評価の集計値が変わるため、書籍と一覧の両方を破棄する
+		books.evict(event.bookId());
+		pages.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T get(Cache cache, Object key, Supplier<T> loader) {
+		try {
+			return (T) cache.get(key, loader::get);
+		} catch (Cache.ValueRetrievalException e) {
+			// 読み込み中の例外（書籍が見つからないなど）はそのまま呼び出し元へ返す
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -1,44 +1,164 @@
 package com.example.bookmanagement.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.bookmanagement.controller.response.BookLoanBatchResponse;
+import com.example.bookmanagement.controller.response.BookLoanResultResponse;
+import com.example.bookmanagement.controller.response.BookPageResponse;
 import com.example.bookmanagement.controller.response.BookResponse;
 import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.RatingResponse;
 import com.example.bookmanagement.controller.response.ReviewResponse;
+import com.example.bookmanagement.domain.event.BookRegisteredEvent;
+import com.example.bookmanagement.domain.event.BookStatusChangedEvent;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
 import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.BookRatingStats;
 import com.example.bookmanagement.domain.model.Review;
 import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookFields;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
 import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookReviewRow;
+import com.example.bookmanagement.domain.repository.BookStatusView;
+import com.example.bookmanagement.domain.repository.BookSummaryView;
 import com.example.bookmanagement.domain.repository.ReviewRespository;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+import com.example.bookmanagement.service.inventory.InventoryGate;
+import com.example.bookmanagement.service.loan.LoanHistoryService;
+import com.example.bookmanagement.service.reservation.ReservationService;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @Transactional // 異常があった場合にDBの状態をロールバック（元に戻す）する
 @RequiredArgsConstructor // Repositoryのコンストラクタ注入を自動化
+@Timed(value = "book.service", histogram = true) // メソッドごとの処理時間（class・method タグ）
 public class BookDomainService {
 	private final BookRepository bookRepository;
 	private final ReviewRespository reviewRespository;
+	private final BookRatingStatsRepository bookRatingStatsRepository;
+	private final BookCache bookCache;
+	private final RecentWrites recentWrites;
+	private final ReservationService reservationService;
+	private final LoanHistoryService loanHistoryService;
+	private final InventoryGate inventoryGate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final MeterRegistry meterRegistry;
+	
+	/** 貸出・返却を条件付きUPDATE 1文で行うか（falseなら読み込み → 更新を楽観ロックで保護する） */
+	@Value("${book.loan.fast-path:true}")
+	private boolean loanFastPath;
+	
+	/** 詳細取得の同時読み込みを、書籍・レビューのページごとに1回にまとめる */
+	private final SingleFlight<ReviewPageKey, BookWithReviewsResponse> bookWithReviewsLoads = new SingleFlight<>();
+	
+	/** 一覧取得の1ページあたりの最大件数 */
+	static final int MAX_PAGE_SIZE = 100;
+	
+	/** まとめて貸出・返却できる最大件数 */
+	static final int MAX_BATCH_SIZE = 100;
+	
+	/** 1回に登録・追加できるコピーの最大数 */
+	static final int MAX_COPIES = 1000;
 	
 	/**
      * 一覧取得（参照系はreadOnly=trueにするとパフォーマンスが向上します）
+     * id をカーソルにしたキーセットページングで、1ページ分だけを射影クエリで読み込む
+     * キャッシュから返す場合にコネクションを持たないよう、トランザクションは開始せず、読み込み（リポジトリ）側のトランザクションだけを使う
      */
-    @Transactional(readOnly = true)
-	public List<BookResponse> findAll() {
-//        return bookRepository.findAll();
-    	return bookRepository.findAll().stream()
-                .map(this::toBookResponse) // Service内に変換メソッドを持つ
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public BookPageResponse findAll(BookSearchCommand command) {
+    	if (command.size() < 1 || command.size() > MAX_PAGE_SIZE) {
+    		throw new IllegalArgumentException("取得件数は1〜" + MAX_PAGE_SIZE + "の範囲で指定してください: " + command.size());
+    	}
+    	// 直近の書き込みがレプリカに反映されていない可能性があれば、読んだページをキャッシュに載せない
+    	// （読み込み先は ReadYourWritesFilter がクライアントごとに決める）
+    	if (recentWrites.anyRecent()) {
+    		return loadPage(command);
+    	}
+    	return bookCache.getPage(command, () -> loadPage(command));
+    }
+    
+    /**
+     * 書籍1件の取得（キャッシュにあればDBへは問い合わせず、コネクションも取得しない）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookResponse findById(Long id) {
+    	if (recentWrites.isRecent(id)) {
+    		return loadBook(id);
+    	}
+    	return bookCache.getBook(id, () -> loadBook(id));
+    }
+    
+    /**
+     * 書籍1件（レビューを含む）の版（条件付きGET用。書籍の行と評価の集計行の版だけを主キーで読む）
+     * 書籍がなければ空（304にせず、取得で404を返させる）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ResourceVersion> bookVersion(Long id) {
+    	return bookRepository.findVersionById(id).map(ResourceVersion::of);
+    }
+    
+    private BookPageResponse loadPage(BookSearchCommand command) {
+    	// 次ページの有無を判定するため、1件多く取得する
+    	List<BookSummaryView> rows = bookRepository.findPage(
+    			command.cursor(),
+    			command.size() + 1,
+    			command.status(),
+    			blankToNull(command.author()),
+    			blankToNull(command.titlePrefix()),
+    			command.fields());
+    	
+    	boolean hasNext = rows.size() > command.size();
+    	List<BookResponse> books = rows.stream()
+    			.limit(command.size())
+                .map(BookDomainService::toBookResponse)
                 .toList();
+    	Long nextCursor = hasNext ? books.get(books.size() - 1).id() : null;
+    	
+    	return new BookPageResponse(books, nextCursor);
     }
     
     /**
-     * 本の新規登録（仕様書に合わせたビジネスロジック）
+     * 本の新規登録（コピー1冊）
      */
     @Transactional
     public BookResponse registerBook(String title, String author, String isbn) {
+    	return registerBook(title, author, isbn, 1);
+    }
+    
+    /**
+     * 本の新規登録（仕様書に合わせたビジネスロジック）
+     * 同じタイトルを複数所蔵する場合も書籍は1件だけ登録し、コピー数で持つ
+     */
+    @Transactional
+    public BookResponse registerBook(String title, String author, String isbn, int copies) {
+    	if (copies < 1 || copies > MAX_COPIES) {
+    		throw new IllegalArgumentException("コピー数は1〜" + MAX_COPIES + "の範囲で指定してください: " + copies);
+    	}
         // 1. ドメインルール：ISBNの重複チェック
         if (isbn != null && bookRepository.existsByIsbn(isbn)) {
             throw new IllegalArgumentException("既に登録済みのISBNです: " + isbn);
@@ -50,41 +170,156 @@ public class BookDomainService {
                 .author(author)
                 .isbn(isbn)
                 .status(Status.AVAILABLE)
+                .copies(copies)
+                .availableCopies(copies)
                 .build();
 
         bookRepository.save(book);
         
-        return toBookResponse(book);
+        // 3. 評価の集計行（0件）を同じトランザクションで作っておく
+        BookRatingStats stats = BookRatingStats.empty(book.getId());
+        bookRatingStatsRepository.save(stats);
+        
+        eventPublisher.publishEvent(new BookRegisteredEvent(book.getId(), title, author, isbn));
+        return toBookResponse(book, stats);
     }
     
     /**
-     * 本の貸し出し処理
+     * 本の貸し出し処理（貸出可能なコピーを1冊貸し出し、貸出の履歴も同じトランザクションで記録する）
+     * 楽観ロックの競合（同時に同じ本を更新した）場合は、トランザクションごと再試行する
      */
     @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+    		maxAttemptsExpression = "${book.loan.max-attempts:3}",
+    		backoff = @Backoff(delayExpression = "${book.loan.retry-delay-ms:20}", multiplier = 2, random = true))
     public BookResponse borrowBook(Long id) {
+    	if (loanFastPath) {
+    		// 手元で数えている貸出可能なコピーがなければ、書籍の行ロックを待たずに断る
+    		if (!inventoryGate.tryAcquire(id, () -> findAvailableCopies(id))) {
+    			countLoanConflict("borrow", "state");
+    			throw new IllegalStateException(Book.ALREADY_BORROWED_MESSAGE);
+    		}
+    		// 読み込まずに「貸出可能なコピーがあれば1冊減らす」UPDATE 1文で判定と更新を行う
+    		int updated = bookRepository.borrowCopy(id);
+    		if (updated == 0) {
+    			// 手元の数がDBより多かった（他の経路で貸し出された）ため、次の受付でDBから数え直す
+    			inventoryGate.invalidate(id);
+    		}
+    		requireUpdated(updated, id, Book.ALREADY_BORROWED_MESSAGE, "borrow");
+    		loanHistoryService.recordBorrow(id, LocalDateTime.now());
+    		return statusChanged(currentAvailability(currentSnapshot(id)));
+    	}
+    	
     	// 1. 取得
-    	Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    	Book book = findBook(id);
     	
-    	book.borrow();
-    	bookRepository.save(book);
+    	try {
+    		book.borrow();
+    	} catch (IllegalStateException e) {
+    		countLoanConflict("borrow", "state");
+    		throw e;
+    	}
+    	saveWithVersionCheck(book, "borrow");
+    	loanHistoryService.recordBorrow(id, LocalDateTime.now());
     	
-    	return toBookResponse(book);
+    	return statusChanged(toBookResponse(book, findRatingStats(id)));
     }
     
     /**
-     * 本の返却処理
+     * 本の返却処理（貸出中のコピーを1冊返却して貸出の履歴を閉じ、予約があれば、同じトランザクションで順番待ちの先頭のために取り置く）
+     * 楽観ロックの競合（同時に同じ本を更新した）場合は、トランザクションごと再試行する
      */
     @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+    		maxAttemptsExpression = "${book.loan.max-attempts:3}",
+    		backoff = @Backoff(delayExpression = "${book.loan.retry-delay-ms:20}", multiplier = 2, random = true))
     public BookResponse returnBook(Long id) {
+    	if (loanFastPath) {
+    		// 読み込まずに「貸出中のコピーがあれば1冊戻す」UPDATE 1文で判定と更新を行う
+    		requireUpdated(bookRepository.returnCopy(id), id, Book.ALREADY_RETURNED_MESSAGE, "return");
+    		loanHistoryService.recordReturn(id, LocalDateTime.now());
+    		handOffToReservation(id);
+    		return statusChanged(currentAvailability(currentSnapshot(id)));
+    	}
+    	
     	// 1. 取得
-    	Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    	Book book = findBook(id);
     	
-    	book.returnBook();
-    	bookRepository.save(book);
+    	try {
+    		book.returnBook();
+    	} catch (IllegalStateException e) {
+    		countLoanConflict("return", "state");
+    		throw e;
+    	}
+    	saveWithVersionCheck(book, "return");
+    	loanHistoryService.recordReturn(id, LocalDateTime.now());
     	
-    	return toBookResponse(book);
+    	BookResponse returned = toBookResponse(book, findRatingStats(id));
+    	return statusChanged(handOffToReservation(id) ? currentAvailability(returned) : returned);
+    }
+    
+    /**
+     * 複数の本をまとめて貸し出す（POST /api/books/checkout 用）
+     * 対象の書籍を id 順に行ロックして1回で読み、Book.borrow() と同じ規則で判定したうえで、条件付きUPDATE 1文で1冊ずつ貸し出す
+     * partial でなければ、1件でも貸し出せない本があると何も変更せず BookLoanConflictException にする
+     */
+    @Transactional
+    public BookLoanBatchResponse checkout(List<Long> ids, boolean partial) {
+    	LoanBatch batch = lockForLoanBatch(ids, partial, book -> Book.borrowConflict(book.availableCopies()), "checkout");
+    	List<Long> targets = batch.targetIds();
+    	if (!targets.isEmpty()) {
+    		bookRepository.borrowCopiesIn(targets);
+    		loanHistoryService.recordBorrows(targets, LocalDateTime.now());
+    		// 手元で数えている貸出可能なコピー数は、次の受付でDBから数え直す
+    		targets.forEach(inventoryGate::invalidate);
+    	}
+    	// 対象の行はロック済みで、UPDATE はすべての対象に適用されるため、読み直さずに更新後の状態を求める
+    	return batch.complete(batch.targets().stream().map(BookStatusView::borrowed).toList(), eventPublisher);
+    }
+    
+    /**
+     * 複数の本をまとめて返却する（POST /api/books/checkin 用）
+     * 判定と更新は checkout と同じく、行ロック付きの読み込み1回と条件付きUPDATE 1文で行う
+     * 予約のある本は、返却されたコピーを同じトランザクションでそれぞれの順番待ちの先頭のために取り置く
+     */
+    @Transactional
+    public BookLoanBatchResponse checkin(List<Long> ids, boolean partial) {
+    	LoanBatch batch = lockForLoanBatch(ids, partial, book -> Book.returnConflict(book.onLoanCopies()), "checkin");
+    	List<Long> targets = batch.targetIds();
+    	Set<Long> held = Set.of();
+    	if (!targets.isEmpty()) {
+    		bookRepository.returnCopiesIn(targets);
+    		loanHistoryService.recordReturns(targets, LocalDateTime.now());
+    		held = reservationService.handOffAll(targets);
+    	}
+    	// checkout と同じく読み直さずに求める（取り置いた書籍は、返却したコピーを取り置いた後の状態）
+    	Set<Long> heldIds = held;
+    	return batch.complete(batch.targets().stream()
+    			.map(BookStatusView::returned)
+    			.map(book -> heldIds.contains(book.id()) ? book.held() : book)
+    			.toList(), eventPublisher);
+    }
+    
+    /**
+     * 所蔵しているタイトルにコピーを追加する（POST /api/books/{id}/copies 用）
+     * 追加したコピーは、予約があれば順番待ちの先頭から順に取り置く
+     */
+    @Transactional
+    public BookResponse addCopies(Long id, int count) {
+    	if (count < 1 || count > MAX_COPIES) {
+    		throw new IllegalArgumentException("コピー数は1〜" + MAX_COPIES + "の範囲で指定してください: " + count);
+    	}
+    	if (bookRepository.addCopies(id, count) == 0) {
+    		throw new IllegalArgumentException("指定されたIDの本が見つかりません: " + id);
+    	}
+    	// 順番待ちがなくなるか、追加したコピーをすべて取り置くまで繰り返す
+    	int held = 0;
+    	while (held < count && reservationService.handOff(id)) {
+    		held++;
+    	}
+    	// 手元で数えている貸出可能なコピー数は、次の受付でDBから数え直す
+    	inventoryGate.invalidate(id);
+    	return statusChanged(loadBook(id));
     }
     
     /**
@@ -93,9 +328,8 @@ public class BookDomainService {
     @Transactional
     public void addReview(Long id, String content, int rating) {
     	
-    	// 1. 取得
-    	Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    	// 1. 取得（キャッシュに載っている書籍なら存在確認のSELECTを省き、参照だけを使う）
+    	Book book = (bookCache.peekBook(id) != null) ? bookRepository.getReferenceById(id) : findBook(id);
     	
     	
     	Review review = Review.builder()
@@ -106,37 +340,265 @@ public class BookDomainService {
     	
     	// 3. 保存処理の実行
     	reviewRespository.save(review);
+    	
+    	// 4. 評価の集計値を同じトランザクションで加算する（読み込まずにUPDATE 1文で加算）
+    	if (bookRatingStatsRepository.increment(id, rating) == 0) {
+    		// 集計行がまだない書籍（集計導入前に登録された書籍）は、行を作ってから加算する（同時に作られていれば何もしない）
+    		bookRatingStatsRepository.insertIfMissing(id);
+    		bookRatingStatsRepository.increment(id, rating);
+    	}
+    	
+    	eventPublisher.publishEvent(new ReviewAddedEvent(id, review.getId(), content, rating, review.getCreatedAt()));
     }
     
     /**
      * レビューも含めて一括で取得
+     * 書籍とレビュー1ページ分を1回のクエリで読み込む（Book.review の遅延ロードは使わない）
+     * 同じ書籍・同じページへの同時のリクエストは1回の読み込みにまとめる（人気の書籍にアクセスが集中したときにDBへ同じクエリを並べないため）
+     * 待っている間にコネクションを持たないよう、トランザクションは開始せず、読み込み（リポジトリ）側のトランザクションだけを使う
+     * 直近に書き込みがあった書籍は、書き込み前に始まった読み込みの結果を共有しないよう、まとめずに読む
      */
-    @Transactional(readOnly = true)
-    public BookWithReviewsResponse  getBookWithReviews(Long id){
-    	// 1. 取得
-    	Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookWithReviewsResponse  getBookWithReviews(Long id, Long reviewCursor, int reviewSize){
+    	return getBookWithReviews(id, reviewCursor, reviewSize, BookFields.ALL);
+    }
+    
+    /**
+     * レビューも含めて一括で取得（fields でレビュー本文を含めない場合は、本文をDBから読み込まない）
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookWithReviewsResponse getBookWithReviews(Long id, Long reviewCursor, int reviewSize, BookFields fields) {
+    	if (reviewSize < 1 || reviewSize > MAX_PAGE_SIZE) {
+    		throw new IllegalArgumentException("取得件数は1〜" + MAX_PAGE_SIZE + "の範囲で指定してください: " + reviewSize);
+    	}
+    	boolean withContent = fields.includesReview("content");
+    	if (recentWrites.isRecent(id)) {
+    		return loadBookWithReviews(id, reviewCursor, reviewSize, withContent);
+    	}
+    	return bookWithReviewsLoads.load(new ReviewPageKey(id, reviewCursor, reviewSize, withContent),
+    			() -> loadBookWithReviews(id, reviewCursor, reviewSize, withContent),
+    			() -> meterRegistry.counter("book.singleflight.coalesced", "operation", "getBookWithReviews").increment());
+    }
+    
+    private BookWithReviewsResponse loadBookWithReviews(Long id, Long reviewCursor, int reviewSize, boolean withContent) {
+    	// 1. 取得（次ページの有無を判定するため、1件多く取得する）
+    	Limit limit = Limit.of(reviewSize + 1);
+    	List<BookReviewRow> rows = (reviewCursor == null)
+    			? bookRepository.findWithLatestReviews(id, withContent, limit)
+    			: bookRepository.findWithReviewsBefore(id, reviewCursor, withContent, limit);
+    	if (rows.isEmpty()) {
+    		throw new IllegalArgumentException("指定されたIDの本が見つかりません: " + id);
+    	}
+    	// カーソルが別の書籍のレビューなら、空のページではなく入力の誤りにする（レビューが1件も返らなかったときだけ確認する）
+    	if (reviewCursor != null && rows.get(0).reviewId() == null && !reviewRespository.existsByIdAndBookId(reviewCursor, id)) {
+    		throw new IllegalArgumentException("指定されたレビューのカーソルはこの本のものではありません: " + reviewCursor);
+    	}
     	
-    	// 2. DTOへ変換（ここに移設！）
-    	List<ReviewResponse> reviews = book.getReview().stream()
+    	// 2. DTOへ変換（レビューがない場合はレビュー項目がnullの1行だけが返る）
+    	List<ReviewResponse> reviews = rows.stream()
+    			.filter(r -> r.reviewId() != null)
+    			.limit(reviewSize)
     			.map(r -> new ReviewResponse(
-    					r.getId(),
-                        r.getContent(),
-                        r.getRating(),
-                        r.getCreatedAt()
+    					r.reviewId(),
+                        r.content(),
+                        r.rating(),
+                        r.createdAt()
     					)).toList();
+    	Long nextReviewCursor = rows.size() > reviewSize ? reviews.get(reviews.size() - 1).id() : null;
 
+    	BookReviewRow book = rows.get(0);
         return new BookWithReviewsResponse(
-            book.getId(),
-            book.getTitle(),
-            book.getAuthor(),
-            book.getIsbn(),
-            book.getStatus().name(),
-            reviews
+            book.bookId(),
+            book.title(),
+            book.author(),
+            book.isbn(),
+            book.status().name(),
+            toRatingResponse(book.ratingStats()),
+            reviews,
+            nextReviewCursor
         );
     }
     
-    private BookResponse toBookResponse(Book book) {
-        return new BookResponse(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getStatus().name());
+    private BookResponse loadBook(Long id) {
+    	return bookRepository.findSummaryById(id)
+    			.map(BookDomainService::toBookResponse)
+                .orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    }
+    
+    /**
+     * 書き込みトランザクション内での現在の書籍（キャッシュにあればそれを使い、なければ読み込むがキャッシュには載せない）
+     */
+    private BookResponse currentSnapshot(Long id) {
+    	BookResponse cached = bookCache.peekBook(id);
+    	return (cached != null) ? cached : loadBook(id);
+    }
+    
+    /**
+     * 書籍の現在のステータス・コピー数に差し替える（書籍の他の項目は読み直さない）
+     */
+    private BookResponse currentAvailability(BookResponse book) {
+    	BookStatusView view = bookRepository.findStatusById(book.id())
+    			.orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + book.id()));
+    	return book.withAvailability(view.status().name(), view.copies(), view.availableCopies());
+    }
+    
+    /**
+     * 返却されたコピーを予約の順番待ちの先頭へ回す（予約がなければ、貸出可能になったコピーを手元の数にも戻す）
+     * 
+     * @return 予約のために取り置いたか
+     */
+    private boolean handOffToReservation(Long id) {
+    	if (reservationService.handOff(id)) {
+    		return true;
+    	}
+    	inventoryGate.releaseAfterCommit(id);
+    	return false;
+    }
+    
+    /**
+     * 貸出可能なコピー数を、行ロックを取らずに読む（InventoryGate の補正用）
+     */
+    private long findAvailableCopies(Long id) {
+    	return bookRepository.findAvailableCopies(id)
+    			.orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    }
+    
+    /**
+     * 貸出ステータスの変更を通知する（キャッシュの破棄などはコミット後に行われる）
+     */
+    private BookResponse statusChanged(BookResponse book) {
+    	eventPublisher.publishEvent(new BookStatusChangedEvent(book.id(), book.author(), Status.valueOf(book.status())));
+    	return book;
+    }
+    
+    private Book findBook(Long id) {
+    	return bookRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + id));
+    }
+    
+    /**
+     * 条件付きUPDATEの更新件数を確かめる（更新できなかった場合だけ、原因を調べて例外にする）
+     */
+    private void requireUpdated(int updated, Long id, String conflictMessage, String operation) {
+    	if (updated == 0) {
+    		if (!bookRepository.existsById(id)) {
+    			throw new IllegalArgumentException("指定されたIDの本が見つかりません: " + id);
+    		}
+    		countLoanConflict(operation, "state");
+    		throw new IllegalStateException(conflictMessage);
+    	}
+    }
+    
+    /**
+     * まとめての貸出・返却の対象を行ロックして読み、書籍ごとに処理できるかを判定する
+     * 
+     * @param rule 現在のコピー数から、処理できない理由（処理できればnull）を返す（Book の貸出・返却の規則）
+     */
+    private LoanBatch lockForLoanBatch(List<Long> ids, boolean partial, Function<BookStatusView, String> rule, String operation) {
+    	// 重複を除き、行ロックを取る順（id順）に並べる
+    	Set<Long> requested = new TreeSet<>(ids);
+    	if (requested.isEmpty() || requested.size() > MAX_BATCH_SIZE) {
+    		throw new IllegalArgumentException("書籍IDは1〜" + MAX_BATCH_SIZE + "件の範囲で指定してください: " + requested.size());
+    	}
+    	Map<Long, BookStatusView> books = bookRepository.lockStatusesByIdIn(requested).stream()
+    			.collect(Collectors.toMap(BookStatusView::id, Function.identity()));
+    	
+    	List<BookStatusView> targets = new ArrayList<>();
+    	List<BookLoanResultResponse> conflicts = new ArrayList<>();
+    	for (Long id : requested) {
+    		BookStatusView book = books.get(id);
+    		if (book == null) {
+    			conflicts.add(BookLoanResultResponse.notFound(id, "指定されたIDの本が見つかりません: " + id));
+    			continue;
+    		}
+    		String conflict = rule.apply(book);
+    		if (conflict == null) {
+    			targets.add(book);
+    		} else {
+    			countLoanConflict(operation, "state");
+    			conflicts.add(BookLoanResultResponse.conflict(id, book.status().name(), book.availableCopies(), conflict));
+    		}
+    	}
+    	if (!partial && !conflicts.isEmpty()) {
+    		throw new BookLoanConflictException(conflicts);
+    	}
+    	return new LoanBatch(targets, conflicts);
+    }
+    
+    /**
+     * 更新を保存し、バージョンの競合をこのメソッド内で検出する（再試行の対象にするため）
+     */
+    private void saveWithVersionCheck(Book book, String operation) {
+    	try {
+    		bookRepository.save(book);
+    		bookRepository.flush();
+    	} catch (OptimisticLockingFailureException e) {
+    		countLoanConflict(operation, "optimistic_lock");
+    		throw e;
+    	}
+    }
+    
+    /**
+     * 貸出・返却の競合を数える（book.loan.conflicts）
+     * state は既に貸出中・返却済みだったもの、optimistic_lock は同時更新で再試行したもの
+     */
+    private void countLoanConflict(String operation, String reason) {
+    	meterRegistry.counter("book.loan.conflicts", "operation", operation, "reason", reason).increment();
+    }
+    
+    private BookRatingStats findRatingStats(Long bookId) {
+    	return bookRatingStatsRepository.findById(bookId).orElseGet(() -> BookRatingStats.empty(bookId));
+    }
+    
+    /*
+     * Entity・射影 → レスポンスの変換（ベンチマーク（src/jmh）から直接呼べるよう package-private にしている）
+     */
+    static BookResponse toBookResponse(Book book, BookRatingStats stats) {
+        return new BookResponse(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getStatus().name(),
+        		book.getCopies(), book.getAvailableCopies(), toRatingResponse(stats));
+    }
+    
+    static BookResponse toBookResponse(BookSummaryView view) {
+    	// fields で読み込まなかった項目はnull
+        return new BookResponse(view.id(), view.title(), view.author(), view.isbn(),
+        		(view.status() != null) ? view.status().name() : null,
+        		view.copies(), view.availableCopies(),
+        		toRatingResponse(view.ratingStats()));
+    }
+    
+    static RatingResponse toRatingResponse(BookRatingStats stats) {
+    	return new RatingResponse(stats.getReviewCount(), stats.getAverageRating(), stats.getHistogram());
+    }
+    
+    /**
+     * まとめての貸出・返却で、処理する書籍と処理しない書籍
+     */
+    private record LoanBatch(List<BookStatusView> targets, List<BookLoanResultResponse> conflicts) {
+    	
+    	List<Long> targetIds() {
+    		return targets.stream().map(BookStatusView::id).toList();
+    	}
+    	
+    	/**
+    	 * 処理した書籍ごとにステータスの変更を通知し、id順の結果にする
+    	 * 
+    	 * @param updated 処理後の書籍（ロックして読んだ値に更新を適用したもの）
+    	 */
+    	BookLoanBatchResponse complete(List<BookStatusView> updated, ApplicationEventPublisher eventPublisher) {
+    		List<BookLoanResultResponse> results = new ArrayList<>(conflicts);
+    		for (BookStatusView book : updated) {
+    			eventPublisher.publishEvent(new BookStatusChangedEvent(book.id(), book.author(), book.status()));
+    			results.add(BookLoanResultResponse.ok(book.id(), book.status().name(), book.availableCopies()));
+    		}
+    		results.sort(Comparator.comparing(BookLoanResultResponse::id));
+    		return new BookLoanBatchResponse(targets.size(), conflicts.size(), results);
+    	}
+    }
+    
+    /** 詳細取得の読み込みをまとめる単位（書籍・レビューのページと、本文を読み込むか） */
+    private record ReviewPageKey(Long id, Long reviewCursor, int reviewSize, boolean withContent) {}
+    
+    private static String blankToNull(String value) {
+    	return (value == null || value.isBlank()) ? null : value;
     }
 }
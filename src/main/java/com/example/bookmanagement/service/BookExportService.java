@@ -0,0 +1,287 @@
+package com.example.bookmanagement.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 書籍（評価集計・レビュー付き）のエクスポート
+ * 前方向・読み取り専用のカーソルで1行ずつ読み、読んだそばから書き出す
+ * 一覧をメモリに組み立てないため、件数に関係なくヒープ使用量は一定になる
+ */
+@Service
+public class BookExportService {
+
+	/** 出力形式 */
+	public enum Format {
+		/** 1行1書籍のJSON（レビューは書籍の reviews 配列に入る） */
+		NDJSON,
+		/** CSV（レビュー付きの場合は1行1レビュー） */
+		CSV
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate readOnlyTransaction;
+	private final ObjectMapper objectMapper;
+	private final int fetchSize;
+
+	public BookExportService(DataSource dataSource,
+			PlatformTransactionManager transactionManager,
+			ObjectMapper objectMapper,
+			@Value("${book.export.fetch-size:1000}") int fetchSize) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		// PostgreSQL などはトランザクション内（autocommit off）でないとフェッチサイズ単位のカーソル読み込みにならない
+		this.readOnlyTransaction.setReadOnly(true);
+		this.objectMapper = objectMapper;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * 全書籍を書き出す
+	 *
+	 * @param out 出力先（レスポンスボディ）
+	 * @param format 出力形式
+	 * @param includeRatings 評価の集計値を含めるか
+	 * @param includeReviews レビューを含めるか
+	 */
+	public void export(OutputStream out, Format format, boolean includeRatings, boolean includeReviews) throws IOException {
+		String sql = buildQuery(includeRatings, includeReviews);
+		try {
+			if (format == Format.CSV) {
+				Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+				CsvRowWriter rowWriter = new CsvRowWriter(writer, includeRatings, includeReviews);
+				rowWriter.writeHeader();
+				query(sql, rowWriter);
+				writer.flush();
+			} else {
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				NdjsonRowWriter rowWriter = new NdjsonRowWriter(generator, includeRatings, includeReviews);
+				query(sql, rowWriter);
+				rowWriter.finish();
+				generator.flush();
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void query(String sql, RowCallbackHandler handler) {
+		readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			return statement;
+		}, handler));
+	}
+
+	/**
+	 * 書籍ID順（レビュー付きなら書籍ID・レビューID順）に並べたクエリを組み立てる
+	 * 同じ書籍のレビューが連続して返るので、書籍の切り替わりだけを見ればよい
+	 */
+	private static String buildQuery(boolean includeRatings, boolean includeReviews) {
+		StringBuilder sql = new StringBuilder("select b.id, b.title, b.author, b.isbn, b.status, b.copies, b.available_copies, b.held_copies");
+		if (includeRatings) {
+			sql.append(", s.review_count, s.rating_sum, s.star1, s.star2, s.star3, s.star4, s.star5");
+		}
+		if (includeReviews) {
+			sql.append(", r.id as review_id, r.content, r.rating, r.created_at");
+		}
+		sql.append(" from books b");
+		if (includeRatings) {
+			sql.append(" left join book_rating_stats s on s.book_id = b.id");
+		}
+		if (includeReviews) {
+			sql.append(" left join reviews r on r.book_id = b.id");
+		}
+		sql.append(includeReviews ? " order by b.id, r.id" : " order by b.id");
+		return sql.toString();
+	}
+
+	private static Double averageRating(ResultSet rs) throws SQLException {
+		long reviewCount = rs.getLong("review_count");
+		return reviewCount == 0 ? null : (double) rs.getLong("rating_sum") / reviewCount;
+	}
+
+	/**
+	 * 1書籍を1行のJSONとして書き出す（レビューは行を読むたびに reviews 配列へ追記する）
+	 */
+	private static class NdjsonRowWriter implements RowCallbackHandler {
+		private final JsonGenerator generator;
+		private final boolean includeRatings;
+		private final boolean includeReviews;
+		private Long currentBookId;
+
+		NdjsonRowWriter(JsonGenerator generator, boolean includeRatings, boolean includeReviews) {
+			this.generator = generator;
+			this.includeRatings = includeRatings;
+			this.includeReviews = includeReviews;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			try {
+				long bookId = rs.getLong("id");
+				if (currentBookId == null || currentBookId != bookId) {
+					finish();
+					startBook(rs, bookId);
+				}
+				if (includeReviews && rs.getObject("review_id") != null) {
+					generator.writeStartObject();
+					generator.writeNumberField("id", rs.getLong("review_id"));
+					generator.writeStringField("content", rs.getString("content"));
+					generator.writeNumberField("rating", rs.getInt("rating"));
+					Timestamp createdAt = rs.getTimestamp("created_at");
+					generator.writeStringField("createdAt", createdAt == null ? null : createdAt.toLocalDateTime().toString());
+					generator.writeEndObject();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private void startBook(ResultSet rs, long bookId) throws SQLException, IOException {
+			currentBookId = bookId;
+			generator.writeStartObject();
+			generator.writeNumberField("id", bookId);
+			generator.writeStringField("title", rs.getString("title"));
+			generator.writeStringField("author", rs.getString("author"));
+			generator.writeStringField("isbn", rs.getString("isbn"));
+			generator.writeStringField("status", rs.getString("status"));
+			generator.writeNumberField("copies", rs.getInt("copies"));
+			generator.writeNumberField("availableCopies", rs.getInt("available_copies"));
+			generator.writeNumberField("heldCopies", rs.getInt("held_copies"));
+			if (includeRatings) {
+				generator.writeObjectFieldStart("rating");
+				generator.writeNumberField("reviewCount", rs.getLong("review_count"));
+				Double average = averageRating(rs);
+				if (average == null) {
+					generator.writeNullField("averageRating");
+				} else {
+					generator.writeNumberField("averageRating", average);
+				}
+				generator.writeArrayFieldStart("histogram");
+				for (int star = 1; star <= 5; star++) {
+					generator.writeNumber(rs.getLong("star" + star));
+				}
+				generator.writeEndArray();
+				generator.writeEndObject();
+			}
+			if (includeReviews) {
+				generator.writeArrayFieldStart("reviews");
+			}
+		}
+
+		/**
+		 * 書き出し中の書籍を閉じて改行する
+		 */
+		void finish() throws IOException {
+			if (currentBookId == null) {
+				return;
+			}
+			if (includeReviews) {
+				generator.writeEndArray();
+			}
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+			currentBookId = null;
+		}
+	}
+
+	/**
+	 * 1行（レビュー付きなら1レビュー）ずつCSVとして書き出す
+	 */
+	private static class CsvRowWriter implements RowCallbackHandler {
+		private final Writer writer;
+		private final boolean includeRatings;
+		private final boolean includeReviews;
+
+		CsvRowWriter(Writer writer, boolean includeRatings, boolean includeReviews) {
+			this.writer = writer;
+			this.includeRatings = includeRatings;
+			this.includeReviews = includeReviews;
+		}
+
+		void writeHeader() {
+			StringBuilder header = new StringBuilder("id,title,author,isbn,status,copies,available_copies,held_copies");
+			if (includeRatings) {
+				header.append(",review_count,average_rating,star1,star2,star3,star4,star5");
+			}
+			if (includeReviews) {
+				header.append(",review_id,review_content,review_rating,review_created_at");
+			}
+			writeLine(header);
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			StringBuilder line = new StringBuilder();
+			line.append(rs.getLong("id")).append(',')
+				.append(escape(rs.getString("title"))).append(',')
+				.append(escape(rs.getString("author"))).append(',')
+				.append(escape(rs.getString("isbn"))).append(',')
+				.append(escape(rs.getString("status"))).append(',')
+				.append(rs.getInt("copies")).append(',')
+				.append(rs.getInt("available_copies")).append(',')
+				.append(rs.getInt("held_copies"));
+			if (includeRatings) {
+				Double average = averageRating(rs);
+				line.append(',').append(rs.getLong("review_count"))
+					.append(',').append(average == null ? "" : average);
+				for (int star = 1; star <= 5; star++) {
+					line.append(',').append(rs.getLong("star" + star));
+				}
+			}
+			if (includeReviews) {
+				boolean hasReview = rs.getObject("review_id") != null;
+				Timestamp createdAt = rs.getTimestamp("created_at");
+				line.append(',').append(hasReview ? rs.getLong("review_id") : "")
+					.append(',').append(escape(rs.getString("content")))
+					.append(',').append(hasReview ? rs.getInt("rating") : "")
+					.append(',').append(createdAt == null ? "" : createdAt.toLocalDateTime());
+			}
+			writeLine(line);
+		}
+
+		private void writeLine(CharSequence line) {
+			try {
+				writer.append(line).append("\r\n");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		/**
+		 * カンマ・ダブルクォート・改行を含む値はダブルクォートで囲む（RFC 4180）
+		 */
+		private static String escape(String value) {
+			if (value == null) {
+				return "";
+			}
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+				return value;
+			}
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.example.bookmanagement.service;
+
+import java.util.List;
+
+import com.example.bookmanagement.controller.response.BookLoanResultResponse;
+
+import lombok.Getter;
+
+/**
+ * まとめての貸出・返却で、処理できない書籍があったため何も変更しなかった
+ */
+@Getter
+public class BookLoanConflictException extends RuntimeException {
+
+	/** 処理できなかった書籍ごとの理由 */
+	private final List<BookLoanResultResponse> conflicts;
+
+	public BookLoanConflictException(List<BookLoanResultResponse> conflicts) {
+		super("処理できない書籍があったため、いずれの書籍も変更していません。");
+		this.conflicts = conflicts;
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.bookmanagement.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.bookmanagement.domain.event.BookRegisteredEvent;
+import com.example.bookmanagement.domain.event.BookStatusChangedEvent;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 直近に書き込みがコミットされた書籍を一定時間（book.datasource.read-your-writes-window）覚えておく
+ * レプリカへの反映が遅れている間に読んだ古い内容を、キャッシュに載せたり他のリクエストと共有したりしないために使う
+ * （読み込み先は変えない。書き込んだクライアント自身の読み込みは ReadYourWritesFilter がプライマリへ送る）
+ * レプリカを使わない構成では反映の遅れがないため、何も記録しない
+ *
+ * BookCache がキャッシュを破棄して版を進めるより先に記録する（破棄の直後の読み込みをプライマリへ送るため）
+ */
+@Component
+public class RecentWrites {
+
+	private final Cache<Long, Boolean> books;
+	private final long windowNanos;
+	private volatile long lastWriteNanos;
+
+	public RecentWrites(@Value("${book.datasource.read-your-writes-window:5s}") Duration window,
+			@Value("${book.datasource.replica.urls:}") List<String> replicaUrls) {
+		this.windowNanos = replicaUrls.isEmpty() ? 0 : window.toNanos();
+		this.books = Caffeine.newBuilder().expireAfterWrite(window).build();
+		this.lastWriteNanos = System.nanoTime() - windowNanos;
+	}
+
+	/**
+	 * 指定の書籍に直近の書き込みがあるか
+	 */
+	public boolean isRecent(Long bookId) {
+		return windowNanos > 0 && books.getIfPresent(bookId) != null;
+	}
+
+	/**
+	 * いずれかの書籍に直近の書き込みがあるか（一覧のキャッシュ用）
+	 */
+	public boolean anyRecent() {
+		return windowNanos > 0 && System.nanoTime() - lastWriteNanos < windowNanos;
+	}
+
+	@TransactionalEventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onBookRegistered(BookRegisteredEvent event) {
+		mark(event.bookId());
+	}
+
+	@TransactionalEventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onBookStatusChanged(BookStatusChangedEvent event) {
+		mark(event.bookId());
+	}
+
+	@TransactionalEventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onReviewAdded(ReviewAddedEvent event) {
+		mark(event.bookId());
+	}
+
+	private void mark(Long bookId) {
+		if (windowNanos > 0) {
+			books.put(bookId, Boolean.TRUE);
+			lastWriteNanos = System.nanoTime();
+		}
+	}
+}
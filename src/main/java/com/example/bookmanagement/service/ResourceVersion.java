@@ -0,0 +1,31 @@
+package com.example.bookmanagement.service;
+
+import org.springframework.util.DigestUtils;
+
+import com.example.bookmanagement.domain.repository.BookVersionView;
+
+/**
+ * 書籍・一覧の版（条件付きGETの ETag に使う）
+ * DBに保存された値（版・内容）から作るため、どのインスタンス・どの書き込み経路（リアクティブ版、集計のジョブなど）でも同じ値になる
+ * 弱いETag（同じ版でも fields・形式（JSON / CBOR）・圧縮によってバイト列が変わるため、強いETagにはしない）
+ * 強いETagのレスポンスは Tomcat が圧縮しないためでもある
+ *
+ * @param etag 弱いETag（内容が変わるたびに変わる）
+ */
+public record ResourceVersion(String etag) {
+
+	/**
+	 * 書籍1件（書籍の項目・評価の集計値・レビュー）の版。レビューが増えると集計行の版が進む
+	 */
+	public static ResourceVersion of(BookVersionView view) {
+		long ratingVersion = (view.ratingVersion() != null) ? view.ratingVersion() : 0;
+		return new ResourceVersion("W/\"" + view.version() + "-" + ratingVersion + "\"");
+	}
+
+	/**
+	 * 内容（シリアライズしたバイト列）から作る版
+	 */
+	public static ResourceVersion ofContent(byte[] content) {
+		return new ResourceVersion("W/\"" + DigestUtils.md5DigestAsHex(content) + "\"");
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.bookmanagement.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 同じキーへの同時の読み込みを1回にまとめる（single-flight）
+ * 最初の呼び出しだけが loader を実行し、実行中に来た同じキーの呼び出しはその結果（または例外）を待って共有する
+ * 結果は保持しない（読み込みが終わった後の呼び出しは、改めて読み込む）。キャッシュではなく、同時アクセスの集約にだけ使う
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * 読み込みを実行する、または実行中の同じキーの読み込みの結果を待つ
+	 *
+	 * @param onShared 実行中の読み込みの結果を共有したときに呼ばれる（集約した回数の計測用）
+	 */
+	public V load(K key, Supplier<V> loader, Runnable onShared) {
+		CompletableFuture<V> mine = new CompletableFuture<>();
+		CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+		if (running != null) {
+			onShared.run();
+			return join(running);
+		}
+		try {
+			V value = loader.get();
+			mine.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	/**
+	 * 実行中の読み込みの件数
+	 */
+	public int inFlightCount() {
+		return inFlight.size();
+	}
+
+	private static <V> V join(CompletableFuture<V> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			// 読み込み中の例外（書籍が見つからないなど）は、待っていた呼び出しにもそのまま返す
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+}
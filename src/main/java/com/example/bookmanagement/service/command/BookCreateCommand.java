@@ -3,5 +3,13 @@ package com.example.bookmanagement.service.command;
 public record BookCreateCommand(
 	    String title,
 	    String author,
-	    String isbn
-	) {}
+	    String isbn,
+	    Integer copies // 所蔵するコピー数（省略時は1冊）
+	) {
+
+	public BookCreateCommand {
+		if (copies == null) {
+			copies = 1;
+		}
+	}
+}
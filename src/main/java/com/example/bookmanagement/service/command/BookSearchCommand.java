@@ -0,0 +1,30 @@
+package com.example.bookmanagement.service.command;
+
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookFields;
+
+/**
+ * 書籍一覧の検索条件
+ * @param cursor 前ページの nextCursor（先頭ページはnull）
+ * @param size 1ページあたりの件数
+ * @param status 貸出ステータス（任意）
+ * @param author 著者名（任意・完全一致）
+ * @param titlePrefix タイトル（任意・前方一致）
+ * @param fields 読み込む項目（指定がなければすべて）
+ */
+public record BookSearchCommand(
+		Long cursor,
+		int size,
+		Status status,
+		String author,
+		String titlePrefix,
+		BookFields fields
+	) {
+
+	/**
+	 * すべての項目を読み込む検索条件
+	 */
+	public BookSearchCommand(Long cursor, int size, Status status, String author, String titlePrefix) {
+		this(cursor, size, status, author, titlePrefix, BookFields.ALL);
+	}
+}
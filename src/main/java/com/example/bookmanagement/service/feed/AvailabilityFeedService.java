@@ -0,0 +1,270 @@
+package com.example.bookmanagement.service.feed;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.bookmanagement.controller.response.AvailabilityEventResponse;
+import com.example.bookmanagement.controller.response.AvailabilityResetResponse;
+import com.example.bookmanagement.domain.event.BookStatusChangedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 貸出状況の変更（貸出・返却のコミット後）を購読者へ Server-Sent Events で配信する
+ * 変更は AvailabilityRingBuffer に1回だけ書き込み、購読者はそれぞれのカーソルからバッファを読んで送る
+ * （変更のたびに購読者の数だけコピーを作らない）
+ *
+ * 送信は配信用のスレッドで行い、変更をコミットしたリクエストは待たせない
+ * 1人の購読者への送信は同時に1つのスレッドだけが行い（順序を保つ）、遅い購読者が他の購読者を止めないよう
+ * 購読者ごとに送信のタスクを分ける。遅れてバッファの保持件数を超えた購読者には reset を送り、最新の位置から続ける
+ *
+ * 通し番号は起動のたびに1から振り直すため、SSE の id は「起動ごとの識別子-通し番号」とする
+ * 別の起動（再起動前・別のインスタンス）の id で再接続された場合は続きから再開できないため、reset を送る
+ */
+@Slf4j
+@Service
+public class AvailabilityFeedService implements SmartLifecycle {
+
+	/** 1回の送信でまとめて読む最大件数 */
+	private static final int READ_BATCH = 256;
+
+	private final AvailabilityRingBuffer buffer;
+	/** 起動ごとの識別子（SSE の id の前半） */
+	private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+	private final long emitterTimeoutMillis;
+	private final int dispatcherThreads;
+	private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+	private volatile ExecutorService dispatcher;
+
+	public AvailabilityFeedService(MeterRegistry meterRegistry,
+			@Value("${book.availability-feed.capacity:4096}") int capacity,
+			@Value("${book.availability-feed.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+			@Value("${book.availability-feed.dispatcher-threads:2}") int dispatcherThreads) {
+		this.buffer = new AvailabilityRingBuffer(capacity);
+		this.emitterTimeoutMillis = emitterTimeoutMillis;
+		this.dispatcherThreads = dispatcherThreads;
+		Gauge.builder("book.availability.subscribers", subscribers, Set::size)
+				.description("貸出状況の変更を購読している接続数")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 購読を始める
+	 *
+	 * @param bookIds この書籍の変更だけを受け取る（null・空なら絞り込まない）
+	 * @param authors この著者の書籍の変更だけを受け取る（null・空なら絞り込まない。bookIds と両方指定した場合はどちらかに一致すれば送る）
+	 * @param lastEventId 前回受け取った最後の SSE の id（null なら購読を始めた後の変更から受け取る）
+	 */
+	public SseEmitter subscribe(Collection<Long> bookIds, Collection<String> authors, String lastEventId) {
+		if (dispatcher == null) {
+			throw new IllegalStateException("貸出状況の配信を停止しています。");
+		}
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+		Subscriber subscriber = new Subscriber(emitter,
+				(bookIds == null) ? Set.of() : Set.copyOf(bookIds),
+				(authors == null) ? Set.of() : Set.copyOf(authors));
+		long head = buffer.head();
+		long lastSequence = (lastEventId == null) ? -1 : sequenceOf(lastEventId);
+		if (lastEventId == null) {
+			subscriber.cursor = head + 1;
+		} else if (lastSequence < 0 || lastSequence > head) {
+			// 別の起動で振られた id（または不正な id）。続きからは再開できないため、取り直してもらう
+			subscriber.cursor = head + 1;
+			subscriber.resetPending = true;
+		} else {
+			subscriber.cursor = lastSequence + 1;
+		}
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(error -> subscribers.remove(subscriber));
+		subscribers.add(subscriber);
+
+		// 応答ヘッダーをすぐに返すため、最初にコメント行を送る（届かなかった変更があればこの後に続けて送る）
+		send(subscriber, SseEmitter.event().comment("connected"));
+		signal(subscriber);
+		return emitter;
+	}
+
+	@TransactionalEventListener
+	public void onBookStatusChanged(BookStatusChangedEvent event) {
+		buffer.append(event.bookId(), event.author(), event.status().name(), LocalDateTime.now());
+		subscribers.forEach(this::signal);
+	}
+
+	/**
+	 * 変更がない間も一定間隔でコメント行を送る（途中のプロキシに接続を切られないようにし、切れた接続を見つける）
+	 */
+	@Scheduled(fixedDelayString = "${book.availability-feed.heartbeat-interval-ms:15000}")
+	public void heartbeat() {
+		for (Subscriber subscriber : subscribers) {
+			send(subscriber, SseEmitter.event().comment("heartbeat"));
+		}
+	}
+
+	/**
+	 * 購読中の接続数
+	 */
+	public int subscriberCount() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void start() {
+		dispatcher = Executors.newFixedThreadPool(dispatcherThreads, new CustomizableThreadFactory("availability-feed-"));
+	}
+
+	/**
+	 * 購読中の接続をすべて閉じる（Webサーバーが処理中のリクエストの完了を待つ前に止まり、停止を待たせない）
+	 */
+	@Override
+	public void stop() {
+		ExecutorService executor = dispatcher;
+		dispatcher = null;
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+		subscribers.clear();
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return dispatcher != null;
+	}
+
+	/**
+	 * Webサーバーの停止（既定のフェーズから1024・2048小さい）より先に止まる
+	 */
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE;
+	}
+
+	/**
+	 * SSE の id から通し番号を取り出す（この起動で振った id でなければ -1）
+	 */
+	private long sequenceOf(String eventId) {
+		int separator = eventId.lastIndexOf('-');
+		if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(eventId.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * 購読者に送るものがあることを知らせる（送信中でなければ送信のタスクを1つ投入する）
+	 */
+	private void signal(Subscriber subscriber) {
+		ExecutorService executor = dispatcher;
+		if (executor != null && subscriber.wip.getAndIncrement() == 0) {
+			executor.execute(() -> drain(subscriber));
+		}
+	}
+
+	/**
+	 * カーソルからバッファの末尾まで、絞り込み条件に一致する変更を送る
+	 * 送っている間に signal された分は、送り終えた後に続けて送る
+	 */
+	private void drain(Subscriber subscriber) {
+		int missed = 1;
+		List<AvailabilityRingBuffer.Entry> entries = new ArrayList<>(READ_BATCH);
+		while (true) {
+			while (subscribers.contains(subscriber)) {
+				if (subscriber.resetPending) {
+					subscriber.resetPending = false;
+					send(subscriber, SseEmitter.event().name("reset").data(new AvailabilityResetResponse(subscriber.cursor)));
+				}
+				entries.clear();
+				long next = buffer.read(subscriber.cursor, READ_BATCH, entries);
+				if (next == AvailabilityRingBuffer.OVERRUN) {
+					// 保持件数を超えて遅れた。取りこぼした分は送れないため、読める最も古い位置から続ける
+					subscriber.cursor = buffer.oldest();
+					subscriber.resetPending = true;
+					continue;
+				}
+				for (AvailabilityRingBuffer.Entry entry : entries) {
+					if (subscriber.matches(entry)) {
+						send(subscriber, SseEmitter.event()
+								.id(epoch + "-" + entry.sequence())
+								.name("availability")
+								.data(new AvailabilityEventResponse(entry.sequence(), entry.bookId(), entry.author(),
+										entry.status(), entry.changedAt())));
+					}
+				}
+				subscriber.cursor = next;
+				if (entries.size() < READ_BATCH) {
+					break;
+				}
+			}
+			missed = subscriber.wip.addAndGet(-missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+		try {
+			subscriber.emitter.send(event);
+		} catch (IOException | IllegalStateException e) {
+			// 切断された接続（送信に失敗した時点で購読をやめる）
+			log.debug("貸出状況の購読者に送信できないため、購読を終了します", e);
+			subscribers.remove(subscriber);
+			subscriber.emitter.completeWithError(e);
+		}
+	}
+
+	private static final class Subscriber {
+		private final SseEmitter emitter;
+		private final Set<Long> bookIds;
+		private final Set<String> authors;
+		/** 送信中のタスクの有無と、送信中に届いた signal の数 */
+		private final AtomicInteger wip = new AtomicInteger();
+		/** 次に送る通し番号（送信のタスクだけが読み書きする） */
+		private volatile long cursor;
+		private volatile boolean resetPending;
+
+		Subscriber(SseEmitter emitter, Set<Long> bookIds, Set<String> authors) {
+			this.emitter = emitter;
+			this.bookIds = bookIds;
+			this.authors = authors;
+		}
+
+		boolean matches(AvailabilityRingBuffer.Entry entry) {
+			if (bookIds.isEmpty() && authors.isEmpty()) {
+				return true;
+			}
+			return bookIds.contains(entry.bookId()) || authors.contains(entry.author());
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.bookmanagement.service.feed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 貸出状況の変更を通し番号付きで保持する固定長のリングバッファ
+ * 書き込みは append を直列に呼び（このオブジェクトで排他）、読み込みはロックなしで行う
+ * 購読者はそれぞれ「次に読む通し番号」（カーソル）だけを持ち、同じバッファを読む（購読者ごとにキューを持たない）
+ *
+ * 容量を超えると古い変更から上書きされる。上書きされた位置を読もうとした購読者には OVERRUN を返し、
+ * 取りこぼしがあったこと（一覧を取り直す必要があること）を伝える
+ */
+public class AvailabilityRingBuffer {
+
+	/** read の戻り値：カーソルの位置が既に上書きされている */
+	public static final long OVERRUN = -1;
+
+	/**
+	 * 貸出状況の変更1件
+	 * @param sequence 通し番号（1から始まる）
+	 */
+	public record Entry(long sequence, Long bookId, String author, String status, LocalDateTime changedAt) {}
+
+	private final AtomicReferenceArray<Entry> slots;
+	private final int mask;
+	/** 最後に書き込んだ通し番号（まだなければ0） */
+	private volatile long head;
+
+	/**
+	 * @param capacity 保持する件数（2のべき乗に切り上げる）
+	 */
+	public AvailabilityRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * 変更を追加し、付けた通し番号を返す
+	 */
+	public synchronized long append(Long bookId, String author, String status, LocalDateTime changedAt) {
+		long sequence = head + 1;
+		slots.set((int) (sequence & mask), new Entry(sequence, bookId, author, status, changedAt));
+		head = sequence;
+		return sequence;
+	}
+
+	/**
+	 * from 以降の変更を最大 max 件 out に加え、次に読む通し番号を返す
+	 * from が既に上書きされていれば OVERRUN を返す（out には何も加えない）
+	 */
+	public long read(long from, int max, List<Entry> out) {
+		long last = Math.min(head, from + max - 1);
+		if (from <= last && from <= head - slots.length()) {
+			return OVERRUN;
+		}
+		for (long sequence = from; sequence <= last; sequence++) {
+			Entry entry = slots.get((int) (sequence & mask));
+			if (entry == null || entry.sequence() != sequence) {
+				// 読んでいる間に上書きされた
+				return OVERRUN;
+			}
+			out.add(entry);
+		}
+		return Math.max(from, last + 1);
+	}
+
+	/**
+	 * 最後に書き込んだ通し番号（まだなければ0）
+	 */
+	public long head() {
+		return head;
+	}
+
+	/**
+	 * 読み込める最も古い通し番号
+	 */
+	public long oldest() {
+		return Math.max(1, head - slots.length() + 1);
+	}
+}
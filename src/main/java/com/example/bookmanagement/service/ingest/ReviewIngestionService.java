@@ -0,0 +1,334 @@
+package com.example.bookmanagement.service.ingest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.ReviewAcceptedResponse;
+import com.example.bookmanagement.controller.response.ReviewTicketResponse;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
+import com.example.bookmanagement.domain.model.Review;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.ReviewRespository;
+import com.example.bookmanagement.service.BookCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * レビューの非同期投稿（book.review-ingestion.async=true のときに使う）
+ * 投稿は書籍の存在だけを確認して上限付きのキューに積み、すぐに受付番号を返す
+ * 書き込み用のスレッドがキューに溜まった分をまとめて取り出し、1トランザクションで
+ * バッチINSERTと評価の集計値の加算（書籍ごとにUPDATE 1文）を行う
+ * キューが満杯のときは受け付けずに ReviewQueueFullException を投げる（429で再送を促す）
+ * 受付番号ごとの保存状況（保存待ち・保存済み・失敗）を一定時間保持し、クライアントが確認できるようにする
+ * 書き込みに失敗したレビューは間隔を空けて再試行し、それでも保存できなければ失敗として記録する（投稿し直してもらう）
+ * 停止時は受付を止めてから、キューに残った分をすべて書き込んでから終わる
+ */
+@Slf4j
+@Service
+public class ReviewIngestionService implements SmartLifecycle {
+
+	private final BookRepository bookRepository;
+	private final ReviewRespository reviewRespository;
+	private final BookRatingStatsRepository bookRatingStatsRepository;
+	private final BookCache bookCache;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final boolean enabled;
+	private final int batchSize;
+	private final long retryAfterSeconds;
+	private final int maxAttempts;
+	private final long retryBackoffMs;
+	private final BlockingQueue<PendingReview> queue;
+	private final Cache<String, ReviewTicketResponse> tickets;
+	private final Object acceptLock = new Object();
+	private volatile boolean accepting;
+	private Thread writer;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public ReviewIngestionService(BookRepository bookRepository,
+			ReviewRespository reviewRespository,
+			BookRatingStatsRepository bookRatingStatsRepository,
+			BookCache bookCache,
+			TransactionTemplate transactionTemplate,
+			ApplicationEventPublisher eventPublisher,
+			@Value("${book.review-ingestion.async:false}") boolean enabled,
+			@Value("${book.review-ingestion.queue-capacity:10000}") int queueCapacity,
+			@Value("${book.review-ingestion.batch-size:500}") int batchSize,
+			@Value("${book.review-ingestion.retry-after-seconds:1}") long retryAfterSeconds,
+			@Value("${book.review-ingestion.max-attempts:3}") int maxAttempts,
+			@Value("${book.review-ingestion.retry-backoff-ms:200}") long retryBackoffMs,
+			@Value("${book.review-ingestion.ticket-retention:1h}") Duration ticketRetention) {
+		this.bookRepository = bookRepository;
+		this.reviewRespository = reviewRespository;
+		this.bookRatingStatsRepository = bookRatingStatsRepository;
+		this.bookCache = bookCache;
+		this.transactionTemplate = transactionTemplate;
+		this.eventPublisher = eventPublisher;
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.retryBackoffMs = retryBackoffMs;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.tickets = Caffeine.newBuilder()
+				.expireAfterWrite(ticketRetention)
+				.build();
+	}
+
+	/**
+	 * 非同期投稿が有効か（無効なら投稿は BookDomainService.addReview で同期的に保存する）
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * レビューを受け付けてキューに積む
+	 */
+	public ReviewAcceptedResponse accept(Long bookId, String content, int rating) {
+		// 1. 書籍の存在確認（キャッシュに載っていればDBを読まない。書籍全体は読み込まない）
+		if (bookCache.peekBook(bookId) == null && !bookRepository.existsById(bookId)) {
+			throw new IllegalArgumentException("指定されたIDの本が見つかりません: " + bookId);
+		}
+
+		// 2. キューに積む（満杯なら待たずに断る）
+		PendingReview review = new PendingReview(UUID.randomUUID().toString(), bookId, content, rating, LocalDateTime.now());
+		synchronized (acceptLock) {
+			if (!accepting) {
+				throw new IllegalStateException("レビューの受付を停止しています。");
+			}
+			// 書き込み用のスレッドが保存済みにした後で保存待ちに戻さないよう、キューに積む前に記録する
+			tickets.put(review.ticketId(), ticket(review, TicketStatus.PENDING, null));
+			if (!queue.offer(review)) {
+				tickets.invalidate(review.ticketId());
+				throw new ReviewQueueFullException(retryAfterSeconds);
+			}
+		}
+		return new ReviewAcceptedResponse(review.ticketId(), bookId);
+	}
+
+	/**
+	 * 受付番号の保存状況を返す
+	 *
+	 * @throws IllegalArgumentException 受付番号が見つからない（保持期間を過ぎた、または別の書籍の受付番号）
+	 */
+	public ReviewTicketResponse getTicket(Long bookId, String ticketId) {
+		ReviewTicketResponse ticket = tickets.getIfPresent(ticketId);
+		if (ticket == null || !ticket.bookId().equals(bookId)) {
+			throw new IllegalArgumentException("指定された受付番号が見つかりません: " + ticketId);
+		}
+		return ticket;
+	}
+
+	/**
+	 * 受け付けて、まだ書き込んでいない件数
+	 */
+	public int pendingCount() {
+		return queue.size();
+	}
+
+	@Override
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		accepting = true;
+		writer = new Thread(this::drainLoop, "review-ingestion-writer");
+		writer.start();
+	}
+
+	/**
+	 * 受付を止め、キューに残ったレビューをすべて書き込んでから戻る
+	 * Webサーバーより後に止まるため、停止中のリクエストが受け付けた分も書き込まれる
+	 */
+	@Override
+	public void stop() {
+		if (writer == null) {
+			return;
+		}
+		synchronized (acceptLock) {
+			accepting = false;
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("レビューの書き込みの完了を待てませんでした: 未書き込み {} 件", queue.size());
+		}
+		writer = null;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return writer != null;
+	}
+
+	/**
+	 * Webサーバー（既定のフェーズから1024小さい）より後に止まる
+	 */
+	@Override
+	public int getPhase() {
+		return 0;
+	}
+
+	/**
+	 * キューから取り出して書き込む（受付が止まり、キューが空になったら終わる）
+	 * 混んでいるほど1回に取り出せる件数が増え、1件あたりのコミット回数が減る
+	 */
+	private void drainLoop() {
+		List<PendingReview> batch = new ArrayList<>(batchSize);
+		while (true) {
+			PendingReview first;
+			try {
+				first = queue.poll(100, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				// 割り込まれても受付済みのレビューは書き込む
+				first = queue.poll();
+			}
+			if (first == null) {
+				if (!accepting) {
+					return;
+				}
+				continue;
+			}
+			batch.add(first);
+			queue.drainTo(batch, batchSize - 1);
+			write(batch);
+			batch.clear();
+		}
+	}
+
+	/**
+	 * まとめて書き込む。失敗した場合は原因の1件を切り分けるため、1件ずつ書き込み直す
+	 * 1件ずつの書き込みは間隔を倍にしながら再試行し、それでも失敗したものは受付番号を失敗にする
+	 */
+	private void write(List<PendingReview> batch) {
+		try {
+			markSaved(batch, writeBatch(batch));
+		} catch (RuntimeException e) {
+			log.warn("レビューのバッチ書き込みに失敗したため、1件ずつ書き込み直します: {} 件", batch.size(), e);
+			for (PendingReview review : batch) {
+				writeWithRetry(review);
+			}
+		}
+	}
+
+	private void writeWithRetry(PendingReview review) {
+		long backoffMs = retryBackoffMs;
+		for (int attempt = 1; ; attempt++) {
+			try {
+				markSaved(List.of(review), writeBatch(List.of(review)));
+				return;
+			} catch (RuntimeException e) {
+				if (attempt >= maxAttempts) {
+					tickets.put(review.ticketId(), ticket(review, TicketStatus.FAILED, null));
+					log.error("レビューを保存できませんでした: ticketId={}, bookId={}", review.ticketId(), review.bookId(), e);
+					return;
+				}
+				log.warn("レビューの書き込みを再試行します（{} 回目）: ticketId={}", attempt + 1, review.ticketId(), e);
+			}
+			try {
+				Thread.sleep(backoffMs);
+			} catch (InterruptedException e) {
+				// 割り込まれても受付済みのレビューは書き込む（drainLoop と同じく、待たずに再試行する）
+			}
+			backoffMs *= 2;
+		}
+	}
+
+	private void markSaved(List<PendingReview> batch, List<Review> saved) {
+		for (int i = 0; i < batch.size(); i++) {
+			tickets.put(batch.get(i).ticketId(), ticket(batch.get(i), TicketStatus.SAVED, saved.get(i).getId()));
+		}
+	}
+
+	private static ReviewTicketResponse ticket(PendingReview review, TicketStatus status, Long reviewId) {
+		return new ReviewTicketResponse(review.ticketId(), review.bookId(), status.name(), reviewId);
+	}
+
+	/**
+	 * 1トランザクションで書き込む
+	 *
+	 * @return 保存したレビュー（batch と同じ順）
+	 */
+	private List<Review> writeBatch(List<PendingReview> batch) {
+		return transactionTemplate.execute(status -> {
+			// 1. バッチINSERT（IDはシーケンスからまとめて払い出されるため、INSERTはJDBCバッチで送られる）
+			List<Review> reviews = new ArrayList<>(batch.size());
+			Map<Long, RatingDelta> deltas = new TreeMap<>(); // 書籍ID順に更新する（同期投稿とのデッドロックを避けるため）
+			for (PendingReview pending : batch) {
+				reviews.add(Review.builder()
+						.book(bookRepository.getReferenceById(pending.bookId()))
+						.content(pending.content())
+						.rating(pending.rating())
+						.createdAt(pending.acceptedAt())
+						.build());
+				deltas.computeIfAbsent(pending.bookId(), id -> new RatingDelta()).add(pending.rating());
+			}
+			reviewRespository.saveAll(reviews);
+			entityManager.flush();
+
+			// 2. 評価の集計値を書籍ごとにまとめて加算する
+			deltas.forEach((bookId, delta) -> {
+				if (delta.applyTo(bookId) == 0) {
+					// 集計行がまだない書籍（集計導入前に登録された書籍）は、行を作ってから加算する（同時に作られていれば何もしない）
+					bookRatingStatsRepository.insertIfMissing(bookId);
+					delta.applyTo(bookId);
+				}
+			});
+
+			for (Review review : reviews) {
+				eventPublisher.publishEvent(new ReviewAddedEvent(review.getBook().getId(), review.getId(),
+						review.getContent(), review.getRating(), review.getCreatedAt()));
+			}
+			return reviews;
+		});
+	}
+
+	private enum TicketStatus { PENDING, SAVED, FAILED }
+
+	private record PendingReview(String ticketId, Long bookId, String content, int rating, LocalDateTime acceptedAt) {}
+
+	/**
+	 * 1バッチ内の1書籍分のレビュー件数と評価の合計
+	 */
+	private class RatingDelta {
+		private long reviewCount;
+		private long ratingSum;
+		private final long[] stars = new long[5];
+
+		void add(int rating) {
+			reviewCount++;
+			ratingSum += rating;
+			stars[rating - 1]++;
+		}
+
+		int applyTo(Long bookId) {
+			return bookRatingStatsRepository.add(bookId, reviewCount, ratingSum,
+					stars[0], stars[1], stars[2], stars[3], stars[4]);
+		}
+	}
+}
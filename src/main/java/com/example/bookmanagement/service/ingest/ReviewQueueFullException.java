@@ -0,0 +1,18 @@
+package com.example.bookmanagement.service.ingest;
+
+import lombok.Getter;
+
+/**
+ * 非同期投稿の受付キューが満杯で、レビューを受け付けられなかった
+ */
+@Getter
+public class ReviewQueueFullException extends RuntimeException {
+
+	/** 再送までに待ってほしい秒数 */
+	private final long retryAfterSeconds;
+
+	public ReviewQueueFullException(long retryAfterSeconds) {
+		super("レビューの受付が混み合っています。時間をおいて再度お試しください。");
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.bookmanagement.service.inventory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 書籍ごとの貸出可能なコピー数を手元（このプロセス）でも数え、貸出の受付をDBの前で絞る
+ * 人気の書籍に貸出が集中しても、コピーの数を超えた貸出は書籍の行ロックを待たずに断れる
+ * （条件付きUPDATEだけでは、断られる貸出もすべて同じ行のロックの順番待ちに並ぶ）
+ *
+ * 手元の数はDBの値の目安で、貸出できるかの最終的な判定は常にDBの条件付きUPDATEで行う
+ * - 手元で取り出せたのにDBで貸し出せなかった場合（他のプロセス・まとめての貸出などで減っていた）は、数え直す
+ * - 手元では0なのにDBに貸出可能なコピーがある場合（他の経路の返却・取り置きの解除などで増えていた）は、DBを読み直して受け付ける
+ * 手元の数が実際とずれても貸し出しすぎることはない（断りすぎるのは、受け付けた貸出の処理中に他の経路で増えた間だけ）
+ */
+@Component
+public class InventoryGate {
+
+	private final int stripes;
+	private final Cache<Long, Inventory> counters;
+
+	public InventoryGate(@Value("${book.inventory.stripes:8}") int stripes,
+			@Value("${book.inventory.idle-timeout:10m}") Duration idleTimeout,
+			@Value("${book.inventory.maximum-books:100000}") long maximumBooks) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException("セルの数は1以上を指定してください: " + stripes);
+		}
+		this.stripes = stripes;
+		this.counters = Caffeine.newBuilder()
+				.expireAfterAccess(idleTimeout)
+				.maximumSize(maximumBooks)
+				.build();
+	}
+
+	/**
+	 * 貸出を1件受け付ける（呼び出し側のトランザクション内で呼ぶ。ロールバックされたら受付を取り消す）
+	 *
+	 * @param availableInDb DBの貸出可能なコピー数を、行ロックを取らずに読む（書籍がなければ例外にする）
+	 * @return 受け付けたか（false なら貸出可能なコピーがない）
+	 */
+	public boolean tryAcquire(Long bookId, LongSupplier availableInDb) {
+		Inventory inventory = counters.get(bookId, key -> new Inventory(stripes, availableInDb.getAsLong()));
+		if (!inventory.available().tryDecrement()) {
+			// 受け付けた貸出の処理中は、その結果（コミットならDBが減り、ロールバックなら手元へ戻る）を待つべきなので手元の数を信じる
+			// 処理中のものがなければ、返却などで増えていないかDBを読み直す
+			if (inventory.pending().sum() > 0) {
+				return false;
+			}
+			long available = availableInDb.getAsLong();
+			if (available <= 0) {
+				return false;
+			}
+			inventory = new Inventory(stripes, available);
+			counters.put(bookId, inventory);
+			if (!inventory.available().tryDecrement()) {
+				return false;
+			}
+		}
+		Inventory acquired = inventory;
+		acquired.pending().increment();
+		afterCompletion(status -> {
+			acquired.pending().decrement();
+			if (status != TransactionSynchronization.STATUS_COMMITTED) {
+				acquired.available().increment();
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * 返却などでコピーが貸出可能になったことを、コミット後に手元の数へ反映する
+	 */
+	public void releaseAfterCommit(Long bookId) {
+		Inventory inventory = counters.getIfPresent(bookId);
+		if (inventory == null) {
+			return;
+		}
+		afterCompletion(status -> {
+			if (status == TransactionSynchronization.STATUS_COMMITTED) {
+				inventory.available().increment();
+			}
+		});
+	}
+
+	/**
+	 * 手元の数を捨て、次の受付でDBから数え直す
+	 */
+	public void invalidate(Long bookId) {
+		counters.invalidate(bookId);
+	}
+
+	/**
+	 * 手元で数えている貸出可能なコピー数（数えていなければ -1）
+	 */
+	public long available(Long bookId) {
+		Inventory inventory = counters.getIfPresent(bookId);
+		return (inventory == null) ? -1 : inventory.available().sum();
+	}
+
+	private static void afterCompletion(IntConsumer action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				action.accept(status);
+			}
+		});
+	}
+
+	/**
+	 * 書籍1冊分の手元の数
+	 *
+	 * @param available 貸出可能なコピー数
+	 * @param pending 受け付けて、トランザクションがまだ終わっていない貸出の数
+	 */
+	private record Inventory(StripedCounter available, LongAdder pending) {
+
+		Inventory(int stripes, long available) {
+			this(new StripedCounter(stripes, available), new LongAdder());
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.bookmanagement.service.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 0を下回らないカウンタを複数のセル（ストライプ）に分けて持つ（LongAdder と同じく、同時に更新するスレッドを別々のセルへ散らす）
+ * LongAdder は合計しか分からず「0より大きければ1減らす」ができないため、セルごとに compareAndSet で減らし、
+ * 自分のセルが空なら他のセルを順に探す（すべてのセルが空なら取り出せない）
+ */
+class StripedCounter {
+
+	/** セル同士が同じキャッシュラインに載らないよう、間を空けて配置する（long 8個 = 64バイト） */
+	private static final int PADDING = 8;
+
+	private final int stripes;
+	private final AtomicLongArray cells;
+
+	/**
+	 * @param stripes セルの数
+	 * @param initial 初期値（セルへ均等に配る）
+	 */
+	StripedCounter(int stripes, long initial) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException("セルの数は1以上を指定してください: " + stripes);
+		}
+		this.stripes = stripes;
+		this.cells = new AtomicLongArray(stripes * PADDING);
+		long remaining = Math.max(0, initial);
+		for (int i = 0; i < stripes; i++) {
+			long share = remaining / (stripes - i);
+			cells.set(i * PADDING, share);
+			remaining -= share;
+		}
+	}
+
+	/**
+	 * 1減らす
+	 *
+	 * @return 減らせたか（すべてのセルが0なら false）
+	 */
+	boolean tryDecrement() {
+		int start = ThreadLocalRandom.current().nextInt(stripes);
+		for (int i = 0; i < stripes; i++) {
+			int index = ((start + i) % stripes) * PADDING;
+			long value;
+			while ((value = cells.get(index)) > 0) {
+				if (cells.compareAndSet(index, value, value - 1)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 1増やす（セルは選ばず、空いていそうな任意のセルへ戻す）
+	 */
+	void increment() {
+		cells.incrementAndGet(ThreadLocalRandom.current().nextInt(stripes) * PADDING);
+	}
+
+	/**
+	 * 現在の合計（更新中のセルがあれば概数）
+	 */
+	long sum() {
+		long sum = 0;
+		for (int i = 0; i < stripes; i++) {
+			sum += cells.get(i * PADDING);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,199 @@
+package com.example.bookmanagement.service.loan;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bookmanagement.controller.response.DailyLoanStatsResponse;
+import com.example.bookmanagement.controller.response.LoanStatsResponse;
+import com.example.bookmanagement.domain.model.BookLoanDaily;
+import com.example.bookmanagement.domain.model.Loan;
+import com.example.bookmanagement.domain.repository.BookLoanDailyRepository;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookStatusView;
+import com.example.bookmanagement.domain.repository.LoanRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 貸出の履歴（loans）と日次の集計値（book_loan_daily）
+ * 記録は貸出・返却と同じトランザクションで行い、集計値は履歴を読み直さずにその場で加算する
+ * 期間の集計は日数分の集計行と、貸出中の履歴（貸出中のコピーの数だけ）だけから求める
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanHistoryService {
+	private static final long SECONDS_PER_DAY = Duration.ofDays(1).toSeconds();
+
+	/** 1回に集計できる最長の期間（日数） */
+	static final int MAX_RANGE_DAYS = 366;
+
+	private final LoanRepository loanRepository;
+	private final BookLoanDailyRepository bookLoanDailyRepository;
+	private final BookRepository bookRepository;
+
+	/**
+	 * 貸出を記録する（呼び出し側のトランザクションで、書籍のステータスを更新した後に呼ぶ）
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordBorrow(Long bookId, LocalDateTime borrowedAt) {
+		loanRepository.save(Loan.builder()
+				.bookId(bookId)
+				.borrowedAt(borrowedAt)
+				.build());
+		addDaily(bookId, borrowedAt.toLocalDate(), 1, 0, 0, 0);
+	}
+
+	/**
+	 * 複数の書籍の貸出をまとめて記録する（履歴はバッチINSERT、その日の集計値はUPDATE 1文と、行のない書籍へのINSERT 1文で加算する）
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordBorrows(Collection<Long> bookIds, LocalDateTime borrowedAt) {
+		loanRepository.saveAll(bookIds.stream()
+				.map(bookId -> Loan.builder()
+						.bookId(bookId)
+						.borrowedAt(borrowedAt)
+						.build())
+				.toList());
+		LocalDate day = borrowedAt.toLocalDate();
+		if (bookLoanDailyRepository.addBorrows(bookIds, day) < bookIds.size()) {
+			bookLoanDailyRepository.insertBorrows(bookIds, day);
+		}
+	}
+
+	/**
+	 * 返却を記録する（呼び出し側のトランザクションで、書籍のステータスを更新した後に呼ぶ）
+	 * どのコピーが返却されたかは区別しないため、貸出中の履歴のうち最も古いものを閉じる
+	 * 貸出期間を日ごとに分け、それぞれの日の貸出中だった時間に加算する
+	 * 履歴の記録を始める前から貸出中だった書籍は、貸出期間が分からないため記録しない
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordReturn(Long bookId, LocalDateTime returnedAt) {
+		Optional<Loan> open = loanRepository.findFirstByBookIdAndReturnedAtIsNullOrderByIdAsc(bookId);
+		if (open.isEmpty() || loanRepository.close(open.get().getId(), returnedAt) == 0) {
+			return;
+		}
+		addReturnDaily(open.get(), returnedAt);
+	}
+
+	/**
+	 * 複数の書籍の返却をまとめて記録する（貸出中の履歴の読み込みと返却日時の設定は1文ずつ）
+	 * 書籍ごとに1冊の返却なので、それぞれ貸出中の履歴のうち最も古いものだけを閉じる
+	 * 集計値は貸出期間が履歴ごとに異なるため、履歴ごとに加算する
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordReturns(Collection<Long> bookIds, LocalDateTime returnedAt) {
+		List<Loan> open = loanRepository.findOldestOpenByBookIdIn(bookIds);
+		if (open.isEmpty()) {
+			return;
+		}
+		// 書籍の行ロックで返却は直列になっているため、読み込んだ履歴はすべて閉じられる
+		loanRepository.closeAll(open.stream().map(Loan::getId).toList(), returnedAt);
+		open.forEach(loan -> addReturnDaily(loan, returnedAt));
+	}
+
+	private void addReturnDaily(Loan loan, LocalDateTime returnedAt) {
+		Long bookId = loan.getBookId();
+		LocalDateTime borrowedAt = loan.getBorrowedAt();
+		for (LocalDate day = borrowedAt.toLocalDate(); !day.isAfter(returnedAt.toLocalDate()); day = day.plusDays(1)) {
+			long onLoan = overlapSeconds(borrowedAt, returnedAt, day);
+			boolean returnDay = day.equals(returnedAt.toLocalDate());
+			if (onLoan > 0 || returnDay) {
+				addDaily(bookId, day, 0, returnDay ? 1 : 0,
+						returnDay ? ChronoUnit.SECONDS.between(borrowedAt, returnedAt) : 0, onLoan);
+			}
+		}
+	}
+
+	/**
+	 * 期間（from〜to、両端を含む）の貸出回数・稼働率を日ごとに集計する
+	 * 貸出中の分は集計値にまだ加算されていないため、貸出中の履歴それぞれについて現在までの時間を足す
+	 * 稼働率は貸出中だった時間の合計を、経過時間 × コピー数で割る（コピー数は現在の値を使う）
+	 */
+	@Transactional(readOnly = true)
+	public LoanStatsResponse getStats(Long bookId, LocalDate from, LocalDate to) {
+		if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+			throw new IllegalArgumentException("集計期間は1〜" + MAX_RANGE_DAYS + "日の範囲で指定してください: " + from + "〜" + to);
+		}
+		int copies = bookRepository.findStatusById(bookId)
+				.map(BookStatusView::copies)
+				.orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + bookId));
+		LocalDateTime now = LocalDateTime.now();
+		Map<LocalDate, BookLoanDaily> rows = bookLoanDailyRepository.findByBookIdAndLoanDateBetweenOrderByLoanDate(bookId, from, to)
+				.stream()
+				.collect(Collectors.toMap(BookLoanDaily::getLoanDate, Function.identity()));
+		List<Loan> open = loanRepository.findByBookIdAndReturnedAtIsNull(bookId);
+
+		List<DailyLoanStatsResponse> days = new ArrayList<>();
+		long borrowCount = 0;
+		long returnCount = 0;
+		long returnedLoanSeconds = 0;
+		long onLoanSeconds = 0;
+		long elapsedSeconds = 0;
+		for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+			BookLoanDaily row = rows.get(day);
+			long dayBorrows = (row != null) ? row.getBorrowCount() : 0;
+			long dayReturns = (row != null) ? row.getReturnCount() : 0;
+			long dayOnLoan = (row != null) ? row.getOnLoanSeconds() : 0;
+			for (Loan loan : open) {
+				dayOnLoan += overlapSeconds(loan.getBorrowedAt(), now, day);
+			}
+			long dayElapsed = Math.min(SECONDS_PER_DAY, Math.max(0, ChronoUnit.SECONDS.between(day.atStartOfDay(), now)));
+
+			days.add(new DailyLoanStatsResponse(day, dayBorrows, dayReturns, ratio(dayOnLoan, dayElapsed, copies)));
+			borrowCount += dayBorrows;
+			returnCount += dayReturns;
+			returnedLoanSeconds += (row != null) ? row.getReturnedLoanSeconds() : 0;
+			onLoanSeconds += dayOnLoan;
+			elapsedSeconds += dayElapsed;
+		}
+		Double averageLoanSeconds = (returnCount == 0) ? null : (double) returnedLoanSeconds / returnCount;
+		return new LoanStatsResponse(bookId, from, to, borrowCount, returnCount, averageLoanSeconds,
+				ratio(onLoanSeconds, elapsedSeconds, copies), days);
+	}
+
+	private void addDaily(Long bookId, LocalDate day, long borrowCount, long returnCount,
+			long returnedLoanSeconds, long onLoanSeconds) {
+		if (bookLoanDailyRepository.add(bookId, day, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds) == 0) {
+			bookLoanDailyRepository.insert(bookId, day, borrowCount, returnCount, returnedLoanSeconds, onLoanSeconds);
+		}
+	}
+
+	/**
+	 * [start, end) のうち、指定日に含まれる秒数
+	 */
+	private static long overlapSeconds(LocalDateTime start, LocalDateTime end, LocalDate day) {
+		LocalDateTime from = max(start, day.atStartOfDay());
+		LocalDateTime to = min(end, day.plusDays(1).atStartOfDay());
+		return from.isBefore(to) ? ChronoUnit.SECONDS.between(from, to) : 0;
+	}
+
+	/**
+	 * 貸出中だった時間の、貸し出せた時間（経過時間 × コピー数）に対する割合
+	 * コピーを減らした場合などに1を超えないよう、1で頭打ちにする
+	 */
+	private static Double ratio(long onLoanSeconds, long elapsedSeconds, int copies) {
+		long copySeconds = elapsedSeconds * Math.max(1, copies);
+		return (copySeconds == 0) ? null : Math.min(1.0, (double) onLoanSeconds / copySeconds);
+	}
+
+	private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+		return a.isAfter(b) ? a : b;
+	}
+
+	private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+		return a.isBefore(b) ? a : b;
+	}
+}
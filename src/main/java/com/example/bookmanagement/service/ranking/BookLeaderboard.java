@@ -0,0 +1,273 @@
+package com.example.bookmanagement.service.ranking;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 書籍のランキング（評価順・レビュー数順 × 全期間・直近7日・直近30日）をヒープ上に保持する
+ *
+ * ランキングごとにスコア順のスキップリスト（ConcurrentSkipListSet）を持ち、レビューが増えるたびに
+ * その書籍の項目だけを入れ替える。上位N件の取得は先頭からN件たどるだけで、集計やソートはしない
+ *
+ * 期間別の件数は書籍ごとに日単位の件数（直近 BUCKETS 日分の環状配列）で持ち、
+ * 日付が変わったとき（advanceTo）に全書籍の期間内の件数を配列から数え直す（レビューを読み直さない）
+ *
+ * 評価順のスコアはベイズ平均 (C × m + 評価の合計) / (C + レビュー件数)
+ * （m は全体の平均評価、C は事前の重み）。レビューが少ない書籍の平均が極端な値にならないようにする
+ * m は日付が変わるたびに全体の合計から更新する（レビューのたびに全書籍のスコアが動かないように）
+ *
+ * 更新はこのオブジェクトで排他し、ランキングの読み込みはロックなしで行える
+ */
+public class BookLeaderboard {
+
+	/** ランキングの種類 */
+	public enum Metric {
+		/** 評価の高い順（ベイズ平均） */
+		TOP_RATED,
+		/** レビュー数の多い順 */
+		MOST_REVIEWED
+	}
+
+	/** 集計期間 */
+	public enum Window {
+		ALL(0),
+		LAST_7_DAYS(7),
+		LAST_30_DAYS(30);
+
+		private final int days;
+
+		Window(int days) {
+			this.days = days;
+		}
+
+		public int days() {
+			return days;
+		}
+	}
+
+	/** 日単位の件数を保持する日数（最長の集計期間より長くする） */
+	static final int BUCKETS = 32;
+
+	/**
+	 * ランキングの1項目
+	 */
+	public record Entry(long bookId, String title, String author, long reviewCount, long ratingSum, double score) {
+
+		/** 平均評価（レビューがなければnull） */
+		public Double averageRating() {
+			return reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+		}
+	}
+
+	/** スコアの高い順、同点はレビュー数の多い順、さらに同じなら書籍IDの昇順 */
+	private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::score).reversed()
+			.thenComparing(Comparator.comparingLong(Entry::reviewCount).reversed())
+			.thenComparingLong(Entry::bookId);
+
+	private final double priorWeight;
+	private final double defaultPriorMean;
+	private final Map<Long, BookCounts> books = new HashMap<>();
+	@SuppressWarnings("unchecked")
+	private final ConcurrentSkipListSet<Entry>[] boards = new ConcurrentSkipListSet[Metric.values().length * Window.values().length];
+	private LocalDate today;
+	private double priorMean;
+	private long totalReviewCount;
+	private long totalRatingSum;
+
+	/**
+	 * @param priorWeight ベイズ平均の事前の重み（レビュー何件分を全体の平均とみなすか）
+	 * @param defaultPriorMean レビューが1件もないときの全体の平均評価
+	 * @param today 期間別ランキングの基準日
+	 */
+	public BookLeaderboard(double priorWeight, double defaultPriorMean, LocalDate today) {
+		this.priorWeight = priorWeight;
+		this.defaultPriorMean = defaultPriorMean;
+		this.priorMean = defaultPriorMean;
+		this.today = today;
+		for (int i = 0; i < boards.length; i++) {
+			boards[i] = new ConcurrentSkipListSet<>(RANKING);
+		}
+	}
+
+	/**
+	 * 書籍を追加する（レビューがない書籍はランキングには載らない）
+	 */
+	public synchronized void addBook(long bookId, String title, String author) {
+		BookCounts counts = books.computeIfAbsent(bookId, id -> new BookCounts());
+		counts.title = title;
+		counts.author = author;
+		rescore(bookId, counts);
+	}
+
+	/**
+	 * 全期間のレビュー件数と評価の合計を設定する（起動時の構築用。期間別の件数は addDailyCounts で加える）
+	 */
+	public synchronized void setTotals(long bookId, long reviewCount, long ratingSum) {
+		BookCounts counts = books.computeIfAbsent(bookId, id -> new BookCounts());
+		totalReviewCount += reviewCount - counts.reviewCount;
+		totalRatingSum += ratingSum - counts.ratingSum;
+		counts.reviewCount = reviewCount;
+		counts.ratingSum = ratingSum;
+		rescore(bookId, counts);
+	}
+
+	/**
+	 * 指定日のレビューを期間別の件数にだけ加える（起動時の構築用。全期間の件数は setTotals で設定する）
+	 */
+	public synchronized void addDailyCounts(long bookId, LocalDate day, long reviewCount, long ratingSum) {
+		BookCounts counts = books.computeIfAbsent(bookId, id -> new BookCounts());
+		counts.addDaily(day, reviewCount, ratingSum);
+		rescore(bookId, counts);
+	}
+
+	/**
+	 * 投稿されたレビュー1件を全期間・期間別の件数に加える
+	 */
+	public synchronized void addReview(long bookId, LocalDate day, int rating) {
+		if (day.isAfter(today)) {
+			advanceTo(day);
+		}
+		BookCounts counts = books.computeIfAbsent(bookId, id -> new BookCounts());
+		counts.reviewCount++;
+		counts.ratingSum += rating;
+		totalReviewCount++;
+		totalRatingSum += rating;
+		counts.addDaily(day, 1, rating);
+		rescore(bookId, counts);
+	}
+
+	/**
+	 * 基準日を進め、全書籍の期間別の件数と全体の平均評価を更新する
+	 */
+	public synchronized void advanceTo(LocalDate day) {
+		if (day.isAfter(today)) {
+			today = day;
+		}
+		refreshPriorMean();
+	}
+
+	/**
+	 * 全体の平均評価を現在の合計から計算し直し、全書籍のスコアを更新する
+	 */
+	public synchronized void refreshPriorMean() {
+		priorMean = totalReviewCount == 0 ? defaultPriorMean : (double) totalRatingSum / totalReviewCount;
+		books.forEach(this::rescore);
+	}
+
+	/**
+	 * 上位から最大 limit 件を返す
+	 */
+	public List<Entry> top(Metric metric, Window window, int limit) {
+		List<Entry> entries = new ArrayList<>(limit);
+		Iterator<Entry> iterator = board(metric, window).iterator();
+		while (entries.size() < limit && iterator.hasNext()) {
+			entries.add(iterator.next());
+		}
+		return entries;
+	}
+
+	public synchronized LocalDate today() {
+		return today;
+	}
+
+	private ConcurrentSkipListSet<Entry> board(Metric metric, Window window) {
+		return boards[metric.ordinal() * Window.values().length + window.ordinal()];
+	}
+
+	/**
+	 * 書籍の全ランキングの項目を現在の件数で入れ替える
+	 */
+	private void rescore(long bookId, BookCounts counts) {
+		for (Window window : Window.values()) {
+			long reviewCount = (window == Window.ALL) ? counts.reviewCount : counts.windowCount(today, window.days());
+			long ratingSum = (window == Window.ALL) ? counts.ratingSum : counts.windowRatingSum(today, window.days());
+			for (Metric metric : Metric.values()) {
+				int index = metric.ordinal() * Window.values().length + window.ordinal();
+				Entry previous = counts.entries[index];
+				if (previous != null) {
+					boards[index].remove(previous);
+					counts.entries[index] = null;
+				}
+				if (reviewCount == 0) {
+					continue;
+				}
+				double score = (metric == Metric.TOP_RATED)
+						? (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount)
+						: reviewCount;
+				Entry entry = new Entry(bookId, counts.title, counts.author, reviewCount, ratingSum, score);
+				boards[index].add(entry);
+				counts.entries[index] = entry;
+			}
+		}
+	}
+
+	/**
+	 * 書籍ごとの件数（全期間の合計と、直近 BUCKETS 日分の日単位の件数）
+	 * 日単位の配列は直近のレビューがある書籍にだけ作る（大半の書籍は全期間の合計だけで済む）
+	 */
+	private static final class BookCounts {
+		private String title;
+		private String author;
+		private long reviewCount;
+		private long ratingSum;
+		/** 環状配列の各要素がどの日の件数か（epochDay） */
+		private int[] bucketDays;
+		private int[] bucketCounts;
+		private int[] bucketRatingSums;
+		/** ランキングごとに現在載っている項目（スキップリストから取り除くため） */
+		private final Entry[] entries = new Entry[Metric.values().length * Window.values().length];
+
+		void addDaily(LocalDate day, long reviewCount, long ratingSum) {
+			int epochDay = (int) day.toEpochDay();
+			if (bucketDays == null) {
+				bucketDays = new int[BUCKETS];
+				Arrays.fill(bucketDays, Integer.MIN_VALUE);
+				bucketCounts = new int[BUCKETS];
+				bucketRatingSums = new int[BUCKETS];
+			}
+			int bucket = Math.floorMod(epochDay, BUCKETS);
+			if (bucketDays[bucket] > epochDay) {
+				// 環状配列より古い日のレビューは期間別の件数には入らない
+				return;
+			}
+			if (bucketDays[bucket] != epochDay) {
+				bucketDays[bucket] = epochDay;
+				bucketCounts[bucket] = 0;
+				bucketRatingSums[bucket] = 0;
+			}
+			bucketCounts[bucket] += (int) reviewCount;
+			bucketRatingSums[bucket] += (int) ratingSum;
+		}
+
+		long windowCount(LocalDate today, int days) {
+			return sum(bucketCounts, today, days);
+		}
+
+		long windowRatingSum(LocalDate today, int days) {
+			return sum(bucketRatingSums, today, days);
+		}
+
+		/** today を含む直近 days 日分の合計 */
+		private long sum(int[] values, LocalDate today, int days) {
+			if (bucketDays == null) {
+				return 0;
+			}
+			long last = today.toEpochDay();
+			long first = last - days + 1;
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				if (bucketDays[i] >= first && bucketDays[i] <= last) {
+					total += values[i];
+				}
+			}
+			return total;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.example.bookmanagement.service.ranking;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.RankingEntryResponse;
+import com.example.bookmanagement.controller.response.RankingResponse;
+import com.example.bookmanagement.domain.event.BookRegisteredEvent;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
+import com.example.bookmanagement.domain.repository.BookRatingTotalsView;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookTextView;
+import com.example.bookmanagement.domain.repository.ReviewDailyCountView;
+import com.example.bookmanagement.domain.repository.ReviewRespository;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Metric;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Window;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 書籍のランキング（評価順・レビュー数順）
+ * 起動時に評価の集計値（book_rating_stats）と直近のレビューの日別件数から BookLeaderboard を構築し、
+ * 以降は登録・レビュー投稿のコミット後に差分を反映する。ランキングの取得ではDBを読まない
+ */
+@Slf4j
+@Service
+public class BookLeaderboardService implements SmartLifecycle {
+
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final BookRepository bookRepository;
+	private final BookRatingStatsRepository bookRatingStatsRepository;
+	private final ReviewRespository reviewRespository;
+	private final TransactionTemplate readOnlyTransaction;
+	private final double priorWeight;
+	private final double defaultPriorMean;
+	private volatile BookLeaderboard leaderboard;
+	private volatile boolean running;
+
+	public BookLeaderboardService(BookRepository bookRepository,
+			BookRatingStatsRepository bookRatingStatsRepository,
+			ReviewRespository reviewRespository,
+			PlatformTransactionManager transactionManager,
+			@Value("${book.leaderboard.prior-weight:10}") double priorWeight,
+			@Value("${book.leaderboard.default-prior-mean:3.0}") double defaultPriorMean) {
+		this.bookRepository = bookRepository;
+		this.bookRatingStatsRepository = bookRatingStatsRepository;
+		this.reviewRespository = reviewRespository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.priorWeight = priorWeight;
+		this.defaultPriorMean = defaultPriorMean;
+		this.leaderboard = new BookLeaderboard(priorWeight, defaultPriorMean, LocalDate.now());
+	}
+
+	/**
+	 * 指定した種類・期間のランキングを上位から size 件返す
+	 */
+	public RankingResponse top(Metric metric, Window window, int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("取得件数は1〜" + MAX_PAGE_SIZE + "の範囲で指定してください: " + size);
+		}
+		List<BookLeaderboard.Entry> entries = leaderboard.top(metric, window, size);
+		List<RankingEntryResponse> books = new ArrayList<>(entries.size());
+		for (BookLeaderboard.Entry entry : entries) {
+			books.add(new RankingEntryResponse(books.size() + 1, entry.bookId(), entry.title(), entry.author(),
+					entry.reviewCount(), entry.averageRating(), entry.score()));
+		}
+		return new RankingResponse(metric.name(), window.name(), books);
+	}
+
+	@TransactionalEventListener
+	public void onBookRegistered(BookRegisteredEvent event) {
+		leaderboard.addBook(event.bookId(), event.title(), event.author());
+	}
+
+	@TransactionalEventListener
+	public void onReviewAdded(ReviewAddedEvent event) {
+		leaderboard.addReview(event.bookId(), event.createdAt().toLocalDate(), event.rating());
+	}
+
+	/**
+	 * 日付が変わったら期間別のランキングを数え直す（古い日の件数が期間から外れる）
+	 */
+	@Scheduled(cron = "${book.leaderboard.rollover-cron:0 0 0 * * *}")
+	public void rollover() {
+		leaderboard.advanceTo(LocalDate.now());
+	}
+
+	/**
+	 * DBからランキングを構築する
+	 * 全期間の件数は集計値から、期間別の件数は直近 BUCKETS 日分のレビューを書籍・日付ごとに数えた結果から読み込む
+	 * 構築し終えたものに差し替える（構築中もそれまでのランキングを返せるように）
+	 */
+	@Override
+	public void start() {
+		long startedAt = System.nanoTime();
+		BookLeaderboard leaderboard = new BookLeaderboard(priorWeight, defaultPriorMean, LocalDate.now());
+		LocalDate since = leaderboard.today().minusDays(BookLeaderboard.BUCKETS - 1);
+		readOnlyTransaction.executeWithoutResult(status -> {
+			try (Stream<BookTextView> books = bookRepository.streamAllText()) {
+				books.forEach(book -> leaderboard.addBook(book.id(), book.title(), book.author()));
+			}
+			try (Stream<BookRatingTotalsView> totals = bookRatingStatsRepository.streamTotals()) {
+				totals.forEach(total -> leaderboard.setTotals(total.bookId(), total.reviewCount(), total.ratingSum()));
+			}
+			try (Stream<ReviewDailyCountView> daily = reviewRespository.streamDailyCountsSince(since.atStartOfDay())) {
+				daily.forEach(count -> leaderboard.addDailyCounts(count.bookId(), count.day(), count.reviewCount(), count.ratingSum()));
+			}
+		});
+		leaderboard.refreshPriorMean();
+		this.leaderboard = leaderboard;
+		running = true;
+		log.info("ランキングを構築しました: {} ms", (System.nanoTime() - startedAt) / 1_000_000);
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Webサーバー（既定のフェーズから1024小さい）より先に起動する
+	 */
+	@Override
+	public int getPhase() {
+		return 0;
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.bookmanagement.service.reservation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.domain.model.Reservation;
+import com.example.bookmanagement.domain.model.ReservationStatus;
+import com.example.bookmanagement.domain.repository.ReservationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 期限までに借りられなかった取り置きを期限切れにし、次の予約へ回すジョブ
+ * 取り置き1件ごとに別トランザクションで処理する（書籍の行のロックを短く保ち、1件の失敗で他を巻き戻さないため）
+ */
+@Slf4j
+@Component
+public class ReservationExpiryJob {
+	private final ReservationRepository reservationRepository;
+	private final ReservationService reservationService;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+
+	public ReservationExpiryJob(ReservationRepository reservationRepository,
+			ReservationService reservationService,
+			TransactionTemplate transactionTemplate,
+			@Value("${book.reservation.sweep-batch-size:100}") int batchSize) {
+		this.reservationRepository = reservationRepository;
+		this.reservationService = reservationService;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * 期限の切れた取り置きをすべて処理する
+	 *
+	 * @return 期限切れにした件数
+	 */
+	@Scheduled(fixedDelayString = "${book.reservation.sweep-interval-ms:30000}")
+	public int expireHolds() {
+		LocalDateTime now = LocalDateTime.now();
+		int expired = 0;
+		while (true) {
+			List<Reservation> holds = reservationRepository.findByStatusAndHoldExpiresAtLessThanEqualOrderByHoldExpiresAt(
+					ReservationStatus.HELD, now, Limit.of(batchSize));
+			int processed = 0;
+			for (Reservation hold : holds) {
+				if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reservationService.expire(hold, now)))) {
+					expired++;
+					processed++;
+				}
+			}
+			// 1件も期限切れにできなかった（すべて同時に借りられた）なら、同じ行を読み続けないよう終える
+			if (holds.size() < batchSize || processed == 0) {
+				break;
+			}
+		}
+		if (expired > 0) {
+			log.info("期限の切れた取り置きを処理しました: {}件", expired);
+		}
+		return expired;
+	}
+}
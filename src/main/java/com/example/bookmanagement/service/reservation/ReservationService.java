@@ -0,0 +1,217 @@
+package com.example.bookmanagement.service.reservation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.bookmanagement.controller.response.ReservationResponse;
+import com.example.bookmanagement.domain.event.BookStatusChangedEvent;
+import com.example.bookmanagement.domain.model.Reservation;
+import com.example.bookmanagement.domain.model.ReservationStatus;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookStatusView;
+import com.example.bookmanagement.domain.repository.ReservationRepository;
+import com.example.bookmanagement.service.loan.LoanHistoryService;
+
+/**
+ * 貸出中の書籍の予約（順番待ち）と、返却時の取り置き
+ * 返却されたコピーは順番待ちの先頭の予約のために取り置かれ、その予約からだけ借りられる
+ * （貸出可能なコピーが残っていなければ、書籍は取り置き中（RESERVED）になる）
+ * 期限までに借りられなかった取り置きは ReservationExpiryJob が期限切れにし、次の予約へ回す
+ *
+ * 受け渡しは書籍1行と予約1行への条件付きUPDATEだけで行う（テーブルロックや順番待ち全体のロックは取らない）
+ * 取り置くコピーは書籍の行の取り置き数で数えるため、1冊のコピーが2人に取り置かれることはない
+ */
+@Service
+public class ReservationService {
+
+	private final BookRepository bookRepository;
+	private final ReservationRepository reservationRepository;
+	private final LoanHistoryService loanHistoryService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Duration holdDuration;
+
+	public ReservationService(BookRepository bookRepository,
+			ReservationRepository reservationRepository,
+			LoanHistoryService loanHistoryService,
+			ApplicationEventPublisher eventPublisher,
+			@Value("${book.reservation.hold-duration:24h}") Duration holdDuration) {
+		this.bookRepository = bookRepository;
+		this.reservationRepository = reservationRepository;
+		this.loanHistoryService = loanHistoryService;
+		this.eventPublisher = eventPublisher;
+		this.holdDuration = holdDuration;
+	}
+
+	/**
+	 * 予約する（順番待ちの末尾に並ぶ。貸出可能な本なら、その場で取り置き中になる）
+	 */
+	@Transactional
+	public ReservationResponse reserve(Long bookId) {
+		BookStatusView book = findBookStatus(bookId);
+		Reservation reservation = reservationRepository.save(Reservation.builder()
+				.bookId(bookId)
+				.status(ReservationStatus.WAITING)
+				.build());
+		if (book.availableCopies() > 0 && handOff(bookId)) {
+			statusChanged(bookId);
+		}
+		return toResponse(findReservation(bookId, reservation.getId()));
+	}
+
+	/**
+	 * 予約の状態（順番待ちなら何番目か）を取得する
+	 */
+	@Transactional(readOnly = true)
+	public ReservationResponse getReservation(Long bookId, Long reservationId) {
+		return toResponse(findReservation(bookId, reservationId));
+	}
+
+	/**
+	 * 取り置き中の本を、その予約で借りる
+	 */
+	@Transactional
+	public ReservationResponse borrow(Long bookId, Long reservationId) {
+		Reservation reservation = findReservation(bookId, reservationId);
+		if (reservationRepository.fulfill(reservationId, LocalDateTime.now()) == 0) {
+			throw new IllegalStateException(switch (reservation.getStatus()) {
+				case WAITING -> "まだ順番が来ていません。";
+				case HELD -> "取り置きの期限が切れています。";
+				default -> "この予約は既に終了しています。";
+			});
+		}
+		if (bookRepository.lendHeldCopy(bookId) == 0) {
+			// 取り置き中の予約がある間、書籍の取り置き数は1以上（ここに来るのはデータの不整合だけ）
+			throw new IllegalStateException("この本は取り置き中ではありません。");
+		}
+		loanHistoryService.recordBorrow(bookId, LocalDateTime.now());
+		statusChanged(bookId);
+		return toResponse(findReservation(bookId, reservationId));
+	}
+
+	/**
+	 * 予約を取り消す（取り置き中だった場合は、次の予約へ回す）
+	 */
+	@Transactional
+	public void cancel(Long bookId, Long reservationId) {
+		Reservation reservation = findReservation(bookId, reservationId);
+		ReservationStatus from = reservation.getStatus();
+		if ((from != ReservationStatus.WAITING && from != ReservationStatus.HELD)
+				|| reservationRepository.updateStatus(reservationId, from, ReservationStatus.CANCELLED) == 0) {
+			throw new IllegalStateException("この予約は既に終了しています。");
+		}
+		if (from == ReservationStatus.HELD) {
+			passOn(bookId);
+		}
+	}
+
+	/**
+	 * 期限の切れた取り置きを期限切れにし、次の予約へ回す（呼び出し側のトランザクションで実行する）
+	 *
+	 * @return 期限切れにしたか（同時に借りられた、または既に処理済みなら false）
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public boolean expire(Reservation reservation, LocalDateTime now) {
+		if (reservationRepository.expire(reservation.getId(), now) == 0) {
+			return false;
+		}
+		passOn(reservation.getBookId());
+		return true;
+	}
+
+	/**
+	 * 貸出可能なコピーを1冊、順番待ちの先頭のために取り置く（呼び出し側のトランザクションで実行する）
+	 * 返却・コピーの追加で貸出可能になったコピーや、予約した時点で貸出可能だったコピーを予約へ回すときに使う
+	 *
+	 * @return 取り置いたか（順番待ちがない、または貸出可能なコピーがなければ false）
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public boolean handOff(Long bookId) {
+		if (!reservationRepository.existsByBookIdAndStatus(bookId, ReservationStatus.WAITING)) {
+			return false;
+		}
+		// 書籍の行を先に更新し、同じ書籍への受け渡しを直列にする
+		if (bookRepository.holdCopy(bookId) == 0) {
+			return false;
+		}
+		LocalDateTime expiresAt = LocalDateTime.now().plus(holdDuration);
+		while (reservationRepository.holdHead(bookId, expiresAt) == 0) {
+			if (!reservationRepository.existsByBookIdAndStatus(bookId, ReservationStatus.WAITING)) {
+				// 確認した後に順番待ちがすべて取り消された
+				bookRepository.releaseHeldCopy(bookId);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 返却された複数の本を、それぞれの順番待ちの先頭のために取り置く（呼び出し側のトランザクションで実行する）
+	 * 予約のある書籍を1回のクエリで調べ、予約のある書籍だけを handOff する
+	 *
+	 * @return 取り置いた書籍のID
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public Set<Long> handOffAll(Collection<Long> bookIds) {
+		Set<Long> held = new HashSet<>();
+		for (Long bookId : reservationRepository.findBookIdsWithStatus(bookIds, ReservationStatus.WAITING)) {
+			if (handOff(bookId)) {
+				held.add(bookId);
+			}
+		}
+		return held;
+	}
+
+	/**
+	 * 取り置きが終わったコピーを、取り置いたまま次の予約へ回す（順番待ちがなければ貸出可能に戻す）
+	 */
+	private void passOn(Long bookId) {
+		// 取り置きの付け替えは予約の行だけで行い、書籍のコピー数は変えない
+		LocalDateTime expiresAt = LocalDateTime.now().plus(holdDuration);
+		while (reservationRepository.holdHead(bookId, expiresAt) == 0) {
+			if (!reservationRepository.existsByBookIdAndStatus(bookId, ReservationStatus.WAITING)) {
+				if (bookRepository.releaseHeldCopy(bookId) == 1) {
+					statusChanged(bookId);
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 書籍の現在のステータスを通知する（キャッシュの破棄などはコミット後に行われる）
+	 */
+	private void statusChanged(Long bookId) {
+		BookStatusView book = findBookStatus(bookId);
+		eventPublisher.publishEvent(new BookStatusChangedEvent(bookId, book.author(), book.status()));
+	}
+
+	private BookStatusView findBookStatus(Long bookId) {
+		return bookRepository.findStatusById(bookId)
+				.orElseThrow(() -> new IllegalArgumentException("指定されたIDの本が見つかりません: " + bookId));
+	}
+
+	private Reservation findReservation(Long bookId, Long reservationId) {
+		return reservationRepository.findById(reservationId)
+				.filter(reservation -> reservation.getBookId().equals(bookId))
+				.orElseThrow(() -> new IllegalArgumentException("指定された予約が見つかりません: " + reservationId));
+	}
+
+	private ReservationResponse toResponse(Reservation reservation) {
+		Long position = (reservation.getStatus() == ReservationStatus.WAITING)
+				? reservationRepository.countByBookIdAndStatusAndIdLessThan(
+						reservation.getBookId(), ReservationStatus.WAITING, reservation.getId()) + 1
+				: null;
+		LocalDateTime holdExpiresAt = (reservation.getStatus() == ReservationStatus.HELD) ? reservation.getHoldExpiresAt() : null;
+		return new ReservationResponse(reservation.getId(), reservation.getBookId(), reservation.getStatus().name(),
+				position, holdExpiresAt);
+	}
+}
@@ -0,0 +1,205 @@
+package com.example.bookmanagement.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 書籍のタイトル・著者・レビュー本文の転置インデックス（ヒープ上に保持する）
+ * 語ごとに「書籍ID → 出現回数」を持ち、レビューは書籍単位に合算する（レビュー件数が増えても書籍数以上には増えない）
+ *
+ * 検索は全ての語を含む書籍だけを対象にし（AND）、出現数の少ない語から候補を絞り込む
+ * 得点は語ごとの idf × (項目ごとの重み × 出現回数の飽和関数) の合計
+ *
+ * 読み込みは並行に行え、追加は読み込みと排他になる（追加は1件ずつの短い処理のため）
+ */
+public class BookSearchIndex {
+
+	/** 項目ごとの重み（タイトル・著者の一致をレビュー本文の一致より高く評価する） */
+	private static final double TITLE_WEIGHT = 3.0;
+	private static final double AUTHOR_WEIGHT = 2.0;
+	private static final double REVIEW_WEIGHT = 1.0;
+	/** 出現回数の飽和の度合い（同じ語が何度も出ても得点が伸び続けないようにする） */
+	private static final double SATURATION = 1.2;
+
+	private final Map<Long, Document> documents = new HashMap<>();
+	private final Map<String, LongIntHashMap> titlePostings = new HashMap<>();
+	private final Map<String, LongIntHashMap> authorPostings = new HashMap<>();
+	private final Map<String, LongIntHashMap> reviewPostings = new HashMap<>();
+	private long reviewCount;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * 検索結果
+	 */
+	public record Hit(long bookId, String title, String author, String isbn, double score) {}
+
+	private record Document(String title, String author, String isbn) {}
+
+	/**
+	 * 書籍を追加する（同じIDで再度追加した場合は書誌情報だけを差し替え、語の出現は加算しない）
+	 */
+	public void addBook(long bookId, String title, String author, String isbn) {
+		lock.writeLock().lock();
+		try {
+			if (documents.put(bookId, new Document(title, author, isbn)) != null) {
+				return;
+			}
+			addTerms(titlePostings, bookId, title);
+			addTerms(authorPostings, bookId, author);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * レビュー本文を書籍に追加する
+	 */
+	public void addReview(long bookId, String content) {
+		lock.writeLock().lock();
+		try {
+			addTerms(reviewPostings, bookId, content);
+			reviewCount++;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 検索する
+	 *
+	 * @param query 検索語（空白区切りの語はそれぞれ、日本語は2文字ずつに区切り、全てを含む書籍を返す）
+	 * @param includeReviews レビュー本文も検索対象にするか
+	 * @param limit 最大件数
+	 * @return 得点の高い順（同点は書籍IDの昇順）
+	 */
+	public List<Hit> search(String query, boolean includeReviews, int limit) {
+		Set<String> terms = SearchTokenizer.queryTerms(query);
+		if (terms.isEmpty()) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			List<TermPostings> postings = new ArrayList<>(terms.size());
+			for (String term : terms) {
+				TermPostings termPostings = new TermPostings(
+						titlePostings.get(term),
+						authorPostings.get(term),
+						includeReviews ? reviewPostings.get(term) : null);
+				if (termPostings.documentFrequency() == 0) {
+					return List.of();
+				}
+				postings.add(termPostings);
+			}
+			// 出現数の最も少ない語を含む書籍だけを候補にする
+			postings.sort(Comparator.comparingInt(TermPostings::documentFrequency));
+			LongIntHashMap candidates = postings.get(0).documents();
+
+			int documentCount = Math.max(documents.size(), 1);
+			PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+			candidates.forEach((bookId, ignored) -> {
+				Document document = documents.get(bookId);
+				if (document == null) {
+					return;
+				}
+				double score = 0;
+				for (TermPostings termPostings : postings) {
+					double termScore = termPostings.score(bookId);
+					if (termScore == 0) {
+						return;
+					}
+					score += termPostings.idf(documentCount) * termScore;
+				}
+				top.add(new Hit(bookId, document.title(), document.author(), document.isbn(), score));
+				if (top.size() > limit) {
+					top.poll();
+				}
+			});
+			List<Hit> hits = new ArrayList<>(top);
+			hits.sort(RANKING);
+			return hits;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int bookCount() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public long reviewCount() {
+		lock.readLock().lock();
+		try {
+			return reviewCount;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** 得点の高い順、同点は書籍IDの昇順 */
+	private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+			.thenComparingLong(Hit::bookId);
+
+	private static void addTerms(Map<String, LongIntHashMap> postings, long bookId, String text) {
+		for (String term : SearchTokenizer.indexTerms(text)) {
+			postings.computeIfAbsent(term, t -> new LongIntHashMap()).add(bookId, 1);
+		}
+	}
+
+	/**
+	 * 1つの語の項目ごとの出現
+	 */
+	private record TermPostings(LongIntHashMap title, LongIntHashMap author, LongIntHashMap review) {
+
+		/** 語を含む書籍数（項目間の重複を含む概算） */
+		int documentFrequency() {
+			return size(title) + size(author) + size(review);
+		}
+
+		/** 語を含む書籍（項目をまとめたもの） */
+		LongIntHashMap documents() {
+			LongIntHashMap documents = new LongIntHashMap(documentFrequency());
+			for (LongIntHashMap postings : new LongIntHashMap[] { title, author, review }) {
+				if (postings != null) {
+					postings.forEach((bookId, count) -> documents.add(bookId, count));
+				}
+			}
+			return documents;
+		}
+
+		double idf(int documentCount) {
+			return Math.log(1 + (double) documentCount / documentFrequency());
+		}
+
+		/** 書籍ごとの得点（語を含まなければ0） */
+		double score(long bookId) {
+			return TITLE_WEIGHT * saturate(count(title, bookId))
+					+ AUTHOR_WEIGHT * saturate(count(author, bookId))
+					+ REVIEW_WEIGHT * saturate(count(review, bookId));
+		}
+
+		private static double saturate(int count) {
+			return count / (count + SATURATION);
+		}
+
+		private static int count(LongIntHashMap postings, long bookId) {
+			return postings == null ? 0 : postings.get(bookId);
+		}
+
+		private static int size(LongIntHashMap postings) {
+			return postings == null ? 0 : postings.size();
+		}
+	}
+}
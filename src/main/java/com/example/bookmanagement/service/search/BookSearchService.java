@@ -0,0 +1,111 @@
+package com.example.bookmanagement.service.search;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.BookSearchHitResponse;
+import com.example.bookmanagement.controller.response.BookSearchResponse;
+import com.example.bookmanagement.domain.event.BookRegisteredEvent;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookTextView;
+import com.example.bookmanagement.domain.repository.ReviewRespository;
+import com.example.bookmanagement.domain.repository.ReviewTextView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 書籍の全文検索
+ * 起動時にDBの全書籍・全レビューから BookSearchIndex を構築し、以降は登録・レビュー投稿のコミット後に差分を追加する
+ * インデックスの構築は Webサーバーがリクエストを受け付け始める前に終わらせる（構築中の登録を取りこぼさないため）
+ */
+@Slf4j
+@Service
+public class BookSearchService implements SmartLifecycle {
+
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final BookRepository bookRepository;
+	private final ReviewRespository reviewRespository;
+	private final TransactionTemplate readOnlyTransaction;
+	private final BookSearchIndex index = new BookSearchIndex();
+	private volatile boolean running;
+
+	public BookSearchService(BookRepository bookRepository,
+			ReviewRespository reviewRespository,
+			PlatformTransactionManager transactionManager) {
+		this.bookRepository = bookRepository;
+		this.reviewRespository = reviewRespository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	/**
+	 * タイトル・著者（reviews=true ならレビュー本文も）から書籍を検索する
+	 */
+	public BookSearchResponse search(String query, boolean includeReviews, int size) {
+		if (query == null || query.isBlank()) {
+			throw new IllegalArgumentException("検索語を指定してください。");
+		}
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("取得件数は1〜" + MAX_PAGE_SIZE + "の範囲で指定してください: " + size);
+		}
+		List<BookSearchHitResponse> hits = index.search(query, includeReviews, size).stream()
+				.map(hit -> new BookSearchHitResponse(hit.bookId(), hit.title(), hit.author(), hit.isbn(), hit.score()))
+				.toList();
+		return new BookSearchResponse(hits);
+	}
+
+	@TransactionalEventListener
+	public void onBookRegistered(BookRegisteredEvent event) {
+		index.addBook(event.bookId(), event.title(), event.author(), event.isbn());
+	}
+
+	@TransactionalEventListener
+	public void onReviewAdded(ReviewAddedEvent event) {
+		index.addReview(event.bookId(), event.content());
+	}
+
+	/**
+	 * DBの全書籍・全レビューを読み込んでインデックスを構築する（1件ずつ読み、全件をメモリに載せない）
+	 */
+	@Override
+	public void start() {
+		long startedAt = System.nanoTime();
+		readOnlyTransaction.executeWithoutResult(status -> {
+			try (Stream<BookTextView> books = bookRepository.streamAllText()) {
+				books.forEach(book -> index.addBook(book.id(), book.title(), book.author(), book.isbn()));
+			}
+			try (Stream<ReviewTextView> reviews = reviewRespository.streamAllText()) {
+				reviews.forEach(review -> index.addReview(review.bookId(), review.content()));
+			}
+		});
+		running = true;
+		log.info("検索インデックスを構築しました: 書籍 {} 件, レビュー {} 件, {} ms",
+				index.bookCount(), index.reviewCount(), (System.nanoTime() - startedAt) / 1_000_000);
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Webサーバー（既定のフェーズから1024小さい）より先に起動する
+	 */
+	@Override
+	public int getPhase() {
+		return 0;
+	}
+}
@@ -0,0 +1,102 @@
+package com.example.bookmanagement.service.search;
+
+/**
+ * long → int のハッシュマップ（オープンアドレス法・線形探索）
+ * 転置インデックスの「書籍ID → 出現回数」に使う。Long / Integer の箱詰めをしないため、
+ * 数百万件の出現を保持してもオブジェクト数とメモリ使用量が小さく済む
+ * キーの 0 は空きスロットを表すため使えない（書籍IDは1から採番される）
+ * スレッドセーフではない（呼び出し側でロックすること）
+ */
+final class LongIntHashMap {
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+
+	LongIntHashMap() {
+		this(4);
+	}
+
+	LongIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+	}
+
+	/**
+	 * キーの値に delta を加える（なければ delta で追加する）
+	 */
+	void add(long key, int delta) {
+		int slot = slot(key);
+		if (keys[slot] == key) {
+			values[slot] += delta;
+			return;
+		}
+		keys[slot] = key;
+		values[slot] = delta;
+		if (++size > keys.length * LOAD_FACTOR) {
+			resize();
+		}
+	}
+
+	/**
+	 * キーの値（なければ0）
+	 */
+	int get(long key) {
+		int slot = slot(key);
+		return keys[slot] == key ? values[slot] : 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void forEach(Consumer consumer) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0) {
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	interface Consumer {
+		void accept(long key, int value);
+	}
+
+	/**
+	 * キーが入っているスロット、なければキーを入れるべき空きスロット
+	 */
+	private int slot(long key) {
+		if (key == 0) {
+			throw new IllegalArgumentException("キーに0は使えません。");
+		}
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (keys[slot] != 0 && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
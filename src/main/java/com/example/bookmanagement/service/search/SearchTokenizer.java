@@ -0,0 +1,91 @@
+package com.example.bookmanagement.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 検索用の語の切り出し
+ * 日本語（漢字・ひらがな・カタカナ）は形態素解析をせず、連続する2文字ずつ（bi-gram）に区切る
+ * 索引には1文字ずつ（uni-gram）も加え、1文字だけの検索語（「猫」など）が長い語の中の文字にも一致するようにする
+ * 英数字は単語単位で区切る。全角・半角の違いと大文字・小文字の違いは NFKC 正規化と小文字化で吸収する
+ */
+public final class SearchTokenizer {
+
+	private SearchTokenizer() {
+	}
+
+	/**
+	 * 検索の語に分割する（出現順、重複あり）
+	 * 1文字だけの日本語はその1文字を語とする
+	 */
+	public static List<String> tokenize(String text) {
+		return tokenize(text, false);
+	}
+
+	/**
+	 * 索引の語に分割する（出現順、重複あり）
+	 * tokenize の語に加え、2文字以上続く日本語の1文字ずつも語とする
+	 */
+	public static List<String> indexTerms(String text) {
+		return tokenize(text, true);
+	}
+
+	private static List<String> tokenize(String text, boolean unigrams) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return tokens;
+		}
+		int[] codePoints = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).codePoints().toArray();
+		int i = 0;
+		while (i < codePoints.length) {
+			int start = i;
+			if (isCjk(codePoints[i])) {
+				while (i < codePoints.length && isCjk(codePoints[i])) {
+					i++;
+				}
+				if (i - start == 1) {
+					tokens.add(new String(codePoints, start, 1));
+				}
+				for (int j = start; j + 1 < i; j++) {
+					if (unigrams) {
+						tokens.add(new String(codePoints, j, 1));
+					}
+					tokens.add(new String(codePoints, j, 2));
+				}
+				if (unigrams && i - start > 1) {
+					tokens.add(new String(codePoints, i - 1, 1));
+				}
+			} else if (Character.isLetterOrDigit(codePoints[i])) {
+				while (i < codePoints.length && !isCjk(codePoints[i]) && Character.isLetterOrDigit(codePoints[i])) {
+					i++;
+				}
+				tokens.add(new String(codePoints, start, i - start));
+			} else {
+				i++;
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * 検索語の分割（重複を除く）
+	 */
+	public static Set<String> queryTerms(String query) {
+		return new LinkedHashSet<>(tokenize(query));
+	}
+
+	private static boolean isCjk(int codePoint) {
+		// 長音符「ー」と繰り返し記号「々」は前後の文字と続けて扱う
+		if (codePoint == 'ー' || codePoint == '々') {
+			return true;
+		}
+		Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+		return script == Character.UnicodeScript.HAN
+				|| script == Character.UnicodeScript.HIRAGANA
+				|| script == Character.UnicodeScript.KATAKANA;
+	}
+}
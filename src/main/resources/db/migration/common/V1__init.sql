@@ -0,0 +1,50 @@
+-- 書籍・レビュー・評価の集計値（PostgreSQL と H2 の両方で実行できる構文だけを使う）
+
+-- Book / Review のIDはシーケンスから50件ずつ払い出す（Entity の allocationSize と一致させる）
+create sequence books_seq start with 1 increment by 50;
+create sequence reviews_seq start with 1 increment by 50;
+
+create table books (
+    id bigint not null,
+    title varchar(255) not null,
+    author varchar(100) not null,
+    isbn varchar(13),
+    status varchar(20) not null,
+    version bigint,
+    constraint pk_books primary key (id),
+    -- ISBNの重複チェック・検索はこの一意制約のインデックスで行う
+    constraint uk_books_isbn unique (isbn),
+    constraint ck_books_status check (status in ('AVAILABLE', 'BORROWED'))
+);
+
+-- 一覧のキーセットページング（絞り込み条件 + id順）
+create index idx_books_status_id on books (status, id);
+create index idx_books_author_id on books (author, id);
+
+create table reviews (
+    id bigint not null,
+    book_id bigint not null,
+    content text not null,
+    rating integer not null,
+    created_at timestamp(6) not null,
+    constraint pk_reviews primary key (id),
+    constraint fk_reviews_book foreign key (book_id) references books (id),
+    constraint ck_reviews_rating check (rating between 1 and 5)
+);
+
+-- 書籍ごとのレビューを投稿日時順にページングする
+create index idx_reviews_book_id_created_at on reviews (book_id, created_at);
+-- 期間別ランキングの構築時に、直近のレビューだけを読み込む
+create index idx_reviews_created_at on reviews (created_at);
+
+create table book_rating_stats (
+    book_id bigint not null,
+    review_count bigint not null,
+    rating_sum bigint not null,
+    star1 bigint not null,
+    star2 bigint not null,
+    star3 bigint not null,
+    star4 bigint not null,
+    star5 bigint not null,
+    constraint pk_book_rating_stats primary key (book_id)
+);
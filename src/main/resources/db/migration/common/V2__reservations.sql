@@ -0,0 +1,23 @@
+-- 貸出中の書籍の予約（書籍ごとの順番待ちと、返却後の取り置き）
+
+create sequence reservations_seq start with 1 increment by 50;
+
+create table reservations (
+    id bigint not null,
+    book_id bigint not null,
+    status varchar(20) not null,
+    created_at timestamp(6) not null,
+    hold_expires_at timestamp(6),
+    constraint pk_reservations primary key (id),
+    constraint fk_reservations_book foreign key (book_id) references books (id),
+    constraint ck_reservations_status check (status in ('WAITING', 'HELD', 'FULFILLED', 'CANCELLED', 'EXPIRED'))
+);
+
+-- 書籍ごとの順番待ちの先頭・順番を求める
+create index idx_reservations_book_status_id on reservations (book_id, status, id);
+-- 期限切れの取り置きを探す
+create index idx_reservations_status_expires on reservations (status, hold_expires_at);
+
+-- 取り置き中（RESERVED）を書籍のステータスに加える
+alter table books drop constraint ck_books_status;
+alter table books add constraint ck_books_status check (status in ('AVAILABLE', 'BORROWED', 'RESERVED'));
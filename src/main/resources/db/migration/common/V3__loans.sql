@@ -0,0 +1,27 @@
+-- 貸出の履歴と、書籍ごと・日ごとの貸出の集計値
+
+create sequence loans_seq start with 1 increment by 50;
+
+-- 貸出ごとに1行を追記し、返却時に returned_at だけを埋める
+create table loans (
+    id bigint not null,
+    book_id bigint not null,
+    borrowed_at timestamp(6) not null,
+    returned_at timestamp(6),
+    constraint pk_loans primary key (id),
+    constraint fk_loans_book foreign key (book_id) references books (id)
+);
+
+-- 返却時に書籍の貸出中の履歴を探す
+create index idx_loans_book_returned on loans (book_id, returned_at);
+
+-- 貸出・返却のたびに加算する日次の集計値（期間の集計は履歴を走査せずにこの表から読む）
+create table book_loan_daily (
+    book_id bigint not null,
+    loan_date date not null,
+    borrow_count bigint not null,
+    return_count bigint not null,
+    returned_loan_seconds bigint not null,
+    on_loan_seconds bigint not null,
+    constraint pk_book_loan_daily primary key (book_id, loan_date)
+);
@@ -0,0 +1,14 @@
+-- 同じタイトルの複数のコピー（書籍1行に所蔵数・貸出可能数・取り置き数を持つ）
+
+alter table books add column copies integer default 1 not null;
+alter table books add column available_copies integer default 1 not null;
+alter table books add column held_copies integer default 0 not null;
+
+-- これまでの書籍は1冊ずつ。ステータスからコピー数を決める
+update books set
+    available_copies = case when status = 'AVAILABLE' then 1 else 0 end,
+    held_copies = case when status = 'RESERVED' then 1 else 0 end;
+
+-- 貸出・返却の条件付きUPDATEに加え、DBでも貸出可能数が負にならないことを保証する
+alter table books add constraint ck_books_copies
+    check (available_copies >= 0 and held_copies >= 0 and available_copies + held_copies <= copies);
@@ -0,0 +1,3 @@
+-- 評価の集計値の版（集計値が変わるたびに増える）
+-- 書籍の version とあわせて、条件付きGETの ETag を全インスタンス・全書き込み経路で同じ値にするために使う
+alter table book_rating_stats add column version bigint default 0 not null;
@@ -0,0 +1,2 @@
+-- タイトルの前方一致（title like 'xxx%'）用
+create index idx_books_title on books (title);
@@ -0,0 +1,3 @@
+-- タイトルの前方一致（title like 'xxx%'）用
+-- 照合順序が C 以外のDBでは、通常のインデックスは LIKE に使われないため演算子クラスを指定する
+create index idx_books_title on books (title varchar_pattern_ops);
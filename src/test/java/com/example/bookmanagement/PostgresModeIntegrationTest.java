@@ -0,0 +1,95 @@
+package com.example.bookmanagement;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.bookmanagement.controller.response.BookPageResponse;
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.BulkImportResultResponse;
+import com.example.bookmanagement.controller.response.RankingEntryResponse;
+import com.example.bookmanagement.service.BookBulkImportService;
+import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.BookRatingStatsRebuildJob;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Metric;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Window;
+import com.example.bookmanagement.service.ranking.BookLeaderboardService;
+
+/**
+ * prod プロファイル（Flyway のマイグレーション + ddl-auto: validate）を、PostgreSQL 互換モードのH2で起動して主要な操作を確認する
+ * PostgreSQL ドライバ用の接続設定は H2 では使えないため、IGNORE_UNKNOWN_SETTINGS で無視させる
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:pgmode;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;IGNORE_UNKNOWN_SETTINGS=TRUE",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=" })
+@ActiveProfiles("prod")
+class PostgresModeIntegrationTest {
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private BookBulkImportService bookBulkImportService;
+
+	@Autowired
+	private BookRatingStatsRebuildJob bookRatingStatsRebuildJob;
+
+	@Autowired
+	private BookLeaderboardService bookLeaderboardService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("prod：マイグレーションで作ったテーブルに対して、登録・貸出・レビュー・一覧・一括登録・集計が動くこと")
+	void prodProfile_migratedSchema() throws Exception {
+		// マイグレーションが共通とH2固有の両方とも適用されていること
+		assertThat(jdbcTemplate.queryForList("select version from flyway_schema_history where version is not null order by installed_rank", String.class))
+			.containsExactly("1", "1.1", "2", "3", "4", "5");
+
+		// 登録・貸出・レビュー
+		BookResponse book = bookDomainService.registerBook("本番構成の確認", "著者P", "9784100000001");
+		bookDomainService.borrowBook(book.id());
+		for (int i = 0; i < 3; i++) {
+			bookDomainService.addReview(book.id(), "レビュー" + i, 4);
+		}
+		BookWithReviewsResponse firstPage = bookDomainService.getBookWithReviews(book.id(), null, 2);
+		BookWithReviewsResponse secondPage = bookDomainService.getBookWithReviews(book.id(), firstPage.nextReviewCursor(), 2);
+		assertThat(firstPage.status()).isEqualTo("BORROWED");
+		assertThat(firstPage.reviews()).hasSize(2);
+		assertThat(secondPage.reviews()).hasSize(1);
+
+		// 一括登録（シーケンス + バッチINSERT）と一覧の絞り込み
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 120; i++) {
+			ndjson.append(String.format("{\"title\":\"前方一致%03d\",\"author\":\"著者P\",\"isbn\":\"97841%08d\"}%n", i, i + 10));
+		}
+		List<BulkImportResultResponse> results = new ArrayList<>();
+		bookBulkImportService.importBooks(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+				BookBulkImportService.Format.NDJSON, results::add);
+		assertThat(results).extracting(BulkImportResultResponse::result).containsOnly("ACCEPTED");
+		BookPageResponse page = bookDomainService.findAll(new BookSearchCommand(null, 100, null, "著者P", "前方一致"));
+		assertThat(page.books()).hasSize(100);
+		assertThat(page.nextCursor()).isNotNull();
+
+		// 集計の再計算とランキングの再構築（日付へのキャストを含む集計クエリ）
+		assertThat(bookRatingStatsRebuildJob.rebuildAll()).isEqualTo(121);
+		bookLeaderboardService.start();
+		assertThat(bookLeaderboardService.top(Metric.MOST_REVIEWED, Window.LAST_7_DAYS, 10).books())
+			.extracting(RankingEntryResponse::id)
+			.containsExactly(book.id());
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.bookmanagement.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Test
+	@DisplayName("メトリクス：リクエストごとのSQL回数・サービスの処理時間・貸出の競合が記録され、Prometheus形式で取得できること")
+	void metrics_recordedAndScraped() throws Exception {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("メトリクス", "著者M", "9784900000001");
+		bookDomainService.borrowBook(book.id());
+
+		// WHEN
+		mockMvc.perform(get("/api/books/" + book.id() + "/bookWithReviews")).andExpect(status().isOk());
+		mockMvc.perform(patch("/api/books/" + book.id() + "/borrow")).andExpect(status().isConflict());
+
+		// THEN
+		DistributionSummary statements = meterRegistry.get("book.sql.statements")
+				.tags("uri", "/api/books/{id}/bookWithReviews", "method", "GET")
+				.summary();
+		// 条件付きGETの版の確認（主キーで1行）と、書籍・レビューの読み込み（1文）
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.totalAmount()).isEqualTo(2);
+		assertThat(meterRegistry.get("book.service").tags("method", "getBookWithReviews").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("book.loan.conflicts").tags("operation", "borrow", "reason", "state").counter().count())
+				.isGreaterThanOrEqualTo(1);
+
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("book_sql_time_seconds_bucket")))
+			.andExpect(content().string(containsString("hikaricp_connections_active")));
+	}
+}
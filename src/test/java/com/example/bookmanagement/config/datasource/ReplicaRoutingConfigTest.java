@@ -0,0 +1,113 @@
+package com.example.bookmanagement.config.datasource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+import jakarta.servlet.http.Cookie;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+/**
+ * 読み書きの振り分けを、プライマリとレプリカに別々のH2を使って確認する
+ * レプリカへの複製は行わないため、レプリカにだけ異なる内容の行を入れておき、どちらから読んだかを見分ける
+ * 書き込んだクライアントの判定は、書き込みのレスポンスに付くクッキーで行う
+ * 接続できないレプリカも1つ指定し、読み込み先から外されること（エラーにならないこと）も確認する
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rwprimary",
+		"book.datasource.read-your-writes-window=2s",
+		"book.cache.enabled=false" })
+@AutoConfigureMockMvc
+class ReplicaRoutingConfigTest {
+
+	private static final String REPLICA_URL = "jdbc:h2:mem:rwreplica;DB_CLOSE_DELAY=-1";
+	private static final String UNREACHABLE_URL = "jdbc:h2:tcp://localhost:1/none";
+
+	private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@DynamicPropertySource
+	static void replicaProperties(DynamicPropertyRegistry registry) {
+		// レプリカのスキーマは prod と同じマイグレーションで作る
+		Flyway.configure()
+				.dataSource(REPLICA_URL, "sa", "")
+				.locations("classpath:db/migration/common", "classpath:db/migration/h2")
+				.load()
+				.migrate();
+		registry.add("book.datasource.replica.urls", () -> UNREACHABLE_URL + "," + REPLICA_URL);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private ReplicaDataSource replicaDataSource;
+
+	@Test
+	@DisplayName("振り分け：書き込んだクライアントだけが一定時間プライマリから読み、他のクライアントと時間が経った後はレプリカから読むこと")
+	void readOnly_routesWriterToPrimaryWithinWindow() throws Exception {
+		// GIVEN: プライマリに登録した書籍の、更新前の内容がレプリカにある（反映が遅れている）
+		BookResponse book = bookDomainService.registerBook("プライマリの書籍", "著者R", "9784600000001");
+		replica.update("insert into books (id, title, author, isbn, status, version) values (?, ?, ?, ?, 'AVAILABLE', 0)",
+				book.id(), "レプリカの書籍", "著者R", "9784600000001");
+
+		// WHEN: 貸し出したクライアントには書き込みの印のクッキーが返る
+		Cookie lastWrite = mockMvc.perform(patch("/api/books/" + book.id() + "/borrow"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+		assertThat(lastWrite).isNotNull();
+
+		// THEN: 印のあるクライアントはプライマリから読み、貸出中と返る
+		mockMvc.perform(get("/api/books/" + book.id()).cookie(lastWrite))
+			.andExpect(jsonPath("$.status").value("BORROWED"));
+		mockMvc.perform(get("/api/books/" + book.id() + "/bookWithReviews").cookie(lastWrite))
+			.andExpect(jsonPath("$.title").value("プライマリの書籍"));
+
+		// THEN: 印のないクライアントは、同じ書籍でもレプリカから読む
+		mockMvc.perform(get("/api/books/" + book.id()))
+			.andExpect(jsonPath("$.title").value("レプリカの書籍"))
+			.andExpect(jsonPath("$.status").value("AVAILABLE"));
+
+		// THEN: 書き込みから時間が経てば、印のあるクライアントもレプリカから読む
+		Thread.sleep(2100);
+		mockMvc.perform(get("/api/books/" + book.id()).cookie(lastWrite))
+			.andExpect(jsonPath("$.title").value("レプリカの書籍"));
+
+		// 接続できないレプリカは読み込み先から外されている
+		replicaDataSource.checkHealth();
+		assertThat(replicaDataSource.healthyCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("ユーザーを指定した接続はプライマリから払い出されること")
+	void getConnectionWithCredentials_delegatesToPrimary() throws Exception {
+		// Hikari はユーザーの指定に対応しないため、指定に対応するプライマリで確かめる
+		ReplicaDataSource dataSource = new ReplicaDataSource(new DriverManagerDataSource(REPLICA_URL), List.of());
+
+		try (Connection connection = dataSource.getConnection("sa", "");
+				ResultSet rs = connection.createStatement().executeQuery("select count(*) from books")) {
+			assertThat(rs.next()).isTrue();
+			assertThat(connection.getMetaData().getURL()).startsWith("jdbc:h2:mem:rwreplica");
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.bookmanagement.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"book.rate-limit.capacity=3",
+		"book.rate-limit.refill-per-second=0.01",
+		"book.rate-limit.api-keys=limited,other,exporter"
+})
+@AutoConfigureMockMvc
+class RateLimitInterceptorTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("レート制限：容量を超えたクライアントには429とRetry-Afterが返り、他のクライアントは影響を受けないこと")
+	void exceedingClient_throttled() throws Exception {
+		// GIVEN: APIキー limited が容量分のリクエストを使い切る
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/books").header("X-API-Key", "limited")).andExpect(status().isOk());
+		}
+
+		// WHEN & THEN
+		mockMvc.perform(get("/api/books").header("X-API-Key", "limited"))
+			.andExpect(status().isTooManyRequests())
+			.andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))
+			.andExpect(jsonPath("$.status").value(429));
+		mockMvc.perform(get("/api/books").header("X-API-Key", "other")).andExpect(status().isOk());
+
+		assertThat(meterRegistry.get("book.ratelimit.throttled").tag("client", "api_key").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("レート制限：登録されていないAPIキーはIPアドレスで制限され、キーを変えても回避できないこと")
+	void unknownApiKeys_limitedByAddress() throws Exception {
+		// GIVEN: 同じIPアドレスから毎回違う未登録のキーで容量分のリクエストを送る
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(get("/api/books").header("X-API-Key", UUID.randomUUID().toString())
+					.with(request -> {
+						request.setRemoteAddr("192.0.2.21");
+						return request;
+					}))
+				.andExpect(status().isOk());
+		}
+
+		// WHEN & THEN
+		mockMvc.perform(get("/api/books").header("X-API-Key", UUID.randomUUID().toString())
+				.with(request -> {
+					request.setRemoteAddr("192.0.2.21");
+					return request;
+				}))
+			.andExpect(status().isTooManyRequests());
+		assertThat(meterRegistry.get("book.ratelimit.throttled").tag("client", "ip").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("レート制限：ストリームで返すエクスポートは、非同期の再ディスパッチを含めて1リクエスト分だけ数えること")
+	void export_consumesSingleToken() throws Exception {
+		// GIVEN: エクスポートを2回（それぞれ非同期の再ディスパッチまで）行う
+		for (int i = 0; i < 2; i++) {
+			MvcResult export = mockMvc.perform(get("/api/books/export").header("X-API-Key", "exporter"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+			mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+		}
+
+		// WHEN & THEN: 容量3のうち1回分が残っている
+		mockMvc.perform(get("/api/books").header("X-API-Key", "exporter")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/books").header("X-API-Key", "exporter")).andExpect(status().isTooManyRequests());
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.bookmanagement.config.ratelimit;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	@DisplayName("容量分までは取り出せ、尽きたら次の1つが貯まるまでの待ち時間が返り、時間が経つと補充されること")
+	void tryAcquire_refillsOverTime() {
+		// GIVEN: 容量2、1秒に1つ補充
+		TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+		// WHEN & THEN
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+		assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+		assertThat(bucket.tryAcquire(SECOND)).isZero();
+		// 長く空いても容量を超えては貯まらない
+		assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+		assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+		assertThat(bucket.tryAcquire(100 * SECOND)).isPositive();
+	}
+
+	@Test
+	@DisplayName("同時に取り出しても、容量を超えて取り出されないこと")
+	void tryAcquire_concurrent_neverExceedsCapacity() throws Exception {
+		// GIVEN: 容量100、補充はほぼなし
+		TokenBucket bucket = new TokenBucket(100, 1e-9, System.nanoTime());
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		// WHEN: 8スレッドが100回ずつ取り出す
+		List<Future<Integer>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					int acquired = 0;
+					for (int j = 0; j < 100; j++) {
+						if (bucket.tryAcquire(System.nanoTime()) == 0) {
+							acquired++;
+						}
+					}
+					return acquired;
+				}));
+			}
+			start.countDown();
+
+			// THEN
+			int total = 0;
+			for (Future<Integer> result : results) {
+				total += result.get(10, TimeUnit.SECONDS);
+			}
+			assertThat(total).isEqualTo(100);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
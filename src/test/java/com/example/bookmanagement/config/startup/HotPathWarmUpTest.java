@@ -0,0 +1,60 @@
+package com.example.bookmanagement.config.startup;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.reservation.ReservationExpiryJob;
+
+@SpringBootTest(properties = {
+		"spring.main.lazy-initialization=true",
+		"book.warm-up.enabled=true",
+		"book.warm-up.iterations=3" })
+class HotPathWarmUpTest {
+
+	@Autowired
+	private HotPathWarmUp hotPathWarmUp;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private ConfigurableApplicationContext applicationContext;
+
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+
+	@Test
+	@DisplayName("ウォームアップ：指定した回数だけ読み取り系の処理を実行し、データは変更しないこと")
+	void warmUp_runsReadOnlyHotPaths() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("ウォームアップ1", "著者W", "9784750000001");
+
+		// WHEN
+		int completed = hotPathWarmUp.warmUp();
+
+		// THEN
+		assertThat(completed).isEqualTo(3);
+		assertThat(bookDomainService.findById(book.id()).status()).isEqualTo("AVAILABLE");
+		assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+	}
+
+	@Test
+	@DisplayName("遅延初期化：@Scheduled を持つBeanは遅延させず、起動時に作られていること")
+	void lazyInitialization_keepsScheduledBeansEager() {
+		String[] jobs = applicationContext.getBeanNamesForType(ReservationExpiryJob.class, false, false);
+
+		assertThat(jobs).singleElement()
+			.satisfies(name -> assertThat(applicationContext.getBeanFactory().containsSingleton(name)).isTrue());
+		assertThat(StartupConfig.hasScheduledMethod(ReservationExpiryJob.class)).isTrue();
+		assertThat(StartupConfig.hasScheduledMethod(HotPathWarmUp.class)).isFalse();
+	}
+}
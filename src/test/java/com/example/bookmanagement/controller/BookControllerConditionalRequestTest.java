@@ -0,0 +1,105 @@
+package com.example.bookmanagement.controller;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerConditionalRequestTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("条件付きGET：書籍が変わっていなければ304、レビュー投稿後は新しいETagで200が返ること")
+	void bookWithReviews_notModifiedUntilReviewAdded() throws Exception {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("条件付きGET", "著者E", "9784800000001");
+		String url = "/api/books/" + book.id() + "/bookWithReviews";
+		String etag = mockMvc.perform(get(url))
+			.andExpect(status().isOk())
+			.andExpect(header().exists(HttpHeaders.ETAG))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// WHEN & THEN: 変更がなければ本文なしの304
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+
+		// WHEN & THEN: レビューが増えると版が進み、新しい内容が返る
+		bookDomainService.addReview(book.id(), "版が進む", 5);
+		String newEtag = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.reviews[0].content").value("版が進む"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(newEtag).isNotEqualTo(etag);
+		mockMvc.perform(get("/api/books/" + book.id()).header(HttpHeaders.IF_NONE_MATCH, newEtag))
+			.andExpect(status().isNotModified());
+	}
+
+	@Test
+	@DisplayName("条件付きGET：イベントを発行しない経路（別インスタンス・リアクティブ版・SQLの直接実行）で書籍が変わっても、304ではなく200が返ること")
+	void book_changedOutsideThisInstance_notStale() throws Exception {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("条件付きGET3", "著者E", "9784800000003");
+		String url = "/api/books/" + book.id();
+		String etag = mockMvc.perform(get(url))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// WHEN: このインスタンスを通さずに版を進める
+		jdbcTemplate.update("update books set version = version + 1 where id = ?", book.id());
+
+		// THEN
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	@DisplayName("条件付きGET：存在しない書籍は、どのETagを送っても304ではなく見つからないエラーが返ること")
+	void book_notFound_neverNotModified() throws Exception {
+		mockMvc.perform(get("/api/books/" + Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "W/\"0-0\", *"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("指定されたIDの本が見つかりません: " + Long.MAX_VALUE));
+	}
+
+	@Test
+	@DisplayName("条件付きGET：一覧は書籍の登録後に304ではなく200が返ること")
+	void books_notModifiedUntilBookRegistered() throws Exception {
+		// GIVEN
+		String etag = mockMvc.perform(get("/api/books"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+
+		// WHEN
+		bookDomainService.registerBook("一覧の版", "著者E", "9784800000002");
+
+		// THEN
+		mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.bookmanagement.controller;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.ReservationResponse;
+import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.reservation.ReservationService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerCopiesTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Test
+	@DisplayName("複数コピー：コピー数を指定して登録すると、残りがある間は貸出可能のままであること")
+	void createBook_withCopies_staysAvailableUntilLastCopy() throws Exception {
+		// GIVEN
+		String created = mockMvc.perform(post("/api/books")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"複数コピー1\",\"author\":\"著者C\",\"isbn\":\"9784740000001\",\"copies\":2}"))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.copies").value(2))
+			.andExpect(jsonPath("$.availableCopies").value(2))
+			.andReturn().getResponse().getContentAsString();
+		Number id = JsonPath.read(created, "$.id");
+
+		// WHEN & THEN: 1冊目を借りてもまだ貸出可能、2冊目で貸出中になる
+		mockMvc.perform(patch("/api/books/" + id + "/borrow"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.status").value("AVAILABLE"))
+			.andExpect(jsonPath("$.availableCopies").value(1));
+		mockMvc.perform(patch("/api/books/" + id + "/borrow"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.status").value("BORROWED"))
+			.andExpect(jsonPath("$.availableCopies").value(0));
+		mockMvc.perform(patch("/api/books/" + id + "/borrow"))
+			.andExpect(status().isConflict());
+	}
+
+	@Test
+	@DisplayName("コピー追加：予約待ちがあれば追加したコピーが先頭の予約に取り置かれること")
+	void addCopies_handsOffToWaitingReservation() throws Exception {
+		// GIVEN: 1冊しかない本が貸出中で、予約が1件ある
+		BookResponse book = bookDomainService.registerBook("複数コピー2", "著者C", "9784740000002");
+		bookDomainService.borrowBook(book.id());
+		ReservationResponse reservation = reservationService.reserve(book.id());
+
+		// WHEN & THEN: 2冊追加すると1冊は取り置き、1冊は貸出可能になる
+		mockMvc.perform(post("/api/books/" + book.id() + "/copies")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"count\":2}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.copies").value(3))
+			.andExpect(jsonPath("$.availableCopies").value(1))
+			.andExpect(jsonPath("$.status").value("AVAILABLE"));
+
+		assertThat(reservationService.getReservation(book.id(), reservation.id()).status()).isEqualTo("HELD");
+	}
+
+	@Test
+	@DisplayName("コピー追加：追加数が1未満なら400が返ること")
+	void addCopies_invalidCount_badRequest() throws Exception {
+		BookResponse book = bookDomainService.registerBook("複数コピー3", "著者C", "9784740000003");
+
+		mockMvc.perform(post("/api/books/" + book.id() + "/copies")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"count\":0}"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errors.count").exists());
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.bookmanagement.controller;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.domain.repository.BookFields;
+import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookSummaryView;
+import com.example.bookmanagement.service.BookDomainService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * fields による項目の絞り込み、バイナリ形式（CBOR）、圧縮を、実際のHTTP接続で確認する
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookControllerEncodingTest {
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private final ObjectMapper json = new ObjectMapper();
+
+	@Test
+	@DisplayName("fields：一覧は指定した項目とカーソルだけが返り、指定しなかった項目はSQLでも読み込まないこと")
+	void books_fields_narrowOutputAndSelect() throws Exception {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("項目の絞り込み", "著者C", "9785100000001");
+
+		// WHEN
+		JsonNode page = json.readTree(get("/api/books?size=1&cursor=" + (book.id() - 1) + "&fields=id,title", "application/json").body());
+
+		// THEN
+		JsonNode first = page.get("books").get(0);
+		assertThat(first.get("title").asText()).isEqualTo("項目の絞り込み");
+		assertThat(iterable(first.fieldNames())).containsExactly("id", "title");
+		assertThat(page.has("nextCursor")).isTrue();
+
+		List<BookSummaryView> rows = bookRepository.findPage(book.id() - 1, 1, null, null, null, BookFields.parse("title", false));
+		assertThat(rows.get(0).title()).isEqualTo("項目の絞り込み");
+		assertThat(rows.get(0).author()).isNull();
+		assertThat(rows.get(0).reviewCount()).isNull();
+	}
+
+	@Test
+	@DisplayName("fields：詳細はレビューの指定した項目だけが返り、本文を指定しなければ本文は読み込まれないこと")
+	void bookWithReviews_fields_withoutContent() throws Exception {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("本文なし", "著者C", "9785100000002");
+		bookDomainService.addReview(book.id(), "長いレビュー本文", 4);
+
+		// WHEN
+		JsonNode result = json.readTree(get("/api/books/" + book.id() + "/bookWithReviews?fields="
+				+ URLEncoder.encode("title,reviews.rating", StandardCharsets.UTF_8), "application/json").body());
+
+		// THEN
+		assertThat(iterable(result.fieldNames())).containsExactlyInAnyOrder("title", "reviews", "nextReviewCursor");
+		assertThat(iterable(result.get("reviews").get(0).fieldNames())).containsExactly("rating");
+		assertThat(bookDomainService.getBookWithReviews(book.id(), null, 20, BookFields.parse("reviews.rating", true))
+				.reviews().get(0).content()).isNull();
+	}
+
+	@Test
+	@DisplayName("fields：指定できない項目を指定した場合、400が返ること")
+	void fields_unknown_badRequest() throws Exception {
+		assertThat(get("/api/books?fields=id,password", "application/json").statusCode()).isEqualTo(400);
+	}
+
+	@Test
+	@DisplayName("CBOR：Accept に application/cbor を指定すると、同じ内容がCBORで返ること")
+	void books_cbor() throws Exception {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("CBORの本", "著者C", "9785100000003");
+
+		// WHEN
+		HttpResponse<byte[]> response = get("/api/books/" + book.id(), "application/cbor");
+
+		// THEN
+		assertThat(response.headers().firstValue("Content-Type")).hasValue("application/cbor");
+		JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(response.body());
+		assertThat(decoded.get("title").asText()).isEqualTo("CBORの本");
+	}
+
+	@Test
+	@DisplayName("圧縮：閾値以上の大きさの一覧は、Accept-Encoding: gzip のクライアントに圧縮して返ること")
+	void books_gzip() throws Exception {
+		// GIVEN: 閾値（2KB）を超える一覧
+		for (int i = 0; i < 30; i++) {
+			bookDomainService.registerBook("圧縮の確認に使う少し長めのタイトル" + i, "著者C", "97851000001" + String.format("%02d", i));
+		}
+
+		// WHEN
+		HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books?size=100"))
+				.header("Accept", "application/json")
+				.header("Accept-Encoding", "gzip")
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+		// THEN
+		assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+		byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+		assertThat(body.length).isGreaterThan(response.body().length);
+		assertThat(json.readTree(body).get("books").size()).isGreaterThanOrEqualTo(30);
+	}
+
+	private HttpResponse<byte[]> get(String path, String accept) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Accept", accept)
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private static <T> Iterable<T> iterable(Iterator<T> iterator) {
+		return () -> iterator;
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.bookmanagement.controller;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.ReservationResponse;
+import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.loan.LoanHistoryService;
+import com.example.bookmanagement.service.reservation.ReservationService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerLoanBatchTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Autowired
+	private LoanHistoryService loanHistoryService;
+
+	@Test
+	@DisplayName("まとめて貸出：すべて貸出可能なら全件が貸出中になり、貸出の履歴も記録されること")
+	void checkout_allAvailable_borrowsAll() throws Exception {
+		// GIVEN
+		BookResponse first = bookDomainService.registerBook("まとめて貸出1", "著者M", "9784730000001");
+		BookResponse second = bookDomainService.registerBook("まとめて貸出2", "著者M", "9784730000002");
+
+		// WHEN & THEN: 重複したIDは1件として扱う
+		mockMvc.perform(post("/api/books/checkout")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(ids(second.id(), first.id(), first.id())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.processed").value(2))
+			.andExpect(jsonPath("$.rejected").value(0))
+			.andExpect(jsonPath("$.results[0].id").value(first.id()))
+			.andExpect(jsonPath("$.results[0].result").value("OK"))
+			.andExpect(jsonPath("$.results[1].status").value("BORROWED"))
+			.andExpect(jsonPath("$.results[1].availableCopies").value(0));
+
+		assertThat(bookDomainService.findById(first.id()).status()).isEqualTo("BORROWED");
+		assertThat(bookDomainService.findById(second.id()).status()).isEqualTo("BORROWED");
+		assertThat(loanHistoryService.getStats(first.id(), LocalDate.now(), LocalDate.now()).borrowCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("まとめて貸出：1件でも貸し出せなければ何も変更せず、書籍IDごとの理由付きで409が返ること")
+	void checkout_conflict_changesNothing() throws Exception {
+		// GIVEN: 1冊は貸出中、1冊は存在しない
+		BookResponse available = bookDomainService.registerBook("全件か無か1", "著者M", "9784730000003");
+		BookResponse borrowed = bookDomainService.registerBook("全件か無か2", "著者M", "9784730000004");
+		bookDomainService.borrowBook(borrowed.id());
+		long missing = Long.MAX_VALUE;
+
+		// WHEN & THEN
+		mockMvc.perform(post("/api/books/checkout")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(ids(available.id(), borrowed.id(), missing)))
+			.andExpect(status().isConflict())
+			.andExpect(jsonPath("$.status").value(409))
+			.andExpect(jsonPath("$.errors['" + borrowed.id() + "']").value("この本は既に貸出中です。"))
+			.andExpect(jsonPath("$.errors['" + missing + "']").value("指定されたIDの本が見つかりません: " + missing))
+			.andExpect(jsonPath("$.errors['" + available.id() + "']").doesNotExist());
+
+		// THEN: 貸出可能だった本も貸し出されていない
+		assertThat(bookDomainService.findById(available.id()).status()).isEqualTo("AVAILABLE");
+	}
+
+	@Test
+	@DisplayName("まとめて返却（partial）：返却できるものだけを返却し、予約のある本は取り置き中になること")
+	void checkin_partial_returnsWhatItCan() throws Exception {
+		// GIVEN: 貸出中2冊（うち1冊は予約あり）と、貸出可能な1冊
+		BookResponse reserved = bookDomainService.registerBook("まとめて返却1", "著者M", "9784730000005");
+		BookResponse borrowed = bookDomainService.registerBook("まとめて返却2", "著者M", "9784730000006");
+		BookResponse available = bookDomainService.registerBook("まとめて返却3", "著者M", "9784730000007");
+		mockMvc.perform(post("/api/books/checkout")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(ids(reserved.id(), borrowed.id())))
+			.andExpect(status().isOk());
+		ReservationResponse reservation = reservationService.reserve(reserved.id());
+
+		// WHEN & THEN
+		mockMvc.perform(post("/api/books/checkin")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[" + reserved.id() + "," + borrowed.id() + "," + available.id() + "],\"partial\":true}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.processed").value(2))
+			.andExpect(jsonPath("$.rejected").value(1))
+			.andExpect(jsonPath("$.results[0].status").value("RESERVED"))
+			.andExpect(jsonPath("$.results[0].availableCopies").value(0))
+			.andExpect(jsonPath("$.results[1].status").value("AVAILABLE"))
+			.andExpect(jsonPath("$.results[1].availableCopies").value(1))
+			.andExpect(jsonPath("$.results[2].result").value("CONFLICT"))
+			.andExpect(jsonPath("$.results[2].message").value("この書籍は既に返却されています。"));
+
+		assertThat(reservationService.getReservation(reserved.id(), reservation.id()).status()).isEqualTo("HELD");
+		assertThat(loanHistoryService.getStats(borrowed.id(), LocalDate.now(), LocalDate.now()).returnCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("まとめて貸出：IDが空なら400が返ること")
+	void checkout_emptyIds_badRequest() throws Exception {
+		mockMvc.perform(post("/api/books/checkout")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[]}"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.errors.ids").exists());
+	}
+
+	private static String ids(Long... ids) {
+		StringBuilder json = new StringBuilder("{\"ids\":[");
+		for (int i = 0; i < ids.length; i++) {
+			json.append(i == 0 ? "" : ",").append(ids[i]);
+		}
+		return json.append("]}").toString();
+	}
+}
@@ -0,0 +1,190 @@
+package com.example.bookmanagement.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.BulkImportResultResponse;
+import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
+import com.example.bookmanagement.domain.repository.BookRepository;
+
+@SpringBootTest(properties = "book.bulk-import.chunk-size=2")
+class BookBulkImportServiceTest {
+
+	@Autowired
+	private BookBulkImportService bookBulkImportService;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private BookRatingStatsRepository bookRatingStatsRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	@DisplayName("一括登録(NDJSON)：重複・入力不備・壊れた行だけがREJECTEDになり、結果が入力順に返ること")
+	void importBooks_ndjson_mixedRows() throws IOException {
+		// GIVEN: 既に登録済みのISBNを1件用意する
+		bookDomainService.registerBook("登録済み", "著者X", "9784200000001");
+		String input = """
+				{"title":"一括1","author":"著者B","isbn":"9784200000002"}
+				{"title":"一括2","author":"著者B","isbn":"9784200000001"}
+				{"title":"","author":"著者B","isbn":"9784200000003"}
+				{"title":"一括3",
+				{"title":"一括4","author":"著者B","isbn":"9784200000002"}
+				{"title":"一括5","author":"著者B","isbn":"9784200000004"}
+				""";
+
+		// WHEN
+		List<BulkImportResultResponse> results = importBooks(input, BookBulkImportService.Format.NDJSON);
+
+		// THEN
+		assertThat(results).extracting(BulkImportResultResponse::index).containsExactly(0, 1, 2, 3, 4, 5);
+		assertThat(results).extracting(BulkImportResultResponse::result)
+			.containsExactly("ACCEPTED", "REJECTED", "REJECTED", "REJECTED", "REJECTED", "ACCEPTED");
+		assertThat(results.get(1).message()).isEqualTo("既に登録済みのISBNです: 9784200000001");
+		assertThat(results.get(2).message()).isEqualTo("タイトルは必須です");
+		// 別チャンクにある同じISBN（コミット済み）も重複として扱われること
+		assertThat(results.get(4).message()).isEqualTo("既に登録済みのISBNです: 9784200000002");
+
+		// 登録された書籍には評価の集計行も作られていること
+		Long acceptedId = results.get(5).id();
+		assertThat(bookRepository.findById(acceptedId)).get()
+			.satisfies(book -> assertThat(book.getTitle()).isEqualTo("一括5"));
+		assertThat(bookRatingStatsRepository.existsById(acceptedId)).isTrue();
+	}
+
+	@Test
+	@DisplayName("一括登録(JSON配列)：要素を順に登録し、チャンクをまたいでも全件の結果が返ること")
+	void importBooks_jsonArray() throws IOException {
+		// GIVEN
+		String input = """
+				[
+				  {"title":"配列1","author":"著者C","isbn":"9784200000011"},
+				  {"title":"配列2","author":"著者C","isbn":"9784200000012"},
+				  {"title":"配列3","author":"著者C","isbn":"9784200000013"}
+				]
+				""";
+
+		// WHEN
+		List<BulkImportResultResponse> results = importBooks(input, BookBulkImportService.Format.JSON_ARRAY);
+
+		// THEN
+		assertThat(results).extracting(BulkImportResultResponse::result).containsOnly("ACCEPTED");
+		assertThat(results).extracting(BulkImportResultResponse::isbn)
+			.containsExactly("9784200000011", "9784200000012", "9784200000013");
+		assertThat(bookRepository.existsByIsbn("9784200000013")).isTrue();
+	}
+
+	@Test
+	@DisplayName("一括登録(JSON配列)：途中で構文が壊れている場合、それまでの行は登録され、壊れた位置がREJECTEDになること")
+	void importBooks_jsonArray_malformed() throws IOException {
+		// GIVEN
+		String input = """
+				[{"title":"壊れ1","author":"著者D","isbn":"9784200000021"}, {"title": ]
+				""";
+
+		// WHEN
+		List<BulkImportResultResponse> results = importBooks(input, BookBulkImportService.Format.JSON_ARRAY);
+
+		// THEN
+		assertThat(results).extracting(BulkImportResultResponse::result).containsExactly("ACCEPTED", "REJECTED");
+		assertThat(results.get(1).index()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("一括登録：コピー数を指定した行はそのコピー数で、省略した行は1冊で登録されること")
+	void importBooks_copies() throws IOException {
+		// GIVEN
+		String input = """
+				{"title":"複本1","author":"著者H","isbn":"9784200000041","copies":20}
+				{"title":"複本2","author":"著者H","isbn":"9784200000042"}
+				{"title":"複本3","author":"著者H","isbn":"9784200000043","copies":0}
+				""";
+
+		// WHEN
+		List<BulkImportResultResponse> results = importBooks(input, BookBulkImportService.Format.NDJSON);
+
+		// THEN
+		assertThat(results).extracting(BulkImportResultResponse::result).containsExactly("ACCEPTED", "ACCEPTED", "REJECTED");
+		assertThat(bookRepository.findById(results.get(0).id())).get().satisfies(book -> {
+			assertThat(book.getCopies()).isEqualTo(20);
+			assertThat(book.getAvailableCopies()).isEqualTo(20);
+		});
+		assertThat(bookRepository.findById(results.get(1).id())).get().satisfies(book -> {
+			assertThat(book.getCopies()).isEqualTo(1);
+			assertThat(book.getAvailableCopies()).isEqualTo(1);
+		});
+		assertThat(results.get(2).message()).isEqualTo("コピー数は1以上で入力してください");
+	}
+
+	@Test
+	@DisplayName("一括登録：重複チェックの後に同じISBNが別のリクエストから登録されても、チャンクをやり直して重複としてREJECTEDにすること")
+	void importBooks_concurrentSameIsbn_rejectedAsDuplicate() throws Exception {
+		// GIVEN: 別のトランザクションが同じISBNを登録し、まだコミットしていない（重複チェックからは見えない）
+		CountDownLatch inserted = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+		Thread other = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+			bookRepository.saveAndFlush(Book.builder()
+					.title("同時登録").author("著者G").isbn("9784200000031").status(Status.AVAILABLE).build());
+			inserted.countDown();
+			try {
+				commit.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		other.start();
+		assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+		String input = """
+				{"title":"同時1","author":"著者G","isbn":"9784200000031"}
+				{"title":"同時2","author":"著者G","isbn":"9784200000032"}
+				""";
+
+		// WHEN: 一括登録が INSERT で待っている間に、別のトランザクションがコミットする
+		CompletableFuture<List<BulkImportResultResponse>> importing = CompletableFuture.supplyAsync(() -> {
+			try {
+				return importBooks(input, BookBulkImportService.Format.NDJSON);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		Thread.sleep(500);
+		commit.countDown();
+		other.join();
+
+		// THEN: 同じISBNの行だけが重複になり、同じチャンクの他の行は登録される
+		List<BulkImportResultResponse> results = importing.get(10, TimeUnit.SECONDS);
+		assertThat(results).extracting(BulkImportResultResponse::result).containsExactly("REJECTED", "ACCEPTED");
+		assertThat(results.get(0).message()).isEqualTo("既に登録済みのISBNです: 9784200000031");
+		assertThat(bookRepository.existsByIsbn("9784200000032")).isTrue();
+	}
+
+	private List<BulkImportResultResponse> importBooks(String input, BookBulkImportService.Format format) throws IOException {
+		List<BulkImportResultResponse> results = new ArrayList<>();
+		bookBulkImportService.importBooks(
+				new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, results::add);
+		return results;
+	}
+}
@@ -0,0 +1,159 @@
+package com.example.bookmanagement.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.ReviewResponse;
+
+/**
+ * 発行されるSQLの本数を検証する（N+1 が再発しないように）
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookDomainServiceQueryCountTest {
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	@DisplayName("詳細取得：書籍とレビューの1ページ目が1本のSQLで取得できること")
+	void getBookWithReviews_firstPage_singleStatement() {
+		// GIVEN
+		Long bookId = registerBookWithReviews("9784000000001", 5);
+
+		// WHEN
+		statistics.clear();
+		BookWithReviewsResponse result = bookDomainService.getBookWithReviews(bookId, null, 2);
+
+		// THEN
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(result.reviews()).extracting(ReviewResponse::content).containsExactly("review-4", "review-3");
+		assertThat(result.nextReviewCursor()).isNotNull();
+	}
+
+	@Test
+	@DisplayName("詳細取得：カーソル指定の2ページ目以降も1本のSQLで取得でき、最終ページのカーソルはnullになること")
+	void getBookWithReviews_nextPages_singleStatement() {
+		// GIVEN
+		Long bookId = registerBookWithReviews("9784000000002", 5);
+		BookWithReviewsResponse firstPage = bookDomainService.getBookWithReviews(bookId, null, 2);
+
+		// WHEN: 残りのページを順に取得する
+		List<String> contents = new ArrayList<>();
+		Long cursor = firstPage.nextReviewCursor();
+		int pages = 0;
+		statistics.clear();
+		while (cursor != null) {
+			BookWithReviewsResponse page = bookDomainService.getBookWithReviews(bookId, cursor, 2);
+			page.reviews().forEach(r -> contents.add(r.content()));
+			cursor = page.nextReviewCursor();
+			pages++;
+		}
+
+		// THEN
+		assertThat(pages).isEqualTo(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+		assertThat(contents).containsExactly("review-2", "review-1", "review-0");
+	}
+
+	@Test
+	@DisplayName("詳細取得：レビューのない書籍・存在しない書籍も1本のSQLで判定できること")
+	void getBookWithReviews_noReviewsAndNotFound_singleStatement() {
+		// GIVEN
+		Long bookId = registerBookWithReviews("9784000000003", 0);
+
+		// WHEN & THEN: レビューなし
+		statistics.clear();
+		BookWithReviewsResponse result = bookDomainService.getBookWithReviews(bookId, null, 20);
+		assertThat(result.reviews()).isEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		// WHEN & THEN: 存在しない書籍
+		statistics.clear();
+		assertThatThrownBy(() -> bookDomainService.getBookWithReviews(Long.MAX_VALUE, null, 20))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("詳細取得：別の書籍のレビューをカーソルに指定すると、空のページではなくエラーになること")
+	void getBookWithReviews_cursorOfOtherBook_rejected() {
+		// GIVEN
+		Long bookId = registerBookWithReviews("9784000000006", 1);
+		Long otherBookId = registerBookWithReviews("9784000000007", 3);
+		Long otherCursor = bookDomainService.getBookWithReviews(otherBookId, null, 1).nextReviewCursor();
+
+		// WHEN & THEN
+		assertThatThrownBy(() -> bookDomainService.getBookWithReviews(bookId, otherCursor, 20))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("指定されたレビューのカーソルはこの本のものではありません: " + otherCursor);
+	}
+
+	@Test
+	@DisplayName("1件取得：2回目はキャッシュから返りSQLの発行もコネクションの取得もしないこと、レビュー追加のコミット後に破棄されること")
+	void findById_cachedUntilReviewAdded() {
+		// GIVEN
+		Long bookId = registerBookWithReviews("9784000000004", 0);
+		bookDomainService.findById(bookId);
+
+		// WHEN & THEN: キャッシュヒット
+		statistics.clear();
+		BookResponse cached = bookDomainService.findById(bookId);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getConnectCount()).isZero();
+		assertThat(cached.rating().reviewCount()).isZero();
+
+		// WHEN & THEN: レビュー追加後は読み直され、新しい集計値が返る
+		bookDomainService.addReview(bookId, "review", 4);
+		statistics.clear();
+		BookResponse reloaded = bookDomainService.findById(bookId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(reloaded.rating().reviewCount()).isEqualTo(1);
+		assertThat(reloaded.rating().averageRating()).isEqualTo(4.0);
+	}
+
+	@Test
+	@DisplayName("1件取得：貸出のコミット後はキャッシュが破棄され、新しいステータスが返ること")
+	void findById_evictedAfterBorrow() {
+		// GIVEN
+		Long bookId = registerBookWithReviews("9784000000005", 0);
+		assertThat(bookDomainService.findById(bookId).status()).isEqualTo("AVAILABLE");
+
+		// WHEN
+		bookDomainService.borrowBook(bookId);
+
+		// THEN
+		assertThat(bookDomainService.findById(bookId).status()).isEqualTo("BORROWED");
+	}
+
+	private Long registerBookWithReviews(String isbn, int reviewCount) {
+		BookResponse book = bookDomainService.registerBook("クエリ数検証", "著者Q", isbn);
+		for (int i = 0; i < reviewCount; i++) {
+			bookDomainService.addReview(book.id(), "review-" + i, 3);
+		}
+		return book.id();
+	}
+}
@@ -4,23 +4,53 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.example.bookmanagement.controller.response.BookPageResponse;
 import com.example.bookmanagement.controller.response.BookResponse;
 import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.ReviewResponse;
+import com.example.bookmanagement.domain.event.BookStatusChangedEvent;
+import com.example.bookmanagement.domain.event.ReviewAddedEvent;
 import com.example.bookmanagement.domain.model.Book;
+import com.example.bookmanagement.domain.model.BookRatingStats;
 import com.example.bookmanagement.domain.model.Review;
 import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookFields;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
 import com.example.bookmanagement.domain.repository.BookRepository;
+import com.example.bookmanagement.domain.repository.BookReviewRow;
+import com.example.bookmanagement.domain.repository.BookStatusView;
+import com.example.bookmanagement.domain.repository.BookSummaryView;
 import com.example.bookmanagement.domain.repository.ReviewRespository;
+import com.example.bookmanagement.service.command.BookSearchCommand;
+import com.example.bookmanagement.service.inventory.InventoryGate;
+import com.example.bookmanagement.service.loan.LoanHistoryService;
+import com.example.bookmanagement.service.reservation.ReservationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class BookDomainServiceTest {
@@ -28,50 +58,91 @@ class BookDomainServiceTest {
     private BookRepository bookRepository;
 	@Mock
 	private ReviewRespository reviewRespository;
+	@Mock
+	private BookRatingStatsRepository bookRatingStatsRepository;
+	@Mock
+	private ReservationService reservationService;
+	@Mock
+	private LoanHistoryService loanHistoryService;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@Spy
+	private BookCache bookCache = new BookCache(new ConcurrentMapCacheManager(BookCache.BOOKS, BookCache.BOOK_PAGES));
+	@Spy
+	private RecentWrites recentWrites = new RecentWrites(Duration.ofSeconds(5), List.of());
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	@Spy
+	private InventoryGate inventoryGate = new InventoryGate(4, Duration.ofMinutes(10), 1000);
 
     @InjectMocks
     private BookDomainService bookDomainService;
     
-    // 1. findAll（全件取得）
+    // 1. findAll（一覧取得）
     @Test
-    @DisplayName("全件取得：本が複数登録されている場合、リストが正しく返ってくること")
+    @DisplayName("一覧取得：本が複数登録されている場合、リストが正しく返ってくること")
     void findAll_success_multipleBooks() {
-    	// 1. GIVEN: 事前に複数のBookオブジェクト（Entity）を作成する
-        Book book1 = Book.builder()
-                .id(1L).title("Java入門").author("著者A").isbn("111-111").status(Status.AVAILABLE)
-                .build();
-        Book book2 = Book.builder()
-                .id(2L).title("Spring Boot解説").author("著者B").isbn("222-222").status(Status.BORROWED)
-                .build();
-        
-        // 作成した本をリストにまとめる
-        List<Book> bookList = List.of(book1,book2);
+    	// 1. GIVEN: 事前に複数の射影（BookSummaryView）を作成する
+    	BookSummaryView book1 = new BookSummaryView(1L, "Java入門", "著者A", "111-111", Status.AVAILABLE, 1, 1, 2L, 8L, 0L, 0L, 1L, 0L, 1L);
+    	BookSummaryView book2 = new BookSummaryView(2L, "Spring Boot解説", "著者B", "222-222", Status.BORROWED, 1, 0, 2L, 8L, 0L, 0L, 1L, 0L, 1L);
         
-        // リポジトリがこのリストを返すように設定
-        when(bookRepository.findAll()).thenReturn(bookList);
+        // リポジトリがこのリストを返すように設定（size + 1 件で問い合わせる）
+        when(bookRepository.findPage(null, 21, null, null, null, BookFields.ALL)).thenReturn(List.of(book1, book2));
         
-        List<BookResponse> returnList = bookDomainService.findAll();
+        // WHEN(実行)
+        BookPageResponse result = bookDomainService.findAll(new BookSearchCommand(null, 20, null, null, null));
         
-     	// WHEN(実行)
-        assertThat(returnList).hasSize(2);
-        assertThat(returnList.get(0).title()).isEqualTo("Java入門");
-        assertThat(returnList.get(1).title()).isEqualTo("Spring Boot解説");
+     	// THEN(検証)
+        assertThat(result.books()).hasSize(2);
+        assertThat(result.books().get(0).title()).isEqualTo("Java入門");
+        assertThat(result.books().get(1).title()).isEqualTo("Spring Boot解説");
+        assertThat(result.books().get(0).rating().averageRating()).isEqualTo(4.0);
+        assertThat(result.nextCursor()).isNull();
     	
-    	verify(bookRepository, times(1)).findAll();
+    	verify(bookRepository, times(1)).findPage(null, 21, null, null, null, BookFields.ALL);
+    	verify(bookRepository, never()).findAll();
     }
 
     @Test
-    @DisplayName("全件取得：本が1件も登録されていない場合、空のリストが返ってくること")
+    @DisplayName("一覧取得：本が1件も登録されていない場合、空のリストが返ってくること")
     void findAll_success_emptyList() {
     	// GIVENリポジトリが空のリストを返す
-    	when(bookRepository.findAll()).thenReturn(List.of());
+    	when(bookRepository.findPage(null, 21, null, null, null, BookFields.ALL)).thenReturn(List.of());
     	
     	// WHEN(実行)
-    	List<BookResponse> returnList = bookDomainService.findAll();
+    	BookPageResponse result = bookDomainService.findAll(new BookSearchCommand(null, 20, null, null, null));
     	
     	// THEN(検証)
-    	assertThat(returnList).isNotNull().isEmpty();
-    	verify(bookRepository, times(1)).findAll();
+    	assertThat(result.books()).isNotNull().isEmpty();
+    	assertThat(result.nextCursor()).isNull();
+    	verify(bookRepository, times(1)).findPage(null, 21, null, null, null, BookFields.ALL);
+    }
+
+    @Test
+    @DisplayName("一覧取得：次のページがある場合、最後の書籍のIDがnextCursorとして返ってくること")
+    void findAll_success_hasNextPage() {
+    	// GIVEN: size=2 に対して3件返ってくる（= 次ページあり）
+    	when(bookRepository.findPage(10L, 3, Status.AVAILABLE, "著者A", "Java", BookFields.ALL)).thenReturn(List.of(
+    			new BookSummaryView(11L, "Java入門", "著者A", "111-111", Status.AVAILABLE, 1, 1, 2L, 8L, 0L, 0L, 1L, 0L, 1L),
+    			new BookSummaryView(12L, "Java応用", "著者A", "222-222", Status.AVAILABLE, 1, 1, 2L, 8L, 0L, 0L, 1L, 0L, 1L),
+    			new BookSummaryView(13L, "Java実践", "著者A", "333-333", Status.AVAILABLE, 1, 1, 2L, 8L, 0L, 0L, 1L, 0L, 1L)));
+    	
+    	// WHEN
+    	BookPageResponse result = bookDomainService.findAll(new BookSearchCommand(10L, 2, Status.AVAILABLE, "著者A", "Java"));
+    	
+    	// THEN
+    	assertThat(result.books()).extracting(BookResponse::id).containsExactly(11L, 12L);
+    	assertThat(result.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("一覧取得：取得件数が上限を超える場合、IllegalArgumentExceptionが発生すること")
+    void findAll_fail_sizeTooLarge() {
+    	assertThatThrownBy(() -> bookDomainService.findAll(new BookSearchCommand(null, 101, null, null, null)))
+    		.isInstanceOf(IllegalArgumentException.class)
+    		.hasMessage("取得件数は1〜100の範囲で指定してください: 101");
+    	
+    	verify(bookRepository, never()).findPage(any(), anyInt(), any(), any(), any(), any());
     }
 
     // 2. registerBook（新規登録）
@@ -92,7 +163,10 @@ class BookDomainServiceTest {
     	// THEN(検証)
     	assertThat(result.title()).isEqualTo(title);
     	assertThat(result.status()).isEqualTo("AVAILABLE");
+    	assertThat(result.rating().reviewCount()).isZero();
+    	assertThat(result.rating().averageRating()).isNull();
     	verify(bookRepository,times(1)).save(any(Book.class));
+    	verify(bookRatingStatsRepository,times(1)).save(any(BookRatingStats.class));
     	
     }
 
@@ -163,6 +237,7 @@ class BookDomainServiceTest {
     	Book book = Book.builder()
     			.id(bookId)
     			.status(Status.BORROWED)
+    			.availableCopies(0)
     			.build();
     	
     	when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
@@ -175,6 +250,135 @@ class BookDomainServiceTest {
     	verify(bookRepository,never()).save(any(Book.class));
     }
 
+    @Test
+    @DisplayName("貸出処理(条件付きUPDATE)：貸出可能なら読み込み → 保存をせずにUPDATE 1文で貸出中になること")
+    void borrowBook_fastPath_success() {
+    	// GIVEN
+    	ReflectionTestUtils.setField(bookDomainService, "loanFastPath", true);
+    	Long bookId = 1L;
+    	when(bookRepository.findAvailableCopies(bookId)).thenReturn(Optional.of(1));
+    	when(bookRepository.borrowCopy(bookId)).thenReturn(1);
+    	when(bookRepository.findSummaryById(bookId)).thenReturn(Optional.of(
+    			new BookSummaryView(bookId, "Java入門", "著者A", "111-111", Status.AVAILABLE, 1, 1, 0L, 0L, 0L, 0L, 0L, 0L, 0L)));
+    	when(bookRepository.findStatusById(bookId)).thenReturn(Optional.of(
+    			new BookStatusView(bookId, Status.BORROWED, "著者A", 1, 0, 0)));
+    	
+    	// WHEN
+    	BookResponse result = bookDomainService.borrowBook(bookId);
+    	
+    	// THEN
+    	assertThat(result.status()).isEqualTo("BORROWED");
+    	verify(bookRepository, never()).save(any(Book.class));
+    	verify(eventPublisher, times(1)).publishEvent(new BookStatusChangedEvent(bookId, "著者A", Status.BORROWED));
+    	// 書き込みトランザクション内で読んだ値はキャッシュに載せないこと
+    	assertThat(bookCache.peekBook(bookId)).isNull();
+    }
+
+    @Test
+    @DisplayName("貸出処理(条件付きUPDATE)：キャッシュに載っている書籍は読み込まずにステータスだけ差し替えて返すこと")
+    void borrowBook_fastPath_cached() {
+    	// GIVEN
+    	ReflectionTestUtils.setField(bookDomainService, "loanFastPath", true);
+    	Long bookId = 1L;
+    	when(bookRepository.findSummaryById(bookId)).thenReturn(Optional.of(
+    			new BookSummaryView(bookId, "Java入門", "著者A", "111-111", Status.AVAILABLE, 1, 1, 1L, 4L, 0L, 0L, 0L, 1L, 0L)));
+    	bookDomainService.findById(bookId);
+    	when(bookRepository.findAvailableCopies(bookId)).thenReturn(Optional.of(1));
+    	when(bookRepository.borrowCopy(bookId)).thenReturn(1);
+    	when(bookRepository.findStatusById(bookId)).thenReturn(Optional.of(
+    			new BookStatusView(bookId, Status.BORROWED, "著者A", 1, 0, 0)));
+    	
+    	// WHEN
+    	BookResponse result = bookDomainService.borrowBook(bookId);
+    	
+    	// THEN
+    	assertThat(result.status()).isEqualTo("BORROWED");
+    	assertThat(result.rating().averageRating()).isEqualTo(4.0);
+    	verify(bookRepository, times(1)).findSummaryById(bookId);
+    	verify(bookRatingStatsRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("貸出処理(条件付きUPDATE)：すでに貸出中で更新件数が0の場合、IllegalStateExceptionが発生すること")
+    void borrowBook_fastPath_conflict() {
+    	// GIVEN
+    	ReflectionTestUtils.setField(bookDomainService, "loanFastPath", true);
+    	Long bookId = 1L;
+    	when(bookRepository.findAvailableCopies(bookId)).thenReturn(Optional.of(1));
+    	when(bookRepository.borrowCopy(bookId)).thenReturn(0);
+    	when(bookRepository.existsById(bookId)).thenReturn(true);
+    	
+    	// WHEN & THEN
+    	assertThatThrownBy(() -> bookDomainService.borrowBook(bookId))
+    		.isInstanceOf(IllegalStateException.class)
+    		.hasMessage("この本は既に貸出中です。");
+    	verify(bookRepository, never()).findById(any());
+    	assertThat(meterRegistry.counter("book.loan.conflicts", "operation", "borrow", "reason", "state").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("貸出処理(条件付きUPDATE)：本が存在せず更新件数が0の場合、IllegalArgumentExceptionが発生すること")
+    void borrowBook_fastPath_notFound() {
+    	// GIVEN
+    	ReflectionTestUtils.setField(bookDomainService, "loanFastPath", true);
+    	Long bookId = 99L;
+    	when(bookRepository.findAvailableCopies(bookId)).thenReturn(Optional.empty());
+    	
+    	// WHEN & THEN
+    	assertThatThrownBy(() -> bookDomainService.borrowBook(bookId))
+    		.isInstanceOf(IllegalArgumentException.class)
+    		.hasMessage("指定されたIDの本が見つかりません: " + bookId);
+    }
+
+    @Test
+    @DisplayName("貸出処理(条件付きUPDATE)：貸出可能なコピーが残っていなければ、UPDATEを実行せずにIllegalStateExceptionが発生すること")
+    void borrowBook_fastPath_noCopiesLeft() {
+    	// GIVEN
+    	ReflectionTestUtils.setField(bookDomainService, "loanFastPath", true);
+    	Long bookId = 1L;
+    	when(bookRepository.findAvailableCopies(bookId)).thenReturn(Optional.of(0));
+    	
+    	// WHEN & THEN
+    	assertThatThrownBy(() -> bookDomainService.borrowBook(bookId))
+    		.isInstanceOf(IllegalStateException.class)
+    		.hasMessage("この本は既に貸出中です。");
+    	verify(bookRepository, never()).borrowCopy(any());
+    	assertThat(meterRegistry.counter("book.loan.conflicts", "operation", "borrow", "reason", "state").count()).isEqualTo(1);
+    }
+
+    // 1-3. findById（1件取得）
+    @Test
+    @DisplayName("1件取得：2回目以降はキャッシュから返り、DBへは問い合わせないこと")
+    void findById_success_cached() {
+    	// GIVEN
+    	Long bookId = 1L;
+    	when(bookRepository.findSummaryById(bookId)).thenReturn(Optional.of(
+    			new BookSummaryView(bookId, "Java入門", "著者A", "111-111", Status.AVAILABLE, 1, 1, 2L, 8L, 0L, 0L, 1L, 0L, 1L)));
+    	
+    	// WHEN
+    	BookResponse first = bookDomainService.findById(bookId);
+    	BookResponse second = bookDomainService.findById(bookId);
+    	
+    	// THEN
+    	assertThat(second).isEqualTo(first);
+    	assertThat(second.rating().averageRating()).isEqualTo(4.0);
+    	verify(bookRepository, times(1)).findSummaryById(bookId);
+    }
+
+    @Test
+    @DisplayName("1件取得：存在しないIDの場合、IllegalArgumentExceptionが発生しキャッシュには載らないこと")
+    void findById_fail_notFound() {
+    	// GIVEN
+    	Long bookId = 99L;
+    	when(bookRepository.findSummaryById(bookId)).thenReturn(Optional.empty());
+    	
+    	// WHEN & THEN
+    	assertThatThrownBy(() -> bookDomainService.findById(bookId))
+    		.isInstanceOf(IllegalArgumentException.class)
+    		.hasMessage("指定されたIDの本が見つかりません: " + bookId);
+    	assertThat(bookCache.peekBook(bookId)).isNull();
+    }
+
     // 4. returnBook（返却処理）
     @Test
     @DisplayName("返却処理：存在するIDかつ貸出中の本の場合、ステータスがAVAILABLEに戻ること")
@@ -184,6 +388,7 @@ class BookDomainServiceTest {
     	Book book = Book.builder()
     			.id(bookId)
     			.status(Status.BORROWED)
+    			.availableCopies(0)
     			.build();
     	
     	when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
@@ -198,6 +403,32 @@ class BookDomainServiceTest {
 
     }
 
+    @Test
+    @DisplayName("返却処理：予約がある場合、ステータスがRESERVED（取り置き中）になり、その変更が通知されること")
+    void returnBook_handsOffToReservation() {
+    	// GIVEN
+    	Long bookId = 1L;
+    	Book book = Book.builder()
+    			.id(bookId)
+    			.author("著者A")
+    			.status(Status.BORROWED)
+    			.availableCopies(0)
+    			.build();
+    	
+    	when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+    	when(bookRepository.save(any(Book.class))).thenAnswer(i -> i.getArguments()[0]);
+    	when(reservationService.handOff(bookId)).thenReturn(true);
+    	when(bookRepository.findStatusById(bookId)).thenReturn(Optional.of(
+    			new BookStatusView(bookId, Status.RESERVED, "著者A", 1, 0, 1)));
+    	
+    	// WHEN
+    	BookResponse result = bookDomainService.returnBook(bookId);
+    	
+    	// THEN
+    	assertThat(result.status()).isEqualTo("RESERVED");
+    	verify(eventPublisher).publishEvent(new BookStatusChangedEvent(bookId, "著者A", Status.RESERVED));
+    }
+
     @Test
     @DisplayName("返却処理：存在しないIDを指定した場合、IllegalArgumentExceptionが発生すること")
     void returnBook_fail_notFound() {
@@ -214,6 +445,21 @@ class BookDomainServiceTest {
     	verify(bookRepository,never()).save(any(Book.class));
     }
 
+    @Test
+    @DisplayName("返却処理(条件付きUPDATE)：すでに返却済みで更新件数が0の場合、IllegalStateExceptionが発生すること")
+    void returnBook_fastPath_conflict() {
+    	// GIVEN
+    	ReflectionTestUtils.setField(bookDomainService, "loanFastPath", true);
+    	Long bookId = 1L;
+    	when(bookRepository.returnCopy(bookId)).thenReturn(0);
+    	when(bookRepository.existsById(bookId)).thenReturn(true);
+    	
+    	// WHEN & THEN
+    	assertThatThrownBy(() -> bookDomainService.returnBook(bookId))
+    		.isInstanceOf(IllegalStateException.class)
+    		.hasMessage("この書籍は既に返却されています。");
+    }
+
     // 5. addReview / getBookWithReviews（レビュー関連）
     @Test
     @DisplayName("レビュー追加：レビューを追加した際、リポジトリの保存メソッドが呼ばれること")
@@ -228,12 +474,54 @@ class BookDomainServiceTest {
                 .build();
     	
     	when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+    	when(bookRatingStatsRepository.increment(bookId, rating)).thenReturn(1);
 
     	// WHEN
     	bookDomainService.addReview(bookId,content,rating);
     	
     	// THEN
     	verify(reviewRespository, times(1)).save(any(Review.class));
+    	// 集計値は読み込まずにUPDATEで加算されること
+    	verify(bookRatingStatsRepository, times(1)).increment(bookId, rating);
+    	verify(bookRatingStatsRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("レビュー追加：キャッシュに載っている書籍は存在確認のSELECTをせず、追加後にイベントが発行されること")
+    void addReview_success_cachedBook() {
+    	// GIVEN
+    	Long bookId = 1L;
+    	when(bookRepository.findSummaryById(bookId)).thenReturn(Optional.of(
+    			new BookSummaryView(bookId, "Java入門", "著者A", "111-111", Status.AVAILABLE, 1, 1, 0L, 0L, 0L, 0L, 0L, 0L, 0L)));
+    	bookDomainService.findById(bookId);
+    	when(bookRepository.getReferenceById(bookId)).thenReturn(Book.builder().id(bookId).build());
+    	when(bookRatingStatsRepository.increment(bookId, 3)).thenReturn(1);
+    	
+    	// WHEN
+    	bookDomainService.addReview(bookId, "ふつう", 3);
+    	
+    	// THEN
+    	verify(bookRepository, never()).findById(any());
+    	verify(eventPublisher, times(1)).publishEvent(any(ReviewAddedEvent.class));
+    }
+
+    @Test
+    @DisplayName("レビュー追加：集計行がない書籍の場合、集計行を作成してから加算されること")
+    void addReview_success_createsMissingStats() {
+    	// GIVEN
+    	Long bookId = 1L;
+    	Book book = Book.builder()
+    			.id(bookId).title("Java入門").author("著者A").isbn("111-111").status(Status.AVAILABLE)
+    			.build();
+    	when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+    	when(bookRatingStatsRepository.increment(bookId, 4)).thenReturn(0, 1);
+    	
+    	// WHEN
+    	bookDomainService.addReview(bookId, "良い本でした", 4);
+    	
+    	// THEN
+    	verify(bookRatingStatsRepository, times(1)).insertIfMissing(bookId);
+    	verify(bookRatingStatsRepository, times(2)).increment(bookId, 4);
     }
 
     @Test
@@ -259,33 +547,120 @@ class BookDomainServiceTest {
     @DisplayName("詳細取得：レビュー付きで本を取得した際、レスポンスにレビュー一覧が含まれていること")
     void getBookWithReviews_success() {
     	// GIVEN
-    	// 1. GIVEN: レビューを1件持っている本を作成
+    	// 1. GIVEN: レビューを1件持っている本の行を作成
         Long bookId = 1L;
+        BookReviewRow row = new BookReviewRow(bookId, "Java入門", null, null, Status.AVAILABLE, 1L, 5L, 0L, 0L, 0L, 0L, 1L,
+        		10L, "素晴らしい本です", 5, LocalDateTime.now());
         
-        // 先にレビュー単体を作成
-        Review review = Review.builder()
-                .id(10L)
-                .content("素晴らしい本です")
-                .rating(5)
-                .build();
-
-        // そのレビューをリストに入れてBookに持たせる
-        Book book = Book.builder()
-                .id(bookId)
-                .title("Java入門")
-                .status(Status.AVAILABLE)
-                .review(List.of(review))
-                .build();
-        
-        // リポジトリがこのリストを返すように設定
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        // リポジトリがこの行を返すように設定
+        when(bookRepository.findWithLatestReviews(bookId, true, Limit.of(21))).thenReturn(List.of(row));
         
         // WHEN
-        BookWithReviewsResponse result = bookDomainService.getBookWithReviews(bookId);
+        BookWithReviewsResponse result = bookDomainService.getBookWithReviews(bookId, null, 20);
         
         // THEN
         assertThat(result.id()).isEqualTo(bookId);
         assertThat(result.reviews()).hasSize(1);
         assertThat(result.reviews().get(0).content()).isEqualTo("素晴らしい本です");
+        assertThat(result.nextReviewCursor()).isNull();
+        assertThat(result.rating().reviewCount()).isEqualTo(1);
+        assertThat(result.rating().averageRating()).isEqualTo(5.0);
+        assertThat(result.rating().histogram()).containsExactly(0L, 0L, 0L, 0L, 1L);
+        // 遅延ロード（findById → getReview()）は使わないこと
+        verify(bookRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("詳細取得：同じ書籍への同時のリクエストは、1回の読み込み（1本のクエリ）にまとめられること")
+    void getBookWithReviews_concurrentRequests_coalesced() throws Exception {
+    	// GIVEN: 読み込み中に他のリクエストが揃うよう、クエリを止めておく
+    	Long bookId = 1L;
+    	int requests = 16;
+    	BookReviewRow row = new BookReviewRow(bookId, "Java入門", null, null, Status.AVAILABLE,
+    			null, null, null, null, null, null, null, null, null, null, null);
+    	CountDownLatch release = new CountDownLatch(1);
+    	when(bookRepository.findWithLatestReviews(bookId, true, Limit.of(21))).thenAnswer(invocation -> {
+    		release.await(10, TimeUnit.SECONDS);
+    		return List.of(row);
+    	});
+    	
+    	// WHEN
+    	ExecutorService executor = Executors.newFixedThreadPool(requests);
+    	try {
+    		List<Future<BookWithReviewsResponse>> results = new ArrayList<>();
+    		for (int i = 0; i < requests; i++) {
+    			results.add(executor.submit(() -> bookDomainService.getBookWithReviews(bookId, null, 20)));
+    		}
+    		// 先頭以外のリクエストがすべて読み込み中の結果を待ち始めてから、クエリを進める
+    		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    		while (coalescedCount() < requests - 1 && System.nanoTime() < deadline) {
+    			Thread.sleep(5);
+    		}
+    		release.countDown();
+    		
+    		// THEN
+    		for (Future<BookWithReviewsResponse> result : results) {
+    			assertThat(result.get(10, TimeUnit.SECONDS).title()).isEqualTo("Java入門");
+    		}
+    	} finally {
+    		executor.shutdownNow();
+    	}
+    	verify(bookRepository, times(1)).findWithLatestReviews(bookId, true, Limit.of(21));
+    	assertThat(coalescedCount()).isEqualTo(requests - 1);
+    }
+    
+    private double coalescedCount() {
+    	return meterRegistry.counter("book.singleflight.coalesced", "operation", "getBookWithReviews").count();
+    }
+
+    @Test
+    @DisplayName("詳細取得：レビューが1件もない場合、空のレビュー一覧が返ってくること")
+    void getBookWithReviews_success_noReviews() {
+    	// GIVEN: レビュー項目がnullの1行だけが返る
+    	Long bookId = 1L;
+    	BookReviewRow row = new BookReviewRow(bookId, "Java入門", null, null, Status.AVAILABLE,
+    			null, null, null, null, null, null, null, null, null, null, null);
+    	when(bookRepository.findWithLatestReviews(bookId, true, Limit.of(21))).thenReturn(List.of(row));
+    	
+    	// WHEN
+    	BookWithReviewsResponse result = bookDomainService.getBookWithReviews(bookId, null, 20);
+    	
+    	// THEN
+    	assertThat(result.reviews()).isEmpty();
+    	assertThat(result.nextReviewCursor()).isNull();
+    	// 集計行がない場合も0件として返ること
+    	assertThat(result.rating().reviewCount()).isZero();
+    	assertThat(result.rating().histogram()).containsExactly(0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("詳細取得：カーソルを指定し次ページがある場合、最後のレビューIDがnextReviewCursorとして返ってくること")
+    void getBookWithReviews_success_withCursor() {
+    	// GIVEN: reviewSize=1 に対して2行返ってくる（= 次ページあり）
+    	Long bookId = 1L;
+    	LocalDateTime now = LocalDateTime.now();
+    	when(bookRepository.findWithReviewsBefore(bookId, 30L, true, Limit.of(2))).thenReturn(List.of(
+    			new BookReviewRow(bookId, "Java入門", null, null, Status.AVAILABLE, 1L, 5L, 0L, 0L, 0L, 0L, 1L, 20L, "良い", 4, now),
+    			new BookReviewRow(bookId, "Java入門", null, null, Status.AVAILABLE, 1L, 5L, 0L, 0L, 0L, 0L, 1L, 10L, "普通", 3, now.minusDays(1))));
+    	
+    	// WHEN
+    	BookWithReviewsResponse result = bookDomainService.getBookWithReviews(bookId, 30L, 1);
+    	
+    	// THEN
+    	assertThat(result.reviews()).extracting(ReviewResponse::id).containsExactly(20L);
+    	assertThat(result.nextReviewCursor()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("詳細取得：本が存在しない場合、IllegalArgumentExceptionが発生すること")
+    void getBookWithReviews_fail_notFound() {
+    	// GIVEN
+    	Long bookId = 99L;
+    	when(bookRepository.findWithLatestReviews(bookId, true, Limit.of(21))).thenReturn(List.of());
+    	
+    	// WHEN & THEN
+    	assertThatThrownBy(() -> bookDomainService.getBookWithReviews(bookId, null, 20))
+    	.isInstanceOf(IllegalArgumentException.class)
+    	.hasMessage("指定されたIDの本が見つかりません: " + bookId);
     }
 }
@@ -0,0 +1,96 @@
+package com.example.bookmanagement.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "book.export.fetch-size=2")
+class BookExportServiceTest {
+
+	@Autowired
+	private BookExportService bookExportService;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	@DisplayName("エクスポート(NDJSON)：1行1書籍で、評価集計とレビューが書籍ごとにまとまって出力されること")
+	void export_ndjson_withRatingsAndReviews() throws IOException {
+		// GIVEN
+		BookResponse reviewed = bookDomainService.registerBook("出力検証1", "著者E", "9784300000001");
+		bookDomainService.addReview(reviewed.id(), "良い", 4);
+		bookDomainService.addReview(reviewed.id(), "最高", 5);
+		BookResponse notReviewed = bookDomainService.registerBook("出力検証2", "著者E", "9784300000002");
+
+		// WHEN
+		List<String> lines = export(BookExportService.Format.NDJSON, true, true);
+
+		// THEN
+		JsonNode first = findLine(lines, reviewed.id());
+		assertThat(first.get("title").asText()).isEqualTo("出力検証1");
+		assertThat(first.get("copies").asInt()).isEqualTo(1);
+		assertThat(first.get("availableCopies").asInt()).isEqualTo(1);
+		assertThat(first.get("heldCopies").asInt()).isZero();
+		assertThat(first.get("rating").get("reviewCount").asLong()).isEqualTo(2);
+		assertThat(first.get("rating").get("averageRating").asDouble()).isEqualTo(4.5);
+		assertThat(first.get("reviews")).hasSize(2);
+		assertThat(first.get("reviews").get(0).get("content").asText()).isEqualTo("良い");
+
+		JsonNode second = findLine(lines, notReviewed.id());
+		assertThat(second.get("reviews")).isEmpty();
+		assertThat(second.get("rating").get("averageRating").isNull()).isTrue();
+	}
+
+	@Test
+	@DisplayName("エクスポート(CSV)：ヘッダー付きで、カンマや改行を含む値がエスケープされること")
+	void export_csv_escapesValues() throws IOException {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("題名, \"引用\"付き", "著者F", "9784300000003");
+		bookDomainService.addReview(book.id(), "1行目\n2行目", 3);
+
+		// WHEN
+		String csv = new String(exportBytes(BookExportService.Format.CSV, false, true), StandardCharsets.UTF_8);
+
+		// THEN
+		assertThat(csv).startsWith("id,title,author,isbn,status,copies,available_copies,held_copies,review_id,review_content,review_rating,review_created_at\r\n");
+		assertThat(csv).contains(book.id() + ",\"題名, \"\"引用\"\"付き\",著者F,9784300000003,AVAILABLE,1,1,0,");
+		assertThat(csv).contains(",\"1行目\n2行目\",3,");
+	}
+
+	private JsonNode findLine(List<String> lines, Long bookId) throws IOException {
+		for (String line : lines) {
+			JsonNode node = objectMapper.readTree(line);
+			if (node.get("id").asLong() == bookId) {
+				return node;
+			}
+		}
+		throw new AssertionError("書籍が出力されていません: " + bookId);
+	}
+
+	private List<String> export(BookExportService.Format format, boolean ratings, boolean reviews) throws IOException {
+		String output = new String(exportBytes(format, ratings, reviews), StandardCharsets.UTF_8);
+		return Arrays.stream(output.split("\n")).filter(line -> !line.isBlank()).toList();
+	}
+
+	private byte[] exportBytes(BookExportService.Format format, boolean ratings, boolean reviews) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		bookExportService.export(out, format, ratings, reviews);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,176 @@
+package com.example.bookmanagement.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.domain.model.Status;
+import com.example.bookmanagement.domain.repository.BookRepository;
+
+/**
+ * 同じ本を同時に借りようとしたとき、貸し出せるのがコピーの数（1冊なら1件）だけであることを検証する
+ */
+class BookLoanConcurrencyTest {
+
+	private static final int BORROWERS = 16;
+
+	@Nested
+	@SpringBootTest
+	@TestPropertySource(properties = "book.loan.fast-path=true")
+	class FastPath {
+		@Autowired
+		private BookDomainService bookDomainService;
+		@Autowired
+		private BookRepository bookRepository;
+
+		@Test
+		@DisplayName("条件付きUPDATE：同時に借りようとしても成功するのは1件だけで、残りは競合になること")
+		void borrowBook_concurrent_exactlyOneWins() throws Exception {
+			BookResponse book = bookDomainService.registerBook("同時貸出1", "著者G", "9784400000001");
+
+			Outcome outcome = borrowConcurrently(bookDomainService, book.id());
+
+			assertThat(outcome.succeeded()).isEqualTo(1);
+			assertThat(outcome.conflicted()).isEqualTo(BORROWERS - 1);
+			assertThat(bookRepository.findById(book.id())).get()
+				.satisfies(b -> assertThat(b.getStatus()).isEqualTo(Status.BORROWED));
+		}
+	}
+
+	@Nested
+	@SpringBootTest
+	@TestPropertySource(properties = "book.loan.fast-path=false")
+	class OptimisticLock {
+		@Autowired
+		private BookDomainService bookDomainService;
+		@Autowired
+		private BookRepository bookRepository;
+
+		@Test
+		@DisplayName("楽観ロック：同時に借りようとしても成功するのは1件だけで、残りは競合になること")
+		void borrowBook_concurrent_exactlyOneWins() throws Exception {
+			BookResponse book = bookDomainService.registerBook("同時貸出2", "著者G", "9784400000002");
+
+			Outcome outcome = borrowConcurrently(bookDomainService, book.id());
+
+			assertThat(outcome.succeeded()).isEqualTo(1);
+			assertThat(outcome.conflicted()).isEqualTo(BORROWERS - 1);
+			assertThat(bookRepository.findById(book.id())).get()
+				.satisfies(b -> assertThat(b.getStatus()).isEqualTo(Status.BORROWED));
+		}
+	}
+
+	@Nested
+	@SpringBootTest
+	@TestPropertySource(properties = "book.loan.fast-path=true")
+	class Copies {
+		private static final int COPIES = 20;
+		private static final int MANY_BORROWERS = 300;
+
+		@Autowired
+		private BookDomainService bookDomainService;
+		@Autowired
+		private BookRepository bookRepository;
+		@Autowired
+		private JdbcTemplate jdbcTemplate;
+
+		@Test
+		@DisplayName("複数コピー：数百件が同時に借りようとしても、貸し出せるのはコピー数までで、貸出可能数が負にならないこと")
+		void borrowBook_manyBorrowers_neverOversold() throws Exception {
+			BookResponse book = bookDomainService.registerBook("同時貸出3", "著者G", "9784400000003", COPIES);
+
+			// 貸出の最中も貸出可能数を読み続け、負の値が一度も見えないことを確かめる
+			AtomicInteger minimumSeen = new AtomicInteger(COPIES);
+			AtomicBoolean running = new AtomicBoolean(true);
+			Thread watcher = new Thread(() -> {
+				while (running.get()) {
+					Integer available = jdbcTemplate.queryForObject(
+							"select available_copies from books where id = ?", Integer.class, book.id());
+					minimumSeen.accumulateAndGet(available, Math::min);
+				}
+			});
+			watcher.start();
+			Outcome outcome;
+			try {
+				outcome = borrowConcurrently(bookDomainService, book.id(), MANY_BORROWERS);
+			} finally {
+				running.set(false);
+				watcher.join();
+			}
+
+			assertThat(outcome.succeeded()).isEqualTo(COPIES);
+			assertThat(outcome.conflicted()).isEqualTo(MANY_BORROWERS - COPIES);
+			assertThat(minimumSeen.get()).isGreaterThanOrEqualTo(0);
+			assertThat(bookRepository.findById(book.id())).get()
+				.satisfies(b -> {
+					assertThat(b.getAvailableCopies()).isZero();
+					assertThat(b.getStatus()).isEqualTo(Status.BORROWED);
+				});
+			assertThat(jdbcTemplate.queryForObject("select count(*) from loans where book_id = ?", Long.class, book.id()))
+				.isEqualTo(COPIES);
+
+			// 1冊返却されれば、また1冊だけ借りられる
+			bookDomainService.returnBook(book.id());
+			assertThat(borrowConcurrently(bookDomainService, book.id(), BORROWERS).succeeded()).isEqualTo(1);
+		}
+	}
+
+	private record Outcome(int succeeded, int conflicted) {}
+
+	private static Outcome borrowConcurrently(BookDomainService service, Long bookId) throws Exception {
+		return borrowConcurrently(service, bookId, BORROWERS);
+	}
+
+	/**
+	 * 全スレッドを待ち合わせてから一斉に貸出を実行する
+	 */
+	private static Outcome borrowConcurrently(BookDomainService service, Long bookId, int borrowers) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(borrowers);
+		CountDownLatch ready = new CountDownLatch(borrowers);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger conflicted = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < borrowers; i++) {
+				futures.add(executor.submit(() -> {
+					ready.countDown();
+					start.await();
+					try {
+						service.borrowBook(bookId);
+						succeeded.incrementAndGet();
+					} catch (IllegalStateException | OptimisticLockingFailureException e) {
+						conflicted.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			ready.await();
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return new Outcome(succeeded.get(), conflicted.get());
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.bookmanagement.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.RatingResponse;
+import com.example.bookmanagement.domain.repository.BookRatingStatsRepository;
+
+@SpringBootTest(properties = "book.rating.rebuild.batch-size=2")
+class BookRatingStatsRebuildJobTest {
+
+	@Autowired
+	private BookRatingStatsRebuildJob bookRatingStatsRebuildJob;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private BookRatingStatsRepository bookRatingStatsRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	@DisplayName("レビュー投稿時に集計値が加算されること")
+	void addReview_incrementsStats() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("集計検証", "著者R", "9784100000001");
+
+		// WHEN
+		bookDomainService.addReview(book.id(), "良い", 5);
+		bookDomainService.addReview(book.id(), "普通", 3);
+		bookDomainService.addReview(book.id(), "最高", 5);
+
+		// THEN
+		RatingResponse rating = bookDomainService.getBookWithReviews(book.id(), null, 1).rating();
+		assertThat(rating.reviewCount()).isEqualTo(3);
+		assertThat(rating.averageRating()).isCloseTo(13.0 / 3, within(1e-9));
+		assertThat(rating.histogram()).containsExactly(0L, 0L, 1L, 0L, 2L);
+	}
+
+	@Test
+	@DisplayName("再計算：ずれた集計値・欠けた集計行が Reviews から修復されること")
+	void rebuildAll_repairsDrift() {
+		// GIVEN: 集計値がずれた書籍と、集計行が消えた書籍
+		BookResponse drifted = bookDomainService.registerBook("ずれ検証", "著者R", "9784100000002");
+		bookDomainService.addReview(drifted.id(), "良い", 4);
+		BookResponse missing = bookDomainService.registerBook("欠損検証", "著者R", "9784100000003");
+		bookDomainService.addReview(missing.id(), "悪い", 1);
+		bookDomainService.addReview(missing.id(), "良い", 4);
+
+		jdbcTemplate.update("update book_rating_stats set review_count = 99, rating_sum = 0, star4 = 0 where book_id = ?", drifted.id());
+		jdbcTemplate.update("delete from book_rating_stats where book_id = ?", missing.id());
+
+		// WHEN
+		long processed = bookRatingStatsRebuildJob.rebuildAll();
+
+		// THEN
+		assertThat(processed).isGreaterThanOrEqualTo(2);
+		RatingResponse driftedRating = bookDomainService.getBookWithReviews(drifted.id(), null, 1).rating();
+		assertThat(driftedRating.reviewCount()).isEqualTo(1);
+		assertThat(driftedRating.averageRating()).isEqualTo(4.0);
+		assertThat(driftedRating.histogram()).containsExactly(0L, 0L, 0L, 1L, 0L);
+
+		RatingResponse missingRating = bookDomainService.getBookWithReviews(missing.id(), null, 1).rating();
+		assertThat(missingRating.reviewCount()).isEqualTo(2);
+		assertThat(missingRating.histogram()).containsExactly(1L, 0L, 0L, 1L, 0L);
+	}
+
+	@Test
+	@DisplayName("集計行がない書籍への最初のレビューで集計行が作られ、既にある行は作り直さないこと")
+	void addReview_missingStatsRow_insertedOnce() {
+		// GIVEN: 集計行が消えた書籍
+		BookResponse book = bookDomainService.registerBook("集計行なし", "著者R", "9784100000004");
+		jdbcTemplate.update("delete from book_rating_stats where book_id = ?", book.id());
+
+		// WHEN
+		bookDomainService.addReview(book.id(), "良い", 4);
+
+		// THEN: 同時の投稿で先に作られていた場合と同じく、2回目の作成は何もしない
+		Integer inserted = transactionTemplate.execute(status -> bookRatingStatsRepository.insertIfMissing(book.id()));
+		assertThat(inserted).isZero();
+		RatingResponse rating = bookDomainService.getBookWithReviews(book.id(), null, 1).rating();
+		assertThat(rating.reviewCount()).isEqualTo(1);
+		assertThat(rating.histogram()).containsExactly(0L, 0L, 0L, 1L, 0L);
+	}
+}
@@ -0,0 +1,155 @@
+package com.example.bookmanagement.service.feed;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+/**
+ * 貸出状況の変更の配信を、実際のSSE接続（Webサーバーを起動して HttpClient で購読）で確認する
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AvailabilityFeedServiceTest {
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	@DisplayName("配信：著者で絞り込んだ購読者に、その著者の書籍の貸出・返却だけが順に届くこと")
+	void subscribe_filteredByAuthor() throws Exception {
+		// GIVEN
+		BookResponse watched = bookDomainService.registerBook("配信対象の本", "著者F1", "9785000000001");
+		BookResponse other = bookDomainService.registerBook("対象外の本", "著者F2", "9785000000002");
+		BlockingQueue<Map<String, String>> events = subscribe("/api/books/availability-events?author=著者F1", null);
+
+		// WHEN
+		bookDomainService.borrowBook(other.id());
+		bookDomainService.borrowBook(watched.id());
+		bookDomainService.returnBook(watched.id());
+
+		// THEN
+		Map<String, String> borrowed = events.poll(10, TimeUnit.SECONDS);
+		Map<String, String> returned = events.poll(10, TimeUnit.SECONDS);
+		assertThat(borrowed).containsEntry("event", "availability");
+		assertThat(borrowed.get("data")).contains("\"bookId\":" + watched.id(), "\"status\":\"BORROWED\"");
+		assertThat(returned.get("data")).contains("\"bookId\":" + watched.id(), "\"status\":\"AVAILABLE\"");
+		assertThat(sequenceOf(returned.get("id"))).isGreaterThan(sequenceOf(borrowed.get("id")));
+		assertThat(events.poll(300, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	@DisplayName("再開：Last-Event-ID を送って再接続すると、それより後の変更から届くこと")
+	void subscribe_resumeFromLastEventId() throws Exception {
+		// GIVEN: 1回目の購読で貸出のイベントを受け取ってから切断し、その間に返却される
+		BookResponse book = bookDomainService.registerBook("再開する本", "著者F3", "9785000000003");
+		String url = "/api/books/availability-events?bookId=" + book.id();
+		BlockingQueue<Map<String, String>> first = subscribe(url, null);
+		bookDomainService.borrowBook(book.id());
+		String lastEventId = first.poll(10, TimeUnit.SECONDS).get("id");
+		bookDomainService.returnBook(book.id());
+
+		// WHEN
+		BlockingQueue<Map<String, String>> resumed = subscribe(url, lastEventId);
+
+		// THEN: 切断中の返却が届く
+		Map<String, String> returned = resumed.poll(10, TimeUnit.SECONDS);
+		assertThat(returned.get("data")).contains("\"status\":\"AVAILABLE\"");
+		assertThat(sequenceOf(returned.get("id"))).isGreaterThan(sequenceOf(lastEventId));
+	}
+
+	@Test
+	@DisplayName("再開：保持していない通し番号から再開しようとすると reset が届くこと")
+	void subscribe_resetWhenUnknownSequence() throws Exception {
+		// GIVEN: この起動で振られた id の識別子部分
+		BookResponse book = bookDomainService.registerBook("識別子を調べる本", "著者F4", "9785000000004");
+		BlockingQueue<Map<String, String>> first = subscribe("/api/books/availability-events?bookId=" + book.id(), null);
+		bookDomainService.borrowBook(book.id());
+		String id = first.poll(10, TimeUnit.SECONDS).get("id");
+		String epoch = id.substring(0, id.lastIndexOf('-'));
+
+		// WHEN
+		BlockingQueue<Map<String, String>> events = subscribe("/api/books/availability-events?bookId=0", epoch + "-999999999");
+
+		// THEN
+		Map<String, String> reset = events.poll(10, TimeUnit.SECONDS);
+		assertThat(reset).containsEntry("event", "reset");
+		assertThat(reset.get("data")).contains("nextSequence");
+	}
+
+	@Test
+	@DisplayName("再開：再起動前（別の起動）の id で再接続すると、通し番号が小さくても reset が届くこと")
+	void subscribe_resetWhenOtherEpoch() throws Exception {
+		// WHEN: 再起動前の id（通し番号だけを見るとこの起動の範囲に収まる）
+		BlockingQueue<Map<String, String>> events = subscribe("/api/books/availability-events?bookId=0", "previousboot-1");
+
+		// THEN
+		Map<String, String> reset = events.poll(10, TimeUnit.SECONDS);
+		assertThat(reset).containsEntry("event", "reset");
+	}
+
+	private static long sequenceOf(String eventId) {
+		return Long.parseLong(eventId.substring(eventId.lastIndexOf('-') + 1));
+	}
+
+	/**
+	 * SSEを購読し、受け取ったイベント（コメント行を除く）を id / event / data ごとに分けてキューに入れる
+	 */
+	private BlockingQueue<Map<String, String>> subscribe(String path, String lastEventId) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Accept", "text/event-stream");
+		if (lastEventId != null) {
+			request.header("Last-Event-ID", lastEventId);
+		}
+		HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+		assertThat(response.statusCode()).isEqualTo(200);
+
+		BlockingQueue<Map<String, String>> events = new LinkedBlockingQueue<>();
+		Thread reader = new Thread(() -> {
+			try (BufferedReader lines = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+				Map<String, String> event = new HashMap<>();
+				String line;
+				while ((line = lines.readLine()) != null) {
+					if (line.isEmpty()) {
+						if (event.containsKey("data")) {
+							events.add(event);
+						}
+						event = new HashMap<>();
+					} else if (!line.startsWith(":")) {
+						int colon = line.indexOf(':');
+						event.put(line.substring(0, colon), line.substring(colon + 1));
+					}
+				}
+			} catch (Exception e) {
+				// テスト終了時の切断
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+		return events;
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.bookmanagement.service.feed;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AvailabilityRingBufferTest {
+
+	private final AvailabilityRingBuffer buffer = new AvailabilityRingBuffer(4);
+
+	@Test
+	@DisplayName("読み込み：カーソルから末尾までが通し番号順に読め、次に読む通し番号が返ること")
+	void read_fromCursor() {
+		// GIVEN
+		for (long id = 1; id <= 3; id++) {
+			buffer.append(id, "著者", "BORROWED", LocalDateTime.now());
+		}
+		List<AvailabilityRingBuffer.Entry> entries = new ArrayList<>();
+
+		// WHEN
+		long next = buffer.read(2, 10, entries);
+
+		// THEN
+		assertThat(entries).extracting(AvailabilityRingBuffer.Entry::sequence).containsExactly(2L, 3L);
+		assertThat(next).isEqualTo(4);
+		assertThat(buffer.read(4, 10, entries)).isEqualTo(4);
+	}
+
+	@Test
+	@DisplayName("読み込み：件数の上限を指定すると、その件数だけ読んで続きの位置が返ること")
+	void read_limited() {
+		// GIVEN
+		for (long id = 1; id <= 4; id++) {
+			buffer.append(id, "著者", "BORROWED", LocalDateTime.now());
+		}
+		List<AvailabilityRingBuffer.Entry> entries = new ArrayList<>();
+
+		// WHEN & THEN
+		assertThat(buffer.read(1, 3, entries)).isEqualTo(4);
+		assertThat(entries).extracting(AvailabilityRingBuffer.Entry::bookId).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	@DisplayName("上書き：容量を超えて上書きされた位置を読むとOVERRUNが返り、最も古い位置から読み直せること")
+	void read_overrun() {
+		// GIVEN: 容量4に6件書き込む（1・2は上書き済み）
+		for (long id = 1; id <= 6; id++) {
+			buffer.append(id, "著者", "AVAILABLE", LocalDateTime.now());
+		}
+		List<AvailabilityRingBuffer.Entry> entries = new ArrayList<>();
+
+		// WHEN & THEN
+		assertThat(buffer.read(2, 10, entries)).isEqualTo(AvailabilityRingBuffer.OVERRUN);
+		assertThat(entries).isEmpty();
+		assertThat(buffer.oldest()).isEqualTo(3);
+		assertThat(buffer.read(buffer.oldest(), 10, entries)).isEqualTo(7);
+		assertThat(entries).extracting(AvailabilityRingBuffer.Entry::sequence).containsExactly(3L, 4L, 5L, 6L);
+	}
+}
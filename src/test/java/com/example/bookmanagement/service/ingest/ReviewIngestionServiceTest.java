@@ -0,0 +1,141 @@
+package com.example.bookmanagement.service.ingest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookWithReviewsResponse;
+import com.example.bookmanagement.controller.response.ReviewAcceptedResponse;
+import com.example.bookmanagement.controller.response.ReviewResponse;
+import com.example.bookmanagement.controller.response.ReviewTicketResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+@SpringBootTest
+@TestPropertySource(properties = { "book.review-ingestion.async=true", "book.review-ingestion.batch-size=20",
+		"book.review-ingestion.max-attempts=2", "book.review-ingestion.retry-backoff-ms=10" })
+class ReviewIngestionServiceTest {
+
+	@Autowired
+	private ReviewIngestionService reviewIngestionService;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("非同期投稿：受け付けたレビューがまとめて保存され、評価の集計値にも加算されること")
+	void accept_writesInBatches() throws InterruptedException {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("非同期投稿", "著者I", "9784700000001");
+
+		// WHEN
+		List<ReviewAcceptedResponse> accepted = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			accepted.add(reviewIngestionService.accept(book.id(), "レビュー" + i, i % 5 + 1));
+		}
+
+		// THEN
+		assertThat(accepted).extracting(ReviewAcceptedResponse::ticketId).doesNotContainNull().doesNotHaveDuplicates();
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (reviewIngestionService.pendingCount() > 0 || bookDomainService.findById(book.id()).rating().reviewCount() < 50) {
+			assertThat(System.currentTimeMillis()).as("書き込みの完了待ち").isLessThan(deadline);
+			Thread.sleep(20);
+		}
+		BookWithReviewsResponse result = bookDomainService.getBookWithReviews(book.id(), null, 100);
+		assertThat(result.reviews()).hasSize(50);
+		assertThat(result.rating().reviewCount()).isEqualTo(50);
+		assertThat(result.rating().averageRating()).isEqualTo(3.0);
+	}
+
+	@Test
+	@DisplayName("非同期投稿：停止時にキューに残ったレビューがすべて保存され、停止後は受け付けないこと")
+	void stop_flushesPendingReviews() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("停止時の書き込み", "著者I", "9784700000002");
+		for (int i = 0; i < 200; i++) {
+			reviewIngestionService.accept(book.id(), "レビュー" + i, 4);
+		}
+
+		// WHEN
+		reviewIngestionService.stop();
+
+		// THEN
+		try {
+			assertThat(reviewIngestionService.pendingCount()).isZero();
+			assertThat(bookDomainService.getBookWithReviews(book.id(), null, 20).rating().reviewCount()).isEqualTo(200);
+			assertThatThrownBy(() -> reviewIngestionService.accept(book.id(), "停止後", 4))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("レビューの受付を停止しています。");
+		} finally {
+			reviewIngestionService.start();
+		}
+	}
+
+	@Test
+	@DisplayName("非同期投稿：存在しない書籍へのレビューは受け付けず、IllegalArgumentExceptionが発生すること")
+	void accept_fail_bookNotFound() {
+		assertThatThrownBy(() -> reviewIngestionService.accept(Long.MAX_VALUE, "レビュー", 3))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("指定されたIDの本が見つかりません: " + Long.MAX_VALUE);
+	}
+
+	@Test
+	@DisplayName("非同期投稿：受付番号で保存状況を確認でき、保存後はレビューIDが返ること")
+	void getTicket_savedWithReviewId() throws InterruptedException {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("受付番号", "著者I", "9784700000003");
+
+		// WHEN
+		ReviewAcceptedResponse accepted = reviewIngestionService.accept(book.id(), "レビュー", 5);
+
+		// THEN
+		ReviewTicketResponse ticket = awaitTicket(book.id(), accepted.ticketId());
+		assertThat(ticket.status()).isEqualTo("SAVED");
+		assertThat(bookDomainService.getBookWithReviews(book.id(), null, 10).reviews())
+			.extracting(ReviewResponse::id)
+			.containsExactly(ticket.reviewId());
+		assertThatThrownBy(() -> reviewIngestionService.getTicket(book.id() + 1, accepted.ticketId()))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("指定された受付番号が見つかりません: " + accepted.ticketId());
+	}
+
+	@Test
+	@DisplayName("非同期投稿：再試行しても保存できなかったレビューは、受付番号が失敗になること")
+	void getTicket_failedAfterRetries() throws InterruptedException {
+		// GIVEN: キャッシュには載っているが、DBからは消えた書籍（存在確認を通り、保存では外部キー違反になる）
+		BookResponse book = bookDomainService.registerBook("保存失敗", "著者I", "9784700000004");
+		bookDomainService.findById(book.id());
+		jdbcTemplate.update("delete from book_rating_stats where book_id = ?", book.id());
+		jdbcTemplate.update("delete from books where id = ?", book.id());
+
+		// WHEN
+		ReviewAcceptedResponse accepted = reviewIngestionService.accept(book.id(), "レビュー", 3);
+
+		// THEN
+		ReviewTicketResponse ticket = awaitTicket(book.id(), accepted.ticketId());
+		assertThat(ticket.status()).isEqualTo("FAILED");
+		assertThat(ticket.reviewId()).isNull();
+	}
+
+	private ReviewTicketResponse awaitTicket(Long bookId, String ticketId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		ReviewTicketResponse ticket = reviewIngestionService.getTicket(bookId, ticketId);
+		while (ticket.status().equals("PENDING")) {
+			assertThat(System.currentTimeMillis()).as("書き込みの完了待ち").isLessThan(deadline);
+			Thread.sleep(20);
+			ticket = reviewIngestionService.getTicket(bookId, ticketId);
+		}
+		return ticket;
+	}
+}
@@ -0,0 +1,177 @@
+package com.example.bookmanagement.service.loan;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.LoanStatsResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+@SpringBootTest
+class LoanHistoryServiceTest {
+
+	@Autowired
+	private LoanHistoryService loanHistoryService;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("貸出・返却：履歴が1行追記され、返却日時が埋まり、その日の集計値に加算されること")
+	void borrowAndReturn_recordsHistoryAndRollup() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("履歴検証", "著者L", "9784720000001");
+
+		// WHEN
+		bookDomainService.borrowBook(book.id());
+		bookDomainService.returnBook(book.id());
+		bookDomainService.borrowBook(book.id());
+
+		// THEN
+		assertThat(jdbcTemplate.queryForObject("select count(*) from loans where book_id = ?", Long.class, book.id())).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject("select count(*) from loans where book_id = ? and returned_at is null",
+				Long.class, book.id())).isEqualTo(1);
+
+		LoanStatsResponse stats = loanHistoryService.getStats(book.id(), LocalDate.now(), LocalDate.now());
+		assertThat(stats.borrowCount()).isEqualTo(2);
+		assertThat(stats.returnCount()).isEqualTo(1);
+		assertThat(stats.days()).hasSize(1);
+	}
+
+	@Test
+	@DisplayName("期間の集計：日をまたぐ貸出が日ごとに分けて加算され、稼働率と平均貸出期間が求まること")
+	void getStats_splitsLoansAcrossDays() {
+		// GIVEN: 1日目の18時〜2日目の6時（12時間）と、3日目の0時〜12時（12時間）の貸出
+		BookResponse book = bookDomainService.registerBook("稼働率検証", "著者L", "9784720000002");
+		LocalDate day1 = LocalDate.of(2026, 3, 1);
+		transactionTemplate.executeWithoutResult(status -> {
+			loanHistoryService.recordBorrow(book.id(), day1.atTime(18, 0));
+			loanHistoryService.recordReturn(book.id(), day1.plusDays(1).atTime(6, 0));
+			loanHistoryService.recordBorrow(book.id(), day1.plusDays(2).atStartOfDay());
+			loanHistoryService.recordReturn(book.id(), day1.plusDays(2).atTime(12, 0));
+		});
+
+		// WHEN
+		LoanStatsResponse stats = loanHistoryService.getStats(book.id(), day1, day1.plusDays(3));
+
+		// THEN: 4日間（96時間）のうち24時間が貸出中
+		assertThat(stats.borrowCount()).isEqualTo(2);
+		assertThat(stats.returnCount()).isEqualTo(2);
+		assertThat(stats.averageLoanSeconds()).isEqualTo(12 * 3600.0);
+		assertThat(stats.utilization()).isEqualTo(0.25);
+		assertThat(stats.days()).extracting(d -> d.utilization()).containsExactly(0.25, 0.25, 0.5, 0.0);
+		assertThat(stats.days()).extracting(d -> d.borrowCount()).containsExactly(1L, 0L, 1L, 0L);
+	}
+
+	@Test
+	@DisplayName("期間の集計：貸出中の分は、貸出日時から現在までを稼働時間として含めること")
+	void getStats_includesOpenLoan() {
+		// GIVEN: 2日前から貸出中
+		BookResponse book = bookDomainService.registerBook("貸出中検証", "著者L", "9784720000003");
+		LocalDate today = LocalDate.now();
+		transactionTemplate.executeWithoutResult(status ->
+				loanHistoryService.recordBorrow(book.id(), today.minusDays(2).atStartOfDay()));
+
+		// WHEN
+		LoanStatsResponse stats = loanHistoryService.getStats(book.id(), today.minusDays(2), today.plusDays(1));
+
+		// THEN: 経過した時間はすべて貸出中、まだ来ていない日はnull
+		assertThat(stats.utilization()).isEqualTo(1.0);
+		assertThat(stats.days()).extracting(d -> d.utilization()).containsExactly(1.0, 1.0, 1.0, null);
+	}
+
+	@Test
+	@DisplayName("複数コピー：1冊の返却で閉じるのは最も古い貸出中の履歴1件だけで、稼働率はコピー数で割った値になること")
+	void multipleCopies_closesOneLoanPerReturn() {
+		// GIVEN: 2冊所蔵。0時と6時に1冊ずつ貸し出し、12時（まとめて返却）と18時に1冊ずつ返却する
+		BookResponse book = bookDomainService.registerBook("複数コピー履歴", "著者L", "9784720000005", 2);
+		LocalDate day = LocalDate.of(2026, 3, 10);
+		transactionTemplate.executeWithoutResult(status -> {
+			loanHistoryService.recordBorrow(book.id(), day.atStartOfDay());
+			loanHistoryService.recordBorrow(book.id(), day.atTime(6, 0));
+			loanHistoryService.recordReturns(List.of(book.id()), day.atTime(12, 0));
+		});
+		assertThat(jdbcTemplate.queryForObject("select count(*) from loans where book_id = ? and returned_at is null",
+				Long.class, book.id())).isEqualTo(1);
+		transactionTemplate.executeWithoutResult(status ->
+				loanHistoryService.recordReturn(book.id(), day.atTime(18, 0)));
+
+		// WHEN
+		LoanStatsResponse stats = loanHistoryService.getStats(book.id(), day, day);
+
+		// THEN: 12時間ずつ2件。24時間 × 2冊のうち24時間が貸出中
+		assertThat(stats.returnCount()).isEqualTo(2);
+		assertThat(stats.averageLoanSeconds()).isEqualTo(12 * 3600.0);
+		assertThat(stats.utilization()).isEqualTo(0.5);
+	}
+
+	@Test
+	@DisplayName("複数コピー：まとめて返却しても、閉じる履歴は書籍ごとに1件だけであること")
+	void multipleCopies_batchCheckinAndOpenLoans() {
+		// GIVEN: 3冊とも貸出中
+		BookResponse book = bookDomainService.registerBook("複数コピー返却", "著者L", "9784720000006", 3);
+		for (int i = 0; i < 3; i++) {
+			bookDomainService.borrowBook(book.id());
+		}
+
+		// WHEN
+		bookDomainService.checkin(List.of(book.id()), false);
+
+		// THEN
+		assertThat(jdbcTemplate.queryForObject("select count(*) from loans where book_id = ? and returned_at is null",
+				Long.class, book.id())).isEqualTo(2);
+		LoanStatsResponse stats = loanHistoryService.getStats(book.id(), LocalDate.now(), LocalDate.now());
+		assertThat(stats.borrowCount()).isEqualTo(3);
+		assertThat(stats.returnCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("複数コピー：貸出中の履歴はすべて稼働時間に含め、コピー数で割った稼働率になること")
+	void multipleCopies_sumsOpenLoans() {
+		// GIVEN: 4冊所蔵のうち2冊が2日前から貸出中
+		BookResponse book = bookDomainService.registerBook("複数コピー稼働率", "著者L", "9784720000007", 4);
+		LocalDate today = LocalDate.now();
+		transactionTemplate.executeWithoutResult(status -> {
+			loanHistoryService.recordBorrow(book.id(), today.minusDays(2).atStartOfDay());
+			loanHistoryService.recordBorrow(book.id(), today.minusDays(2).atStartOfDay());
+		});
+
+		// WHEN
+		LoanStatsResponse stats = loanHistoryService.getStats(book.id(), today.minusDays(2), today);
+
+		// THEN
+		assertThat(stats.utilization()).isEqualTo(0.5);
+		assertThat(stats.days()).extracting(d -> d.utilization()).containsExactly(0.5, 0.5, 0.5);
+	}
+
+	@Test
+	@DisplayName("期間の集計：期間が長すぎる、または存在しない書籍の場合、IllegalArgumentExceptionが発生すること")
+	void getStats_invalidArguments() {
+		BookResponse book = bookDomainService.registerBook("範囲検証", "著者L", "9784720000004");
+		LocalDate today = LocalDate.now();
+
+		assertThatThrownBy(() -> loanHistoryService.getStats(book.id(), today.minusDays(LoanHistoryService.MAX_RANGE_DAYS), today))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> loanHistoryService.getStats(book.id(), today, today.minusDays(1)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> loanHistoryService.getStats(999_999L, today, today))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("指定されたIDの本が見つかりません: 999999");
+	}
+}
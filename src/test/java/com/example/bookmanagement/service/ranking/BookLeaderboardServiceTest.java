@@ -0,0 +1,63 @@
+package com.example.bookmanagement.service.ranking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.RankingEntryResponse;
+import com.example.bookmanagement.controller.response.RankingResponse;
+import com.example.bookmanagement.service.BookDomainService;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Metric;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Window;
+
+@SpringBootTest
+class BookLeaderboardServiceTest {
+
+	@Autowired
+	private BookLeaderboardService bookLeaderboardService;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Test
+	@DisplayName("ランキング：レビュー投稿のコミット後に反映され、DBからの再構築でも同じ結果になること")
+	void top_reflectsReviewsAndRebuild() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("ランキング用の書籍", "著者R", "9784600000001");
+		for (int i = 0; i < 30; i++) {
+			bookDomainService.addReview(book.id(), "レビュー" + i, 5);
+		}
+
+		// WHEN
+		RankingEntryResponse before = find(bookLeaderboardService.top(Metric.MOST_REVIEWED, Window.LAST_7_DAYS, 100), book.id());
+		bookLeaderboardService.start();
+		RankingEntryResponse rebuilt = find(bookLeaderboardService.top(Metric.MOST_REVIEWED, Window.LAST_7_DAYS, 100), book.id());
+
+		// THEN
+		assertThat(before.reviewCount()).isEqualTo(30);
+		assertThat(before.averageRating()).isEqualTo(5.0);
+		assertThat(rebuilt).usingRecursiveComparison().ignoringFields("rank").isEqualTo(before);
+	}
+
+	@Test
+	@DisplayName("ランキング：取得件数が範囲外の場合、IllegalArgumentExceptionが発生すること")
+	void top_fail_invalidSize() {
+		assertThatThrownBy(() -> bookLeaderboardService.top(Metric.TOP_RATED, Window.ALL, 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("取得件数は1〜100の範囲で指定してください: 0");
+	}
+
+	/**
+	 * ランキングから指定した書籍の項目を取り出す（DBは他のテストと共有のため、順位は固定できない）
+	 */
+	private static RankingEntryResponse find(RankingResponse ranking, Long bookId) {
+		return ranking.books().stream()
+				.filter(entry -> entry.id().equals(bookId))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("ランキングに書籍がありません: " + bookId));
+	}
+}
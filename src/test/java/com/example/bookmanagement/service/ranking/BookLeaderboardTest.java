@@ -0,0 +1,97 @@
+package com.example.bookmanagement.service.ranking;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Entry;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Metric;
+import com.example.bookmanagement.service.ranking.BookLeaderboard.Window;
+
+class BookLeaderboardTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+
+	private final BookLeaderboard leaderboard = new BookLeaderboard(10, 3.0, TODAY);
+
+	@Test
+	@DisplayName("評価順：レビューが少ない満点の書籍より、レビューが多く高評価の書籍が上位になること")
+	void topRated_bayesianAverage() {
+		// GIVEN
+		leaderboard.addBook(1, "満点1件", "著者A");
+		leaderboard.addBook(2, "高評価多数", "著者B");
+		leaderboard.addBook(3, "低評価", "著者C");
+		leaderboard.addReview(1, TODAY, 5);
+		for (int i = 0; i < 50; i++) {
+			leaderboard.addReview(2, TODAY, 4 + i % 2);
+		}
+		for (int i = 0; i < 10; i++) {
+			leaderboard.addReview(3, TODAY, 1);
+		}
+		leaderboard.refreshPriorMean();
+
+		// WHEN & THEN
+		assertThat(leaderboard.top(Metric.TOP_RATED, Window.ALL, 10)).extracting(Entry::bookId).containsExactly(2L, 1L, 3L);
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.ALL, 10)).extracting(Entry::bookId).containsExactly(2L, 3L, 1L);
+		assertThat(leaderboard.top(Metric.TOP_RATED, Window.ALL, 10).get(1).averageRating()).isEqualTo(5.0);
+	}
+
+	@Test
+	@DisplayName("期間別：集計期間より古いレビューは期間別のランキングに入らないこと")
+	void window_excludesOlderReviews() {
+		// GIVEN
+		leaderboard.addBook(1, "今日", "著者");
+		leaderboard.addBook(2, "10日前", "著者");
+		leaderboard.addBook(3, "40日前", "著者");
+		leaderboard.addReview(1, TODAY, 3);
+		leaderboard.addReview(2, TODAY.minusDays(10), 3);
+		leaderboard.setTotals(3, 5, 20);
+
+		// WHEN & THEN
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.LAST_7_DAYS, 10)).extracting(Entry::bookId).containsExactly(1L);
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.LAST_30_DAYS, 10)).extracting(Entry::bookId).containsExactly(1L, 2L);
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.ALL, 10)).extracting(Entry::bookId).containsExactly(3L, 1L, 2L);
+	}
+
+	@Test
+	@DisplayName("日付の更新：基準日が進むと期間から外れた日の件数がランキングから除かれること")
+	void advanceTo_expiresOldBuckets() {
+		// GIVEN
+		leaderboard.addBook(1, "書籍", "著者");
+		leaderboard.addReview(1, TODAY.minusDays(6), 4);
+		leaderboard.addReview(1, TODAY, 4);
+
+		// WHEN
+		leaderboard.advanceTo(TODAY.plusDays(1));
+
+		// THEN
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.LAST_7_DAYS, 10)).extracting(Entry::reviewCount).containsExactly(1L);
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.ALL, 10)).extracting(Entry::reviewCount).containsExactly(2L);
+
+		// WHEN: 環状配列を一周以上進めても、古い日の件数が新しい日に混ざらない
+		leaderboard.advanceTo(TODAY.plusDays(BookLeaderboard.BUCKETS + 1));
+		leaderboard.addReview(1, TODAY.plusDays(BookLeaderboard.BUCKETS + 1), 5);
+
+		// THEN
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.LAST_30_DAYS, 10)).extracting(Entry::reviewCount).containsExactly(1L);
+	}
+
+	@Test
+	@DisplayName("取得：上位から指定件数だけ返り、レビューのない書籍は載らないこと")
+	void top_limitAndNoReviews() {
+		// GIVEN
+		for (long id = 1; id <= 20; id++) {
+			leaderboard.addBook(id, "書籍" + id, "著者");
+			for (int r = 0; r < id - 1; r++) {
+				leaderboard.addReview(id, TODAY, 3);
+			}
+		}
+
+		// WHEN & THEN
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.ALL, 3)).extracting(Entry::bookId).containsExactly(20L, 19L, 18L);
+		assertThat(leaderboard.top(Metric.MOST_REVIEWED, Window.ALL, 100)).hasSize(19);
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.bookmanagement.service.reservation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.ReservationResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+@SpringBootTest(properties = "book.reservation.sweep-interval-ms=3600000")
+class ReservationServiceTest {
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Autowired
+	private ReservationExpiryJob reservationExpiryJob;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	@DisplayName("返却：予約の先着順に取り置かれ、取り置き中の本は予約からだけ借りられること")
+	void returnBook_holdsForFirstReservation() {
+		// GIVEN: 貸出中の本に2人が予約している
+		BookResponse book = bookDomainService.registerBook("予約検証", "著者Y", "9784710000001");
+		bookDomainService.borrowBook(book.id());
+		ReservationResponse first = reservationService.reserve(book.id());
+		ReservationResponse second = reservationService.reserve(book.id());
+		assertThat(first.position()).isEqualTo(1);
+		assertThat(second.position()).isEqualTo(2);
+
+		// WHEN
+		BookResponse returned = bookDomainService.returnBook(book.id());
+
+		// THEN: 先頭の予約のために取り置き中になり、通常の貸出はできない
+		assertThat(returned.status()).isEqualTo("RESERVED");
+		assertThat(reservationService.getReservation(book.id(), first.id()).status()).isEqualTo("HELD");
+		assertThat(reservationService.getReservation(book.id(), second.id()).position()).isEqualTo(1);
+		assertThatThrownBy(() -> bookDomainService.borrowBook(book.id()))
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> reservationService.borrow(book.id(), second.id()))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("まだ順番が来ていません。");
+
+		// WHEN: 先頭の予約で借りる
+		ReservationResponse fulfilled = reservationService.borrow(book.id(), first.id());
+
+		// THEN
+		assertThat(fulfilled.status()).isEqualTo("FULFILLED");
+		assertThat(bookDomainService.findById(book.id()).status()).isEqualTo("BORROWED");
+	}
+
+	@Test
+	@DisplayName("予約：貸出可能な本を予約した場合、その場で取り置き中になること")
+	void reserve_availableBook_heldImmediately() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("即時取り置き", "著者Y", "9784710000002");
+
+		// WHEN
+		ReservationResponse reservation = reservationService.reserve(book.id());
+
+		// THEN
+		assertThat(reservation.status()).isEqualTo("HELD");
+		assertThat(reservation.holdExpiresAt()).isNotNull();
+		assertThat(bookDomainService.findById(book.id()).status()).isEqualTo("RESERVED");
+	}
+
+	@Test
+	@DisplayName("取り消し：取り置き中の予約を取り消すと次の予約へ回り、順番待ちがなければ貸出可能に戻ること")
+	void cancel_passesHoldOn() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("取り消し検証", "著者Y", "9784710000003");
+		ReservationResponse first = reservationService.reserve(book.id());
+		ReservationResponse second = reservationService.reserve(book.id());
+
+		// WHEN & THEN
+		reservationService.cancel(book.id(), first.id());
+		assertThat(reservationService.getReservation(book.id(), second.id()).status()).isEqualTo("HELD");
+
+		reservationService.cancel(book.id(), second.id());
+		assertThat(bookDomainService.findById(book.id()).status()).isEqualTo("AVAILABLE");
+		assertThatThrownBy(() -> reservationService.cancel(book.id(), second.id()))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("期限切れ：期限の切れた取り置きは次の予約へ回り、最後は貸出可能に戻ること")
+	void expireHolds_passesHoldOnThenReleases() {
+		// GIVEN: 取り置き中の予約と、その次の予約
+		BookResponse book = bookDomainService.registerBook("期限切れ検証", "著者Y", "9784710000004");
+		ReservationResponse first = reservationService.reserve(book.id());
+		ReservationResponse second = reservationService.reserve(book.id());
+		expireHold(first.id());
+
+		// WHEN
+		assertThat(reservationExpiryJob.expireHolds()).isGreaterThanOrEqualTo(1);
+
+		// THEN: 期限切れの予約では借りられず、次の予約が取り置き中になる
+		assertThat(reservationService.getReservation(book.id(), first.id()).status()).isEqualTo("EXPIRED");
+		assertThat(reservationService.getReservation(book.id(), second.id()).status()).isEqualTo("HELD");
+		assertThatThrownBy(() -> reservationService.borrow(book.id(), first.id()))
+			.isInstanceOf(IllegalStateException.class);
+
+		// WHEN: 次の予約も期限切れになる
+		expireHold(second.id());
+		reservationExpiryJob.expireHolds();
+
+		// THEN
+		assertThat(reservationService.getReservation(book.id(), second.id()).status()).isEqualTo("EXPIRED");
+		assertThat(bookDomainService.findById(book.id()).status()).isEqualTo("AVAILABLE");
+	}
+
+	@Test
+	@DisplayName("予約：存在しない書籍を予約した場合、IllegalArgumentExceptionが発生すること")
+	void reserve_notFound() {
+		assertThatThrownBy(() -> reservationService.reserve(999_999L))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("指定されたIDの本が見つかりません: 999999");
+	}
+
+	private void expireHold(Long reservationId) {
+		jdbcTemplate.update("update reservations set hold_expires_at = dateadd('MINUTE', -1, localtimestamp) where id = ?",
+				reservationId);
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.bookmanagement.service.search;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookSearchIndexTest {
+
+	private final BookSearchIndex index = new BookSearchIndex();
+
+	@Test
+	@DisplayName("語の分割：日本語は2文字ずつ、英数字は単語単位に分割され、全角・大文字は正規化されること")
+	void tokenize_japaneseBigramsAndWords() {
+		assertThat(SearchTokenizer.tokenize("吾輩は猫")).containsExactly("吾輩", "輩は", "は猫");
+		assertThat(SearchTokenizer.tokenize("Ｊａｖａ入門 Spring-Boot")).containsExactly("java", "入門", "spring", "boot");
+		assertThat(SearchTokenizer.tokenize("ﾃﾞｰﾀ")).containsExactly("デー", "ータ");
+		assertThat(SearchTokenizer.tokenize("本")).containsExactly("本");
+		assertThat(SearchTokenizer.tokenize("、。！")).isEmpty();
+		assertThat(SearchTokenizer.indexTerms("吾輩は猫 java")).containsExactly("吾", "吾輩", "輩", "輩は", "は", "は猫", "猫", "java");
+	}
+
+	@Test
+	@DisplayName("検索：1文字の日本語の検索語が、長い語の中の文字にも一致すること")
+	void search_singleCjkCharacter() {
+		// GIVEN
+		index.addBook(1, "吾輩は猫である", "夏目漱石", "111");
+		index.addBook(2, "猫の事務所", "宮沢賢治", "222");
+		index.addBook(3, "坊っちゃん", "夏目漱石", "333");
+
+		// WHEN & THEN
+		assertThat(index.search("猫", false, 10)).extracting(BookSearchIndex.Hit::bookId).containsExactly(1L, 2L);
+		assertThat(index.search("漱", false, 10)).extracting(BookSearchIndex.Hit::bookId).containsExactly(1L, 3L);
+		assertThat(index.search("猫 事務所", false, 10)).extracting(BookSearchIndex.Hit::bookId).containsExactly(2L);
+	}
+
+	@Test
+	@DisplayName("検索：タイトルの一部（日本語）で一致し、全ての語を含む書籍だけが返ること")
+	void search_matchesAllTerms() {
+		// GIVEN
+		index.addBook(1, "吾輩は猫である", "夏目漱石", "111");
+		index.addBook(2, "猫の事務所", "宮沢賢治", "222");
+		index.addBook(3, "坊っちゃん", "夏目漱石", "333");
+
+		// WHEN & THEN
+		assertThat(index.search("猫である", false, 10)).extracting(BookSearchIndex.Hit::bookId).containsExactly(1L);
+		assertThat(index.search("夏目", false, 10)).extracting(BookSearchIndex.Hit::bookId).containsExactly(1L, 3L);
+		assertThat(index.search("夏目 事務所", false, 10)).isEmpty();
+		assertThat(index.search("存在しない語", false, 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("検索：タイトルの一致はレビュー本文だけの一致より上位になること")
+	void search_titleRanksAboveReview() {
+		// GIVEN
+		index.addBook(1, "料理の基本", "著者A", "111");
+		index.addBook(2, "Java入門", "著者B", "222");
+		index.addReview(2, "この本で料理の基本も学べました");
+
+		// WHEN
+		List<BookSearchIndex.Hit> hits = index.search("料理", true, 10);
+
+		// THEN
+		assertThat(hits).extracting(BookSearchIndex.Hit::bookId).containsExactly(1L, 2L);
+		assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+	}
+
+	@Test
+	@DisplayName("検索：レビュー本文はreviews指定時だけ検索対象になること")
+	void search_reviewsOnlyWhenRequested() {
+		// GIVEN
+		index.addBook(1, "Java入門", "著者A", "111");
+		index.addReview(1, "説明がとても丁寧でした");
+
+		// WHEN & THEN
+		assertThat(index.search("丁寧", false, 10)).isEmpty();
+		assertThat(index.search("丁寧", true, 10)).extracting(BookSearchIndex.Hit::bookId).containsExactly(1L);
+	}
+
+	@Test
+	@DisplayName("検索：件数の上限を超える場合は得点の高い順に上限件数だけ返ること")
+	void search_limitKeepsBestHits() {
+		// GIVEN: 書籍IDが大きいほどレビューでの一致が多い
+		for (long id = 1; id <= 30; id++) {
+			index.addBook(id, "書籍" + id, "著者", String.valueOf(id));
+			for (int r = 0; r < id; r++) {
+				index.addReview(id, "おすすめ");
+			}
+		}
+
+		// WHEN
+		List<BookSearchIndex.Hit> hits = index.search("おすすめ", true, 5);
+
+		// THEN
+		assertThat(hits).extracting(BookSearchIndex.Hit::bookId).containsExactly(30L, 29L, 28L, 27L, 26L);
+	}
+
+	@Test
+	@DisplayName("追加：同じ書籍を2回追加しても出現回数は二重に数えられないこと")
+	void addBook_idempotent() {
+		// GIVEN
+		index.addBook(1, "猫の本", "著者", "111");
+		double before = index.search("猫の", false, 10).get(0).score();
+
+		// WHEN
+		index.addBook(1, "猫の本", "著者", "111");
+
+		// THEN
+		assertThat(index.search("猫の", false, 10).get(0).score()).isEqualTo(before);
+		assertThat(index.bookCount()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.bookmanagement.service.search;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bookmanagement.controller.response.BookResponse;
+import com.example.bookmanagement.controller.response.BookSearchHitResponse;
+import com.example.bookmanagement.controller.response.BookSearchResponse;
+import com.example.bookmanagement.service.BookDomainService;
+
+@SpringBootTest
+class BookSearchServiceTest {
+
+	@Autowired
+	private BookSearchService bookSearchService;
+
+	@Autowired
+	private BookDomainService bookDomainService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	@DisplayName("検索：登録・レビュー投稿のコミット後に検索できるようになること")
+	void search_reflectsCommittedWrites() {
+		// GIVEN
+		BookResponse book = bookDomainService.registerBook("検索用の銀河鉄道", "著者S", "9784500000001");
+		bookDomainService.addReview(book.id(), "星空の描写が美しい", 5);
+
+		// WHEN
+		BookSearchResponse byTitle = bookSearchService.search("銀河鉄道", false, 20);
+		BookSearchResponse byReview = bookSearchService.search("星空の描写", true, 20);
+
+		// THEN
+		assertThat(byTitle.books()).extracting(BookSearchHitResponse::id).contains(book.id());
+		assertThat(byReview.books()).extracting(BookSearchHitResponse::id).containsExactly(book.id());
+	}
+
+	@Test
+	@DisplayName("検索：ロールバックされた登録は検索対象にならないこと")
+	void search_ignoresRolledBackWrites() {
+		// GIVEN
+		transactionTemplate.executeWithoutResult(status -> {
+			bookDomainService.registerBook("取り消される宇宙船", "著者S", "9784500000002");
+			status.setRollbackOnly();
+		});
+
+		// WHEN
+		BookSearchResponse result = bookSearchService.search("宇宙船", false, 20);
+
+		// THEN
+		assertThat(result.books()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("検索：検索語が空の場合、IllegalArgumentExceptionが発生すること")
+	void search_fail_blankQuery() {
+		assertThatThrownBy(() -> bookSearchService.search("  ", false, 20))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("検索語を指定してください。");
+	}
+}